@@ -0,0 +1,94 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beanplanet.core.lang.conversion.TypeConverter;
+import org.beanplanet.core.net.http.EntityProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The base class of REST clients over a non-blocking transport. Responses are converted with the same entity provider and
+ * type conversion pipeline as the blocking clients, and each blocking request simply awaits its asynchronous counterpart.
+ *
+ * <p>Asynchronous requests are guarded by the circuit breakers and the concurrency limiter of the client, as blocking requests are,
+ * but are not retried or hedged.</p>
+ */
+public abstract class AbstractAsyncRestClient extends AbstractRestClient implements AsyncRestClient {
+    protected AbstractAsyncRestClient(final EntityProvider entityFactory, final TypeConverter typeConverter, final ObjectMapper objectMapper, final ObjectMapper xmlMapper) {
+        super(entityFactory, typeConverter, objectMapper, xmlMapper);
+    }
+
+    protected AbstractAsyncRestClient(final AbstractRestClientBuilder<?> builder) {
+        super(builder);
+    }
+
+    /**
+     * Makes the given request by awaiting its asynchronous counterpart.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    protected <T> T exchange(RestRequest request, ResponseHandler<T> handler) throws RestException {
+        try {
+            return exchangeAsync(request, handler).join();
+        } catch (CompletionException completionEx) {
+            if (completionEx.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) completionEx.getCause();
+            }
+            throw new RestException(completionEx.getCause());
+        }
+    }
+
+    /**
+     * Makes the given request asynchronously, within the request timeout of this client, provided the circuit breaker of its route
+     * and the concurrency limiter, if any, admit it, and invokes the given response handler to handle the response.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    @Override
+    public <T> CompletableFuture<T> executeAsync(RestRequest request, ResponseHandler<T> handler) {
+        return guardedExchangeAsync(withRequestDeadline(request), handler, this::exchangeAsync);
+    }
+
+    /**
+     * Makes the given request asynchronously over the transport of this client and invokes the given response handler to handle the
+     * response, with its entity, if any, buffered in memory.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    protected abstract <T> CompletableFuture<T> exchangeAsync(RestRequest request, ResponseHandler<T> handler);
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String uri, ResponseHandler<T> handler) {
+        return executeAsync(RestRequest.get(uri), handler);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String uri, Class<T> responseType) {
+        return getAsync(uri, typeHandler(responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String uri, int expectedHttpStatusCode, Class<T> responseType) {
+        return getAsync(uri, typeHandler(expectedHttpStatusCode, responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getForListAsync(String uri, Class<T> componentType) {
+        return getAsync(uri, listHandler(componentType));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> getForListAsync(String uri, int expectedHttpStatusCode, Class<T> componentType) {
+        return getAsync(uri, listHandler(expectedHttpStatusCode, componentType));
+    }
+}
@@ -2,36 +2,183 @@ package org.orthodoxengineering.restclient;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.beanplanet.core.io.resource.Resource;
 import org.beanplanet.core.lang.Assert;
 import org.beanplanet.core.lang.conversion.TypeConverter;
+import org.beanplanet.core.mediatypes.MediaTypes;
 import org.beanplanet.core.net.http.*;
+import org.orthodoxengineering.restclient.batch.Batch;
+import org.orthodoxengineering.restclient.batch.BatchOptions;
+import org.orthodoxengineering.restclient.batch.BatchResult;
+import org.orthodoxengineering.restclient.cache.ObjectCache;
+import org.orthodoxengineering.restclient.cache.ResponseCache;
+import org.orthodoxengineering.restclient.encoding.ContentDecoders;
+import org.orthodoxengineering.restclient.encoding.TransferListener;
+import org.orthodoxengineering.restclient.interceptor.InterceptorChain;
+import org.orthodoxengineering.restclient.interceptor.RestInterceptor;
+import org.orthodoxengineering.restclient.metrics.MetricsRecorder;
+import org.orthodoxengineering.restclient.metrics.RequestPhase;
+import org.orthodoxengineering.restclient.metrics.StatusClass;
+import org.orthodoxengineering.restclient.pool.ConnectionPool;
+import org.orthodoxengineering.restclient.resilience.CircuitBreaker;
+import org.orthodoxengineering.restclient.resilience.CircuitBreakers;
+import org.orthodoxengineering.restclient.resilience.ConcurrencyLimiter;
+import org.orthodoxengineering.restclient.resilience.Resilience;
+import org.orthodoxengineering.restclient.typeconverters.CachingEntityConverter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Arrays.asList;
 import static org.beanplanet.core.lang.conversion.SystemTypeConverter.systemTypeConverter;
 
 public abstract class AbstractRestClient implements RestClient {
+    /** The array type of each list component type, resolved once rather than reflectively on every list conversion. */
+    private static final ClassValue<Class<?>> ARRAY_TYPES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(final Class<?> componentType) {
+            return Array.newInstance(componentType, 0).getClass();
+        }
+    };
+    /** The handler of the final attempt of a streaming request, which accepts the response, left open as the result of the attempt. */
+    private static final ResponseHandler<StreamingResponse> OPEN_RESPONSE = response -> null;
+    private static final String ACCEPT = "Accept";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
     private final EntityProvider entityFactory;
     private final TypeConverter typeConverter;
+    private final CachingEntityConverter entityConverter;
     private final ObjectMapper objectMapper;
     private final ObjectMapper xmlMapper;
+    private final boolean streamingResponses;
+    private final long drainLimit;
+    private final ResponseCache responseCache;
+    private final ObjectCache objectCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ContentDecoders contentDecoders;
+    private final TransferListener transferListener;
+    /** The transfer listener notified as response bodies are decoded, which also records the bytes received, where metrics are recorded. */
+    private final TransferListener decodingListener;
+    private final String accept;
+    private final Resilience resilience;
+    private final CircuitBreakers circuitBreakers;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final int maxConnectionsPerRoute;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration requestTimeout;
+    private final MetricsRecorder metricsRecorder;
+    private final InterceptorChain interceptorChain;
+    /** Converts the entities of error responses, carried by {@link HttpStatusException}, as those of other responses are. */
+    private final BiFunction<Object, Class<?>, Object> entityTypeConverter = this::convertEntity;
+    /** Makes each attempt of a request, bound once rather than on every request made through the resilience of this client. */
+    private final Resilience.Exchange attemptExchange = this::attempt;
+    /** The exchange through which the resilience configuration makes each attempt of a streaming request. */
+    private final Resilience.Exchange streamingAttemptExchange = this::streamingAttempt;
+    /** The metering response handler of each thread, reused by successive requests made on it where metrics are recorded. */
+    private final ThreadLocal<MeteredResponseHandler<?>> meteredHandlers = ThreadLocal.withInitial(MeteredResponseHandler::new);
+
+    protected AbstractRestClient(final EntityProvider entityFactory, final TypeConverter typeConverter, final ObjectMapper objectMapper, final ObjectMapper xmlMapper) {
+        this(new Settings(entityFactory, typeConverter, objectMapper, xmlMapper));
+    }
+
+    protected AbstractRestClient(final EntityProvider entityFactory) {
+        this(entityFactory, null, null, null);
+    }
+
+    protected AbstractRestClient(final AbstractRestClientBuilder<?> builder) {
+        this(new Settings(builder));
+    }
 
-    AbstractRestClient(final EntityProvider entityFactory, final TypeConverter typeConverter, final ObjectMapper objectMapper, final ObjectMapper xmlMapper) {
-        this.typeConverter = typeConverter != null ? typeConverter : systemTypeConverter();
+    private AbstractRestClient(final Settings settings) {
+        final ObjectMapper objectMapper = settings.objectMapper;
+        final ObjectMapper xmlMapper = settings.xmlMapper;
+        this.typeConverter = settings.typeConverter != null ? settings.typeConverter : systemTypeConverter();
+        // A configured type converter is always honoured; only the system converter's entity conversions are dispatched directly
+        this.entityConverter = settings.typeConverter != null ? null : new CachingEntityConverter(typeConverter);
         this.objectMapper = objectMapper != null ? objectMapper : new ObjectMapper();
         this.xmlMapper = xmlMapper != null ? xmlMapper : new XmlMapper();
-        this.entityFactory = entityFactory != null ? entityFactory :  new EntityProviderRegistry()
-                .addProvider(new JsonEntityProvider(objectMapper))
-                .addProvider(new XmlEntityProvider(xmlMapper))
-                .addProvider(new StringEntityProvider())
-                .addProvider(new ArbitraryDataEntityProvider(".*/.*"));
+        final List<BinaryJsonFormat> binaryJsonFormats = settings.entityFactory != null ? Collections.emptyList() : availableBinaryJsonFormats(settings.binaryJsonFormats);
+        this.entityFactory = settings.entityFactory != null ? settings.entityFactory : defaultEntityFactory(objectMapper, xmlMapper, binaryJsonFormats);
+        this.accept = binaryJsonFormats.isEmpty() ? null : acceptPreferring(binaryJsonFormats);
+        this.streamingResponses = settings.streamingResponses;
+        this.drainLimit = settings.drainLimit;
+        this.responseCache = settings.responseCache;
+        this.objectCache = settings.objectCache;
+        this.requestCoalescer = settings.requestCoalescer;
+        this.contentDecoders = settings.contentDecoders != null ? settings.contentDecoders : ContentDecoders.none();
+        this.transferListener = settings.transferListener;
+        this.resilience = settings.resilience;
+        this.circuitBreakers = settings.circuitBreakers;
+        this.concurrencyLimiter = settings.concurrencyLimiter;
+        this.maxConnectionsPerRoute = settings.maxConnectionsPerRoute;
+        this.connectTimeout = settings.connectTimeout;
+        this.readTimeout = settings.readTimeout;
+        this.requestTimeout = settings.requestTimeout;
+        this.metricsRecorder = settings.metricsRecorder;
+        this.interceptorChain = InterceptorChain.of(settings.interceptors);
+        this.decodingListener = metricsRecorder == null ? transferListener : meteredTransferListener(transferListener, metricsRecorder);
     }
 
-    AbstractRestClient(final EntityProvider entityFactory) {
-        this(entityFactory, null, null, null);
+    private static TransferListener meteredTransferListener(final TransferListener transferListener, final MetricsRecorder metricsRecorder) {
+        return (request, contentEncoding, wireBytes, decodedBytes) -> {
+            metricsRecorder.recordBytesIn(request.getHost(), wireBytes);
+            if (transferListener != null) transferListener.onBodyTransferred(request, contentEncoding, wireBytes, decodedBytes);
+        };
+    }
+
+    /**
+     * Creates the default entity factory, which remembers the provider chosen for each content type seen.
+     */
+    private static EntityProvider defaultEntityFactory(final ObjectMapper objectMapper, final ObjectMapper xmlMapper, final List<BinaryJsonFormat> binaryJsonFormats) {
+        final CachingEntityProviderRegistry registry = new CachingEntityProviderRegistry().addProvider(new JsonEntityProvider(objectMapper));
+        for (BinaryJsonFormat format : binaryJsonFormats) {
+            registry.addProvider(BinaryJsonEntityProvider.configuredFrom(format, objectMapper));
+        }
+        return registry.addProvider(new NdjsonEntityProvider(objectMapper))
+                       .addProvider(new XmlEntityProvider(xmlMapper))
+                       .addProvider(new StringEntityProvider())
+                       .addProvider(new ArbitraryDataEntityProvider(".*/.*"));
+    }
+
+    private static List<BinaryJsonFormat> availableBinaryJsonFormats(final Set<BinaryJsonFormat> configuredFormats) {
+        final List<BinaryJsonFormat> formats = new ArrayList<>();
+        for (BinaryJsonFormat format : configuredFormats != null ? configuredFormats : EnumSet.allOf(BinaryJsonFormat.class)) {
+            if (format.isAvailable()) formats.add(format);
+        }
+        return formats;
+    }
+
+    /**
+     * Returns the value of an <code>Accept</code> header preferring the given binary JSON formats, then JSON, to any other media type.
+     */
+    private static String acceptPreferring(final List<BinaryJsonFormat> binaryJsonFormats) {
+        final StringBuilder accept = new StringBuilder();
+        for (BinaryJsonFormat format : binaryJsonFormats) {
+            accept.append(format.getMediaType()).append(", ");
+        }
+        return accept.append(MediaTypes.Application.JSON.getName()).append(";q=0.9, */*;q=0.8").toString();
     }
 
     public EntityProvider getEntityFactory() {
@@ -50,11 +197,734 @@ public abstract class AbstractRestClient implements RestClient {
         return xmlMapper;
     }
 
+    /**
+     * Whether response entities are streamed directly from the connection to response handlers, rather than being buffered in memory
+     * first. Streamed entities may only be read once, and only for the duration of the call to the response handler.
+     *
+     * @return true if response entities are streamed, false if they are buffered.
+     */
+    public boolean isStreamingResponses() {
+        return streamingResponses;
+    }
+
+    /**
+     * The HTTP response cache through which requests are made, if any.
+     *
+     * @return the response cache, or null if responses are not cached.
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * The cache of decoded response entities from which {@link #get(String, Class)} answers, if any.
+     *
+     * @return the decoded entity cache, or null if decoded entities are not cached.
+     */
+    public ObjectCache getObjectCache() {
+        return objectCache;
+    }
+
+    /**
+     * The coalescer through which concurrent identical GET requests share a single in-flight exchange, if any.
+     *
+     * @return the request coalescer, or null if requests are not coalesced.
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * The content decoders of this client, which are advertised in requests and decode compressed response bodies.
+     *
+     * @return the content decoders, which may be empty.
+     */
+    public ContentDecoders getContentDecoders() {
+        return contentDecoders;
+    }
+
+    public TransferListener getTransferListener() {
+        return transferListener;
+    }
+
+    /**
+     * The retry, retry budget and hedging configuration through which requests are made, if any.
+     *
+     * @return the resilience configuration, or null if requests are not retried or hedged.
+     */
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    /**
+     * The circuit breakers, one per route, through which requests are made, if any.
+     *
+     * @return the circuit breakers, or null if requests are not guarded by circuit breakers.
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * The adaptive limit on the number of requests in flight, if any.
+     *
+     * @return the concurrency limiter, or null if requests in flight are not limited.
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * The maximum number of bytes read from a response body, beyond those consumed by the response handler, so that the connection
+     * may be reused; and the maximum length of an error response body read into memory.
+     *
+     * @return the drain limit, in bytes.
+     */
+    public long getDrainLimit() {
+        return drainLimit;
+    }
+
+    /**
+     * Determines whether a response with the given status code is an error response, whose body is read into memory, up to the
+     * drain limit, regardless of whether the response is streamed.
+     *
+     * @param statusCode the status code of the response.
+     * @return true if the status code is a client or server error status code.
+     */
+    protected static boolean isErrorStatus(final int statusCode) {
+        return statusCode >= 400;
+    }
+
+    /**
+     * Reads the body of an error response into memory, so that it can be handled as an entity and the connection it is read from
+     * released for reuse, provided the body is no longer than the drain limit of this client.
+     *
+     * @param contentIs the body of the error response, which is not closed.
+     * @param charset the character set of the body, or null if it is unknown.
+     * @return the body, or null if it is longer than the drain limit, in which case the connection is not fit for reuse.
+     * @throws IOException if an error occurs reading the body.
+     */
+    protected BytesResource readErrorContent(final InputStream contentIs, final Charset charset) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        long remaining = drainLimit;
+        for (;;) {
+            // Always attempt to read at least one byte, to detect the end of a body which is exactly at the limit
+            final int read = contentIs.read(buffer, 0, (int) Math.max(Math.min(buffer.length, remaining), 1));
+            if (read < 0) return new BytesResource(content.toByteArray(), charset);
+
+            remaining -= read;
+            if (remaining < 0) return null;
+            content.write(buffer, 0, read);
+        }
+    }
+
+    /**
+     * The recorder of the metrics of the requests made by this client, if any.
+     *
+     * @return the metrics recorder, or null if no metrics are recorded.
+     */
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    /**
+     * Records the duration of a phase of the given request, from the given start time until now, if metrics are recorded.
+     *
+     * @param request the request.
+     * @param phase the phase of the request which has ended.
+     * @param statusCode the status code of the response, or a negative value if no response has been received.
+     * @param startNanos the time at which the phase started, as given by {@link System#nanoTime()}.
+     */
+    protected void recordPhase(final RestRequest request, final RequestPhase phase, final int statusCode, final long startNanos) {
+        if (metricsRecorder == null) return;
+
+        metricsRecorder.recordPhase(phase, request.getHost(), uriTemplateOf(request), StatusClass.of(statusCode), System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Creates the entity of the given response from its body, with the entity factory of this client, recording the time taken as
+     * the {@link RequestPhase#ENTITY_CREATION} phase of the request.
+     *
+     * @param request the request to which the response was received.
+     * @param response the response.
+     * @param content the body of the response.
+     * @return the response, with its entity.
+     */
+    protected HttpResponse withEntity(final RestRequest request, final HttpResponse response, final Resource content) {
+        final long startNanos = System.nanoTime();
+        final HttpEntity entity = entityFactory.createEntity(response, content);
+        recordPhase(request, RequestPhase.ENTITY_CREATION, response.getStatusCode(), startNanos);
+        return response.withEntity(entity);
+    }
+
+    private static String uriTemplateOf(final RestRequest request) {
+        return request.getUriTemplate() != null ? request.getUriTemplate() : MetricsRecorder.NO_URI_TEMPLATE;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * The total time allowed for each request which does not specify its own deadline, if any.
+     *
+     * @return the request timeout, or null if requests have no deadline by default.
+     */
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Returns the given request with a deadline of the request timeout of this client from now, unless it has a deadline of its own
+     * or this client has no request timeout.
+     *
+     * @param request the request to be made.
+     * @return the request, or a copy of it with a deadline.
+     */
+    protected RestRequest withRequestDeadline(final RestRequest request) {
+        if (requestTimeout == null || request.getDeadline() != null) return request;
+        return new RestRequest(request).withDeadline(Deadline.after(requestTimeout));
+    }
+
+    /**
+     * Returns the connect timeout of the given request, or of this client, bounded by the time remaining until the deadline of the
+     * request.
+     *
+     * @param request the request to be made.
+     * @return the connect timeout in milliseconds, or zero if there is none.
+     * @throws DeadlineExceededException if the deadline of the request has passed.
+     */
+    protected int connectTimeoutMillis(final RestRequest request) throws DeadlineExceededException {
+        return timeoutMillis(request, request.getConnectTimeout() != null ? request.getConnectTimeout() : connectTimeout);
+    }
+
+    /**
+     * Returns the read timeout of the given request, or of this client, bounded by the time remaining until the deadline of the
+     * request.
+     *
+     * @param request the request to be made.
+     * @return the read timeout in milliseconds, or zero if there is none.
+     * @throws DeadlineExceededException if the deadline of the request has passed.
+     */
+    protected int readTimeoutMillis(final RestRequest request) throws DeadlineExceededException {
+        return timeoutMillis(request, request.getReadTimeout() != null ? request.getReadTimeout() : readTimeout);
+    }
+
+    private static int timeoutMillis(final RestRequest request, final Duration timeout) {
+        if (request.getDeadline() != null) return request.getDeadline().timeoutMillis(timeout);
+        return timeout == null ? 0 : (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeout.toMillis()));
+    }
+
+    /**
+     * Arranges for the given action to abort the exchange of the given request if its deadline passes before the returned watch is
+     * closed.
+     *
+     * @param request the request being made.
+     * @param abort the action aborting the exchange, such as closing its connection.
+     * @return a watch, to be closed once the exchange has completed.
+     */
+    protected Deadline.Watch watchDeadline(final RestRequest request, final Runnable abort) {
+        return request.getDeadline() != null ? request.getDeadline().watch(abort) : Deadline.Watch.NONE;
+    }
+
+    /**
+     * The value of the <code>Accept</code> header sent with requests which do not specify one, preferring the binary JSON formats
+     * for which entity providers are registered.
+     *
+     * @return the default <code>Accept</code> header value, or null if none is sent.
+     */
+    public String getAccept() {
+        return accept;
+    }
+
+    /**
+     * The interceptors of the requests made, and the responses received, by this client.
+     *
+     * @return the interceptor chain, which may be empty.
+     */
+    public InterceptorChain getInterceptorChain() {
+        return interceptorChain;
+    }
+
+    /**
+     * Returns the given request as it is to be sent by the transport, once passed through the interceptors of this client, with the
+     * <code>Accept</code> and <code>Accept-Encoding</code> headers of this client added where the request does not specify them. The
+     * body of the request, if any, is given as a {@link RequestBody}, whose content type is added where the request does not specify
+     * one. Transports call this once for each exchange.
+     *
+     * @param request the request to be sent.
+     * @return the request, or a copy of it with headers added.
+     */
+    protected RestRequest negotiate(final RestRequest request) {
+        final RestRequest intercepted = interceptorChain.isEmpty() ? request : interceptorChain.onRequest(request);
+        final RestRequest negotiated = contentDecoders.negotiate(intercepted);
+        final boolean addAccept = accept != null && negotiated.getHeaderValue(ACCEPT) == null;
+        final boolean addBody = negotiated.getBody() != null
+                                && (!(negotiated.getBody() instanceof RequestBody) || negotiated.getHeaderValue(CONTENT_TYPE) == null);
+        if (!addAccept && !addBody) return negotiated;
+
+        final RestRequest copy = negotiated == intercepted ? new RestRequest(intercepted) : negotiated;
+        if (addAccept) copy.setHeader(ACCEPT, accept);
+        if (addBody) {
+            final RequestBody body = requestBody(copy);
+            copy.withBody(body);
+            if (copy.getHeaderValue(CONTENT_TYPE) == null && body.getContentType() != null) copy.setHeader(CONTENT_TYPE, body.getContentType());
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the body of the given request as it is to be written by the transport: a {@link RequestBody} as it is or, for any other
+     * object, a body serializing it directly to the connection, through the XML mapper of this client where the
+     * <code>Content-Type</code> of the request is an XML media type and otherwise as JSON through its object mapper.
+     *
+     * @param request the request whose body is to be written.
+     * @return the body of the request, or null if it has none.
+     */
+    protected RequestBody requestBody(final RestRequest request) {
+        final Object body = request.getBody();
+        if (body == null || body instanceof RequestBody) return (RequestBody) body;
+
+        final String contentType = request.getHeaderValue(CONTENT_TYPE);
+        if (contentType == null) return new EntityRequestBody(objectMapper, body, JSON_CONTENT_TYPE);
+        return new EntityRequestBody(isXmlMediaType(contentType) ? xmlMapper : objectMapper, body, contentType);
+    }
+
+    private static boolean isXmlMediaType(final String contentType) {
+        final int parametersStart = contentType.indexOf(';');
+        final String mediaType = (parametersStart < 0 ? contentType : contentType.substring(0, parametersStart)).trim();
+        // Matches application/xml and text/xml, as well as structured syntax suffixes such as application/atom+xml
+        return mediaType.regionMatches(true, mediaType.length() - 3, "xml", 0, 3);
+    }
+
+    /**
+     * Reads the given request body into memory, for transports which cannot stream a body to the connection as it is written.
+     *
+     * @param body the request body.
+     * @return the bytes of the body.
+     * @throws IOException if an error occurs writing the body.
+     */
+    protected static byte[] bufferRequestBody(final RequestBody body) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream(body.getContentLength() > 0 ? (int) Math.min(body.getContentLength(), Integer.MAX_VALUE - 8) : 8192);
+        body.writeTo(content);
+        return content.toByteArray();
+    }
+
+    /**
+     * Passes the given response, whose status line and headers have been received, through the interceptors of this client.
+     * Transports call this once for each exchange, before reading the response body.
+     *
+     * @param request the request sent, as returned by {@link #negotiate(RestRequest)}.
+     * @param response the response, without its entity.
+     * @return the response to be handled.
+     */
+    protected HttpResponse interceptResponse(final RestRequest request, final HttpResponse response) {
+        return interceptorChain.isEmpty() ? response : interceptorChain.onResponse(request, response);
+    }
+
+    /**
+     * Wraps the given response body stream, as read from the connection, in a stream decoding it according to the given
+     * <code>Content-Encoding</code> and notifying the transfer listener, if any, of the bytes read once it is closed.
+     *
+     * @param request the request whose response body is to be decoded.
+     * @param contentEncoding the value of the <code>Content-Encoding</code> header of the response, which may be null.
+     * @param wire the response body stream.
+     * @return the decoded response body stream.
+     * @throws IOException if the response has a content coding the content decoders of this client cannot decode.
+     */
+    protected InputStream decodeContent(final RestRequest request, final String contentEncoding, final InputStream wire) throws IOException {
+        return contentDecoders.decode(request, contentEncoding, wire, decodingListener);
+    }
+
+    /**
+     * Makes a GET request to the given endpoint and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public <T> T get(String uri, ResponseHandler<T> handler) throws RestException {
+        return execute(RestRequest.get(uri), handler);
+    }
+
+    /**
+     * Makes the given request and invokes the given response handler to handle the response.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public <T> T execute(RestRequest request, ResponseHandler<T> handler) throws RestException {
+        final RestRequest deadlinedRequest = withRequestDeadline(request);
+        if (metricsRecorder != null) return meteredExecute(deadlinedRequest, handler);
+
+        return resilience != null ? resilience.execute(deadlinedRequest, handler, attemptExchange) : attempt(deadlinedRequest, handler);
+    }
+
+    /**
+     * Makes the given request, with all of its attempts, recording the duration of the whole request and of the handling of its
+     * response, as the {@link RequestPhase#REQUEST} and {@link RequestPhase#TYPE_CONVERSION} phases, the request being in flight and
+     * any exception it raised.
+     */
+    private <T> T meteredExecute(final RestRequest request, final ResponseHandler<T> handler) throws RestException {
+        final String host = request.getHost();
+        final String uriTemplate = uriTemplateOf(request);
+        final MeteredResponseHandler<T> meteredHandler = meteredHandler(handler);
+        metricsRecorder.requestStarted(host);
+        final long startNanos = System.nanoTime();
+        try {
+            return resilience != null ? resilience.execute(request, meteredHandler, attemptExchange) : attempt(request, meteredHandler);
+        } catch (RuntimeException ex) {
+            metricsRecorder.recordException(host, uriTemplate, ex);
+            throw ex;
+        } finally {
+            final long durationNanos = System.nanoTime() - startNanos;
+            metricsRecorder.requestFinished(host);
+            final StatusClass statusClass = StatusClass.of(meteredHandler.statusCode);
+            metricsRecorder.recordPhase(RequestPhase.REQUEST, host, uriTemplate, statusClass, durationNanos);
+            if (meteredHandler.handlingNanos >= 0) metricsRecorder.recordPhase(RequestPhase.TYPE_CONVERSION, host, uriTemplate, statusClass, meteredHandler.handlingNanos);
+            meteredHandler.release();
+        }
+    }
+
+    /**
+     * Returns a metering response handler for a request, which is that of the current thread unless it is already in use by an
+     * enclosing request, such as one made from within a response handler. Hedged requests, whose handlers may still run on other
+     * threads after the request completes, are given a handler of their own.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> MeteredResponseHandler<T> meteredHandler(final ResponseHandler<T> handler) {
+        if (resilience == null || resilience.getHedgePolicy() == null) {
+            final MeteredResponseHandler<T> threadHandler = (MeteredResponseHandler<T>) meteredHandlers.get();
+            if (threadHandler.acquire(handler)) return threadHandler;
+        }
+        final MeteredResponseHandler<T> meteredHandler = new MeteredResponseHandler<>();
+        meteredHandler.acquire(handler);
+        return meteredHandler;
+    }
+
+    /**
+     * Makes the given request and returns the response with its entity, if any, streaming directly from the connection. This is the
+     * streaming counterpart of {@link #execute(RestRequest, ResponseHandler)}: the request is made within the request timeout and is
+     * metered, retried and guarded by the circuit breakers and concurrency limiter in the same way, its {@link RequestPhase#REQUEST}
+     * phase and its place with the concurrency limiter lasting until the response is closed. Streaming requests are never hedged, and
+     * streamed responses are never cached.
+     *
+     * @param request the request to be made.
+     * @return the response, which must be closed by the caller.
+     * @throws RestException if an error occurs making the request.
+     */
+    protected StreamingResponse executeStreaming(final RestRequest request) throws RestException {
+        final RestRequest deadlinedRequest = withRequestDeadline(request);
+        if (metricsRecorder != null) return meteredExecuteStreaming(deadlinedRequest);
+
+        return resilience != null ? resilience.retry(deadlinedRequest, OPEN_RESPONSE, streamingAttemptExchange) : guardedStream(deadlinedRequest);
+    }
+
+    /**
+     * Makes the given streaming request, recording the request being in flight, and the duration of the whole request as the
+     * {@link RequestPhase#REQUEST} phase, until the response is closed, and any exception raised opening it.
+     */
+    private StreamingResponse meteredExecuteStreaming(final RestRequest request) throws RestException {
+        final String host = request.getHost();
+        final String uriTemplate = uriTemplateOf(request);
+        metricsRecorder.requestStarted(host);
+        final long startNanos = System.nanoTime();
+        final StreamingResponse streamingResponse;
+        try {
+            streamingResponse = resilience != null ? resilience.retry(request, OPEN_RESPONSE, streamingAttemptExchange) : guardedStream(request);
+        } catch (RuntimeException ex) {
+            metricsRecorder.recordException(host, uriTemplate, ex);
+            metricsRecorder.requestFinished(host);
+            metricsRecorder.recordPhase(RequestPhase.REQUEST, host, uriTemplate, StatusClass.of(-1), System.nanoTime() - startNanos);
+            throw ex;
+        }
+
+        final StatusClass statusClass = StatusClass.of(streamingResponse.getResponse().getStatusCode());
+        return new StreamingResponse(streamingResponse.getResponse(), () -> {
+            try {
+                streamingResponse.close();
+            } finally {
+                metricsRecorder.requestFinished(host);
+                metricsRecorder.recordPhase(RequestPhase.REQUEST, host, uriTemplate, statusClass, System.nanoTime() - startNanos);
+            }
+        });
+    }
+
+    /**
+     * Makes a single attempt of a streaming request, passing its response to the given handler, which may reject it by throwing an
+     * exception, as when the response is to be retried. The response is closed if rejected, and is otherwise the result of the
+     * attempt, open, whatever the type of the handler; the handler of the final attempt is {@link #OPEN_RESPONSE}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T streamingAttempt(final RestRequest request, final ResponseHandler<T> handler) throws RestException {
+        final StreamingResponse streamingResponse = guardedStream(request);
+        try {
+            handler.handleResponse(streamingResponse.getResponse());
+        } catch (RuntimeException ex) {
+            streamingResponse.close();
+            throw ex;
+        }
+        return (T) streamingResponse;
+    }
+
+    /**
+     * Makes a single attempt of the given request, through the response cache if one is configured, and invokes the given response
+     * handler to handle the response. A successful request with an unsafe method invalidates any objects cached for its target URI.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    private <T> T attempt(final RestRequest request, final ResponseHandler<T> handler) throws RestException {
+        if (objectCache != null && !request.isSafe()) return responseCachedAttempt(request, invalidatingHandler(request, handler));
+
+        return responseCachedAttempt(request, handler);
+    }
+
+    private <T> T responseCachedAttempt(final RestRequest request, final ResponseHandler<T> handler) throws RestException {
+        if (responseCache != null) return responseCache.execute(request, handler, this::bufferedGuardedExchange, entityFactory);
+
+        return guardedExchange(request, handler, isStreamingResponses());
+    }
+
+    /**
+     * Wraps the given response handler in one which, on a successful response, removes the objects cached for the target URI of the
+     * given request, as the resource may have changed.
+     */
+    private <T> ResponseHandler<T> invalidatingHandler(final RestRequest request, final ResponseHandler<T> handler) {
+        return response -> {
+            final int statusCode = response.getStatusCode();
+            if (statusCode >= 200 && statusCode < 400) objectCache.invalidate(request.getUri());
+            return handler.handleResponse(response);
+        };
+    }
+
+    private <T> T bufferedGuardedExchange(final RestRequest request, final ResponseHandler<T> handler) throws RestException {
+        return guardedExchange(request, handler, false);
+    }
+
+    /**
+     * Makes the given request over the transport of this client, provided the concurrency limiter and the circuit breaker of its route,
+     * if any, admit it, and records its outcome with them. A request fails, for this purpose, if no response was received or the
+     * response has a server error status code.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @param streaming whether the response entity is streamed to the handler, rather than buffered.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if the request was rejected or if some other error occurs making the request.
+     */
+    private <T> T guardedExchange(final RestRequest request, final ResponseHandler<T> handler, final boolean streaming) throws RestException {
+        if (circuitBreakers == null && concurrencyLimiter == null) return transportExchange(request, handler, streaming);
+
+        final CircuitBreaker circuitBreaker = admit(request);
+        final int[] statusCode = { -1 };
+        final long startNanos = System.nanoTime();
+        try {
+            return transportExchange(request, response -> {
+                statusCode[0] = response.getStatusCode();
+                return handler.handleResponse(response);
+            }, streaming);
+        } finally {
+            recordOutcome(circuitBreaker, isFailure(statusCode[0]), System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Opens the response to the given request over the transport of this client, provided the concurrency limiter and the circuit
+     * breaker of its route, if any, admit it. The request holds its place with the concurrency limiter until the response is closed,
+     * when its outcome is recorded with them.
+     *
+     * @param request the request to be made.
+     * @return the response, which must be closed by the caller.
+     * @throws RestException if the request was rejected or if some other error occurs making the request.
+     */
+    private StreamingResponse guardedStream(final RestRequest request) throws RestException {
+        if (circuitBreakers == null && concurrencyLimiter == null) return transportStream(request);
+
+        final CircuitBreaker circuitBreaker = admit(request);
+        final long startNanos = System.nanoTime();
+        final StreamingResponse streamingResponse;
+        try {
+            streamingResponse = transportStream(request);
+        } catch (RuntimeException ex) {
+            recordOutcome(circuitBreaker, true, System.nanoTime() - startNanos);
+            throw ex;
+        }
+
+        final boolean failed = isFailure(streamingResponse.getResponse().getStatusCode());
+        return new StreamingResponse(streamingResponse.getResponse(), () -> {
+            try {
+                streamingResponse.close();
+            } finally {
+                recordOutcome(circuitBreaker, failed, System.nanoTime() - startNanos);
+            }
+        });
+    }
+
+    /**
+     * Makes the given request asynchronously through the given exchange, provided the concurrency limiter and the circuit breaker of
+     * its route, if any, admit it, and records its outcome with them once the returned future completes. A rejected request fails
+     * its future, without being dispatched.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @param exchange the asynchronous exchange of the transport making the request.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    protected <T> CompletableFuture<T> guardedExchangeAsync(final RestRequest request, final ResponseHandler<T> handler,
+                                                            final BiFunction<RestRequest, ResponseHandler<T>, CompletableFuture<T>> exchange) {
+        if (circuitBreakers == null && concurrencyLimiter == null) return exchange.apply(request, handler);
+
+        final CircuitBreaker circuitBreaker;
+        try {
+            circuitBreaker = admit(request);
+        } catch (RuntimeException rejectedEx) {
+            final CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(rejectedEx);
+            return rejected;
+        }
+
+        final int[] statusCode = { -1 };
+        final long startNanos = System.nanoTime();
+        final CompletableFuture<T> future;
+        try {
+            future = exchange.apply(request, response -> {
+                statusCode[0] = response.getStatusCode();
+                return handler.handleResponse(response);
+            });
+        } catch (RuntimeException ex) {
+            recordOutcome(circuitBreaker, true, System.nanoTime() - startNanos);
+            throw ex;
+        }
+        future.whenComplete((result, failure) -> recordOutcome(circuitBreaker, isFailure(statusCode[0]), System.nanoTime() - startNanos));
+        return future;
+    }
+
+    /**
+     * Admits the given request through the concurrency limiter and the circuit breaker of its route, if any.
+     *
+     * @return the circuit breaker of the route of the request, or null if there are no circuit breakers.
+     * @throws RestException if the request was rejected.
+     */
+    private CircuitBreaker admit(final RestRequest request) throws RestException {
+        final CircuitBreaker circuitBreaker = circuitBreakers != null ? circuitBreakers.forUri(request.getUri()) : null;
+        if (concurrencyLimiter != null) concurrencyLimiter.acquire();
+        try {
+            if (circuitBreaker != null) circuitBreaker.acquirePermission();
+        } catch (RuntimeException rejectedEx) {
+            if (concurrencyLimiter != null) concurrencyLimiter.onIgnored();
+            throw rejectedEx;
+        }
+        return circuitBreaker;
+    }
+
+    private void recordOutcome(final CircuitBreaker circuitBreaker, final boolean failed, final long durationNanos) {
+        if (circuitBreaker != null) circuitBreaker.onResult(failed, durationNanos);
+        if (concurrencyLimiter != null) concurrencyLimiter.onComplete(failed, durationNanos);
+    }
+
+    /**
+     * Whether a request whose response has the given status code, or -1 if no response was received, failed for the purposes of the
+     * circuit breakers and the concurrency limiter.
+     */
+    private static boolean isFailure(final int statusCode) {
+        return statusCode < 0 || statusCode >= 500;
+    }
+
+    /**
+     * Makes the given request over the transport of this client, failing with a {@link DeadlineExceededException} if the exchange
+     * failed because the deadline of the request passed.
+     */
+    private <T> T transportExchange(final RestRequest request, final ResponseHandler<T> handler, final boolean streaming) throws RestException {
+        try {
+            return streaming ? exchangeStreaming(request, handler) : exchange(request, handler);
+        } catch (RuntimeException ex) {
+            throw deadlineFailure(request, ex);
+        }
+    }
+
+    /**
+     * Opens the response to the given request over the transport of this client, failing with a {@link DeadlineExceededException}
+     * if the exchange failed because the deadline of the request passed.
+     */
+    private StreamingResponse transportStream(final RestRequest request) throws RestException {
+        try {
+            return openStream(request);
+        } catch (RuntimeException ex) {
+            throw deadlineFailure(request, ex);
+        }
+    }
+
+    /**
+     * Returns the exception with which a request failing with the given exception fails: a {@link DeadlineExceededException} if the
+     * deadline of the request has passed, or otherwise the exception itself.
+     */
+    private static RuntimeException deadlineFailure(final RestRequest request, final RuntimeException ex) {
+        if (ex instanceof DeadlineExceededException || request.getDeadline() == null || !request.getDeadline().isExpired()) return ex;
+
+        return new DeadlineExceededException(request.getDeadline(), ex);
+    }
+
+    /**
+     * Makes the given request over the transport of this client and invokes the given response handler to handle the response,
+     * with its entity, if any, buffered in memory.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    protected abstract <T> T exchange(RestRequest request, ResponseHandler<T> handler) throws RestException;
+
+    /**
+     * Makes the given request and returns the response with its entity, if any, streaming directly from the connection. The response
+     * must be closed by the caller once the entity has been consumed, to release the connection.
+     *
+     * <p>This default implementation buffers the response as {@link #exchange(RestRequest, ResponseHandler)} does, and should be
+     * overridden by transports capable of streaming.</p>
+     *
+     * @param request the request to be made.
+     * @return the response, which must be closed by the caller.
+     * @throws RestException if an error occurs making the request.
+     */
+    protected StreamingResponse openStream(final RestRequest request) throws RestException {
+        return new StreamingResponse(exchange(request, r -> r), () -> {});
+    }
+
+    /**
+     * Makes the given request, streaming the response entity to the given response handler and releasing the connection once the
+     * handler returns.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     */
+    protected <T> T exchangeStreaming(final RestRequest request, final ResponseHandler<T> handler) throws RestException {
+        try (StreamingResponse streamingResponse = openStream(request)) {
+            return handler.handleResponse(streamingResponse.getResponse());
+        }
+    }
+
     /**
      * Makes a GET request to the given endpoint and converts the response to the given type. The request
      * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes, as determined by <a href="https://httpwg.org/specs/rfc9110.html#overview.of.status.codes">RFC 9110 - HTTP Semantics</a> and by an
      * associated call to {@link org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)}.
      *
+     * <p>Where a decoded entity cache is configured, the converted entity is answered from it while cached.</p>
+     *
      * @param uri the URI of the endpoint to call.
      * @param responseType the type to convert the body of the successful response to.
      * @return the response type.
@@ -63,7 +933,9 @@ public abstract class AbstractRestClient implements RestClient {
      */
     @Override
     public <T> T get(String uri, Class<T> responseType) throws RestException {
-        return get(uri, r -> { checkStatusCode(r, HttpStatusCode::isSuccessful); return getTypeConverter().convert(r.getEntity(), responseType);});
+        if (objectCache != null) return objectCache.get(uri, responseType, () -> coalesced(uri, responseType, () -> get(uri, typeHandler(responseType))));
+
+        return coalesced(uri, responseType, () -> get(uri, typeHandler(responseType)));
     }
 
     /**
@@ -79,7 +951,7 @@ public abstract class AbstractRestClient implements RestClient {
      */
     @Override
     public <T> T get(String uri, int expectedHttpStatusCode, Class<T> responseType) {
-        return get(uri, r -> { checkStatusCode(r, expectedHttpStatusCode); return getTypeConverter().convert(r.getEntity(), responseType);});
+        return coalesced(uri, asList(expectedHttpStatusCode, responseType), () -> get(uri, typeHandler(expectedHttpStatusCode, responseType)));
     }
 
     /**
@@ -95,10 +967,7 @@ public abstract class AbstractRestClient implements RestClient {
      */
     @Override
     public <T> List<T> getForList(String uri, Class<T> componentType) {
-        final HttpResponse response = get(uri, r -> r);
-        Assert.assertTrue(HttpStatusCode.isSuccessful(response.getStatusCode()), () -> "Expected 'successful' HTTP response code: actual = " + response.getStatusCode());
-
-        return asList((T[])getTypeConverter().convert(response.getEntity(), ((T[])Array.newInstance(componentType, 0)).getClass()));
+        return coalescedList(uri, asList(List.class, componentType), () -> get(uri, listHandler(componentType)));
     }
 
     /**
@@ -113,18 +982,442 @@ public abstract class AbstractRestClient implements RestClient {
      */
     @Override
     public <T> List<T> getForList(String uri, int expectedHttpStatusCode, Class<T> componentType) {
-        return get(uri, r -> { checkStatusCode(r, expectedHttpStatusCode); return asList((T[])getTypeConverter().convert(r.getEntity(), ((T[])Array.newInstance(componentType, 0)).getClass()));});
+        return coalescedList(uri, asList(List.class, expectedHttpStatusCode, componentType), () -> get(uri, listHandler(expectedHttpStatusCode, componentType)));
+    }
+
+    /**
+     * Makes a GET request to the given endpoint and returns a stream of the elements of the response, parsed lazily from the connection
+     * as the stream is consumed. The request is considered 'successful' if the response code lies within the <code>2xx</code> range of
+     * success codes.
+     *
+     * <p>For JSON and NDJSON responses, elements are read one at a time from the live response, so arbitrarily large arrays may be processed in
+     * constant memory while the rest of the response is still being received. Other responses are converted to an array of the
+     * component type in full. The stream holds the connection until it is closed, or until its last element has been read, so should
+     * be used within a try-with-resources statement.</p>
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param componentType the type to convert each element of the body of the successful response to.
+     * @return a stream of the elements of the response, which must be closed if not read to the end.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)
+     */
+    @Override
+    public <T> Stream<T> getForStream(String uri, Class<T> componentType) throws RestException {
+        final StreamingResponse streamingResponse = executeStreaming(RestRequest.get(uri));
+        try {
+            final HttpResponse response = streamingResponse.getResponse();
+            checkStatusCode(response, HttpStatusCode::isSuccessful);
+
+            final Iterator<T> elements = new ClosingIterator<>(elementIterator(response.getEntity(), componentType), streamingResponse);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                                .onClose(streamingResponse::close);
+        } catch (RuntimeException ex) {
+            streamingResponse.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Makes a GET request to the given endpoint and passes each element of the response to the given consumer, as it is parsed from
+     * the connection. The request is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param componentType the type to convert each element of the body of the successful response to.
+     * @param consumer the consumer of each element of the response.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see #getForStream(String, Class)
+     */
+    @Override
+    public <T> void getForEach(String uri, Class<T> componentType, Consumer<? super T> consumer) throws RestException {
+        try (Stream<T> elements = getForStream(uri, componentType)) {
+            elements.forEach(consumer);
+        }
+    }
+
+    /**
+     * Makes a HEAD request to the given endpoint, returning the status and headers of the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return the response, which has no entity.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public HttpResponse head(String uri) throws RestException {
+        return execute(RestRequest.head(uri), response -> response);
+    }
+
+    /**
+     * Makes a POST request to the given endpoint with the given body, and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request, serialized as described by {@link RestRequest#withBody(Object)}.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public <T> T post(String uri, Object body, ResponseHandler<T> handler) throws RestException {
+        return execute(RestRequest.post(uri).withBody(body), handler);
+    }
+
+    /**
+     * Makes a POST request to the given endpoint with the given body, and converts the response to the given type. The request is
+     * considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request, serialized as described by {@link RestRequest#withBody(Object)}.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     */
+    @Override
+    public <T> T post(String uri, Object body, Class<T> responseType) throws RestException {
+        return post(uri, body, typeHandler(responseType));
+    }
+
+    /**
+     * Makes a PUT request to the given endpoint with the given body, and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request, serialized as described by {@link RestRequest#withBody(Object)}.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public <T> T put(String uri, Object body, ResponseHandler<T> handler) throws RestException {
+        return execute(RestRequest.put(uri).withBody(body), handler);
+    }
+
+    /**
+     * Makes a PUT request to the given endpoint with the given body, and converts the response to the given type. The request is
+     * considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request, serialized as described by {@link RestRequest#withBody(Object)}.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     */
+    @Override
+    public <T> T put(String uri, Object body, Class<T> responseType) throws RestException {
+        return put(uri, body, typeHandler(responseType));
+    }
+
+    /**
+     * Makes a PATCH request to the given endpoint with the given body, and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request, serialized as described by {@link RestRequest#withBody(Object)}.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public <T> T patch(String uri, Object body, ResponseHandler<T> handler) throws RestException {
+        return execute(RestRequest.patch(uri).withBody(body), handler);
+    }
+
+    /**
+     * Makes a PATCH request to the given endpoint with the given body, and converts the response to the given type. The request is
+     * considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request, serialized as described by {@link RestRequest#withBody(Object)}.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     */
+    @Override
+    public <T> T patch(String uri, Object body, Class<T> responseType) throws RestException {
+        return patch(uri, body, typeHandler(responseType));
+    }
+
+    /**
+     * Makes a DELETE request to the given endpoint and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    public <T> T delete(String uri, ResponseHandler<T> handler) throws RestException {
+        return execute(RestRequest.delete(uri), handler);
+    }
+
+    /**
+     * Makes a DELETE request to the given endpoint and converts the response to the given type. The request is considered
+     * 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     */
+    @Override
+    public <T> T delete(String uri, Class<T> responseType) throws RestException {
+        return delete(uri, typeHandler(responseType));
+    }
+
+    /**
+     * Makes GET requests to the given endpoints concurrently, within the limits of requests in flight of the given options, and converts
+     * each response to the given type. Each request is made as by {@link #get(String, Class)}, so through the caches, request coalescer
+     * and resilience of this client, on connections from its pool. Unless the options set a maximum per host, as many requests are made
+     * to each host at once as this client has connections per route.
+     *
+     * @param uris the URIs of the endpoints to call.
+     * @param responseType the type to convert the body of each successful response to.
+     * @param options the options of the batch.
+     * @return a stream of the result of each request, which blocks awaiting results not yet available.
+     * @see Batch
+     */
+    @Override
+    public <T> Stream<BatchResult<T>> getAll(Collection<String> uris, Class<T> responseType, BatchOptions options) {
+        final List<RestRequest> requests = new ArrayList<>(uris.size());
+        for (String uri : uris) {
+            requests.add(RestRequest.get(uri));
+        }
+        return Batch.execute(requests, request -> get(request.getUri(), responseType), options.withDefaultMaxPerHost(maxConnectionsPerRoute));
+    }
+
+    /**
+     * Makes the given requests concurrently, within the limits of requests in flight of the given options, and invokes the given
+     * response handler to handle each response. Unless the options set a maximum per host, as many requests are made to each host at
+     * once as this client has connections per route.
+     *
+     * @param requests the requests to be made.
+     * @param handler the response handler that will be called to handle each response.
+     * @param options the options of the batch.
+     * @return a stream of the result of each request, which blocks awaiting results not yet available.
+     * @see Batch
+     */
+    @Override
+    public <T> Stream<BatchResult<T>> executeAll(Collection<RestRequest> requests, ResponseHandler<T> handler, BatchOptions options) {
+        return Batch.execute(new ArrayList<>(requests), request -> execute(request, handler), options.withDefaultMaxPerHost(maxConnectionsPerRoute));
+    }
+
+    /**
+     * Makes a GET call for the given URI through the request coalescer, if one is configured, so that concurrent identical calls
+     * share its result.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param resultKind what the response is converted to by the call.
+     * @param call the call making the request and converting its response.
+     * @return the result of the call.
+     */
+    private <T> T coalesced(final String uri, final Object resultKind, final Supplier<T> call) {
+        return requestCoalescer != null ? requestCoalescer.execute(RestRequest.get(uri), resultKind, call) : call.get();
+    }
+
+    /**
+     * Makes a GET call for the given URI through the request coalescer, if one is configured, giving each caller its own copy of
+     * the shared list so that no caller sees changes another makes to its list.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param resultKind what the response is converted to by the call.
+     * @param call the call making the request and converting its response to a list.
+     * @return the list resulting from the call.
+     */
+    private <T> List<T> coalescedList(final String uri, final Object resultKind, final Supplier<List<T>> call) {
+        return requestCoalescer != null ? new ArrayList<>(requestCoalescer.execute(RestRequest.get(uri), resultKind, call)) : call.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Iterator<T> elementIterator(final HttpEntity entity, final Class<T> componentType) {
+        if (entity == null) {
+            return Collections.emptyIterator();
+        } else if (entity instanceof JsonEntity) {
+            return ((JsonEntity) entity).readContentAsIterator(componentType);
+        } else if (entity instanceof NdjsonEntity) {
+            return ((NdjsonEntity) entity).readContentAsIterator(componentType);
+        }
+        return asList((T[])convertEntity(entity, (Class<T[]>) ARRAY_TYPES.get(componentType))).iterator();
+    }
+
+    /**
+     * Converts the given response entity to the given type, through the configured type converter or, where none was configured,
+     * through a cached, direct dispatch to the entity type converters.
+     *
+     * @param entity the entity to be converted, which may be null.
+     * @param type the type to convert the entity to.
+     * @return the converted entity.
+     */
+    protected <T> T convertEntity(final Object entity, final Class<T> type) {
+        return entityConverter != null ? entityConverter.convert(entity, type) : typeConverter.convert(entity, type);
+    }
+
+    /**
+     * Creates a response handler which converts the entity of a 'successful' response to the given type.
+     *
+     * @param responseType the type to convert the body of the successful response to.
+     * @return a response handler returning the converted entity of the response.
+     */
+    protected <T> ResponseHandler<T> typeHandler(final Class<T> responseType) {
+        return r -> { checkStatusCode(r, HttpStatusCode::isSuccessful); return convertEntity(r.getEntity(), responseType);};
+    }
+
+    /**
+     * Creates a response handler which converts the entity of a response with the expected status code to the given type.
+     *
+     * @param expectedHttpStatusCode the status code the response is expected to have.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return a response handler returning the converted entity of the response.
+     */
+    protected <T> ResponseHandler<T> typeHandler(final int expectedHttpStatusCode, final Class<T> responseType) {
+        return r -> { checkStatusCode(r, expectedHttpStatusCode); return convertEntity(r.getEntity(), responseType);};
+    }
+
+    /**
+     * Creates a response handler which converts the entity of a 'successful' response to a list of the given component type.
+     *
+     * @param componentType the component type of the list to convert the body of the successful response to.
+     * @return a response handler returning the converted entity of the response.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> ResponseHandler<List<T>> listHandler(final Class<T> componentType) {
+        return response -> {
+            Assert.assertTrue(HttpStatusCode.isSuccessful(response.getStatusCode()), () -> "Expected 'successful' HTTP response code: actual = " + response.getStatusCode());
+            return asList((T[])convertEntity(response.getEntity(), (Class<T[]>) ARRAY_TYPES.get(componentType)));
+        };
+    }
+
+    /**
+     * Creates a response handler which converts the entity of a response with the expected status code to a list of the given component type.
+     *
+     * @param expectedHttpStatusCode the status code the response is expected to have.
+     * @param componentType the component type of the list to convert the body of the successful response to.
+     * @return a response handler returning the converted entity of the response.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> ResponseHandler<List<T>> listHandler(final int expectedHttpStatusCode, final Class<T> componentType) {
+        return r -> { checkStatusCode(r, expectedHttpStatusCode); return asList((T[])convertEntity(r.getEntity(), (Class<T[]>) ARRAY_TYPES.get(componentType)));};
+    }
+
+    /**
+     * An iterator which closes the response it is reading from once its last element has been read.
+     */
+    private static final class ClosingIterator<T> implements Iterator<T> {
+        private final Iterator<T> delegate;
+        private final StreamingResponse response;
+
+        private ClosingIterator(final Iterator<T> delegate, final StreamingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = delegate.hasNext();
+            if (!hasNext) response.close();
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            return delegate.next();
+        }
+    }
+
+    /**
+     * A response handler noting the status code of the response it last handled, and how long it took to handle it. A handler is
+     * acquired for the duration of a request, and may be reused by later requests once released.
+     */
+    private static final class MeteredResponseHandler<T> implements ResponseHandler<T> {
+        private ResponseHandler<T> delegate;
+        private volatile int statusCode = -1;
+        private volatile long handlingNanos = -1;
+
+        private boolean acquire(final ResponseHandler<T> delegate) {
+            if (this.delegate != null) return false;
+
+            this.delegate = delegate;
+            statusCode = -1;
+            handlingNanos = -1;
+            return true;
+        }
+
+        private void release() {
+            delegate = null;
+        }
+
+        @Override
+        public T handleResponse(final HttpResponse response) {
+            statusCode = response.getStatusCode();
+            final long startNanos = System.nanoTime();
+            try {
+                return delegate.handleResponse(response);
+            } finally {
+                handlingNanos = System.nanoTime() - startNanos;
+            }
+        }
+    }
+
+    /**
+     * The configuration of a client, as given by a builder or, with the defaults of a builder otherwise, by the constructors taking
+     * only an entity factory, type converter and mappers.
+     */
+    private static final class Settings {
+        private EntityProvider entityFactory;
+        private TypeConverter typeConverter;
+        private ObjectMapper objectMapper;
+        private ObjectMapper xmlMapper;
+        private Set<BinaryJsonFormat> binaryJsonFormats;
+        private boolean streamingResponses;
+        private long drainLimit = StreamingResource.DEFAULT_DRAIN_LIMIT;
+        private ResponseCache responseCache;
+        private ObjectCache objectCache;
+        private RequestCoalescer requestCoalescer;
+        private ContentDecoders contentDecoders = ContentDecoders.standard();
+        private TransferListener transferListener;
+        private Resilience resilience;
+        private CircuitBreakers circuitBreakers;
+        private ConcurrencyLimiter concurrencyLimiter;
+        private int maxConnectionsPerRoute = ConnectionPool.DEFAULT_MAX_PER_ROUTE;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration requestTimeout;
+        private MetricsRecorder metricsRecorder;
+        private List<RestInterceptor> interceptors = Collections.emptyList();
+
+        private Settings(final EntityProvider entityFactory, final TypeConverter typeConverter, final ObjectMapper objectMapper, final ObjectMapper xmlMapper) {
+            this.entityFactory = entityFactory;
+            this.typeConverter = typeConverter;
+            this.objectMapper = objectMapper;
+            this.xmlMapper = xmlMapper;
+        }
+
+        private Settings(final AbstractRestClientBuilder<?> builder) {
+            this(builder.getEntityFactory(), builder.getTypeConverter(), builder.getObjectMapper(), builder.getXmlMapper());
+            this.binaryJsonFormats = builder.getBinaryJsonFormats();
+            this.streamingResponses = builder.isStreamingResponses();
+            this.drainLimit = builder.getDrainLimit();
+            this.responseCache = builder.getResponseCache();
+            this.objectCache = builder.getObjectCache();
+            this.requestCoalescer = builder.getRequestCoalescer();
+            this.contentDecoders = builder.getContentDecoders();
+            this.transferListener = builder.getTransferListener();
+            this.resilience = builder.getResilience();
+            this.circuitBreakers = builder.getCircuitBreakers();
+            this.concurrencyLimiter = builder.getConcurrencyLimiter();
+            this.maxConnectionsPerRoute = builder.getMaxConnectionsPerRoute();
+            this.connectTimeout = builder.getConnectTimeout();
+            this.readTimeout = builder.getReadTimeout();
+            this.requestTimeout = builder.getRequestTimeout();
+            this.metricsRecorder = builder.getMetricsRecorder();
+            this.interceptors = builder.getInterceptors();
+        }
     }
 
     private void checkStatusCode(HttpResponse response, Predicate<Integer> statusCodeCheck) {
         if ( statusCodeCheck.test(response.getStatusCode()) ) return;
 
-        throw new RestException("Expected 'successful' HTTP response code, but received " + response.getStatusCode());
+        throw new HttpStatusException("Expected 'successful' HTTP response code, but received " + response.getStatusCode(), response, entityTypeConverter);
     }
 
     private void checkStatusCode(HttpResponse response, int expectedHttpStatusCode) {
         if ( expectedHttpStatusCode == response.getStatusCode() ) return;
 
-        throw new RestException("Unexpected HTTP response code: expected = " + expectedHttpStatusCode + ", actual = " + response.getStatusCode());
+        throw new HttpStatusException("Unexpected HTTP response code: expected = " + expectedHttpStatusCode + ", actual = " + response.getStatusCode(), response, entityTypeConverter);
     }
 }
@@ -0,0 +1,437 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beanplanet.core.lang.conversion.TypeConverter;
+import org.beanplanet.core.net.http.EntityProvider;
+import org.orthodoxengineering.restclient.cache.ObjectCache;
+import org.orthodoxengineering.restclient.cache.ResponseCache;
+import org.orthodoxengineering.restclient.encoding.ContentDecoders;
+import org.orthodoxengineering.restclient.encoding.TransferListener;
+import org.orthodoxengineering.restclient.interceptor.RestInterceptor;
+import org.orthodoxengineering.restclient.metrics.MetricsRecorder;
+import org.orthodoxengineering.restclient.pool.ConnectionPool;
+import org.orthodoxengineering.restclient.resilience.CircuitBreakers;
+import org.orthodoxengineering.restclient.resilience.ConcurrencyLimiter;
+import org.orthodoxengineering.restclient.resilience.Resilience;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The base class of REST client builders, holding the configuration common to all REST client transports.
+ *
+ * @param <B> the type of the concrete builder, returned from each configuration method for invocation chaining.
+ */
+public abstract class AbstractRestClientBuilder<B extends AbstractRestClientBuilder<B>> {
+    private EntityProvider entityFactory = null;
+    private TypeConverter typeConverter = null;
+    private ObjectMapper objectMapper = null;
+    private ObjectMapper xmlMapper = null;
+    private int maxConnectionsPerRoute = ConnectionPool.DEFAULT_MAX_PER_ROUTE;
+    private int maxConnectionsTotal = ConnectionPool.DEFAULT_MAX_TOTAL;
+    private Duration connectionIdleTimeout = ConnectionPool.DEFAULT_IDLE_TIMEOUT;
+    private Duration connectionTimeToLive = null;
+    private Duration connectionPoolWaitTimeout = null;
+    private Duration connectTimeout = null;
+    private Duration readTimeout = null;
+    private Duration requestTimeout = null;
+    private boolean streamingResponses = false;
+    private long drainLimit = StreamingResource.DEFAULT_DRAIN_LIMIT;
+    private ResponseCache responseCache = null;
+    private ObjectCache objectCache = null;
+    private RequestCoalescer requestCoalescer = null;
+    private ContentDecoders contentDecoders = ContentDecoders.standard();
+    private TransferListener transferListener = null;
+    private Set<BinaryJsonFormat> binaryJsonFormats = null;
+    private Resilience resilience = null;
+    private CircuitBreakers circuitBreakers = null;
+    private ConcurrencyLimiter concurrencyLimiter = null;
+    private MetricsRecorder metricsRecorder = null;
+    private final List<RestInterceptor> interceptors = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    protected B self() {
+        return (B) this;
+    }
+
+    /**
+     * Sets the factory of response entities, in place of the default providers. Register the providers with a
+     * {@link CachingEntityProviderRegistry} to have the provider chosen for each content type remembered.
+     *
+     * @param entityFactory the factory of response entities.
+     * @return this builder, for invocation chaining.
+     */
+    public B entityFactory(final EntityProvider entityFactory) {
+        this.entityFactory = entityFactory;
+        return self();
+    }
+
+    public B typeConverter(final TypeConverter typeConverter) {
+        this.typeConverter = typeConverter;
+        return self();
+    }
+
+    public B objectMapper(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        return self();
+    }
+
+    public B xmlMapper(final ObjectMapper xmlMapper) {
+        this.xmlMapper = xmlMapper;
+        return self();
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections to any one route (scheme, host and port). By default, this is
+     * {@link ConnectionPool#DEFAULT_MAX_PER_ROUTE}, unless the builder of the transport has a default of its own.
+     *
+     * @param maxConnectionsPerRoute the maximum number of connections per route.
+     * @return this builder, for invocation chaining.
+     */
+    public B maxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return self();
+    }
+
+    public B maxConnectionsTotal(final int maxConnectionsTotal) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+        return self();
+    }
+
+    public B connectionIdleTimeout(final Duration connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+        return self();
+    }
+
+    public B connectionTimeToLive(final Duration connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+        return self();
+    }
+
+    /**
+     * Sets the maximum time a request will wait for a pooled connection when the route or pool limits have been reached, after
+     * which the request fails. By default, requests wait indefinitely.
+     *
+     * @param connectionPoolWaitTimeout the maximum time to wait for a pooled connection.
+     * @return this builder, for invocation chaining.
+     */
+    public B connectionPoolWaitTimeout(final Duration connectionPoolWaitTimeout) {
+        this.connectionPoolWaitTimeout = connectionPoolWaitTimeout;
+        return self();
+    }
+
+    /**
+     * Sets the maximum time to wait for a connection to be established, after which the request fails. By default, there is no timeout.
+     *
+     * @param connectTimeout the connect timeout.
+     * @return this builder, for invocation chaining.
+     */
+    public B connectTimeout(final Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return self();
+    }
+
+    /**
+     * Sets the maximum time to wait for data to be received, whether the start of the response or the next part of its body, after
+     * which the request fails. By default, there is no timeout.
+     *
+     * @param readTimeout the read timeout.
+     * @return this builder, for invocation chaining.
+     */
+    public B readTimeout(final Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        return self();
+    }
+
+    /**
+     * Sets the total time allowed for each request, including connecting, reading the whole response and any retries, after which
+     * the request fails with a {@link DeadlineExceededException}. A request may specify its own {@link Deadline}. By default, there
+     * is no deadline.
+     *
+     * @param requestTimeout the total time allowed for each request.
+     * @return this builder, for invocation chaining.
+     */
+    public B requestTimeout(final Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+        return self();
+    }
+
+    /**
+     * Sets whether response entities are streamed directly from the connection to response handlers, rather than being buffered in
+     * memory first. A streamed entity is backed by a one-shot stream, so may only be read once and only until the response handler
+     * returns, at which point the connection is released. This bounds the memory used by large responses. By default, responses are
+     * buffered.
+     *
+     * @param streamingResponses true if response entities are to be streamed, false if they are to be buffered.
+     * @return this builder, for invocation chaining.
+     */
+    public B streamingResponses(final boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+        return self();
+    }
+
+    /**
+     * Sets the maximum number of bytes read from a response body which the response handler did not consume, so that the connection
+     * may be reused rather than closed. Error response bodies are read into memory, to be handled as entities, up to the same limit;
+     * a longer error body is discarded with its connection. By default, the limit is {@link StreamingResource#DEFAULT_DRAIN_LIMIT}.
+     *
+     * @param drainLimit the maximum number of bytes read to release a connection for reuse.
+     * @return this builder, for invocation chaining.
+     */
+    public B drainLimit(final long drainLimit) {
+        this.drainLimit = drainLimit;
+        return self();
+    }
+
+    /**
+     * Sets the HTTP response cache through which GET requests are made, so that responses which may be cached are served without
+     * being downloaded again while fresh, and are revalidated with conditional requests once stale. Requests made through a cache
+     * always have their responses buffered. By default, responses are not cached.
+     *
+     * @param responseCache the response cache, which may be shared between clients, or null if responses are not to be cached.
+     * @return this builder, for invocation chaining.
+     */
+    public B responseCache(final ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return self();
+    }
+
+    /**
+     * Sets the cache of decoded response entities from which {@link RestClient#get(String, Class)} answers, so that hot lookups cost
+     * neither I/O nor decoding while cached. Only successful responses are cached. By default, decoded entities are not cached.
+     *
+     * @param objectCache the decoded entity cache, or null if decoded entities are not to be cached.
+     * @return this builder, for invocation chaining.
+     */
+    public B objectCache(final ObjectCache objectCache) {
+        this.objectCache = objectCache;
+        return self();
+    }
+
+    /**
+     * Sets the coalescer through which concurrent identical GET requests made by the typed conveniences, such as
+     * {@link RestClient#get(String, Class)}, share a single in-flight exchange and its converted result. By default, every call makes
+     * its own request.
+     *
+     * @param requestCoalescer the request coalescer, or null if requests are not to be coalesced.
+     * @return this builder, for invocation chaining.
+     */
+    public B requestCoalescer(final RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+        return self();
+    }
+
+    /**
+     * Sets the content decoders of the client, whose content codings are advertised in the <code>Accept-Encoding</code> header of
+     * requests and which decode compressed response bodies as they are read. By default, the {@link ContentDecoders#standard()}
+     * <code>gzip</code> and <code>deflate</code> decoders are used; {@link ContentDecoders#none()} disables compression.
+     *
+     * @param contentDecoders the content decoders.
+     * @return this builder, for invocation chaining.
+     */
+    public B contentDecoders(final ContentDecoders contentDecoders) {
+        this.contentDecoders = contentDecoders;
+        return self();
+    }
+
+    /**
+     * Sets the listener notified of the bytes of each response body read from the wire and once decoded.
+     *
+     * @param transferListener the transfer listener, or null if none is to be notified.
+     * @return this builder, for invocation chaining.
+     */
+    public B transferListener(final TransferListener transferListener) {
+        this.transferListener = transferListener;
+        return self();
+    }
+
+    /**
+     * Sets the binary JSON formats for which entity providers are registered with the default entity factory, and which requests
+     * prefer in their <code>Accept</code> header. Formats whose Jackson data format module is not present on the classpath are
+     * ignored. By default, all available formats are registered; an empty set disables binary formats.
+     *
+     * @param binaryJsonFormats the binary JSON formats to be registered.
+     * @return this builder, for invocation chaining.
+     */
+    public B binaryJsonFormats(final BinaryJsonFormat... binaryJsonFormats) {
+        this.binaryJsonFormats = binaryJsonFormats.length == 0 ? EnumSet.noneOf(BinaryJsonFormat.class) : EnumSet.copyOf(Arrays.asList(binaryJsonFormats));
+        return self();
+    }
+
+    /**
+     * Sets the retry, retry budget and hedging configuration through which requests are made. By default, each request is made
+     * once only.
+     *
+     * <p>Where requests are hedged, the response handler of an attempt that loses the race may already have run, on a thread of the
+     * hedge executor, so the response handlers of hedged requests should be free of side effects.</p>
+     *
+     * <p>Streamed responses are retried but not hedged. Asynchronous requests are neither retried nor hedged.</p>
+     *
+     * @param resilience the resilience configuration, or null if requests are not to be retried or hedged.
+     * @return this builder, for invocation chaining.
+     */
+    public B resilience(final Resilience resilience) {
+        this.resilience = resilience;
+        return self();
+    }
+
+    /**
+     * Sets the circuit breakers, one per route, through which requests are made, so that requests to a failing or slow route fail
+     * fast. By default, requests are not guarded by circuit breakers.
+     *
+     * @param circuitBreakers the circuit breakers, or null if requests are not to be guarded.
+     * @return this builder, for invocation chaining.
+     */
+    public B circuitBreakers(final CircuitBreakers circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
+        return self();
+    }
+
+    /**
+     * Sets the adaptive limit on the number of requests in flight, beyond which requests are shed. By default, requests in flight
+     * are limited only by the connection pool.
+     *
+     * @param concurrencyLimiter the concurrency limiter, or null if requests in flight are not to be limited.
+     * @return this builder, for invocation chaining.
+     */
+    public B concurrencyLimiter(final ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        return self();
+    }
+
+    /**
+     * Sets the recorder of the metrics of requests: the duration of each phase of a request, the bytes received, the requests in
+     * flight and the exceptions raised, tagged by host, URI template and status class. By default, no metrics are recorded.
+     *
+     * @param metricsRecorder the metrics recorder, or null if no metrics are to be recorded.
+     * @return this builder, for invocation chaining.
+     */
+    public B metricsRecorder(final MetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+        return self();
+    }
+
+    /**
+     * Adds an interceptor of the requests made, and the responses received, by the client. Interceptors intercept requests in the
+     * order in which they are added, and responses in the reverse order.
+     *
+     * @param interceptor the interceptor to be added.
+     * @return this builder, for invocation chaining.
+     */
+    public B interceptor(final RestInterceptor interceptor) {
+        interceptors.add(interceptor);
+        return self();
+    }
+
+    public EntityProvider getEntityFactory() {
+        return entityFactory;
+    }
+
+    public TypeConverter getTypeConverter() {
+        return typeConverter;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public ObjectMapper getXmlMapper() {
+        return xmlMapper;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    public Duration getConnectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    public Duration getConnectionPoolWaitTimeout() {
+        return connectionPoolWaitTimeout;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public boolean isStreamingResponses() {
+        return streamingResponses;
+    }
+
+    public long getDrainLimit() {
+        return drainLimit;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public ObjectCache getObjectCache() {
+        return objectCache;
+    }
+
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    public ContentDecoders getContentDecoders() {
+        return contentDecoders;
+    }
+
+    public TransferListener getTransferListener() {
+        return transferListener;
+    }
+
+    public Set<BinaryJsonFormat> getBinaryJsonFormats() {
+        return binaryJsonFormats;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    public List<RestInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(interceptors);
+    }
+
+    /**
+     * Builds the REST client from the configuration of this builder.
+     *
+     * @return a new REST client.
+     */
+    public abstract RestClient build();
+}
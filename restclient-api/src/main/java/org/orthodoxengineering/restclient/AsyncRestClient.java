@@ -0,0 +1,73 @@
+package org.orthodoxengineering.restclient;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Definition of an asynchronous, non-blocking REST client. Requests are made without blocking the calling thread, each
+ * returning a {@link CompletableFuture} which is completed with the result of the request, or completed exceptionally with
+ * a {@link RestException} if the request was not successful or if some other error occurs making the request.
+ */
+public interface AsyncRestClient {
+    /**
+     * Makes an asynchronous GET request to the given endpoint and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param handler the response handler that will be called to handle the response.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    <T> CompletableFuture<T> getAsync(String uri, ResponseHandler<T> handler);
+
+    /**
+     * Makes the given request asynchronously and invokes the given response handler to handle the response.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    <T> CompletableFuture<T> executeAsync(RestRequest request, ResponseHandler<T> handler);
+
+    /**
+     * Makes an asynchronous GET request to the given endpoint and converts the response to the given type. The request
+     * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return a future completed with the response type.
+     * @see org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)
+     */
+    <T> CompletableFuture<T> getAsync(String uri, Class<T> responseType);
+
+    /**
+     * Makes an asynchronous GET request to the given endpoint and converts the response to the given type. The request
+     * is considered 'successful' if the response code is <code>expectedHttpStatusCode</code>.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param expectedHttpStatusCode the status code the response is expected to have.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return a future completed with the response type.
+     */
+    <T> CompletableFuture<T> getAsync(String uri, int expectedHttpStatusCode, Class<T> responseType);
+
+    /**
+     * Makes an asynchronous GET request to the given endpoint and converts the response to a list of the given component type. The request
+     * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param componentType the component type of the list to convert the body of the successful response to.
+     * @return a future completed with a list of the given component type.
+     * @see org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)
+     */
+    <T> CompletableFuture<List<T>> getForListAsync(String uri, Class<T> componentType);
+
+    /**
+     * Makes an asynchronous GET request to the given endpoint and converts the response to a list of the given component type. The request
+     * is considered 'successful' if the response code is <code>expectedHttpStatusCode</code>.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param expectedHttpStatusCode the status code the response is expected to have.
+     * @param componentType the component type of the list to convert the body of the successful response to.
+     * @return a future completed with a list of the given component type.
+     */
+    <T> CompletableFuture<List<T>> getForListAsync(String uri, int expectedHttpStatusCode, Class<T> componentType);
+}
@@ -0,0 +1,43 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.beanplanet.core.io.resource.Resource;
+import org.beanplanet.core.lang.conversion.TypeConversionException;
+import org.beanplanet.core.net.http.ContentType;
+
+/**
+ * An HTTP entity which wraps binary JSON content, such as Smile or CBOR, converted through an object mapper of its format. As the
+ * JSON data model is preserved, the entity converts to any type its JSON equivalent would, and to a string as JSON text.
+ */
+public class BinaryJsonEntity extends JsonEntity {
+    private final BinaryJsonFormat format;
+
+    /**
+     * Creates a binary JSON HTTP entity which wraps the binary JSON content provided.
+     *
+     * @param format      the binary JSON format of the content.
+     * @param readers     the cache of readers of an object mapper of the format, which would typically be shared by all entities
+     *                    created by an entity provider.
+     * @param content     entity body content, which must be of the given format.
+     * @param contentType the content type of the entity, which may be null if not known.
+     */
+    public BinaryJsonEntity(final BinaryJsonFormat format, final ObjectReaderCache readers, final Resource content, final ContentType contentType) {
+        super(readers, content, contentType, null);
+        this.format = format;
+    }
+
+    public BinaryJsonFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Reads the content of the entity, transcoding it to JSON text.
+     *
+     * @return the content of the entity as JSON text.
+     * @throws TypeConversionException if the content is not valid content of the format of this entity.
+     */
+    public String readContentAsJson() throws TypeConversionException {
+        final JsonNode content = readContentAs(JsonNode.class);
+        return content == null ? null : content.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beanplanet.core.io.resource.Resource;
+import org.beanplanet.core.net.http.AbstractRuleMatchingEntityProvider;
+import org.beanplanet.core.net.http.EntityMatchers;
+import org.beanplanet.core.net.http.HttpEntity;
+import org.beanplanet.core.net.http.HttpMessage;
+
+/**
+ * A factory for creating binary JSON HTTP entity bodies, such as Smile or CBOR, using a Jackson data format module.
+ */
+public class BinaryJsonEntityProvider extends AbstractRuleMatchingEntityProvider {
+    private final BinaryJsonFormat format;
+    private final ObjectMapper objectMapper;
+    private final ObjectReaderCache readers;
+
+    /**
+     * Creates a provider of entities of the given format, converted through the given object mapper.
+     *
+     * @param format the binary JSON format of the entities.
+     * @param objectMapper an object mapper of the format, such as one created by {@link BinaryJsonFormat#createMapper(ObjectMapper)}.
+     */
+    public BinaryJsonEntityProvider(final BinaryJsonFormat format, final ObjectMapper objectMapper) {
+        super(EntityMatchers.mediaTypes(format.getMediaTypes()));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.readers = new ObjectReaderCache(objectMapper);
+    }
+
+    /**
+     * Creates a provider of entities of the given format, configured for deserialization as the given JSON object mapper is.
+     *
+     * @param format the binary JSON format of the entities.
+     * @param jsonObjectMapper the JSON object mapper whose deserialization configuration is to be used, which may be null.
+     * @return a provider of entities of the given format.
+     * @throws IllegalStateException if the Jackson data format module of the format is not present on the classpath.
+     * @see BinaryJsonFormat#isAvailable()
+     */
+    public static BinaryJsonEntityProvider configuredFrom(final BinaryJsonFormat format, final ObjectMapper jsonObjectMapper) {
+        return new BinaryJsonEntityProvider(format, format.createMapper(jsonObjectMapper));
+    }
+
+    public BinaryJsonFormat getFormat() {
+        return format;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Returns the cache of object readers shared by all entities created by this provider.
+     *
+     * @return the object reader cache of this provider.
+     */
+    public ObjectReaderCache getReaderCache() {
+        return readers;
+    }
+
+    @Override
+    public HttpEntity createEntity(HttpMessage message, Resource content) {
+        return new BinaryJsonEntity(format, readers, content, null);
+    }
+}
@@ -0,0 +1,82 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The binary JSON formats supported by Jackson data format modules, which carry the JSON data model in a more compact encoding that
+ * is considerably cheaper to parse than JSON text.
+ *
+ * <p>The data format modules are optional dependencies: a format is only available, and only registered with REST clients by
+ * default, if its module is present on the classpath.</p>
+ */
+public enum BinaryJsonFormat {
+    /** The Smile format, of the <code>com.fasterxml.jackson.dataformat:jackson-dataformat-smile</code> module. */
+    SMILE("com.fasterxml.jackson.dataformat.smile.SmileFactory", "application/x-jackson-smile"),
+    /** The CBOR format of RFC 8949, of the <code>com.fasterxml.jackson.dataformat:jackson-dataformat-cbor</code> module. */
+    CBOR("com.fasterxml.jackson.dataformat.cbor.CBORFactory", "application/cbor"),
+    /** The MessagePack format, of the <code>org.msgpack:jackson-dataformat-msgpack</code> module. */
+    MESSAGE_PACK("org.msgpack.jackson.dataformat.MessagePackFactory", "application/msgpack", "application/x-msgpack");
+
+    private final String factoryClassName;
+    private final String[] mediaTypes;
+
+    BinaryJsonFormat(final String factoryClassName, final String... mediaTypes) {
+        this.factoryClassName = factoryClassName;
+        this.mediaTypes = mediaTypes;
+    }
+
+    /**
+     * Returns the media types of this format, the first of which is its preferred media type.
+     *
+     * @return the media types of this format.
+     */
+    public String[] getMediaTypes() {
+        return mediaTypes.clone();
+    }
+
+    public String getMediaType() {
+        return mediaTypes[0];
+    }
+
+    /**
+     * Determines whether the Jackson data format module of this format is present on the classpath.
+     *
+     * @return true if this format may be used.
+     */
+    public boolean isAvailable() {
+        return factoryClass() != null;
+    }
+
+    /**
+     * Creates an object mapper for this format, configured for deserialization as the given JSON object mapper is, so that entities
+     * of this format convert as their JSON equivalents would. Modules registered with the JSON object mapper are not carried over.
+     *
+     * @param configuredFrom the JSON object mapper whose deserialization configuration is to be used, which may be null.
+     * @return an object mapper for this format.
+     * @throws IllegalStateException if the Jackson data format module of this format is not present on the classpath.
+     */
+    public ObjectMapper createMapper(final ObjectMapper configuredFrom) {
+        final Class<?> factoryClass = factoryClass();
+        if (factoryClass == null) throw new IllegalStateException("The Jackson data format module of the " + this + " format is not present on the classpath");
+
+        final ObjectMapper mapper;
+        try {
+            mapper = new ObjectMapper((JsonFactory) factoryClass.getConstructor().newInstance());
+        } catch (ReflectiveOperationException reflectionEx) {
+            throw new IllegalStateException("Unable to create the Jackson data format factory of the " + this + " format", reflectionEx);
+        }
+        if (configuredFrom != null) {
+            mapper.setConfig(configuredFrom.getDeserializationConfig());
+        }
+        return mapper;
+    }
+
+    private Class<?> factoryClass() {
+        try {
+            return Class.forName(factoryClassName, false, BinaryJsonFormat.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError notPresentEx) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.io.IoException;
+import org.beanplanet.core.io.resource.AbstractResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A read-only resource over content already held in memory, such as a response body served from a cache. The content may be read
+ * any number of times and is never copied.
+ */
+public class BytesResource extends AbstractResource {
+    private final byte[] bytes;
+    private final Charset charset;
+
+    public BytesResource(final byte[] bytes) {
+        this(bytes, null);
+    }
+
+    /**
+     * Creates a resource over the given content.
+     *
+     * @param bytes the content of the resource.
+     * @param charset the character set in which the content is encoded, such as that of the <code>Content-Type</code> of a response,
+     *                or null if it is unknown and UTF-8 is to be assumed.
+     */
+    public BytesResource(final byte[] bytes, final Charset charset) {
+        this.bytes = bytes;
+        this.charset = charset != null ? charset : UTF_8;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IoException {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public Reader getReader() throws IoException {
+        return new InputStreamReader(getInputStream(), charset);
+    }
+
+    /**
+     * Returns the length of the content of this resource.
+     *
+     * @return the content length, in bytes.
+     */
+    public int length() {
+        return bytes.length;
+    }
+}
@@ -0,0 +1,149 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.io.resource.Resource;
+import org.beanplanet.core.net.http.EntityProvider;
+import org.beanplanet.core.net.http.EntityProviderRegistry;
+import org.beanplanet.core.net.http.HttpEntity;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.beanplanet.core.net.http.HttpMessage;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link EntityProviderRegistry} of entity providers which remembers the provider the registry chooses for each distinct
+ * <code>Content-Type</code> of response.
+ *
+ * <p>The providers are consulted in registration order, exactly as an entity provider registry would consult them, and the first
+ * provider to create an entity for a response is remembered against the normalised <code>Content-Type</code> of the response (its
+ * media type and parameters, in lower case and without insignificant whitespace). The decision is held in a bounded, lock-free map,
+ * so that repeated responses of the same content type, such as those of the same endpoint, go straight to their provider with a
+ * single map lookup. Messages with no <code>Content-Type</code>, or of a content type no registered provider supports, are passed to
+ * a registry of all the providers. Once the map holds its maximum number of content types, decisions for further content types are
+ * made afresh for each message.</p>
+ *
+ * <p>Any entity providers, including those supplied to a client builder as its entity factory, may be registered here to benefit
+ * from the cache.</p>
+ */
+public class CachingEntityProviderRegistry implements EntityProvider {
+    /** The default maximum number of content types whose provider is remembered. */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final EntityProviderRegistry registry = new EntityProviderRegistry();
+    private final ConcurrentMap<String, EntityProvider> resolved = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingEntityProviderRegistry() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a caching entity provider registry.
+     *
+     * @param maxSize the maximum number of content types whose provider is remembered.
+     */
+    public CachingEntityProviderRegistry(final int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("The maximum cache size must not be negative: " + maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Registers a provider, after any providers already registered. Any previously remembered decisions are forgotten.
+     *
+     * @param provider the provider to be registered.
+     * @return this registry, for invocation chaining.
+     */
+    public CachingEntityProviderRegistry addProvider(final EntityProvider provider) {
+        registrations.add(new Registration(provider));
+        registry.addProvider(provider);
+        resolved.clear();
+        return this;
+    }
+
+    @Override
+    public HttpEntity createEntity(final HttpMessage message, final Resource content) {
+        final String contentType = message instanceof RestResponse ? ((RestResponse) message).getHeaderValue(HttpHeaders.CONTENT_TYPE) : null;
+        if (contentType == null) return registry.createEntity(message, content);
+
+        final String key = normalise(contentType);
+        final EntityProvider provider = resolved.get(key);
+        if (provider != null) {
+            hits.increment();
+            return provider.createEntity(message, content);
+        }
+
+        misses.increment();
+        for (Registration registration : registrations) {
+            final HttpEntity entity = registration.registry.createEntity(message, content);
+            if (entity != null) {
+                remember(key, registration.provider);
+                return entity;
+            }
+        }
+        remember(key, registry);
+        return registry.createEntity(message, content);
+    }
+
+    private void remember(final String normalisedContentType, final EntityProvider provider) {
+        if (resolved.size() < maxSize) resolved.putIfAbsent(normalisedContentType, provider);
+    }
+
+    static String normalise(final String contentType) {
+        final StringBuilder normalised = new StringBuilder(contentType.length());
+        for (int n = 0; n < contentType.length(); n++) {
+            final char ch = contentType.charAt(n);
+            if (!Character.isWhitespace(ch)) normalised.append(ch);
+        }
+        return normalised.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the number of entities whose provider was found among the remembered decisions.
+     *
+     * @return the resolution cache hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of entities whose provider had to be chosen by consulting the registered providers.
+     *
+     * @return the resolution cache miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the proportion of entities whose provider was found among the remembered decisions.
+     *
+     * @return the resolution cache hit rate, between 0 and 1, or 0 if no entity with a content type has been created.
+     */
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long total = hitCount + getMissCount();
+        return total == 0 ? 0d : (double) hitCount / total;
+    }
+
+    /**
+     * A registered provider, together with a registry of that provider alone, which asks whether the provider supports a message
+     * in the same way as the registry of all providers.
+     */
+    private static final class Registration {
+        private final EntityProvider provider;
+        private final EntityProviderRegistry registry;
+
+        private Registration(final EntityProvider provider) {
+            this.provider = provider;
+            this.registry = new EntityProviderRegistry().addProvider(provider);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.orthodoxengineering.restclient;
+
+import java.nio.charset.Charset;
+
+/**
+ * Decides how entity content in a given character set is best fed to a parser.
+ */
+final class ContentCharsets {
+    private ContentCharsets() {
+    }
+
+    /**
+     * Whether content in the given character set may be passed to a Jackson parser as raw bytes. Jackson's byte-based parsers detect
+     * and decode the UTF-8, UTF-16 and UTF-32 encodings (and so the US-ASCII subset of UTF-8) themselves, which is considerably faster
+     * than decoding to characters through a {@link java.io.Reader} first.
+     *
+     * @param charset the declared character set of the content, which may be null if none was declared.
+     * @return true if the content may be parsed from its bytes, or false if it must be decoded through a reader.
+     */
+    static boolean isByteDecodable(final Charset charset) {
+        if (charset == null) return true;
+
+        final String name = charset.name();
+        return name.startsWith("UTF-8") || name.startsWith("UTF-16") || name.startsWith("UTF-32") || name.equals("US-ASCII");
+    }
+}
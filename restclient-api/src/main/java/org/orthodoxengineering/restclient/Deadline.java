@@ -0,0 +1,107 @@
+package org.orthodoxengineering.restclient;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a request must have completed, bounding the total time spent on it: leasing and establishing a connection,
+ * awaiting the response, reading its body and any retries.
+ *
+ * <p>Transports bound each connect and read by the time remaining, and a watchdog aborts an exchange still in progress when the
+ * deadline passes, failing it with a {@link DeadlineExceededException}. Host name resolution by the JDK cannot be interrupted, so
+ * is bounded only by the resolver's own timeouts.</p>
+ */
+public final class Deadline {
+    private final long deadlineNanos;
+
+    private Deadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline the given time from now.
+     *
+     * @param timeout the total time allowed.
+     * @return a deadline expiring after the given time.
+     */
+    public static Deadline after(final Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Returns the time remaining until this deadline.
+     *
+     * @return the time remaining, which is zero or negative once the deadline has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Returns the earlier of the given timeout and the time remaining until this deadline, in milliseconds, for use as a connect or
+     * read timeout.
+     *
+     * @param timeout the timeout, or null if there is none.
+     * @return the timeout in milliseconds, which is at least one.
+     * @throws DeadlineExceededException if this deadline has passed.
+     */
+    public int timeoutMillis(final Duration timeout) throws DeadlineExceededException {
+        final long remainingNanos = remainingNanos();
+        if (remainingNanos <= 0) throw new DeadlineExceededException(this);
+
+        final long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+        final long timeoutMillis = timeout == null || timeout.isZero() ? remainingMillis : Math.min(timeout.toMillis(), remainingMillis);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeoutMillis));
+    }
+
+    /**
+     * Arranges for the given action, which aborts an exchange, to be run if this deadline passes before the returned watch is closed.
+     *
+     * @param abort the action aborting the exchange.
+     * @return a watch, to be closed once the exchange has completed.
+     */
+    public Watch watch(final Runnable abort) {
+        final ScheduledFuture<?> expiry = Watchdog.INSTANCE.schedule(abort, Math.max(0, remainingNanos()), TimeUnit.NANOSECONDS);
+        return () -> expiry.cancel(false);
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining() + "]";
+    }
+
+    /**
+     * A watch on an exchange, which aborts it if the deadline passes before the watch is closed.
+     */
+    @FunctionalInterface
+    public interface Watch extends AutoCloseable {
+        /** A watch which never aborts anything, for exchanges without a deadline. */
+        Watch NONE = () -> {};
+
+        @Override
+        void close();
+    }
+
+    private static final class Watchdog {
+        private static final ScheduledThreadPoolExecutor INSTANCE = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "rest-client-deadline-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            // Most watches are closed before their deadline, so cancelled expiries are discarded rather than left queued
+            INSTANCE.setRemoveOnCancelPolicy(true);
+        }
+    }
+}
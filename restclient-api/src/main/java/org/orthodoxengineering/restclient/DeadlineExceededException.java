@@ -0,0 +1,33 @@
+package org.orthodoxengineering.restclient;
+
+/**
+ * Thrown when a request has not completed by its deadline, whether the deadline passed before an attempt of the request could be
+ * made or the exchange in progress was aborted when it passed.
+ */
+public class DeadlineExceededException extends RestException {
+    private final Deadline deadline;
+
+    /**
+     * Constructs a new deadline exceeded exception.
+     *
+     * @param deadline the deadline which has passed.
+     */
+    public DeadlineExceededException(final Deadline deadline) {
+        this(deadline, null);
+    }
+
+    /**
+     * Constructs a new deadline exceeded exception.
+     *
+     * @param deadline the deadline which has passed.
+     * @param cause the failure of the exchange aborted when the deadline passed, which may be null.
+     */
+    public DeadlineExceededException(final Deadline deadline, final Throwable cause) {
+        super("Request deadline exceeded by " + deadline.remaining().negated(), cause);
+        this.deadline = deadline;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+}
@@ -0,0 +1,45 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A request body serializing an object through a Jackson object mapper as it is written, so that the serialized form is never held
+ * in memory as a whole.
+ */
+class EntityRequestBody implements RequestBody {
+    private final ObjectMapper objectMapper;
+    private final Object entity;
+    private final String contentType;
+
+    /**
+     * Creates an entity request body.
+     *
+     * @param objectMapper the object mapper by which the entity is serialized.
+     * @param entity the entity to be serialized.
+     * @param contentType the media type of the serialized entity.
+     */
+    EntityRequestBody(final ObjectMapper objectMapper, final Object entity, final String contentType) {
+        this.objectMapper = objectMapper;
+        this.entity = entity;
+        this.contentType = contentType;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        // The connection stream is closed by the transport, once the body is complete
+        objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, entity);
+    }
+}
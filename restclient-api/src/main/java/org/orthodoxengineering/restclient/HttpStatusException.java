@@ -0,0 +1,49 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.net.http.HttpResponse;
+
+import java.util.function.BiFunction;
+
+/**
+ * Thrown when a response does not have the status code expected of it, carrying the response and its error entity, such as a problem
+ * details document, which may be converted to a type as the entity of any other response may.
+ */
+public class HttpStatusException extends RestException {
+    private final transient HttpResponse response;
+    private final transient BiFunction<Object, Class<?>, Object> entityConverter;
+
+    /**
+     * Constructs a new HTTP status exception.
+     *
+     * @param message the detail message.
+     * @param response the response received, whose entity, if any, has been read into memory.
+     * @param entityConverter the converter of the entity of the response to other types.
+     */
+    public HttpStatusException(final String message, final HttpResponse response, final BiFunction<Object, Class<?>, Object> entityConverter) {
+        super(message);
+        this.response = response;
+        this.entityConverter = entityConverter;
+    }
+
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    public HttpResponse getResponse() {
+        return response;
+    }
+
+    public boolean hasEntity() {
+        return response.getEntity() != null;
+    }
+
+    /**
+     * Converts the entity of the error response to the given type.
+     *
+     * @param entityType the type to convert the entity to.
+     * @return the converted entity, or null if the response has no entity.
+     */
+    public <T> T getEntity(final Class<T> entityType) {
+        return hasEntity() ? entityType.cast(entityConverter.apply(response.getEntity(), entityType)) : null;
+    }
+}
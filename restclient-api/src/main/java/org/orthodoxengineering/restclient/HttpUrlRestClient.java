@@ -4,52 +4,269 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.beanplanet.core.io.IoException;
 import org.beanplanet.core.io.IoUtil;
 import org.beanplanet.core.io.resource.ByteArrayOutputStreamResource;
+import org.beanplanet.core.io.resource.Resource;
 import org.beanplanet.core.lang.conversion.TypeConverter;
 import org.beanplanet.core.net.http.EntityProvider;
 import org.beanplanet.core.net.http.HttpResponse;
-import org.beanplanet.core.util.MultiValueListMapImpl;
+import org.orthodoxengineering.restclient.metrics.RequestPhase;
+import org.orthodoxengineering.restclient.pool.ConnectionPool;
+import org.orthodoxengineering.restclient.pool.PoolStats;
+import org.orthodoxengineering.restclient.pool.PooledConnection;
+import org.orthodoxengineering.restclient.pool.Route;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 
 public class HttpUrlRestClient extends AbstractRestClient implements RestClient {
+    private static final String CONNECTION_HEADER = "Connection";
+    private static final String CONNECTION_CLOSE = "close";
+    private static final String METHOD_OVERRIDE_HEADER = "X-HTTP-Method-Override";
+
+    private final ConnectionPool connectionPool;
+    private final boolean patchMethodOverride;
+
     HttpUrlRestClient(final EntityProvider entityFactory, final TypeConverter typeConverter, final ObjectMapper objectMapper, final ObjectMapper xmlMapper) {
         super(entityFactory, typeConverter, objectMapper, xmlMapper);
+        this.connectionPool = new ConnectionPool();
+        this.patchMethodOverride = false;
+    }
+
+    HttpUrlRestClient(final HttpUrlRestClientBuilder builder) {
+        super(builder);
+        this.connectionPool = builder.connectionPool != null ? builder.connectionPool
+                                                             : new ConnectionPool(builder.getMaxConnectionsPerRoute(),
+                                                                                  builder.getMaxConnectionsTotal(),
+                                                                                  builder.getConnectionIdleTimeout(),
+                                                                                  builder.getConnectionTimeToLive(),
+                                                                                  builder.getConnectionPoolWaitTimeout());
+        this.patchMethodOverride = builder.patchMethodOverride;
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
     }
 
     /**
-     * Makes a GET request to the given endpoint and invokes the given response handler to handle the response.
+     * Gets the statistics of the connection pool of this client, across all routes.
      *
-     * @param uri the URI of the endpoint to call.
+     * @return a snapshot of the current connection pool statistics.
+     */
+    public PoolStats getPoolStats() {
+        return connectionPool.getTotalStats();
+    }
+
+    /**
+     * Makes the given request and invokes the given response handler to handle the response, with its entity buffered in memory.
+     *
+     * @param request the request to be made.
      * @param handler the response handler that will be called to handle the response.
      * @return the response returned from invocation the response handler.
-     * @throws RestException if the request was not successful or if some other error occurs making the request.
-     * @see org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)
+     * @throws RestException if an error occurs making the request.
      */
     @Override
-    public <T> T get(String uri, ResponseHandler<T> handler) {
+    protected <T> T exchange(RestRequest request, ResponseHandler<T> handler) {
         try {
-            URL url = new URL(uri);
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
-            con.setRequestMethod("GET");
-            con.connect();
-            final HttpResponse response = new HttpResponse(con.getResponseCode(), new MultiValueListMapImpl<>(con.getHeaderFields()))
-                    .withReasonPhrase(con.getResponseMessage());
-
-            ByteArrayOutputStreamResource content = new ByteArrayOutputStreamResource();
-            try(InputStream conIs = con.getInputStream()) {
-                IoUtil.transfer(conIs, content.getOutputStream());
-                return handler.handleResponse(response.withEntity(getEntityFactory().createEntity(response, content)));
-            } catch (IOException ignoredEx) {
-                return handler.handleResponse(response);
+            final URL url = new URL(request.getUri());
+            final RestRequest negotiatedRequest = negotiate(request);
+            final HttpResponse response;
+            Resource content = null;
+
+            final PooledConnection pooledConnection = connectionPool.lease(Route.of(url));
+            boolean reusable = false;
+            try {
+                final HttpURLConnection con = openConnection(url, negotiatedRequest, pooledConnection);
+                boolean drained = true;
+                try (Deadline.Watch ignored = watchDeadline(negotiatedRequest, con::disconnect)) {
+                    response = connect(negotiatedRequest, con);
+
+                    final InputStream conIs = bodyStreamOrNull(con);
+                    if (conIs != null) {
+                        final long transferStartNanos = System.nanoTime();
+                        try (InputStream contentIs = decodeContent(negotiatedRequest, con.getContentEncoding(), conIs)) {
+                            if (isErrorStatus(response.getStatusCode())) {
+                                content = readErrorContent(contentIs, RestResponse.contentCharsetOf(response));
+                                drained = content != null;
+                            } else {
+                                final ByteArrayOutputStreamResource bufferedContent = new ByteArrayOutputStreamResource();
+                                IoUtil.transfer(contentIs, bufferedContent.getOutputStream());
+                                content = bufferedContent;
+                            }
+                        }
+                        recordPhase(negotiatedRequest, RequestPhase.BODY_TRANSFER, response.getStatusCode(), transferStartNanos);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    // The socket may be part way through the response, so is closed rather than left to the keep-alive cache
+                    con.disconnect();
+                    throw ex;
+                }
+                // Once the body has been fully read and closed, the JDK has returned the socket to its keep-alive cache
+                reusable = drained && isKeepAlive(con);
+                if (!reusable) con.disconnect();
+            } finally {
+                connectionPool.release(pooledConnection, reusable);
             }
+
+            return content != null ? handler.handleResponse(withEntity(negotiatedRequest, response, content))
+                                   : handler.handleResponse(response);
         } catch(IOException ioEx) {
             throw new IoException(ioEx);
         }
     }
 
+    /**
+     * Makes the given request and returns the response with its entity streaming directly from the connection. When the response
+     * is closed, unread content is drained (up to a limit) so that the connection may be reused, or the connection is otherwise
+     * closed, and the pooled connection is released.
+     *
+     * @param request the request to be made.
+     * @return the response, which must be closed by the caller.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    protected StreamingResponse openStream(final RestRequest request) throws RestException {
+        try {
+            final URL url = new URL(request.getUri());
+            final PooledConnection pooledConnection = connectionPool.lease(Route.of(url));
+            HttpURLConnection con = null;
+            Deadline.Watch watch = Deadline.Watch.NONE;
+            try {
+                final RestRequest negotiatedRequest = negotiate(request);
+                con = openConnection(url, negotiatedRequest, pooledConnection);
+                watch = watchDeadline(negotiatedRequest, con::disconnect);
+                final HttpResponse response = connect(negotiatedRequest, con);
+                final InputStream conIs = bodyStreamOrNull(con);
+                if (conIs == null) {
+                    watch.close();
+                    final boolean reusable = isKeepAlive(con);
+                    if (!reusable) con.disconnect();
+                    connectionPool.release(pooledConnection, reusable);
+                    return new StreamingResponse(response, () -> {});
+                }
+                if (isErrorStatus(response.getStatusCode())) {
+                    // Error bodies are read in full, rather than streamed, so that they outlive the response as the entity of an error
+                    final BytesResource errorContent;
+                    final long transferStartNanos = System.nanoTime();
+                    try (InputStream contentIs = decodeContent(negotiatedRequest, con.getContentEncoding(), conIs)) {
+                        errorContent = readErrorContent(contentIs, RestResponse.contentCharsetOf(response));
+                    }
+                    recordPhase(negotiatedRequest, RequestPhase.BODY_TRANSFER, response.getStatusCode(), transferStartNanos);
+                    watch.close();
+                    final boolean reusable = errorContent != null && isKeepAlive(con);
+                    if (!reusable) con.disconnect();
+                    connectionPool.release(pooledConnection, reusable);
+                    return new StreamingResponse(errorContent != null ? withEntity(negotiatedRequest, response, errorContent)
+                                                                      : response, () -> {});
+                }
+
+                final HttpURLConnection streamingCon = con;
+                final Deadline.Watch streamingWatch = watch;
+                final boolean keepAlive = isKeepAlive(con);
+                final StreamingResource content = new StreamingResource(decodeContent(negotiatedRequest, con.getContentEncoding(), conIs), RestResponse.contentCharsetOf(response));
+                return new StreamingResponse(withEntity(negotiatedRequest, response, content), () -> {
+                    boolean reusable = false;
+                    try {
+                        reusable = content.drain(getDrainLimit()) && keepAlive;
+                        if (!reusable) streamingCon.disconnect();
+                        content.close();
+                    } finally {
+                        streamingWatch.close();
+                        connectionPool.release(pooledConnection, reusable);
+                    }
+                });
+            } catch (IOException | RuntimeException ex) {
+                watch.close();
+                if (con != null) con.disconnect();
+                connectionPool.release(pooledConnection, false);
+                throw ex;
+            }
+        } catch(IOException ioEx) {
+            throw new IoException(ioEx);
+        }
+    }
+
+    /**
+     * Opens, but does not yet connect, a connection for the given request, with its timeouts bounded by the deadline of the request.
+     * A request body is streamed to the connection as it is written, in fixed-length streaming mode where its length is known and
+     * otherwise chunked, rather than being buffered by the JDK to compute its length. As the JDK does not support the
+     * <code>PATCH</code> method, a <code>PATCH</code> request fails unless the client was built to send it as a <code>POST</code>
+     * with an <code>X-HTTP-Method-Override</code> header.
+     */
+    private HttpURLConnection openConnection(final URL url, final RestRequest request, final PooledConnection pooledConnection) throws IOException {
+        if (RestRequest.PATCH.equals(request.getMethod()) && !patchMethodOverride) {
+            throw new RestException("The PATCH method is not supported by HttpURLConnection: use a transport supporting PATCH, such as "
+                                    + "HttpClientRestClient, or enable the PATCH method override of the client builder");
+        }
+
+        final HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        if (RestRequest.PATCH.equals(request.getMethod())) {
+            con.setRequestMethod(RestRequest.POST);
+            con.setRequestProperty(METHOD_OVERRIDE_HEADER, RestRequest.PATCH);
+        } else {
+            con.setRequestMethod(request.getMethod());
+        }
+        request.getHeaders().forEach((name, values) -> values.forEach(value -> con.addRequestProperty(name, value)));
+        final RequestBody body = requestBody(request);
+        if (body != null) {
+            con.setDoOutput(true);
+            if (body.getContentLength() >= 0) {
+                con.setFixedLengthStreamingMode(body.getContentLength());
+            } else {
+                con.setChunkedStreamingMode(0);
+            }
+        }
+        if (pooledConnection.isCloseRequested()) {
+            con.setRequestProperty(CONNECTION_HEADER, CONNECTION_CLOSE);
+        }
+        con.setConnectTimeout(connectTimeoutMillis(request));
+        con.setReadTimeout(readTimeoutMillis(request));
+        return con;
+    }
+
+    /**
+     * Connects the given connection, writes the request body, if any, and awaits the response, recording the time taken to connect
+     * and then to send the body and receive the status line and headers as the {@link RequestPhase#CONNECT} and
+     * {@link RequestPhase#TIME_TO_FIRST_BYTE} phases of the request, and passes the response through the interceptors of this client.
+     */
+    private HttpResponse connect(final RestRequest request, final HttpURLConnection con) throws IOException {
+        final long connectStartNanos = System.nanoTime();
+        con.connect();
+        recordPhase(request, RequestPhase.CONNECT, -1, connectStartNanos);
+        final long responseStartNanos = System.nanoTime();
+        final RequestBody body = requestBody(request);
+        if (body != null) {
+            try (OutputStream out = con.getOutputStream()) {
+                body.writeTo(out);
+            }
+        }
+        final RestResponse response = toResponse(con);
+        recordPhase(request, RequestPhase.TIME_TO_FIRST_BYTE, response.getStatusCode(), responseStartNanos);
+        return interceptResponse(request, response);
+    }
+
+    private RestResponse toResponse(final HttpURLConnection con) throws IOException {
+        return new RestResponse(con.getResponseCode(), con.getResponseMessage(), getContentDecoders().decodedHeaders(con.getHeaderFields()));
+    }
+
+    /**
+     * Returns the response body stream of the given connection, or null if the response has no body. The JDK makes the bodies of
+     * error responses available only through {@link HttpURLConnection#getErrorStream()}, which is read in the same way, so that the
+     * error entity is not lost and the socket may be returned to the keep-alive cache.
+     */
+    private static InputStream bodyStreamOrNull(final HttpURLConnection con) {
+        try {
+            return con.getInputStream();
+        } catch (IOException errorStatusEx) {
+            return con.getErrorStream();
+        }
+    }
+
+    private boolean isKeepAlive(final HttpURLConnection con) {
+        return !CONNECTION_CLOSE.equalsIgnoreCase(con.getHeaderField(CONNECTION_HEADER));
+    }
+
 //    @Override
 //    public HttpResponse request(HttpRequest request) {
 //        try {
@@ -90,34 +307,47 @@ public class HttpUrlRestClient extends AbstractRestClient implements RestClient
         return new HttpUrlRestClientBuilder();
     }
 
-    public static class HttpUrlRestClientBuilder {
-        private EntityProvider entityFactory = null;
-        private TypeConverter typeConverter = null;
-        private ObjectMapper objectMapper = null;
-        private ObjectMapper xmlMapper = null;
-
-        public HttpUrlRestClientBuilder entityFactory(final EntityProvider entityFactory) {
-            this.entityFactory = entityFactory;
-            return this;
-        }
+    /**
+     * A builder of {@link HttpUrlRestClient}s. The maximum number of connections per route defaults to the number of idle sockets the
+     * JDK keeps per destination, set by the <code>http.maxConnections</code> system property (default 5), as any further connection is
+     * closed once its exchange completes. That system property should be raised before the maximum number of connections per route.
+     */
+    public static class HttpUrlRestClientBuilder extends AbstractRestClientBuilder<HttpUrlRestClientBuilder> {
+        private ConnectionPool connectionPool = null;
+        private boolean patchMethodOverride = false;
 
-        public HttpUrlRestClientBuilder typeConverter(final TypeConverter typeConverter) {
-            this.typeConverter = typeConverter;
-            return this;
+        public HttpUrlRestClientBuilder() {
+            maxConnectionsPerRoute(ConnectionPool.keepAliveCacheSize());
         }
 
-        public HttpUrlRestClientBuilder objectMapper(final ObjectMapper objectMapper) {
-            this.objectMapper = objectMapper;
+        /**
+         * Uses the given connection pool, which may be shared between clients, in place of a pool created from the connection pool
+         * settings of this builder.
+         *
+         * @param connectionPool the connection pool to be used by the client.
+         * @return this builder, for invocation chaining.
+         */
+        public HttpUrlRestClientBuilder connectionPool(final ConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
             return this;
         }
 
-        public HttpUrlRestClientBuilder xmlMapper(final ObjectMapper xmlMapper) {
-            this.xmlMapper = xmlMapper;
+        /**
+         * Sets whether <code>PATCH</code> requests, which <code>HttpURLConnection</code> does not support, are sent as <code>POST</code>
+         * requests with an <code>X-HTTP-Method-Override: PATCH</code> header, which the server must honour. By default, a
+         * <code>PATCH</code> request fails with a {@link RestException}.
+         *
+         * @param patchMethodOverride true if <code>PATCH</code> requests are to be sent as overridden <code>POST</code> requests.
+         * @return this builder, for invocation chaining.
+         */
+        public HttpUrlRestClientBuilder patchMethodOverride(final boolean patchMethodOverride) {
+            this.patchMethodOverride = patchMethodOverride;
             return this;
         }
 
+        @Override
         public HttpUrlRestClient build() {
-            return new HttpUrlRestClient(entityFactory, typeConverter, objectMapper, xmlMapper);
+            return new HttpUrlRestClient(this);
         }
     }
 }
@@ -1,6 +1,9 @@
 package org.orthodoxengineering.restclient;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.beanplanet.core.io.IoException;
 import org.beanplanet.core.io.resource.Resource;
 import org.beanplanet.core.io.resource.StringResource;
@@ -9,7 +12,10 @@ import org.beanplanet.core.net.http.ContentType;
 import org.beanplanet.core.net.http.ContentWrappingHttpEntity;
 
 import java.io.IOException;
-import java.io.Reader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 
 import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
 
@@ -17,8 +23,9 @@ import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
  * A very basic HTTP entity which wraps an underlying JSON content resource.
  */
 public class JsonEntity extends ContentWrappingHttpEntity {
-    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
-    private final ObjectMapper objectMapper;
+    private static final ObjectReaderCache DEFAULT_READERS = new ObjectReaderCache(new ObjectMapper());
+    private final ObjectReaderCache readers;
+    private final Charset charset;
 
     protected JsonEntity() {
         this((Resource) null);
@@ -80,8 +87,44 @@ public class JsonEntity extends ContentWrappingHttpEntity {
      * @param contentType   a JSON compatible content type, such as <code>application/json</code>
      */
     public JsonEntity(final ObjectMapper objectMapper, final Resource content, ContentType contentType) {
+        this(objectMapper, content, contentType, null);
+    }
+
+    /**
+     * Creates a JSON HTTP entity which wraps the JSON content provided.
+     *
+     * @param objectMapper the type mapper to be used to convert from this entity, which may be null, in which case the system type mapper will be used.
+     * @param content       entity body content, which must be JSON compatible.
+     * @param contentType   a JSON compatible content type, such as <code>application/json</code>
+     * @param charset       the character set declared for the content, which may be null if none was declared. Content in any UTF
+     *                      encoding, or with no declared character set, is parsed directly from its bytes.
+     */
+    public JsonEntity(final ObjectMapper objectMapper, final Resource content, ContentType contentType, final Charset charset) {
+        this(objectMapper != null ? new ObjectReaderCache(objectMapper, 0) : DEFAULT_READERS, content, contentType, charset);
+    }
+
+    /**
+     * Creates a JSON HTTP entity which wraps the JSON content provided, converted through the cached readers of an object mapper.
+     *
+     * @param readers       the cache of readers of the type mapper to be used to convert from this entity, which would typically be shared
+     *                      by all entities created by an entity provider.
+     * @param content       entity body content, which must be JSON compatible.
+     * @param contentType   a JSON compatible content type, such as <code>application/json</code>
+     * @param charset       the character set declared for the content, which may be null if none was declared.
+     */
+    public JsonEntity(final ObjectReaderCache readers, final Resource content, ContentType contentType, final Charset charset) {
         super(content, contentType);
-        this.objectMapper = (objectMapper != null ? objectMapper : DEFAULT_MAPPER);
+        this.readers = readers;
+        this.charset = charset;
+    }
+
+    /**
+     * Returns the character set declared for the content of this entity.
+     *
+     * @return the declared character set, or null if none was declared.
+     */
+    public Charset getCharset() {
+        return charset;
     }
 
     /**
@@ -92,10 +135,45 @@ public class JsonEntity extends ContentWrappingHttpEntity {
      * @throws TypeConversionException if an error occurs converting the entity to the requested type.
      */
     public <T> T readContentAs(final Class<T> type) throws TypeConversionException {
-        try (final Reader bodyReader = getContent().getReader()) {
-            return objectMapper.readValue(bodyReader, type);
+        return readContentAs(readers.readerFor(type), type);
+    }
+
+    /**
+     * Reads the content of the JSON entity, converting to the given generic type, if possible.
+     *
+     * @param typeReference a reference to the generic type to convert the entity body to, such as <code>new TypeReference&lt;List&lt;Item&gt;&gt;() {}</code>.
+     * @return an instance of the type requested.
+     * @throws TypeConversionException if an error occurs converting the entity to the requested type.
+     */
+    public <T> T readContentAs(final TypeReference<T> typeReference) throws TypeConversionException {
+        return readContentAs(readers.readerFor(typeReference), typeReference.getType());
+    }
+
+    private <T> T readContentAs(final ObjectReader reader, final Type type) throws TypeConversionException {
+        try (final InputStream bodyIs = getContent().getInputStream()) {
+            return ContentCharsets.isByteDecodable(charset) ? reader.readValue(bodyIs)
+                                                            : reader.readValue(new InputStreamReader(bodyIs, charset));
         } catch (IOException ioEx) {
             throw new TypeConversionException("Failed to convert the JSON entity to the requested type ["+type+"]: ", ioEx);
         }
     }
+
+    /**
+     * Reads the content of the JSON entity incrementally as a sequence of values of the given type. Where the content is a JSON array,
+     * the iterator returns each element of the array in turn; otherwise, it returns each root-level value of the content. Values are
+     * parsed lazily as the iterator is advanced, so only one value need be held in memory at a time.
+     *
+     * @param elementType the type to convert each value of the entity body to.
+     * @return an iterator over the values of the entity, which should be closed if not read to the end.
+     * @throws TypeConversionException if an error occurs reading the entity.
+     */
+    public <T> MappingIterator<T> readContentAsIterator(final Class<T> elementType) throws TypeConversionException {
+        try {
+            final InputStream bodyIs = getContent().getInputStream();
+            return ContentCharsets.isByteDecodable(charset) ? readers.readerFor(elementType).readValues(bodyIs)
+                                                            : readers.readerFor(elementType).readValues(new InputStreamReader(bodyIs, charset));
+        } catch (IOException ioEx) {
+            throw new TypeConversionException("Failed to read the JSON entity as a sequence of the requested type ["+elementType+"]: ", ioEx);
+        }
+    }
 }
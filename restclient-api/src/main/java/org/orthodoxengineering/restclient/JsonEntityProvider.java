@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.beanplanet.core.io.resource.Resource;
 import org.beanplanet.core.mediatypes.MediaTypes;
 import org.beanplanet.core.net.http.AbstractRuleMatchingEntityProvider;
+import org.beanplanet.core.net.http.ContentType;
 import org.beanplanet.core.net.http.EntityMatchers;
 import org.beanplanet.core.net.http.HttpEntity;
 import org.beanplanet.core.net.http.HttpMessage;
@@ -13,6 +14,7 @@ import org.beanplanet.core.net.http.HttpMessage;
  */
 public class JsonEntityProvider extends AbstractRuleMatchingEntityProvider {
     private final ObjectMapper objectMapper;
+    private final ObjectReaderCache readers;
 
     public JsonEntityProvider() {
         this(new ObjectMapper());
@@ -21,15 +23,26 @@ public class JsonEntityProvider extends AbstractRuleMatchingEntityProvider {
     public JsonEntityProvider(final ObjectMapper objectMapper) {
         super(EntityMatchers.mediaTypes(MediaTypes.Application.JSON.getName()));
         this.objectMapper = objectMapper;
+        this.readers = new ObjectReaderCache(objectMapper != null ? objectMapper : new ObjectMapper());
     }
 
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
 
+    /**
+     * Returns the cache of object readers shared by all entities created by this provider, whose hit and miss counts show how often
+     * entities are decoded without type resolution.
+     *
+     * @return the object reader cache of this provider.
+     */
+    public ObjectReaderCache getReaderCache() {
+        return readers;
+    }
+
     @Override
     public HttpEntity createEntity(HttpMessage message, Resource content) {
-        return new JsonEntity(objectMapper, content);
+        return new JsonEntity(readers, content, ContentType.from(MediaTypes.Application.JSON), RestResponse.contentCharsetOf(message));
     }
 //
 //    public <T> T createObjectForEntity(HttpMessage message, HttpEntity entity, Class<T> clazz) {
@@ -0,0 +1,218 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.beanplanet.core.io.resource.Resource;
+import org.beanplanet.core.lang.conversion.TypeConversionException;
+import org.beanplanet.core.net.http.ContentType;
+import org.beanplanet.core.net.http.ContentWrappingHttpEntity;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Array;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An HTTP entity which wraps an underlying newline delimited JSON (NDJSON, or JSON Lines) content resource, where each line of the
+ * content is a complete JSON record.
+ *
+ * <p>Records are decoded one line at a time, as they are requested, from the content. No more than one record is held in memory at
+ * a time, and no line longer than the maximum record length of the entity is accepted, so that the memory used to consume a feed
+ * is bounded regardless of its size. As records are only read from a streamed response when the consumer asks for them, a slow
+ * consumer applies backpressure to the server through the connection, rather than the feed being buffered.</p>
+ */
+public class NdjsonEntity extends ContentWrappingHttpEntity {
+    /** The media types of newline delimited JSON content. */
+    public static final String[] NDJSON_MEDIA_TYPES = { "application/x-ndjson", "application/ndjson", "application/jsonl", "application/x-jsonlines" };
+    /** The default maximum length, in characters, of any one record. */
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 1024 * 1024;
+
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+    private final ObjectMapper objectMapper;
+    private final Charset charset;
+    private final int maxRecordLength;
+
+    /**
+     * Creates an NDJSON HTTP entity which wraps the NDJSON content provided.
+     *
+     * @param objectMapper the type mapper to be used to convert each record of this entity, which may be null, in which case the system type mapper will be used.
+     * @param content      entity body content, which must be newline delimited JSON.
+     */
+    public NdjsonEntity(final ObjectMapper objectMapper, final Resource content) {
+        this(objectMapper, content, null, null, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    /**
+     * Creates an NDJSON HTTP entity which wraps the NDJSON content provided.
+     *
+     * @param objectMapper    the type mapper to be used to convert each record of this entity, which may be null, in which case the system type mapper will be used.
+     * @param content         entity body content, which must be newline delimited JSON.
+     * @param contentType     an NDJSON compatible content type, such as <code>application/x-ndjson</code>, which may be null if not known.
+     * @param charset         the character set declared for the content, which may be null if none was declared, in which case UTF-8 is assumed.
+     * @param maxRecordLength the maximum length, in characters, of any one record of the content.
+     */
+    public NdjsonEntity(final ObjectMapper objectMapper, final Resource content, final ContentType contentType, final Charset charset, final int maxRecordLength) {
+        super(content, contentType);
+        if (maxRecordLength <= 0) throw new IllegalArgumentException("The maximum record length must be positive: " + maxRecordLength);
+        this.objectMapper = (objectMapper != null ? objectMapper : DEFAULT_MAPPER);
+        this.charset = (charset != null ? charset : UTF_8);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    public int getMaxRecordLength() {
+        return maxRecordLength;
+    }
+
+    /**
+     * Reads the records of the NDJSON entity incrementally, converting each to the given type. Blank lines are skipped.
+     *
+     * @param recordType the type to convert each record of the entity body to.
+     * @return an iterator over the records of the entity, which should be closed if not read to the end.
+     * @throws TypeConversionException if an error occurs reading or converting a record, as the iterator is advanced.
+     */
+    public <T> RecordIterator<T> readContentAsIterator(final Class<T> recordType) throws TypeConversionException {
+        return new RecordIterator<>(objectMapper.readerFor(recordType), new BufferedReader(new InputStreamReader(getContent().getInputStream(), charset)), maxRecordLength, recordType);
+    }
+
+    /**
+     * Reads the records of the NDJSON entity incrementally, converting each to the given type. Blank lines are skipped.
+     *
+     * @param recordType the type to convert each record of the entity body to.
+     * @return a sequential stream of the records of the entity, which should be closed if not read to the end.
+     * @throws TypeConversionException if an error occurs reading or converting a record, as the stream is consumed.
+     */
+    public <T> Stream<T> readContentAsStream(final Class<T> recordType) throws TypeConversionException {
+        final RecordIterator<T> records = readContentAsIterator(recordType);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(records::close);
+    }
+
+    /**
+     * Reads the content of the NDJSON entity, converting to the given type, if possible. An array type is converted from all of the
+     * records of the entity, whereas any other type is converted from its first record.
+     *
+     * @param type the type to convert the entity body to.
+     * @return an instance of the type requested, or null if the type is not an array type and the entity has no records.
+     * @throws TypeConversionException if an error occurs converting the entity to the requested type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readContentAs(final Class<T> type) throws TypeConversionException {
+        if (type.isArray()) {
+            final List<Object> records = new ArrayList<>();
+            try (RecordIterator<?> iter = readContentAsIterator(type.getComponentType())) {
+                iter.forEachRemaining(records::add);
+            }
+            final Object array = Array.newInstance(type.getComponentType(), records.size());
+            for (int n = 0; n < records.size(); n++) {
+                Array.set(array, n, records.get(n));
+            }
+            return (T) array;
+        }
+
+        try (RecordIterator<T> iter = readContentAsIterator(type)) {
+            return iter.hasNext() ? iter.next() : null;
+        }
+    }
+
+    /**
+     * An iterator over the records of NDJSON content, which reads and converts each record only as it is requested.
+     *
+     * @param <T> the type of the records.
+     */
+    public static final class RecordIterator<T> implements Iterator<T>, Closeable {
+        private final ObjectReader objectReader;
+        private final Reader reader;
+        private final int maxRecordLength;
+        private final Class<T> recordType;
+        private final StringBuilder line = new StringBuilder();
+        private T next;
+        private boolean eof;
+        private long lineNumber;
+
+        private RecordIterator(final ObjectReader objectReader, final Reader reader, final int maxRecordLength, final Class<T> recordType) {
+            this.objectReader = objectReader;
+            this.reader = reader;
+            this.maxRecordLength = maxRecordLength;
+            this.recordType = recordType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !eof) {
+                if (readLine() && !isBlank(line)) {
+                    try {
+                        next = objectReader.readValue(line.toString());
+                    } catch (IOException ioEx) {
+                        throw new TypeConversionException("Failed to convert NDJSON record at line " + lineNumber + " to the requested type [" + recordType + "]: ", ioEx);
+                    }
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            final T record = next;
+            next = null;
+            return record;
+        }
+
+        /**
+         * Closes the reader of the content, without reading any records which have not been read.
+         */
+        @Override
+        public void close() {
+            eof = true;
+            next = null;
+            try {
+                reader.close();
+            } catch (IOException ignoredEx) {
+            }
+        }
+
+        private boolean readLine() {
+            line.setLength(0);
+            try {
+                for (;;) {
+                    final int ch = reader.read();
+                    if (ch < 0) {
+                        eof = true;
+                        if (line.length() == 0) return false;
+                        break;
+                    } else if (ch == '\n') {
+                        break;
+                    } else if (line.length() == maxRecordLength) {
+                        throw new TypeConversionException("NDJSON record at line " + (lineNumber + 1) + " exceeds the maximum record length of " + maxRecordLength + " characters");
+                    }
+                    line.append((char) ch);
+                }
+            } catch (IOException ioEx) {
+                throw new TypeConversionException("Failed to read NDJSON record at line " + (lineNumber + 1) + ": ", ioEx);
+            }
+            lineNumber++;
+            return true;
+        }
+
+        private static boolean isBlank(final CharSequence chars) {
+            for (int n = 0; n < chars.length(); n++) {
+                if (!Character.isWhitespace(chars.charAt(n))) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beanplanet.core.io.resource.Resource;
+import org.beanplanet.core.net.http.AbstractRuleMatchingEntityProvider;
+import org.beanplanet.core.net.http.EntityMatchers;
+import org.beanplanet.core.net.http.HttpEntity;
+import org.beanplanet.core.net.http.HttpMessage;
+
+/**
+ * A factory for creating newline delimited JSON (NDJSON, or JSON Lines) HTTP entity bodies using the Jackson library.
+ */
+public class NdjsonEntityProvider extends AbstractRuleMatchingEntityProvider {
+    private final ObjectMapper objectMapper;
+    private final int maxRecordLength;
+
+    public NdjsonEntityProvider() {
+        this(new ObjectMapper());
+    }
+
+    public NdjsonEntityProvider(final ObjectMapper objectMapper) {
+        this(objectMapper, NdjsonEntity.DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    public NdjsonEntityProvider(final ObjectMapper objectMapper, final int maxRecordLength) {
+        super(EntityMatchers.mediaTypes(NdjsonEntity.NDJSON_MEDIA_TYPES));
+        this.objectMapper = objectMapper;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    public HttpEntity createEntity(HttpMessage message, Resource content) {
+        return new NdjsonEntity(objectMapper, content, null, RestResponse.contentCharsetOf(message), maxRecordLength);
+    }
+}
@@ -0,0 +1,118 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, concurrent cache of Jackson {@link ObjectReader}s of an {@link ObjectMapper}, keyed by target type.
+ *
+ * <p>An object reader is resolved against its target type once, with its root deserializer located on first use and retained by the
+ * reader thereafter, so that decoding through a cached reader does no per-call type resolution. Readers are cached for plain, array
+ * and generic ({@link TypeReference}) types alike. Once the cache holds its maximum number of readers, readers for further types are
+ * created for each use rather than cached, so that a client decoding an unbounded number of distinct types cannot grow the cache
+ * without limit.</p>
+ */
+public class ObjectReaderCache {
+    /** The default maximum number of readers held by a cache. */
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ObjectReaderCache(final ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache of the readers of the given object mapper.
+     *
+     * @param objectMapper the object mapper whose readers are to be cached.
+     * @param maxSize the maximum number of readers to be cached.
+     */
+    public ObjectReaderCache(final ObjectMapper objectMapper, final int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("The maximum cache size must not be negative: " + maxSize);
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Returns a reader of values of the given type.
+     *
+     * @param type the target type of the reader.
+     * @return a reader, pre-resolved for the given type.
+     */
+    public ObjectReader readerFor(final Class<?> type) {
+        return readerFor((Type) type);
+    }
+
+    /**
+     * Returns a reader of values of the given generic type.
+     *
+     * @param typeReference a reference to the target type of the reader.
+     * @return a reader, pre-resolved for the given type.
+     */
+    public ObjectReader readerFor(final TypeReference<?> typeReference) {
+        return readerFor(typeReference.getType());
+    }
+
+    private ObjectReader readerFor(final Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader != null) {
+            hits.increment();
+            return reader;
+        }
+
+        misses.increment();
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type));
+        if (readers.size() < maxSize) {
+            final ObjectReader existing = readers.putIfAbsent(type, reader);
+            if (existing != null) return existing;
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the number of lookups which found a cached reader.
+     *
+     * @return the cache hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups which did not find a cached reader, so that one had to be created.
+     *
+     * @return the cache miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of readers currently cached.
+     *
+     * @return the cache size.
+     */
+    public int size() {
+        return readers.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectReaderCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+    }
+}
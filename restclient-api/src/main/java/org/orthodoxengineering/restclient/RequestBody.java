@@ -0,0 +1,111 @@
+package org.orthodoxengineering.restclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The body of a request, written by the transport directly to the connection, so that large bodies are sent without being held in
+ * memory. Bodies of known length are sent with a <code>Content-Length</code> and others are sent chunked.
+ *
+ * <p>Objects other than request bodies given as the body of a request are serialized by the client, through its object mapper or,
+ * where the <code>Content-Type</code> of the request is an XML media type, its XML mapper.</p>
+ */
+public interface RequestBody {
+    /**
+     * The media type of this body, sent as the <code>Content-Type</code> of the request where it does not specify one.
+     *
+     * @return the content type, or null if it is not known.
+     */
+    String getContentType();
+
+    /**
+     * The length of this body.
+     *
+     * @return the number of bytes of the body, or -1 if it is not known until the body has been written.
+     */
+    default long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Determines whether this body may be written more than once, so that a request with it may be retried.
+     *
+     * @return true if the body may be written again.
+     */
+    default boolean isRepeatable() {
+        return true;
+    }
+
+    /**
+     * Writes this body to the given stream.
+     *
+     * @param out the stream to which the body is written, which is not closed.
+     * @throws IOException if an error occurs writing the body.
+     */
+    void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * Creates a request body of the given bytes.
+     *
+     * @param content the bytes of the body.
+     * @param contentType the media type of the body, or null if it is not known.
+     * @return a repeatable request body of known length.
+     */
+    static RequestBody of(final byte[] content, final String contentType) {
+        return new RequestBody() {
+            @Override
+            public String getContentType() {
+                return contentType;
+            }
+
+            @Override
+            public long getContentLength() {
+                return content.length;
+            }
+
+            @Override
+            public void writeTo(final OutputStream out) throws IOException {
+                out.write(content);
+            }
+        };
+    }
+
+    /**
+     * Creates a request body read from the given stream, which is closed once the body has been written. As the stream can be read
+     * only once, a request with such a body is not retried.
+     *
+     * @param content the stream of the body.
+     * @param contentLength the number of bytes of the body, or -1 if it is not known.
+     * @param contentType the media type of the body, or null if it is not known.
+     * @return a request body which may be written once.
+     */
+    static RequestBody of(final InputStream content, final long contentLength, final String contentType) {
+        return new RequestBody() {
+            @Override
+            public String getContentType() {
+                return contentType;
+            }
+
+            @Override
+            public long getContentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public boolean isRepeatable() {
+                return false;
+            }
+
+            @Override
+            public void writeTo(final OutputStream out) throws IOException {
+                try (InputStream in = content) {
+                    final byte[] buffer = new byte[8192];
+                    for (int read; (read = in.read(buffer)) >= 0; ) {
+                        out.write(buffer, 0, read);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package org.orthodoxengineering.restclient;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests into a single in-flight exchange, so that a burst of callers asking for the same resource
+ * at once, such as after a cache miss, makes one request and decodes one response between them.
+ *
+ * <p>Requests are identical if they have the same method, URI and headers, and their responses are to be converted to the same kind
+ * of result. The first caller makes the request; every caller arriving while it is in flight waits for, and is given, the same
+ * converted result, or the same exception. Once the request completes, the next caller makes a new one.</p>
+ *
+ * <p>Results are shared between all waiting callers, so should be treated as read-only.</p>
+ */
+public class RequestCoalescer {
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * Makes the given call for the given request, unless an identical call is already in flight, in which case its outcome is
+     * awaited and shared.
+     *
+     * @param request the request to be made by the call.
+     * @param resultKind what the response is converted to by the call, such as the response type.
+     * @param call the call making the request and converting its response.
+     * @return the result of the call, or of the identical call already in flight.
+     * @throws RestException if an error occurs making the request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final RestRequest request, final Object resultKind, final Supplier<T> call) throws RestException {
+        final Key key = new Key(request, resultKind);
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> existingFlight = inFlight.putIfAbsent(key, flight);
+        if (existingFlight != null) {
+            collapsed.increment();
+            return (T) await(existingFlight);
+        }
+
+        executions.increment();
+        try {
+            final T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(final CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException completionEx) {
+            final Throwable cause = completionEx.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RestException(cause);
+        }
+    }
+
+    /**
+     * Returns the number of requests actually made, each on behalf of one or more callers.
+     *
+     * @return the number of requests made.
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns the number of calls collapsed into a request already in flight, rather than making their own.
+     *
+     * @return the number of calls collapsed.
+     */
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     *
+     * @return the number of requests in flight.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static final class Key {
+        private final String method;
+        private final String uri;
+        private final Map<String, List<String>> headers;
+        private final Object resultKind;
+        private final int hashCode;
+
+        private Key(final RestRequest request, final Object resultKind) {
+            this.method = request.getMethod();
+            this.uri = request.getUri();
+            this.headers = new LinkedHashMap<>(request.getHeaders());
+            this.resultKind = resultKind;
+            this.hashCode = Objects.hash(method, uri, headers, resultKind);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+
+            final Key otherKey = (Key) other;
+            return method.equals(otherKey.method)
+                   && uri.equals(otherKey.uri)
+                   && headers.equals(otherKey.headers)
+                   && Objects.equals(resultKind, otherKey.resultKind);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
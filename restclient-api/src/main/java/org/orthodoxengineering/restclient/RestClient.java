@@ -3,8 +3,13 @@ package org.orthodoxengineering.restclient;
 import org.beanplanet.core.net.http.EntityProvider;
 import org.beanplanet.core.net.http.HttpRequest;
 import org.beanplanet.core.net.http.HttpResponse;
+import org.orthodoxengineering.restclient.batch.BatchOptions;
+import org.orthodoxengineering.restclient.batch.BatchResult;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Definition of a REST client, supporting all the common RESTful HTTP methods.
@@ -29,6 +34,16 @@ public interface RestClient {
      */
     <T> T get(String uri, ResponseHandler<T> handler) throws RestException;
 
+    /**
+     * Makes the given request and invokes the given response handler to handle the response.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    <T> T execute(RestRequest request, ResponseHandler<T> handler) throws RestException;
+
     /**
      * Makes a GET request to the given endpoint and converts the response to the given type. The request
      * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes, as determined by <a href="https://httpwg.org/specs/rfc9110.html#overview.of.status.codes">RFC 9110 - HTTP Semantics</a> and by an
@@ -80,18 +95,180 @@ public interface RestClient {
      */
     <T> List<T> getForList(String uri, int expectedHttpStatusCode, Class<T> componentType);
 
-    //    <T> T get(String uri, Class<T> responseType);
+    /**
+     * Makes a GET request to the given endpoint and returns a stream of the elements of the response, parsed lazily from the connection
+     * as the stream is consumed. The request is considered 'successful' if the response code lies within the <code>2xx</code> range of
+     * success codes. The stream holds the connection until it is closed, or until its last element has been read, so should be used within
+     * a try-with-resources statement.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param componentType the type to convert each element of the body of the successful response to.
+     * @return a stream of the elements of the response, which must be closed if not read to the end.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)
+     */
+    <T> Stream<T> getForStream(String uri, Class<T> componentType) throws RestException;
+
+    /**
+     * Makes a GET request to the given endpoint and passes each element of the response to the given consumer, as it is parsed from
+     * the connection. The request is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param componentType the type to convert each element of the body of the successful response to.
+     * @param consumer the consumer of each element of the response.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see org.beanplanet.core.net.http.HttpStatusCode#isSuccessful(int)
+     */
+    <T> void getForEach(String uri, Class<T> componentType, Consumer<? super T> consumer) throws RestException;
+
+    /**
+     * Makes a HEAD request to the given endpoint, returning the status and headers of the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return the response, which has no entity.
+     * @throws RestException if an error occurs making the request.
+     */
+    HttpResponse head(String uri) throws RestException;
+
+    /**
+     * Makes a POST request to the given endpoint with the given body, and invokes the given response handler to handle the response.
+     * Bodies other than a {@link RequestBody} are serialized directly to the connection, as JSON unless otherwise specified.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     * @see RestRequest#withBody(Object)
+     */
+    <T> T post(String uri, Object body, ResponseHandler<T> handler) throws RestException;
+
+    /**
+     * Makes a POST request to the given endpoint with the given body, and converts the response to the given type. The request
+     * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see RestRequest#withBody(Object)
+     */
+    <T> T post(String uri, Object body, Class<T> responseType) throws RestException;
+
+    /**
+     * Makes a PUT request to the given endpoint with the given body, and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     * @see RestRequest#withBody(Object)
+     */
+    <T> T put(String uri, Object body, ResponseHandler<T> handler) throws RestException;
+
+    /**
+     * Makes a PUT request to the given endpoint with the given body, and converts the response to the given type. The request
+     * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see RestRequest#withBody(Object)
+     */
+    <T> T put(String uri, Object body, Class<T> responseType) throws RestException;
+
+    /**
+     * Makes a PATCH request to the given endpoint with the given body, and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     * @see RestRequest#withBody(Object)
+     */
+    <T> T patch(String uri, Object body, ResponseHandler<T> handler) throws RestException;
+
+    /**
+     * Makes a PATCH request to the given endpoint with the given body, and converts the response to the given type. The request
+     * is considered 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param body the body of the request.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     * @see RestRequest#withBody(Object)
+     */
+    <T> T patch(String uri, Object body, Class<T> responseType) throws RestException;
+
+    /**
+     * Makes a DELETE request to the given endpoint and invokes the given response handler to handle the response.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    <T> T delete(String uri, ResponseHandler<T> handler) throws RestException;
+
+    /**
+     * Makes a DELETE request to the given endpoint and converts the response to the given type. The request is considered
+     * 'successful' if the response code lies within the <code>2xx</code> range of success codes.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @param responseType the type to convert the body of the successful response to.
+     * @return the response type, or null if the response has no body.
+     * @throws RestException if the request was not successful or if some other error occurs making the request.
+     */
+    <T> T delete(String uri, Class<T> responseType) throws RestException;
+
+    /**
+     * Makes GET requests to the given endpoints concurrently, with the default {@link BatchOptions}, and converts each response to the
+     * given type.
+     *
+     * @param uris the URIs of the endpoints to call.
+     * @param responseType the type to convert the body of each successful response to.
+     * @return a stream of the result of each request, in the order of the URIs.
+     * @see #getAll(Collection, Class, BatchOptions)
+     */
+    default <T> Stream<BatchResult<T>> getAll(Collection<String> uris, Class<T> responseType) {
+        return getAll(uris, responseType, BatchOptions.defaults());
+    }
+
+    /**
+     * Makes GET requests to the given endpoints concurrently, within the limits of requests in flight of the given options, and converts
+     * each response to the given type as {@link #get(String, Class)} does. The failure of a request is returned as its result, rather
+     * than failing the batch.
+     *
+     * @param uris the URIs of the endpoints to call.
+     * @param responseType the type to convert the body of each successful response to.
+     * @param options the options of the batch.
+     * @return a stream of the result of each request, which blocks awaiting results not yet available. Closing the stream before it
+     * has been read to the end abandons the requests not yet made.
+     */
+    <T> Stream<BatchResult<T>> getAll(Collection<String> uris, Class<T> responseType, BatchOptions options);
+
+    /**
+     * Makes the given requests concurrently, within the limits of requests in flight of the given options, and invokes the given
+     * response handler to handle each response. The failure of a request is returned as its result, rather than failing the batch.
+     *
+     * @param requests the requests to be made.
+     * @param handler the response handler that will be called to handle each response.
+     * @param options the options of the batch.
+     * @return a stream of the result of each request, which blocks awaiting results not yet available. Closing the stream before it
+     * has been read to the end abandons the requests not yet made.
+     */
+    <T> Stream<BatchResult<T>> executeAll(Collection<RestRequest> requests, ResponseHandler<T> handler, BatchOptions options);
 
 //    <T> T get(RestResponseHandler<T> handler);
-//    <T> T put(RestResponseHandler<T> handler);
-//    <T> T post(RestResponseHandler<T> handler);
 //
 //    <T> T get(Class<T> responseType);
 //    <T> T get(int expectedHttpStatusCode, Class<T> responseType) throws IllegalStateException;
-//    <T> T put(Class<T> responseType);
-//    <T> T put(int expectedHttpStatusCode, Class<T> responseType) throws IllegalStateException;
-//    <T> T post(Class<T> responseType);
-//    <T> T post(int expectedHttpStatusCode, Class<T> responseType) throws IllegalStateException;
 
 
     //    /**
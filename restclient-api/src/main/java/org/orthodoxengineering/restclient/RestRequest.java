@@ -0,0 +1,317 @@
+package org.orthodoxengineering.restclient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A request to be made by a REST client: its method, target URI, request headers and body, and optionally timeouts and a deadline
+ * overriding those of the client.
+ */
+public class RestRequest {
+    public static final String GET = "GET";
+    public static final String HEAD = "HEAD";
+    public static final String POST = "POST";
+    public static final String PUT = "PUT";
+    public static final String PATCH = "PATCH";
+    public static final String DELETE = "DELETE";
+
+    private final String method;
+    private final String uri;
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private Object body;
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Deadline deadline;
+    private String uriTemplate;
+    private String host;
+
+    /**
+     * Creates a request.
+     *
+     * @param method the HTTP method of the request, such as <code>GET</code>.
+     * @param uri the URI of the endpoint to call.
+     */
+    public RestRequest(final String method, final String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    /**
+     * Creates a copy of the given request.
+     *
+     * @param other the request to be copied.
+     */
+    public RestRequest(final RestRequest other) {
+        this(other.method, other.uri);
+        other.headers.forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        this.body = other.body;
+        this.connectTimeout = other.connectTimeout;
+        this.readTimeout = other.readTimeout;
+        this.deadline = other.deadline;
+        this.uriTemplate = other.uriTemplate;
+        this.host = other.host;
+    }
+
+    /**
+     * Creates a GET request.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return a new GET request.
+     */
+    public static RestRequest get(final String uri) {
+        return new RestRequest(GET, uri);
+    }
+
+    /**
+     * Creates a HEAD request.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return a new HEAD request.
+     */
+    public static RestRequest head(final String uri) {
+        return new RestRequest(HEAD, uri);
+    }
+
+    /**
+     * Creates a POST request.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return a new POST request.
+     */
+    public static RestRequest post(final String uri) {
+        return new RestRequest(POST, uri);
+    }
+
+    /**
+     * Creates a PUT request.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return a new PUT request.
+     */
+    public static RestRequest put(final String uri) {
+        return new RestRequest(PUT, uri);
+    }
+
+    /**
+     * Creates a PATCH request.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return a new PATCH request.
+     */
+    public static RestRequest patch(final String uri) {
+        return new RestRequest(PATCH, uri);
+    }
+
+    /**
+     * Creates a DELETE request.
+     *
+     * @param uri the URI of the endpoint to call.
+     * @return a new DELETE request.
+     */
+    public static RestRequest delete(final String uri) {
+        return new RestRequest(DELETE, uri);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Determines whether the method of this request is safe, that is, one which does not change the state of the target resource.
+     *
+     * @return true if the method is GET, HEAD, OPTIONS or TRACE.
+     */
+    public boolean isSafe() {
+        return GET.equalsIgnoreCase(method) || HEAD.equalsIgnoreCase(method) || "OPTIONS".equalsIgnoreCase(method) || "TRACE".equalsIgnoreCase(method);
+    }
+
+    /**
+     * Returns the headers of this request, keyed by header name.
+     *
+     * @return an unmodifiable view of the headers of this request.
+     */
+    public Map<String, List<String>> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Returns the first value of the named header, matching the header name without regard to case.
+     *
+     * @param name the name of the header.
+     * @return the first value of the header, or null if the request has no such header.
+     */
+    public String getHeaderValue(final String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a value of the named header to this request.
+     *
+     * @param name the name of the header.
+     * @param value the value of the header to be added.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest withHeader(final String name, final String value) {
+        headers.computeIfAbsent(name, n -> new ArrayList<>(1)).add(value);
+        return this;
+    }
+
+    /**
+     * Sets the value of the named header of this request, replacing any existing values of the header regardless of case.
+     *
+     * @param name the name of the header.
+     * @param value the value of the header.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest setHeader(final String name, final String value) {
+        headers.keySet().removeIf(name::equalsIgnoreCase);
+        return withHeader(name, value);
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * Sets the body of this request: either a {@link RequestBody}, written to the connection as it is, or an object to be serialized
+     * by the client according to the <code>Content-Type</code> of the request, as JSON where none is given.
+     *
+     * @param body the body of the request, or null if the request has no body.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest withBody(final Object body) {
+        this.body = body;
+        return this;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for a connection to be established for this request, overriding that of the client.
+     *
+     * @param connectTimeout the connect timeout, or null to use that of the client.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest withConnectTimeout(final Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for data to be received for this request, overriding that of the client.
+     *
+     * @param readTimeout the read timeout, or null to use that of the client.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest withReadTimeout(final Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the deadline by which this request, including any retries, must have completed, overriding the request timeout of the
+     * client.
+     *
+     * @param deadline the deadline, or null to use the request timeout of the client.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest withDeadline(final Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    /**
+     * Sets the template from which the URI of this request was expanded, such as <code>/users/{id}</code>, by which the metrics of
+     * requests to the same endpoint are grouped.
+     *
+     * @param uriTemplate the URI template, or null if the request is not grouped with others.
+     * @return this request, for invocation chaining.
+     */
+    public RestRequest withUriTemplate(final String uriTemplate) {
+        this.uriTemplate = uriTemplate;
+        return this;
+    }
+
+    /**
+     * Returns the host of the URI of this request, which is parsed only once.
+     *
+     * @return the host, or the empty string if the URI has none.
+     */
+    public String getHost() {
+        if (host == null) host = hostOf(uri);
+        return host;
+    }
+
+    private static String hostOf(final String uri) {
+        final int schemeEnd = uri.indexOf("://");
+        final int authorityStart = schemeEnd < 0 ? 0 : schemeEnd + 3;
+        int authorityEnd = authorityStart;
+        while (authorityEnd < uri.length() && "/?#".indexOf(uri.charAt(authorityEnd)) < 0) authorityEnd++;
+
+        final int userInfoEnd = uri.lastIndexOf('@', authorityEnd - 1);
+        final int hostStart = userInfoEnd >= authorityStart ? userInfoEnd + 1 : authorityStart;
+        if (hostStart >= authorityEnd) return "";
+
+        // An IPv6 literal host is enclosed in brackets, which contain colons
+        final int hostLiteralEnd = uri.charAt(hostStart) == '[' ? uri.indexOf(']', hostStart) : hostStart;
+        final int portStart = hostLiteralEnd < 0 ? -1 : uri.indexOf(':', hostLiteralEnd);
+        final int hostEnd = portStart >= 0 && portStart < authorityEnd ? portStart : authorityEnd;
+        return Hosts.intern(uri, hostStart, hostEnd);
+    }
+
+    /**
+     * A small table of the hosts of recent requests, so that the host of each request to a route already seen is the same string,
+     * found without allocation, rather than a new lower case copy of part of its URI. Each slot holds the most recent host hashed to
+     * it; the table is shared by all requests, and a lost race between threads only costs a further copy.
+     */
+    private static final class Hosts {
+        private static final int SIZE = 256;
+        private static final String[] TABLE = new String[SIZE];
+
+        private static String intern(final String uri, final int start, final int end) {
+            int hash = 0;
+            for (int n = start; n < end; n++) hash = 31 * hash + Character.toLowerCase(uri.charAt(n));
+            final int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+
+            final String cached = TABLE[slot];
+            if (cached != null && cached.length() == end - start && cached.regionMatches(true, 0, uri, start, end - start)) return cached;
+
+            final String host = uri.substring(start, end).toLowerCase(Locale.ROOT);
+            TABLE[slot] = host;
+            return host;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri;
+    }
+}
@@ -0,0 +1,113 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.net.http.HttpEntity;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.beanplanet.core.net.http.HttpMessage;
+import org.beanplanet.core.net.http.HttpResponse;
+import org.beanplanet.core.util.MultiValueListMapImpl;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An HTTP response received by a REST client, which gives entity providers and response handlers case-insensitive access to the
+ * response headers as received from the transport.
+ */
+public class RestResponse extends HttpResponse {
+    private final Map<String, List<String>> headers;
+    private HttpEntity entity;
+
+    /**
+     * Creates a REST client HTTP response, without an entity.
+     *
+     * @param statusCode the status code of the response.
+     * @param reasonPhrase the reason phrase of the status line of the response, which may be null.
+     * @param headers the headers of the response, keyed by header name. Any entry with a null key, such as the status line reported
+     *                by {@link java.net.HttpURLConnection}, is ignored by header lookups.
+     */
+    public RestResponse(final int statusCode, final String reasonPhrase, final Map<String, List<String>> headers) {
+        super(statusCode, new MultiValueListMapImpl<>(headers == null ? Collections.<String, List<String>>emptyMap() : headers));
+        this.headers = headers == null ? Collections.<String, List<String>>emptyMap() : headers;
+        withReasonPhrase(reasonPhrase);
+    }
+
+    /**
+     * Sets the entity of this response. The entity is held by this response itself, so that setting it always yields this response,
+     * with the headers as received, rather than an HTTP response made by the superclass.
+     *
+     * @param entity the entity of the response.
+     * @return this response, for invocation chaining.
+     */
+    @Override
+    public RestResponse withEntity(final HttpEntity entity) {
+        this.entity = entity;
+        return this;
+    }
+
+    @Override
+    public HttpEntity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns the headers of this response, keyed by header name.
+     *
+     * @return an unmodifiable view of the headers of this response.
+     */
+    public Map<String, List<String>> getHeaderFields() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Returns the first value of the named header, matching the header name without regard to case.
+     *
+     * @param name the name of the header.
+     * @return the first value of the header, or null if the response has no such header.
+     */
+    public String getHeaderValue(final String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the character set declared by the <code>charset</code> parameter of the <code>Content-Type</code> header of this response.
+     *
+     * @return the declared character set, or null if none was declared or the declared character set is not supported.
+     */
+    public Charset getContentCharset() {
+        final String contentType = getHeaderValue(HttpHeaders.CONTENT_TYPE);
+        if (contentType == null) return null;
+
+        for (String parameter : contentType.split(";")) {
+            final int equalsPos = parameter.indexOf('=');
+            if (equalsPos > 0 && "charset".equalsIgnoreCase(parameter.substring(0, equalsPos).trim())) {
+                final String charsetName = parameter.substring(equalsPos + 1).trim().replace("\"", "");
+                try {
+                    return Charset.forName(charsetName);
+                } catch (IllegalCharsetNameException | UnsupportedCharsetException unsupportedEx) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the character set declared by the <code>Content-Type</code> header of the given message, if it is a REST client response.
+     *
+     * @param message the message whose content character set is to be returned.
+     * @return the declared character set, or null if none was declared or is known.
+     * @see #getContentCharset()
+     */
+    public static Charset contentCharsetOf(final HttpMessage message) {
+        return message instanceof RestResponse ? ((RestResponse) message).getContentCharset() : null;
+    }
+}
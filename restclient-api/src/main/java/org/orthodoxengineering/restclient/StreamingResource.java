@@ -0,0 +1,103 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.io.IoException;
+import org.beanplanet.core.io.resource.AbstractResource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A one-shot resource over a live input stream, such as the body of a response as it is read from the connection. The content
+ * may be read only once and is never buffered by this resource. Closing the stream obtained from this resource does not close the
+ * underlying stream: that is the responsibility of the owner of the resource, which may first {@link #drain(long)} any unread content.
+ */
+public class StreamingResource extends AbstractResource {
+    /** The default maximum number of unread bytes discarded so that a connection may be reused, rather than closed. */
+    public static final long DEFAULT_DRAIN_LIMIT = 64 * 1024;
+
+    private final InputStream inputStream;
+    private final Charset charset;
+    private final AtomicBoolean opened = new AtomicBoolean();
+
+    public StreamingResource(final InputStream inputStream) {
+        this(inputStream, null);
+    }
+
+    /**
+     * Creates a streaming resource over the given stream.
+     *
+     * @param inputStream the live stream over the content of the resource.
+     * @param charset the character set in which the content is encoded, such as that of the <code>Content-Type</code> of a response,
+     *                or null if it is unknown and UTF-8 is to be assumed.
+     */
+    public StreamingResource(final InputStream inputStream, final Charset charset) {
+        this.inputStream = inputStream;
+        this.charset = charset != null ? charset : UTF_8;
+    }
+
+    /**
+     * Returns the live stream over the content of this resource, which may only be obtained once.
+     *
+     * @return the live stream over the content of this resource.
+     * @throws IoException if the stream has already been obtained.
+     */
+    @Override
+    public InputStream getInputStream() throws IoException {
+        if (!opened.compareAndSet(false, true)) {
+            throw new IoException("The content of a streaming resource may only be read once");
+        }
+        return new FilterInputStream(inputStream) {
+            @Override
+            public void close() {
+                // Closed by the owner of the resource, after draining any unread content
+            }
+        };
+    }
+
+    @Override
+    public Reader getReader() throws IoException {
+        return new InputStreamReader(getInputStream(), charset);
+    }
+
+    /**
+     * Reads and discards any content of this resource which has not been read, up to the given limit. The underlying stream is not
+     * closed.
+     *
+     * @param limit the maximum number of bytes to be discarded.
+     * @return true if the end of the stream was reached within the limit, so that the connection the stream is read from is fit for
+     * reuse, or false otherwise.
+     */
+    public boolean drain(final long limit) {
+        try {
+            final byte[] buffer = new byte[8192];
+            long remaining = limit;
+            for (;;) {
+                // Always attempt to read at least one byte, to detect the end of a stream which is exactly at the limit
+                final int read = inputStream.read(buffer, 0, (int) Math.max(Math.min(buffer.length, remaining), 1));
+                if (read < 0) return true;
+
+                remaining -= read;
+                if (remaining < 0) return false;
+            }
+        } catch (IOException ignoredEx) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the underlying stream of this resource, without reading any content which has not been read.
+     */
+    public void close() {
+        try {
+            inputStream.close();
+        } catch (IOException ignoredEx) {
+        }
+    }
+}
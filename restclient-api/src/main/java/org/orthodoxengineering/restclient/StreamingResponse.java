@@ -0,0 +1,42 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.net.http.HttpResponse;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A response whose entity content is read directly from the connection as it is consumed, rather than being buffered in memory.
+ * The response holds its connection until closed, and must always be closed once the entity has been consumed; closing releases the
+ * connection for reuse where the remaining content can be drained, or otherwise closes it.
+ */
+public class StreamingResponse implements Closeable {
+    private final HttpResponse response;
+    private final Runnable closeAction;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Creates a streaming response.
+     *
+     * @param response the response, whose entity (if any) streams its content from the connection.
+     * @param closeAction the action which releases the connection of the response, invoked once on the first call to {@link #close()}.
+     */
+    public StreamingResponse(final HttpResponse response, final Runnable closeAction) {
+        this.response = response;
+        this.closeAction = closeAction;
+    }
+
+    public HttpResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Releases the connection of this response. Subsequent calls have no effect.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            closeAction.run();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.orthodoxengineering.restclient;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import org.beanplanet.core.io.resource.Resource;
 import org.beanplanet.core.io.resource.StringResource;
@@ -9,7 +11,10 @@ import org.beanplanet.core.net.http.ContentType;
 import org.beanplanet.core.net.http.ContentWrappingHttpEntity;
 
 import java.io.IOException;
-import java.io.Reader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 
 import static org.beanplanet.core.mediatypes.MediaTypes.Application.XML;
 
@@ -17,8 +22,9 @@ import static org.beanplanet.core.mediatypes.MediaTypes.Application.XML;
  * An HTTP entity which wraps an underlying XML document/fragment resource.
  */
 public class XmlEntity extends ContentWrappingHttpEntity {
-    private static final ObjectMapper  DEFAULT_MAPPER = new XmlMapper();
-    private final ObjectMapper objectMapper;
+    private static final ObjectReaderCache DEFAULT_READERS = new ObjectReaderCache(new XmlMapper());
+    private final ObjectReaderCache readers;
+    private final Charset charset;
 
     protected XmlEntity() {
         this((Resource) null);
@@ -80,8 +86,44 @@ public class XmlEntity extends ContentWrappingHttpEntity {
      * @param contentType   a JSON compatible content type, such as <code>application/json</code>
      */
     public XmlEntity(final ObjectMapper objectMapper, final Resource content, ContentType contentType) {
+        this(objectMapper, content, contentType, null);
+    }
+
+    /**
+     * Creates a XML HTTP entity which wraps the XML content provided.
+     *
+     * @param objectMapper the type mapper to be used to convert from this entity, which may be null, in which case the system type mapper will be used.
+     * @param content       entity body content, which must be XML compatible.
+     * @param contentType   a XML compatible content type, such as <code>application/xml</code>
+     * @param charset       the character set declared for the content, which may be null if none was declared. Content in any UTF
+     *                      encoding, or with no declared character set, is parsed directly from its bytes.
+     */
+    public XmlEntity(final ObjectMapper objectMapper, final Resource content, ContentType contentType, final Charset charset) {
+        this(objectMapper != null ? new ObjectReaderCache(objectMapper, 0) : DEFAULT_READERS, content, contentType, charset);
+    }
+
+    /**
+     * Creates a XML HTTP entity which wraps the XML content provided, converted through the cached readers of an object mapper.
+     *
+     * @param readers       the cache of readers of the type mapper to be used to convert from this entity, which would typically be shared
+     *                      by all entities created by an entity provider.
+     * @param content       entity body content, which must be XML compatible.
+     * @param contentType   a XML compatible content type, such as <code>application/xml</code>
+     * @param charset       the character set declared for the content, which may be null if none was declared.
+     */
+    public XmlEntity(final ObjectReaderCache readers, final Resource content, ContentType contentType, final Charset charset) {
         super(content, contentType);
-        this.objectMapper = (objectMapper != null ? objectMapper : DEFAULT_MAPPER);
+        this.readers = readers;
+        this.charset = charset;
+    }
+
+    /**
+     * Returns the character set declared for the content of this entity.
+     *
+     * @return the declared character set, or null if none was declared.
+     */
+    public Charset getCharset() {
+        return charset;
     }
 
     /**
@@ -92,8 +134,24 @@ public class XmlEntity extends ContentWrappingHttpEntity {
      * @throws TypeConversionException if an error occurs converting the entity to the requested type.
      */
     public <T> T readContentAs(final Class<T> type) throws TypeConversionException {
-        try (final Reader bodyReader = getContent().getReader()) {
-            return objectMapper.readValue(bodyReader, type);
+        return readContentAs(readers.readerFor(type), type);
+    }
+
+    /**
+     * Reads the content of the XML entity, converting to the given generic type, if possible.
+     *
+     * @param typeReference a reference to the generic type to convert the entity body to, such as <code>new TypeReference&lt;List&lt;Item&gt;&gt;() {}</code>.
+     * @return an instance of the type requested.
+     * @throws TypeConversionException if an error occurs converting the entity to the requested type.
+     */
+    public <T> T readContentAs(final TypeReference<T> typeReference) throws TypeConversionException {
+        return readContentAs(readers.readerFor(typeReference), typeReference.getType());
+    }
+
+    private <T> T readContentAs(final ObjectReader reader, final Type type) throws TypeConversionException {
+        try (final InputStream bodyIs = getContent().getInputStream()) {
+            return ContentCharsets.isByteDecodable(charset) ? reader.readValue(bodyIs)
+                                                            : reader.readValue(new InputStreamReader(bodyIs, charset));
         } catch (IOException ioEx) {
             throw new TypeConversionException("Failed to convert the XML entity to the requested type ["+type+"]: ", ioEx);
         }
@@ -1,9 +1,11 @@
 package org.orthodoxengineering.restclient;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import org.beanplanet.core.io.resource.Resource;
 import org.beanplanet.core.mediatypes.MediaTypes;
 import org.beanplanet.core.net.http.AbstractRuleMatchingEntityProvider;
+import org.beanplanet.core.net.http.ContentType;
 import org.beanplanet.core.net.http.EntityMatchers;
 import org.beanplanet.core.net.http.HttpEntity;
 import org.beanplanet.core.net.http.HttpMessage;
@@ -13,6 +15,7 @@ import org.beanplanet.core.net.http.HttpMessage;
  */
 public class XmlEntityProvider extends AbstractRuleMatchingEntityProvider {
     private final ObjectMapper objectMapper;
+    private final ObjectReaderCache readers;
 
     public XmlEntityProvider() {
         this(new ObjectMapper());
@@ -21,15 +24,26 @@ public class XmlEntityProvider extends AbstractRuleMatchingEntityProvider {
     public XmlEntityProvider(final ObjectMapper objectMapper) {
         super(EntityMatchers.mediaTypes(MediaTypes.XML_FORMAT_MEDIA_TYPES));
         this.objectMapper = objectMapper;
+        this.readers = new ObjectReaderCache(objectMapper != null ? objectMapper : new XmlMapper());
     }
 
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
 
+    /**
+     * Returns the cache of object readers shared by all entities created by this provider, whose hit and miss counts show how often
+     * entities are decoded without type resolution.
+     *
+     * @return the object reader cache of this provider.
+     */
+    public ObjectReaderCache getReaderCache() {
+        return readers;
+    }
+
     @Override
     public HttpEntity createEntity(HttpMessage message, Resource content) {
-        return new XmlEntity(objectMapper, content);
+        return new XmlEntity(readers, content, ContentType.from(MediaTypes.Application.XML), RestResponse.contentCharsetOf(message));
     }
 //
 //    public <T> T createObjectForEntity(HttpMessage message, HttpEntity entity, Class<T> clazz) {
@@ -0,0 +1,222 @@
+package org.orthodoxengineering.restclient.batch;
+
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Makes a batch of requests concurrently, within the limits of its {@link BatchOptions} on the requests in flight overall and to
+ * each host, and streams the result of each request as it becomes available.
+ *
+ * <p>Requests are dispatched as earlier requests complete, rather than by threads waiting for a permit, so that a host at its limit
+ * holds back only its own requests: pending requests are taken from each host in turn, in the order they were given for that host.
+ * The stream of results may be closed before it has been read to the end, in which case requests not yet dispatched are not made.</p>
+ *
+ * @param <T> the type of the value returned for each request.
+ */
+public final class Batch<T> {
+    private final List<RestRequest> requests;
+    private final Function<? super RestRequest, ? extends T> call;
+    private final int parallelism;
+    private final int maxPerHost;
+    private final Executor executor;
+
+    private final HostRequests[] hostOf;
+    private final Deque<HostRequests> pendingHosts = new ArrayDeque<>();
+    private final BlockingQueue<BatchResult<T>> completed = new LinkedBlockingQueue<>();
+    private int inFlight;
+    private boolean cancelled;
+
+    private Batch(final List<RestRequest> requests, final Function<? super RestRequest, ? extends T> call, final BatchOptions options) {
+        this.requests = requests;
+        this.call = call;
+        this.parallelism = options.getParallelism();
+        this.maxPerHost = options.getMaxPerHost() > 0 ? options.getMaxPerHost() : Integer.MAX_VALUE;
+        this.executor = options.getExecutor() != null ? options.getExecutor() : DefaultBatchExecutor.INSTANCE;
+
+        this.hostOf = new HostRequests[requests.size()];
+        final Map<String, HostRequests> hosts = new HashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            final HostRequests host = hosts.computeIfAbsent(requests.get(index).getHost(), h -> new HostRequests());
+            if (host.pending.isEmpty()) pendingHosts.addLast(host);
+            host.pending.addLast(index);
+            hostOf[index] = host;
+        }
+    }
+
+    /**
+     * Makes the given requests concurrently, each by the given call, streaming their results in the order of the requests or in the
+     * order they complete, according to the given options. Failures of the call are returned as the results of their requests, rather
+     * than failing the batch.
+     *
+     * @param requests the requests to be made.
+     * @param call the call making a request and returning its value, such as a REST client call.
+     * @param options the options of the batch, where requests to each host are limited only by the parallelism of the batch unless
+     *                the options set a maximum per host.
+     * @return a stream of the result of every request, which blocks awaiting results not yet available.
+     */
+    public static <T> Stream<BatchResult<T>> execute(final List<RestRequest> requests,
+                                                     final Function<? super RestRequest, ? extends T> call,
+                                                     final BatchOptions options) {
+        final Batch<T> batch = new Batch<>(requests, call, options);
+        batch.dispatch();
+
+        final Iterator<BatchResult<T>> results = options.isOrdered() ? batch.new OrderedResults() : batch.new CompletionOrderedResults();
+        return StreamSupport.stream(Spliterators.spliterator(results, requests.size(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(batch::cancel);
+    }
+
+    /**
+     * Dispatches pending requests to the executor, up to the limits of requests in flight.
+     */
+    private void dispatch() {
+        boolean rejected;
+        do {
+            final List<Integer> dispatched = new ArrayList<>();
+            synchronized (this) {
+                int hostsAtLimit = 0;
+                while (!cancelled && inFlight < parallelism && hostsAtLimit < pendingHosts.size()) {
+                    final HostRequests host = pendingHosts.pollFirst();
+                    if (host.inFlight >= maxPerHost) {
+                        pendingHosts.addLast(host);
+                        hostsAtLimit++;
+                        continue;
+                    }
+
+                    hostsAtLimit = 0;
+                    dispatched.add(host.pending.pollFirst());
+                    host.inFlight++;
+                    inFlight++;
+                    if (!host.pending.isEmpty()) pendingHosts.addLast(host);
+                }
+            }
+
+            rejected = false;
+            for (int index : dispatched) {
+                try {
+                    executor.execute(() -> run(index));
+                } catch (RejectedExecutionException rejectedEx) {
+                    complete(BatchResult.failure(index, requests.get(index), new RestException("Batch request rejected by its executor", rejectedEx)));
+                    rejected = true;
+                }
+            }
+        } while (rejected);
+    }
+
+    private void run(final int index) {
+        final RestRequest request = requests.get(index);
+        BatchResult<T> result;
+        try {
+            result = BatchResult.success(index, request, call.apply(request));
+        } catch (RuntimeException ex) {
+            result = BatchResult.failure(index, request, ex);
+        } catch (Error error) {
+            complete(BatchResult.failure(index, request, new RestException(error)));
+            dispatch();
+            throw error;
+        }
+        complete(result);
+        dispatch();
+    }
+
+    private void complete(final BatchResult<T> result) {
+        synchronized (this) {
+            hostOf[result.getIndex()].inFlight--;
+            inFlight--;
+        }
+        completed.add(result);
+    }
+
+    private synchronized void cancel() {
+        cancelled = true;
+        pendingHosts.clear();
+    }
+
+    private BatchResult<T> takeCompleted() {
+        try {
+            return completed.take();
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            throw new RestException("Interrupted awaiting the results of a batch", interruptedEx);
+        }
+    }
+
+    private static final class HostRequests {
+        private final Deque<Integer> pending = new ArrayDeque<>();
+        private int inFlight;
+    }
+
+    /**
+     * The results of the batch in the order they complete.
+     */
+    private final class CompletionOrderedResults implements Iterator<BatchResult<T>> {
+        private int returned;
+
+        @Override
+        public boolean hasNext() {
+            return returned < requests.size();
+        }
+
+        @Override
+        public BatchResult<T> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            returned++;
+            return takeCompleted();
+        }
+    }
+
+    /**
+     * The results of the batch in the order of its requests, each held back until those before it have completed.
+     */
+    private final class OrderedResults implements Iterator<BatchResult<T>> {
+        @SuppressWarnings("unchecked")
+        private final BatchResult<T>[] reordered = new BatchResult[requests.size()];
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return next < requests.size();
+        }
+
+        @Override
+        public BatchResult<T> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            while (reordered[next] == null) {
+                final BatchResult<T> result = takeCompleted();
+                reordered[result.getIndex()] = result;
+            }
+            final BatchResult<T> result = reordered[next];
+            reordered[next++] = null;
+            return result;
+        }
+    }
+
+    private static final class DefaultBatchExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "rest-client-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
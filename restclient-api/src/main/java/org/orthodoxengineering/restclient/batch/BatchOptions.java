@@ -0,0 +1,135 @@
+package org.orthodoxengineering.restclient.batch;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Options of a batch of requests: how many of its requests may be in flight at once, overall and to each host, whether its results
+ * are streamed in the order of its requests or in the order they complete, and the executor by which its requests are made.
+ *
+ * <p>Requests to a host beyond the capacity of the connection pool of the client wait for a pooled connection to be released, so
+ * the limit per host is best kept within the maximum connections per route of the client, which is its default where the batch is
+ * made by a REST client.</p>
+ */
+public class BatchOptions {
+    public static final int DEFAULT_PARALLELISM = 32;
+
+    private final int parallelism;
+    private final int maxPerHost;
+    private final boolean ordered;
+    private final Executor executor;
+
+    protected BatchOptions(final Builder builder) {
+        if (builder.parallelism < 1) throw new IllegalArgumentException("The parallelism must be at least 1: " + builder.parallelism);
+        if (builder.maxPerHost < 0) throw new IllegalArgumentException("The maximum requests per host must not be negative: " + builder.maxPerHost);
+        this.parallelism = builder.parallelism;
+        this.maxPerHost = builder.maxPerHost;
+        this.ordered = builder.ordered;
+        this.executor = builder.executor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the default batch options: up to {@link #DEFAULT_PARALLELISM} requests in flight, and as many to each host as the
+     * client making the batch has connections per route, with results in the order of the requests.
+     *
+     * @return the default batch options.
+     */
+    public static BatchOptions defaults() {
+        return builder().build();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the maximum number of requests of the batch in flight at once to any one host.
+     *
+     * @return the maximum requests in flight to each host, or 0 if the requests to each host are limited only by the parallelism of
+     * the batch, or by the maximum connections per route of the client making it.
+     */
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    /**
+     * Returns these options with the given maximum number of requests in flight to each host, unless these options already set one.
+     *
+     * @param defaultMaxPerHost the maximum requests in flight to each host, such as the maximum connections per route of a client.
+     * @return these options, if they set a maximum per host, or a copy of them with the given maximum otherwise.
+     */
+    public BatchOptions withDefaultMaxPerHost(final int defaultMaxPerHost) {
+        if (maxPerHost > 0) return this;
+
+        return builder().parallelism(parallelism).maxPerHost(defaultMaxPerHost).ordered(ordered).executor(executor).build();
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public static class Builder {
+        private int parallelism = DEFAULT_PARALLELISM;
+        private int maxPerHost;
+        private boolean ordered = true;
+        private Executor executor;
+
+        /**
+         * Sets the maximum number of requests of the batch in flight at once.
+         *
+         * @param parallelism the maximum requests in flight.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests of the batch in flight at once to any one host. By default, a batch made by a REST
+         * client makes as many requests to each host at once as the client has connections per route.
+         *
+         * @param maxPerHost the maximum requests in flight to each host, or 0 for the default.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder maxPerHost(final int maxPerHost) {
+            this.maxPerHost = maxPerHost;
+            return this;
+        }
+
+        /**
+         * Sets whether the results of the batch are streamed in the order of its requests, each as soon as it and the results before
+         * it have completed, or in the order they complete.
+         *
+         * @param ordered true to stream results in the order of the requests, false to stream them as they complete.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder ordered(final boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        /**
+         * Sets the executor by which the requests of the batch are made, each blocking a thread of the executor while in flight.
+         * Where none is set, requests are made on a shared pool of daemon threads, created as needed and reused between batches.
+         *
+         * @param executor the executor of the requests, or null to use the shared pool.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder executor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public BatchOptions build() {
+            return new BatchOptions(this);
+        }
+    }
+}
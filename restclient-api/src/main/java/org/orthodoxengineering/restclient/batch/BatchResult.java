@@ -0,0 +1,81 @@
+package org.orthodoxengineering.restclient.batch;
+
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+/**
+ * The outcome of one request of a batch: either the value returned for it or the exception with which it failed, so that the
+ * failure of one request does not fail the batch.
+ */
+public final class BatchResult<T> {
+    private final int index;
+    private final RestRequest request;
+    private final T value;
+    private final RuntimeException failure;
+
+    private BatchResult(final int index, final RestRequest request, final T value, final RuntimeException failure) {
+        this.index = index;
+        this.request = request;
+        this.value = value;
+        this.failure = failure;
+    }
+
+    static <T> BatchResult<T> success(final int index, final RestRequest request, final T value) {
+        return new BatchResult<>(index, request, value, null);
+    }
+
+    static <T> BatchResult<T> failure(final int index, final RestRequest request, final RuntimeException failure) {
+        return new BatchResult<>(index, request, null, failure);
+    }
+
+    /**
+     * The position of the request in the batch.
+     *
+     * @return the index of the request, from zero.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public RestRequest getRequest() {
+        return request;
+    }
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * The value returned for the request.
+     *
+     * @return the value, which is null if the request failed.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * The exception with which the request failed.
+     *
+     * @return the failure, or null if the request was successful.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the value returned for the request, or throws the exception with which it failed.
+     *
+     * @return the value.
+     * @throws RestException if the request failed, or another exception with which it failed.
+     */
+    public T getValueOrThrow() throws RestException {
+        if (failure != null) throw failure;
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return request + (failure == null ? " -> " + value : " failed: " + failure);
+    }
+}
@@ -0,0 +1,87 @@
+package org.orthodoxengineering.restclient.cache;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The directives of a <code>Cache-Control</code> header, as defined by <a href="https://httpwg.org/specs/rfc9111.html#field.cache-control">RFC 9111 - HTTP Caching, Section 5.2</a>.
+ */
+public final class CacheControl {
+    public static final String NO_CACHE = "no-cache";
+    public static final String NO_STORE = "no-store";
+    public static final String MAX_AGE = "max-age";
+    public static final String MUST_REVALIDATE = "must-revalidate";
+
+    private static final CacheControl NONE = new CacheControl(Collections.emptyMap());
+
+    private final Map<String, String> directives;
+
+    private CacheControl(final Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * Parses the directives of the given <code>Cache-Control</code> header value. Directive names are case-insensitive, and unknown
+     * directives are retained but otherwise ignored.
+     *
+     * @param headerValue the value of the header, which may be null.
+     * @return the directives of the header.
+     */
+    public static CacheControl parse(final String headerValue) {
+        if (headerValue == null || headerValue.trim().isEmpty()) return NONE;
+
+        final Map<String, String> directives = new LinkedHashMap<>();
+        for (String directive : headerValue.split(",")) {
+            final int equalsPos = directive.indexOf('=');
+            final String name = (equalsPos < 0 ? directive : directive.substring(0, equalsPos)).trim().toLowerCase(Locale.ROOT);
+            final String argument = equalsPos < 0 ? null : directive.substring(equalsPos + 1).trim().replace("\"", "");
+            if (!name.isEmpty()) directives.putIfAbsent(name, argument);
+        }
+        return new CacheControl(directives);
+    }
+
+    public boolean has(final String directive) {
+        return directives.containsKey(directive);
+    }
+
+    /**
+     * Returns the argument of the given directive, as a number of seconds.
+     *
+     * @param directive the directive whose argument is required, such as <code>max-age</code>.
+     * @return the argument of the directive, or -1 if the directive is absent or its argument is not a valid number of seconds.
+     */
+    public long getSeconds(final String directive) {
+        final String argument = directives.get(directive);
+        if (argument == null) return -1;
+        try {
+            return Math.max(0, Long.parseLong(argument));
+        } catch (NumberFormatException invalidEx) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses an HTTP date, such as that of the <code>Date</code>, <code>Expires</code> or <code>Last-Modified</code> headers.
+     *
+     * @param httpDate the date to be parsed, which may be null.
+     * @return the date in milliseconds since the epoch, or -1 if the date is absent or invalid.
+     */
+    public static long parseDate(final String httpDate) {
+        if (httpDate == null) return -1;
+        try {
+            return ZonedDateTime.parse(httpDate.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException invalidEx) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return directives.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package org.orthodoxengineering.restclient.cache;
+
+/**
+ * The storage of the responses of a response cache, keyed by request URI.
+ */
+public interface CacheStorage {
+    /**
+     * Returns the response stored under the given key.
+     *
+     * @param key the cache key of the response.
+     * @return the stored response, or null if there is none.
+     */
+    CachedResponse get(String key);
+
+    /**
+     * Stores the given response under its key, replacing any response already stored under that key. Storage may evict other
+     * responses to stay within its bounds, or decline to store a response too large for them.
+     *
+     * @param response the response to be stored.
+     */
+    void put(CachedResponse response);
+
+    /**
+     * Removes any response stored under the given key.
+     *
+     * @param key the cache key of the response to be removed.
+     */
+    void remove(String key);
+}
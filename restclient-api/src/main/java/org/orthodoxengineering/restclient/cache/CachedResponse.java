@@ -0,0 +1,215 @@
+package org.orthodoxengineering.restclient.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response held by a response cache: its status, headers and body, together with the times at which the request for it was made
+ * and the response received, from which its age is determined.
+ */
+public final class CachedResponse {
+    private static final int FORMAT_VERSION = 1;
+
+    private final String key;
+    private final int statusCode;
+    private final String reasonPhrase;
+    private final Map<String, List<String>> headers;
+    private final Map<String, String> varyingRequestHeaders;
+    private final byte[] body;
+    private final long requestTimeMillis;
+    private final long responseTimeMillis;
+
+    /**
+     * Creates a cached response.
+     *
+     * @param key the cache key of the response.
+     * @param statusCode the status code of the response.
+     * @param reasonPhrase the reason phrase of the response, which may be null.
+     * @param headers the headers of the response.
+     * @param varyingRequestHeaders the values, keyed by lower case name, of the request headers named by the <code>Vary</code> header of the response.
+     * @param body the body of the response, which may be null if the response had no entity.
+     * @param requestTimeMillis the time at which the request was made, in milliseconds since the epoch.
+     * @param responseTimeMillis the time at which the response was received, in milliseconds since the epoch.
+     */
+    public CachedResponse(final String key,
+                          final int statusCode,
+                          final String reasonPhrase,
+                          final Map<String, List<String>> headers,
+                          final Map<String, String> varyingRequestHeaders,
+                          final byte[] body,
+                          final long requestTimeMillis,
+                          final long responseTimeMillis) {
+        this.key = key;
+        this.statusCode = statusCode;
+        this.reasonPhrase = reasonPhrase;
+        this.headers = Collections.unmodifiableMap(copyOf(headers));
+        this.varyingRequestHeaders = Collections.unmodifiableMap(new LinkedHashMap<>(varyingRequestHeaders));
+        this.body = body;
+        this.requestTimeMillis = requestTimeMillis;
+        this.responseTimeMillis = responseTimeMillis;
+    }
+
+    private static Map<String, List<String>> copyOf(final Map<String, List<String>> headers) {
+        final Map<String, List<String>> copy = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (name != null && values != null) copy.put(name, Collections.unmodifiableList(new ArrayList<>(values)));
+        });
+        return copy;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public Map<String, String> getVaryingRequestHeaders() {
+        return varyingRequestHeaders;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getRequestTimeMillis() {
+        return requestTimeMillis;
+    }
+
+    public long getResponseTimeMillis() {
+        return responseTimeMillis;
+    }
+
+    /**
+     * Returns the first value of the named header, matching the header name without regard to case.
+     *
+     * @param name the name of the header.
+     * @return the first value of the header, or null if the response has no such header.
+     */
+    public String getHeaderValue(final String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the approximate memory occupied by this response, as the length of its body and headers.
+     *
+     * @return the weight of this response, in bytes.
+     */
+    public long getWeight() {
+        long weight = key.length() + (body == null ? 0 : body.length);
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                weight += header.getKey().length() + value.length();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns a copy of this response updated by a <code>304 (Not Modified)</code> response to its revalidation, whose headers replace
+     * those of the same name of this response, as described by <a href="https://httpwg.org/specs/rfc9111.html#freshening.responses">RFC 9111 - HTTP Caching, Section 4.3.4</a>.
+     *
+     * @param notModifiedHeaders the headers of the <code>304 (Not Modified)</code> response.
+     * @param requestTimeMillis the time at which the revalidation request was made.
+     * @param responseTimeMillis the time at which the revalidation response was received.
+     * @return the freshened response.
+     */
+    public CachedResponse freshen(final Map<String, List<String>> notModifiedHeaders, final long requestTimeMillis, final long responseTimeMillis) {
+        final Map<String, List<String>> freshenedHeaders = new LinkedHashMap<>(headers);
+        notModifiedHeaders.forEach((name, values) -> {
+            if (name == null || values == null || "Content-Length".equalsIgnoreCase(name)) return;
+            freshenedHeaders.keySet().removeIf(name::equalsIgnoreCase);
+            freshenedHeaders.put(name, values);
+        });
+        return new CachedResponse(key, statusCode, reasonPhrase, freshenedHeaders, varyingRequestHeaders, body, requestTimeMillis, responseTimeMillis);
+    }
+
+    /**
+     * Writes this response to the given stream, in a form which may be read by {@link #readFrom(DataInputStream)}.
+     *
+     * @param dos the stream to which this response is to be written.
+     * @throws IOException if an error occurs writing the response.
+     */
+    public void writeTo(final DataOutputStream dos) throws IOException {
+        dos.writeInt(FORMAT_VERSION);
+        dos.writeUTF(key);
+        dos.writeInt(statusCode);
+        dos.writeBoolean(reasonPhrase != null);
+        if (reasonPhrase != null) dos.writeUTF(reasonPhrase);
+        dos.writeLong(requestTimeMillis);
+        dos.writeLong(responseTimeMillis);
+        dos.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            dos.writeUTF(header.getKey());
+            dos.writeInt(header.getValue().size());
+            for (String value : header.getValue()) {
+                dos.writeUTF(value);
+            }
+        }
+        dos.writeInt(varyingRequestHeaders.size());
+        for (Map.Entry<String, String> header : varyingRequestHeaders.entrySet()) {
+            dos.writeUTF(header.getKey());
+            dos.writeUTF(header.getValue());
+        }
+        dos.writeInt(body == null ? -1 : body.length);
+        if (body != null) dos.write(body);
+    }
+
+    /**
+     * Reads a response previously written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param dis the stream from which the response is to be read.
+     * @return the response read.
+     * @throws IOException if an error occurs reading the response, or the stream does not contain a response in a supported form.
+     */
+    public static CachedResponse readFrom(final DataInputStream dis) throws IOException {
+        final int version = dis.readInt();
+        if (version != FORMAT_VERSION) throw new IOException("Unsupported cached response format version: " + version);
+
+        final String key = dis.readUTF();
+        final int statusCode = dis.readInt();
+        final String reasonPhrase = dis.readBoolean() ? dis.readUTF() : null;
+        final long requestTimeMillis = dis.readLong();
+        final long responseTimeMillis = dis.readLong();
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int headerCount = dis.readInt(), n = 0; n < headerCount; n++) {
+            final String name = dis.readUTF();
+            final List<String> values = new ArrayList<>();
+            for (int valueCount = dis.readInt(), v = 0; v < valueCount; v++) {
+                values.add(dis.readUTF());
+            }
+            headers.put(name, values);
+        }
+        final Map<String, String> varyingRequestHeaders = new LinkedHashMap<>();
+        for (int headerCount = dis.readInt(), n = 0; n < headerCount; n++) {
+            varyingRequestHeaders.put(dis.readUTF(), dis.readUTF());
+        }
+        final int bodyLength = dis.readInt();
+        byte[] body = null;
+        if (bodyLength >= 0) {
+            body = new byte[bodyLength];
+            dis.readFully(body);
+        }
+        return new CachedResponse(key, statusCode, reasonPhrase, headers, varyingRequestHeaders, body, requestTimeMillis, responseTimeMillis);
+    }
+}
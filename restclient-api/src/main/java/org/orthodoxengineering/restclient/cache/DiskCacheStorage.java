@@ -0,0 +1,172 @@
+package org.orthodoxengineering.restclient.cache;
+
+import org.beanplanet.core.io.IoException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Disk storage of cached responses, one file per response in a given directory, bounded by the total size of the files. When the
+ * bound is exceeded, the least recently used responses are removed first, as indicated by the last modified time of their files,
+ * which is updated whenever a response is read. Responses stored by an earlier instance over the same directory are retained, so
+ * that the cache survives a restart.
+ */
+public class DiskCacheStorage implements CacheStorage {
+    private static final String FILE_SUFFIX = ".cache";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<Path, Long> fileSizes = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    /**
+     * Creates disk storage over the given directory, which is created if it does not exist.
+     *
+     * @param directory the directory in which responses are to be stored.
+     * @param maxBytes the maximum total size of the files of the responses stored.
+     * @throws IoException if the directory could not be created or read.
+     */
+    public DiskCacheStorage(final Path directory, final long maxBytes) throws IoException {
+        if (maxBytes <= 0) throw new IllegalArgumentException("The maximum size must be positive: " + maxBytes);
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    final long size = Files.size(file);
+                    fileSizes.put(file, size);
+                    totalBytes.addAndGet(size);
+                }
+            }
+        } catch (IOException ioEx) {
+            throw new IoException("Unable to open the response cache directory " + directory, ioEx);
+        }
+    }
+
+    @Override
+    public CachedResponse get(final String key) {
+        final Path file = fileFor(key);
+        if (!fileSizes.containsKey(file)) return null;
+
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            final CachedResponse response = CachedResponse.readFrom(dis);
+            if (!key.equals(response.getKey())) return null;
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return response;
+        } catch (NoSuchFileException evictedEx) {
+            return null;
+        } catch (IOException corruptEx) {
+            remove(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(final CachedResponse response) {
+        final Path file = fileFor(response.getKey());
+        try {
+            final Path tempFile = Files.createTempFile(directory, "response", ".tmp");
+            try {
+                try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    response.writeTo(dos);
+                }
+                final long size = Files.size(tempFile);
+                if (size > maxBytes) return;
+
+                try {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException atomicMoveNotSupportedEx) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                final Long previousSize = fileSizes.put(file, size);
+                totalBytes.addAndGet(size - (previousSize == null ? 0 : previousSize));
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ioEx) {
+            // A response which cannot be written is simply not cached
+            return;
+        }
+        if (totalBytes.get() > maxBytes) evict();
+    }
+
+    @Override
+    public void remove(final String key) {
+        delete(fileFor(key));
+    }
+
+    /**
+     * Returns the total size of the files of the responses stored.
+     *
+     * @return the total size of the responses stored, in bytes.
+     */
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            if (totalBytes.get() <= maxBytes) return;
+
+            final List<Path> files = new ArrayList<>(fileSizes.keySet());
+            final Map<Path, Long> lastModified = new ConcurrentHashMap<>();
+            for (Path file : files) {
+                try {
+                    lastModified.put(file, Files.getLastModifiedTime(file).toMillis());
+                } catch (IOException ignoredEx) {
+                    lastModified.put(file, 0L);
+                }
+            }
+            files.sort(Comparator.comparing(lastModified::get));
+            for (Path file : files) {
+                if (totalBytes.get() <= maxBytes) break;
+                delete(file);
+            }
+        }
+    }
+
+    private void delete(final Path file) {
+        final Long size = fileSizes.remove(file);
+        if (size != null) totalBytes.addAndGet(-size);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignoredEx) {
+        }
+    }
+
+    private Path fileFor(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(UTF_8));
+            final StringBuilder name = new StringBuilder(digest.length * 2 + FILE_SUFFIX.length());
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return directory.resolve(name.append(FILE_SUFFIX).toString());
+        } catch (NoSuchAlgorithmException noSha256Ex) {
+            throw new IllegalStateException(noSha256Ex);
+        }
+    }
+}
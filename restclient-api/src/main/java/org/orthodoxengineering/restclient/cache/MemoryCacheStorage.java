@@ -0,0 +1,105 @@
+package org.orthodoxengineering.restclient.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory storage of cached responses, bounded by the number of responses and by their total weight, evicting the least recently
+ * used responses first.
+ */
+public class MemoryCacheStorage implements CacheStorage {
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    /**
+     * Creates in-memory storage.
+     *
+     * @param maxEntries the maximum number of responses to be stored.
+     * @param maxWeight the maximum total weight, approximately the number of bytes of body and headers, of the responses stored.
+     */
+    public MemoryCacheStorage(final int maxEntries, final long maxWeight) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("The maximum number of entries must be positive: " + maxEntries);
+        if (maxWeight <= 0) throw new IllegalArgumentException("The maximum weight must be positive: " + maxWeight);
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public CachedResponse get(final String key) {
+        lock.lock();
+        try {
+            return responses.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final CachedResponse response) {
+        final long responseWeight = response.getWeight();
+        lock.lock();
+        try {
+            removeInternal(response.getKey());
+            if (responseWeight > maxWeight) return;
+
+            responses.put(response.getKey(), response);
+            weight += responseWeight;
+            for (Iterator<Map.Entry<String, CachedResponse>> iter = responses.entrySet().iterator();
+                 iter.hasNext() && (weight > maxWeight || responses.size() > maxEntries); ) {
+                weight -= iter.next().getValue().getWeight();
+                iter.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(final String key) {
+        lock.lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeInternal(final String key) {
+        final CachedResponse removed = responses.remove(key);
+        if (removed != null) weight -= removed.getWeight();
+    }
+
+    /**
+     * Returns the number of responses stored.
+     *
+     * @return the number of responses stored.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return responses.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total weight of the responses stored.
+     *
+     * @return the total weight, approximately in bytes, of the responses stored.
+     */
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
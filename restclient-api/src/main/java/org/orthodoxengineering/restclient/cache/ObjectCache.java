@@ -0,0 +1,365 @@
+package org.orthodoxengineering.restclient.cache;
+
+import org.orthodoxengineering.restclient.RestException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache of decoded response entities, keyed by request URI and the type the entity was converted to, so that a hit costs neither
+ * I/O nor decoding.
+ *
+ * <p>Each value is fresh for a fixed time-to-live after it was loaded. A stale value may, if so configured, continue to be served for
+ * a further stale-while-revalidate period, during which the first request to find it stale starts a single background refresh
+ * while it, and every other request, is answered immediately with the stale value. Beyond that period, or if no such period is
+ * configured, the value is reloaded by the requesting thread. Failed loads are never cached; a failed background refresh leaves the
+ * stale value to be served, and retried, until it expires.</p>
+ *
+ * <p>The cache is bounded by the number of values held and, optionally, by their total weight, evicting values in the order they
+ * were loaded, which for a single time-to-live is the order in which they would expire. Reads take no locks.</p>
+ *
+ * <p>Values are shared between all callers, so should be immutable or otherwise treated as read-only.</p>
+ */
+public class ObjectCache {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final Duration timeToLive;
+    private final Duration staleWhileRevalidate;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<Object> weigher;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> loadOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicInteger discarded = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    protected ObjectCache(final Builder builder) {
+        if (builder.timeToLive == null || builder.timeToLive.isNegative()) throw new IllegalArgumentException("A non-negative time-to-live must be specified");
+        if (builder.maxEntries <= 0) throw new IllegalArgumentException("The maximum number of entries must be positive: " + builder.maxEntries);
+        this.timeToLive = builder.timeToLive;
+        this.staleWhileRevalidate = builder.staleWhileRevalidate != null ? builder.staleWhileRevalidate : Duration.ZERO;
+        this.maxEntries = builder.maxEntries;
+        this.maxWeight = builder.maxWeight;
+        this.weigher = builder.weigher != null ? builder.weigher : value -> 1;
+        this.refreshExecutor = builder.refreshExecutor != null ? builder.refreshExecutor : DefaultRefreshExecutor.INSTANCE;
+        this.clock = builder.clock != null ? builder.clock : Clock.systemUTC();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the cached value for the given URI and type, loading it with the given loader if it is absent or has expired, or
+     * starting a background refresh with the loader if it is stale but may still be served.
+     *
+     * @param uri the URI of the endpoint from which the value is loaded.
+     * @param type the type of the value.
+     * @param loader the loader of the value, which is invoked by the calling thread on a miss or in the background on a refresh.
+     * @return the cached or newly loaded value.
+     * @throws RestException if the value was not cached and could not be loaded.
+     */
+    public <T> T get(final String uri, final Class<T> type, final Supplier<T> loader) throws RestException {
+        final Key key = new Key(uri, type);
+        final Entry entry = entries.get(key);
+        final long now = clock.millis();
+        if (entry != null) {
+            if (now < entry.freshUntil) {
+                hits.increment();
+                return type.cast(entry.value);
+            }
+            if (now < entry.staleUntil) {
+                staleHits.increment();
+                if (entry.refreshing.compareAndSet(false, true)) refresh(key, entry, loader);
+                return type.cast(entry.value);
+            }
+        }
+
+        misses.increment();
+        final T value = loader.get();
+        store(key, value);
+        return value;
+    }
+
+    private <T> void refresh(final Key key, final Entry staleEntry, final Supplier<T> loader) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    final T value = loader.get();
+                    refreshes.increment();
+                    store(key, value);
+                } catch (RuntimeException refreshEx) {
+                    refreshFailures.increment();
+                    staleEntry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException rejectedEx) {
+            staleEntry.refreshing.set(false);
+        }
+    }
+
+    private void store(final Key key, final Object value) {
+        final long loadedAt = clock.millis();
+        final long freshUntil = loadedAt + timeToLive.toMillis();
+        final Entry entry = new Entry(key, value, weigher.applyAsLong(value), freshUntil, freshUntil + staleWhileRevalidate.toMillis());
+
+        final Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            weight.addAndGet(-previous.weight);
+            discarded.incrementAndGet();
+        } else {
+            size.incrementAndGet();
+        }
+        weight.addAndGet(entry.weight);
+        loadOrder.add(entry);
+        evict();
+    }
+
+    private void evict() {
+        while (size.get() > maxEntries || weight.get() > maxWeight) {
+            final Entry eldest = loadOrder.poll();
+            if (eldest == null) return;
+
+            // Entries since replaced by a reload, or removed, remain queued and are simply discarded
+            if (entries.remove(eldest.key, eldest)) {
+                size.decrementAndGet();
+                weight.addAndGet(-eldest.weight);
+            } else {
+                discarded.decrementAndGet();
+            }
+        }
+
+        // Without eviction pressure, discarded entries are never polled, so are purged once they outnumber those cached
+        if (discarded.get() > size.get()) {
+            discarded.set(0);
+            loadOrder.removeIf(queued -> entries.get(queued.key) != queued);
+        }
+    }
+
+    private boolean discard(final Entry entry) {
+        size.decrementAndGet();
+        weight.addAndGet(-entry.weight);
+        discarded.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes the cached values for the given URI, of whatever type.
+     *
+     * @param uri the URI whose values are to be removed.
+     */
+    public void invalidate(final String uri) {
+        entries.values().removeIf(entry -> entry.key.uri.equals(uri) && discard(entry));
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        entries.values().removeIf(this::discard);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * Returns the number of requests answered with a fresh cached value.
+     *
+     * @return the fresh hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests answered with a stale cached value, while it was refreshed in the background.
+     *
+     * @return the stale hit count.
+     */
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Returns the number of requests which loaded their value, as no usable value was cached.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    public static class Builder {
+        private Duration timeToLive;
+        private Duration staleWhileRevalidate;
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private long maxWeight = Long.MAX_VALUE;
+        private ToLongFunction<Object> weigher;
+        private Executor refreshExecutor;
+        private Clock clock;
+
+        /**
+         * Sets the time for which a value is fresh after it was loaded. This must be specified.
+         *
+         * @param timeToLive the time-to-live of cached values.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder timeToLive(final Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Sets the time, after a value becomes stale, for which it may still be served while it is refreshed in the background. By
+         * default, stale values are not served.
+         *
+         * @param staleWhileRevalidate the stale-while-revalidate period of cached values.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder staleWhileRevalidate(final Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        public Builder maxEntries(final int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the values cached, as determined by the weigher.
+         *
+         * @param maxWeight the maximum total weight.
+         * @return this builder, for invocation chaining.
+         * @see #weigher(ToLongFunction)
+         */
+        public Builder maxWeight(final long maxWeight) {
+            this.maxWeight = maxWeight;
+            return this;
+        }
+
+        /**
+         * Sets the function determining the weight of each value cached, such as its approximate size in memory. By default, every
+         * value has a weight of one.
+         *
+         * @param weigher the weigher of cached values.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder weigher(final ToLongFunction<Object> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which stale values are refreshed. By default, a shared pool of daemon threads is used.
+         *
+         * @param refreshExecutor the executor of background refreshes.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder refreshExecutor(final Executor refreshExecutor) {
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        public Builder clock(final Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public ObjectCache build() {
+            return new ObjectCache(this);
+        }
+    }
+
+    private static final class Key {
+        private final String uri;
+        private final Class<?> type;
+        private final int hashCode;
+
+        private Key(final String uri, final Class<?> type) {
+            this.uri = uri;
+            this.type = type;
+            this.hashCode = 31 * uri.hashCode() + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+
+            final Key otherKey = (Key) other;
+            return type == otherKey.type && uri.equals(otherKey.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toString(uri) + " as " + type.getName();
+        }
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final Object value;
+        private final long weight;
+        private final long freshUntil;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(final Key key, final Object value, final long weight, final long freshUntil, final long staleUntil) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+    }
+
+    private static final class DefaultRefreshExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "rest-client-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,350 @@
+package org.orthodoxengineering.restclient.cache;
+
+import org.beanplanet.core.io.IoException;
+import org.beanplanet.core.net.http.ContentWrappingHttpEntity;
+import org.beanplanet.core.net.http.EntityProvider;
+import org.beanplanet.core.net.http.HttpEntity;
+import org.beanplanet.core.net.http.HttpResponse;
+import org.orthodoxengineering.restclient.BytesResource;
+import org.orthodoxengineering.restclient.ResponseHandler;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.RestResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A private HTTP response cache, as described by <a href="https://httpwg.org/specs/rfc9111.html">RFC 9111 - HTTP Caching</a>, which
+ * sits between a REST client and its transport.
+ *
+ * <p>Responses to GET requests are stored, with their bodies, when their status code is cacheable by default and they are not
+ * marked <code>no-store</code>. A stored response is served without any request being made for as long as it is fresh, as determined
+ * by its <code>Cache-Control: max-age</code> directive, its <code>Expires</code> header or, failing either, heuristically from its
+ * <code>Last-Modified</code> header. Once stale, or if marked <code>no-cache</code> by the response or the request, a stored response
+ * with an <code>ETag</code> or <code>Last-Modified</code> validator is revalidated with a conditional request carrying
+ * <code>If-None-Match</code> or <code>If-Modified-Since</code>; a <code>304 (Not Modified)</code> answer freshens the stored response,
+ * which is then served. Stored responses are selected by the request headers named in their <code>Vary</code> header, and are
+ * invalidated by successful unsafe requests to the same URI.</p>
+ *
+ * <p>Responses are served from the cache with their entities created afresh over the stored body, so that a cache hit costs no
+ * socket I/O. Storage is pluggable; see {@link #inMemory(int, long)} and {@link #tiered(int, long, Path, long)}.</p>
+ */
+public class ResponseCache {
+    private static final Set<Integer> CACHEABLE_BY_DEFAULT = new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501));
+    private static final long MAX_HEURISTIC_FRESHNESS_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int NOT_MODIFIED = 304;
+
+    private final CacheStorage storage;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseCache(final CacheStorage storage) {
+        this(storage, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a response cache.
+     *
+     * @param storage the storage of the cached responses.
+     * @param clock the clock against which the freshness of cached responses is determined.
+     */
+    public ResponseCache(final CacheStorage storage, final Clock clock) {
+        this.storage = storage;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a response cache storing responses in memory.
+     *
+     * @param maxEntries the maximum number of responses to be cached.
+     * @param maxBytes the maximum total size of the responses cached, approximately in bytes.
+     * @return a new in-memory response cache.
+     */
+    public static ResponseCache inMemory(final int maxEntries, final long maxBytes) {
+        return new ResponseCache(new MemoryCacheStorage(maxEntries, maxBytes));
+    }
+
+    /**
+     * Creates a response cache storing responses in memory and on disk, so that responses evicted from memory, or cached by a
+     * previous run, may still be served without being downloaded again.
+     *
+     * @param maxMemoryEntries the maximum number of responses to be held in memory.
+     * @param maxMemoryBytes the maximum total size of the responses held in memory, approximately in bytes.
+     * @param directory the directory in which responses are to be stored on disk.
+     * @param maxDiskBytes the maximum total size of the responses stored on disk.
+     * @return a new two-tier response cache.
+     */
+    public static ResponseCache tiered(final int maxMemoryEntries, final long maxMemoryBytes, final Path directory, final long maxDiskBytes) {
+        return new ResponseCache(new TieredCacheStorage(new MemoryCacheStorage(maxMemoryEntries, maxMemoryBytes),
+                                                        new DiskCacheStorage(directory, maxDiskBytes)));
+    }
+
+    public CacheStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Makes the given request through this cache, serving it from a stored response where possible, or otherwise making it over the
+     * given transport exchange and storing the response if it may be cached.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @param exchange the transport exchange over which the request is to be made if it cannot be served from the cache.
+     * @param entityFactory the factory of the entities of the responses served from the cache.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    public <T> T execute(final RestRequest request,
+                         final ResponseHandler<T> handler,
+                         final Exchange exchange,
+                         final EntityProvider entityFactory) throws RestException {
+        if (!RestRequest.GET.equalsIgnoreCase(request.getMethod())) {
+            return executeUnsafe(request, handler, exchange);
+        }
+
+        final CacheControl requestCacheControl = CacheControl.parse(request.getHeaderValue("Cache-Control"));
+        if (requestCacheControl.has(CacheControl.NO_STORE)) {
+            return exchange.exchange(request, handler);
+        }
+
+        final String key = request.getUri();
+        final CachedResponse stored = selectStored(storage.get(key), request);
+        final long now = clock.millis();
+        if (stored != null && !requestCacheControl.has(CacheControl.NO_CACHE) && requestCacheControl.getSeconds(CacheControl.MAX_AGE) != 0
+            && !CacheControl.parse(stored.getHeaderValue("Cache-Control")).has(CacheControl.NO_CACHE) && isFresh(stored, now)) {
+            hits.increment();
+            return handler.handleResponse(toResponse(stored, entityFactory));
+        }
+
+        final RestRequest networkRequest = stored != null ? conditional(request, stored) : request;
+        if (networkRequest == request) misses.increment();
+
+        final long requestTime = clock.millis();
+        final Outcome<T> outcome = exchange.exchange(networkRequest, response -> {
+            final long responseTime = clock.millis();
+            if (stored != null && response.getStatusCode() == NOT_MODIFIED && response instanceof RestResponse) {
+                return Outcome.revalidated(stored.freshen(((RestResponse) response).getHeaderFields(), requestTime, responseTime));
+            }
+            final CachedResponse captured = capture(key, request, response, requestTime, responseTime);
+            return captured != null ? Outcome.stored(captured) : Outcome.handled(handler.handleResponse(response));
+        });
+
+        if (outcome.response == null) {
+            // Neither cacheable nor a revalidation, so the stored response, if any, is no longer valid
+            if (stored != null) storage.remove(key);
+            return outcome.result;
+        }
+        if (outcome.revalidated) revalidations.increment();
+        storage.put(outcome.response);
+        return handler.handleResponse(toResponse(outcome.response, entityFactory));
+    }
+
+    private <T> T executeUnsafe(final RestRequest request, final ResponseHandler<T> handler, final Exchange exchange) {
+        return exchange.exchange(request, response -> {
+            // A successful unsafe request invalidates any stored response for its target URI, as the resource may have changed
+            final int statusCode = response.getStatusCode();
+            if (!request.isSafe() && statusCode >= 200 && statusCode < 400) {
+                storage.remove(request.getUri());
+            }
+            return handler.handleResponse(response);
+        });
+    }
+
+    private static CachedResponse selectStored(final CachedResponse stored, final RestRequest request) {
+        if (stored == null) return null;
+        for (Map.Entry<String, String> varying : stored.getVaryingRequestHeaders().entrySet()) {
+            final String requestValue = request.getHeaderValue(varying.getKey());
+            if (!varying.getValue().equals(requestValue == null ? "" : requestValue)) return null;
+        }
+        return stored;
+    }
+
+    private static RestRequest conditional(final RestRequest request, final CachedResponse stored) {
+        final String etag = stored.getHeaderValue("ETag");
+        final String lastModified = stored.getHeaderValue("Last-Modified");
+        if (etag == null && lastModified == null) return request;
+
+        final RestRequest conditionalRequest = new RestRequest(request);
+        if (etag != null) conditionalRequest.setHeader("If-None-Match", etag);
+        if (lastModified != null) conditionalRequest.setHeader("If-Modified-Since", lastModified);
+        return conditionalRequest;
+    }
+
+    /**
+     * Captures the given response for storage, if it may be stored.
+     *
+     * @return the response to be stored, or null if it may not be stored.
+     */
+    private static CachedResponse capture(final String key, final RestRequest request, final HttpResponse response, final long requestTime, final long responseTime) {
+        if (!CACHEABLE_BY_DEFAULT.contains(response.getStatusCode()) || !(response instanceof RestResponse)) return null;
+
+        final RestResponse restResponse = (RestResponse) response;
+        if (CacheControl.parse(restResponse.getHeaderValue("Cache-Control")).has(CacheControl.NO_STORE)) return null;
+
+        final Map<String, String> varyingRequestHeaders = new LinkedHashMap<>();
+        final String vary = restResponse.getHeaderValue("Vary");
+        if (vary != null) {
+            for (String name : vary.split(",")) {
+                final String headerName = name.trim().toLowerCase(Locale.ROOT);
+                if (headerName.equals("*")) return null;
+                if (headerName.isEmpty()) continue;
+
+                final String requestValue = request.getHeaderValue(headerName);
+                varyingRequestHeaders.put(headerName, requestValue == null ? "" : requestValue);
+            }
+        }
+
+        final HttpEntity entity = restResponse.getEntity();
+        byte[] body = null;
+        if (entity != null) {
+            if (!(entity instanceof ContentWrappingHttpEntity)) return null;
+            body = readFully((ContentWrappingHttpEntity) entity);
+        }
+        return new CachedResponse(key, restResponse.getStatusCode(), null, restResponse.getHeaderFields(), varyingRequestHeaders, body, requestTime, responseTime);
+    }
+
+    private static byte[] readFully(final ContentWrappingHttpEntity entity) {
+        try (InputStream contentIs = entity.getContent().getInputStream()) {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            for (int read; (read = contentIs.read(buffer)) >= 0; ) {
+                body.write(buffer, 0, read);
+            }
+            return body.toByteArray();
+        } catch (IOException ioEx) {
+            throw new IoException(ioEx);
+        }
+    }
+
+    private static HttpResponse toResponse(final CachedResponse stored, final EntityProvider entityFactory) {
+        final RestResponse response = new RestResponse(stored.getStatusCode(), stored.getReasonPhrase(), stored.getHeaders());
+        if (stored.getBody() == null) return response;
+
+        final BytesResource content = new BytesResource(stored.getBody(), response.getContentCharset());
+        return response.withEntity(entityFactory.createEntity(response, content));
+    }
+
+    /**
+     * Determines whether the given stored response is fresh, as described by <a href="https://httpwg.org/specs/rfc9111.html#expiration.model">RFC 9111 - HTTP Caching, Section 4.2</a>.
+     *
+     * @param stored the stored response.
+     * @param nowMillis the current time.
+     * @return true if the freshness lifetime of the response exceeds its current age.
+     */
+    boolean isFresh(final CachedResponse stored, final long nowMillis) {
+        return freshnessLifetimeMillis(stored) > currentAgeMillis(stored, nowMillis);
+    }
+
+    static long freshnessLifetimeMillis(final CachedResponse stored) {
+        final CacheControl cacheControl = CacheControl.parse(stored.getHeaderValue("Cache-Control"));
+        final long maxAge = cacheControl.getSeconds(CacheControl.MAX_AGE);
+        if (maxAge >= 0) return TimeUnit.SECONDS.toMillis(maxAge);
+
+        final long date = dateOf(stored);
+        final String expiresHeader = stored.getHeaderValue("Expires");
+        if (expiresHeader != null) {
+            final long expires = CacheControl.parseDate(expiresHeader);
+            return expires < 0 ? 0 : Math.max(0, expires - date);
+        }
+
+        final long lastModified = CacheControl.parseDate(stored.getHeaderValue("Last-Modified"));
+        if (lastModified >= 0 && date > lastModified) {
+            return Math.min((date - lastModified) / 10, MAX_HEURISTIC_FRESHNESS_MILLIS);
+        }
+        return 0;
+    }
+
+    static long currentAgeMillis(final CachedResponse stored, final long nowMillis) {
+        final long apparentAge = Math.max(0, stored.getResponseTimeMillis() - dateOf(stored));
+        long ageValue = 0;
+        final String ageHeader = stored.getHeaderValue("Age");
+        if (ageHeader != null) {
+            try {
+                ageValue = TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(ageHeader.trim())));
+            } catch (NumberFormatException ignoredEx) {
+            }
+        }
+        final long responseDelay = stored.getResponseTimeMillis() - stored.getRequestTimeMillis();
+        final long correctedInitialAge = Math.max(apparentAge, ageValue + responseDelay);
+        final long residentTime = nowMillis - stored.getResponseTimeMillis();
+        return correctedInitialAge + residentTime;
+    }
+
+    private static long dateOf(final CachedResponse stored) {
+        final long date = CacheControl.parseDate(stored.getHeaderValue("Date"));
+        return date < 0 ? stored.getResponseTimeMillis() : date;
+    }
+
+    /**
+     * Returns the number of requests served from a fresh stored response, without any request being made.
+     *
+     * @return the cache hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests served from a stored response after revalidation with a conditional request.
+     *
+     * @return the revalidation count.
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Returns the number of requests for which no usable stored response was found.
+     *
+     * @return the cache miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * A transport exchange, over which requests not served from the cache are made.
+     */
+    @FunctionalInterface
+    public interface Exchange {
+        <T> T exchange(RestRequest request, ResponseHandler<T> handler) throws RestException;
+    }
+
+    private static final class Outcome<T> {
+        private final CachedResponse response;
+        private final boolean revalidated;
+        private final T result;
+
+        private Outcome(final CachedResponse response, final boolean revalidated, final T result) {
+            this.response = response;
+            this.revalidated = revalidated;
+            this.result = result;
+        }
+
+        private static <T> Outcome<T> stored(final CachedResponse response) {
+            return new Outcome<>(response, false, null);
+        }
+
+        private static <T> Outcome<T> revalidated(final CachedResponse response) {
+            return new Outcome<>(response, true, null);
+        }
+
+        private static <T> Outcome<T> handled(final T result) {
+            return new Outcome<>(null, false, result);
+        }
+    }
+}
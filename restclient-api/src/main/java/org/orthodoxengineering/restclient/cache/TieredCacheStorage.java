@@ -0,0 +1,37 @@
+package org.orthodoxengineering.restclient.cache;
+
+/**
+ * Two-tier storage of cached responses, typically a small, fast memory tier in front of a larger disk tier. Responses are stored in
+ * both tiers; a response found only in the second tier is promoted to the first.
+ */
+public class TieredCacheStorage implements CacheStorage {
+    private final CacheStorage first;
+    private final CacheStorage second;
+
+    public TieredCacheStorage(final CacheStorage first, final CacheStorage second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public CachedResponse get(final String key) {
+        CachedResponse response = first.get(key);
+        if (response == null) {
+            response = second.get(key);
+            if (response != null) first.put(response);
+        }
+        return response;
+    }
+
+    @Override
+    public void put(final CachedResponse response) {
+        first.put(response);
+        second.put(response);
+    }
+
+    @Override
+    public void remove(final String key) {
+        first.remove(key);
+        second.remove(key);
+    }
+}
@@ -0,0 +1,30 @@
+package org.orthodoxengineering.restclient.encoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A decoder of one HTTP content coding, such as <code>gzip</code>, as defined by <a href="https://httpwg.org/specs/rfc9110.html#content.codings">RFC 9110 - HTTP Semantics, Section 8.4.1</a>.
+ *
+ * <p>Decoders beyond those of the JDK, such as for <code>br</code> or <code>zstd</code>, may be registered with
+ * {@link ContentDecoders#with(ContentDecoder)}, typically over a native decompression library.</p>
+ */
+public interface ContentDecoder {
+    /**
+     * Returns the name of the content coding decoded, as it appears in the <code>Accept-Encoding</code> and
+     * <code>Content-Encoding</code> headers.
+     *
+     * @return the content coding name, such as <code>gzip</code>.
+     */
+    String getEncoding();
+
+    /**
+     * Wraps the given encoded stream in a stream which decodes it as it is read. Closing the decoding stream must close the encoded
+     * stream.
+     *
+     * @param encoded the encoded stream.
+     * @return a stream of the decoded content.
+     * @throws IOException if the encoded stream is not validly encoded.
+     */
+    InputStream decode(InputStream encoded) throws IOException;
+}
@@ -0,0 +1,223 @@
+package org.orthodoxengineering.restclient.encoding;
+
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The content decoders of a REST client, which determine the content codings advertised in the <code>Accept-Encoding</code> header
+ * of its requests and decode response bodies, as a stream, before they reach the entity providers. A decoded response has its
+ * <code>Content-Encoding</code> and <code>Content-Length</code> headers removed, as they describe the body on the wire.
+ *
+ * <p>Instances are immutable. The {@link #standard()} decoders are those of the JDK, <code>gzip</code> and <code>deflate</code>;
+ * further decoders may be added with {@link #with(ContentDecoder)}, and are preferred in the order added.</p>
+ */
+public final class ContentDecoders {
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String CONTENT_LENGTH = "Content-Length";
+    public static final String IDENTITY = "identity";
+
+    /** The <code>gzip</code> content coding, as written by gzip(1) and decoded by {@link GZIPInputStream}. */
+    public static final ContentDecoder GZIP = new ContentDecoder() {
+        @Override
+        public String getEncoding() {
+            return "gzip";
+        }
+
+        @Override
+        public InputStream decode(final InputStream encoded) throws IOException {
+            return new GZIPInputStream(encoded, 8192);
+        }
+    };
+
+    /**
+     * The <code>deflate</code> content coding, a zlib stream. As some servers send a raw deflate stream without the zlib wrapper,
+     * the wrapper is detected from the first two bytes of the stream.
+     */
+    public static final ContentDecoder DEFLATE = new ContentDecoder() {
+        @Override
+        public String getEncoding() {
+            return "deflate";
+        }
+
+        @Override
+        public InputStream decode(final InputStream encoded) throws IOException {
+            final PushbackInputStream pushbackIs = new PushbackInputStream(encoded, 2);
+            final byte[] header = new byte[2];
+            int headerLength = 0;
+            for (int read; headerLength < header.length && (read = pushbackIs.read(header, headerLength, header.length - headerLength)) >= 0; ) {
+                headerLength += read;
+            }
+            pushbackIs.unread(header, 0, headerLength);
+
+            final boolean zlibWrapped = headerLength == 2
+                                        && (header[0] & 0x0F) == 8
+                                        && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+            final Inflater inflater = new Inflater(!zlibWrapped);
+            return new InflaterInputStream(pushbackIs, inflater, 8192) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+    };
+
+    private static final ContentDecoders NONE = new ContentDecoders(Collections.emptyMap());
+    private static final ContentDecoders STANDARD = NONE.with(GZIP).with(DEFLATE);
+
+    private final Map<String, ContentDecoder> decoders;
+    private final String acceptEncoding;
+
+    private ContentDecoders(final Map<String, ContentDecoder> decoders) {
+        this.decoders = decoders;
+        this.acceptEncoding = decoders.isEmpty() ? null : String.join(", ", decoders.keySet());
+    }
+
+    /**
+     * Returns the content decoders of the JDK: <code>gzip</code> and <code>deflate</code>.
+     *
+     * @return the standard content decoders.
+     */
+    public static ContentDecoders standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Returns no content decoders, so that no content codings are advertised and response bodies are passed on as received.
+     *
+     * @return no content decoders.
+     */
+    public static ContentDecoders none() {
+        return NONE;
+    }
+
+    /**
+     * Returns these content decoders with the given decoder added, replacing any decoder of the same content coding.
+     *
+     * @param decoder the decoder to be added.
+     * @return a new set of content decoders.
+     */
+    public ContentDecoders with(final ContentDecoder decoder) {
+        final Map<String, ContentDecoder> withDecoder = new LinkedHashMap<>(decoders);
+        withDecoder.put(decoder.getEncoding().toLowerCase(Locale.ROOT), decoder);
+        return new ContentDecoders(Collections.unmodifiableMap(withDecoder));
+    }
+
+    public boolean isEmpty() {
+        return decoders.isEmpty();
+    }
+
+    /**
+     * Returns the value of the <code>Accept-Encoding</code> header advertising the content codings of these decoders.
+     *
+     * @return the <code>Accept-Encoding</code> header value, or null if there are no decoders.
+     */
+    public String getAcceptEncoding() {
+        return acceptEncoding;
+    }
+
+    /**
+     * Returns the decoder of the given content coding.
+     *
+     * @param encoding the name of the content coding, without regard to case.
+     * @return the decoder of the content coding, or null if there is none.
+     */
+    public ContentDecoder getDecoder(final String encoding) {
+        return decoders.get(encoding.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the given request with an <code>Accept-Encoding</code> header advertising the content codings of these decoders, unless
+     * it already has one or there are no decoders.
+     *
+     * @param request the request.
+     * @return the request, or a copy of it with the <code>Accept-Encoding</code> header added.
+     */
+    public RestRequest negotiate(final RestRequest request) {
+        if (acceptEncoding == null || request.getHeaderValue(ACCEPT_ENCODING) != null) return request;
+        return new RestRequest(request).setHeader(ACCEPT_ENCODING, acceptEncoding);
+    }
+
+    /**
+     * Returns the headers a response with the given headers will have once its body is decoded by these decoders.
+     *
+     * @param headers the headers of the response as received.
+     * @return the given headers or, if the response body will be decoded, a copy of them without the <code>Content-Encoding</code>
+     * and <code>Content-Length</code> headers.
+     */
+    public Map<String, List<String>> decodedHeaders(final Map<String, List<String>> headers) {
+        if (isEmpty() || !isContentCoded(firstValue(headers, CONTENT_ENCODING))) return headers;
+
+        final Map<String, List<String>> decodedHeaders = new LinkedHashMap<>(headers);
+        decodedHeaders.keySet().removeIf(name -> CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name));
+        return decodedHeaders;
+    }
+
+    /**
+     * Wraps the given response body stream in a stream which decodes it, as it is read, according to the given
+     * <code>Content-Encoding</code>, and which notifies the given listener of the bytes read once it is closed. Nothing is read
+     * until the returned stream is first read, and an empty body is never decoded.
+     *
+     * @param request the request whose response body is to be decoded.
+     * @param contentEncoding the value of the <code>Content-Encoding</code> header of the response, which may be null.
+     * @param wire the response body stream, as read from the connection.
+     * @param listener the listener to be notified of the bytes read, which may be null.
+     * @return the decoded response body stream, or the given stream if it needs neither decoding nor counting.
+     * @throws IOException if the response has a content coding none of these decoders can decode.
+     */
+    public InputStream decode(final RestRequest request, final String contentEncoding, final InputStream wire, final TransferListener listener) throws IOException {
+        final List<ContentDecoder> chain = isEmpty() ? Collections.<ContentDecoder>emptyList() : decodersFor(contentEncoding);
+        if (chain.isEmpty() && listener == null) return wire;
+
+        final String reportedEncoding = isContentCoded(contentEncoding) ? contentEncoding : null;
+        return new DecodingInputStream(wire, chain, (wireBytes, decodedBytes) -> {
+            if (listener != null) listener.onBodyTransferred(request, reportedEncoding, wireBytes, decodedBytes);
+        });
+    }
+
+    private List<ContentDecoder> decodersFor(final String contentEncoding) throws IOException {
+        if (!isContentCoded(contentEncoding)) return Collections.emptyList();
+
+        // Codings are listed in the order they were applied, so are removed in the reverse order
+        final List<ContentDecoder> chain = new ArrayList<>(1);
+        for (String coding : contentEncoding.split(",")) {
+            final String encoding = coding.trim();
+            if (encoding.isEmpty() || IDENTITY.equalsIgnoreCase(encoding)) continue;
+
+            final ContentDecoder decoder = getDecoder(encoding);
+            if (decoder == null) throw new IOException("Unsupported response Content-Encoding: " + contentEncoding);
+            chain.add(0, decoder);
+        }
+        return chain;
+    }
+
+    private static boolean isContentCoded(final String contentEncoding) {
+        return contentEncoding != null && !contentEncoding.trim().isEmpty() && !IDENTITY.equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    private static String firstValue(final Map<String, List<String>> headers, final String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
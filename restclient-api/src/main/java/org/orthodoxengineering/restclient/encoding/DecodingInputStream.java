@@ -0,0 +1,109 @@
+package org.orthodoxengineering.restclient.encoding;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.List;
+
+/**
+ * A stream decoding a response body through a chain of content decoders, counting the bytes read from the wire and the bytes
+ * decoded. The decoders are applied on first read, and only if the body is not empty, as bodiless responses such as
+ * <code>304 (Not Modified)</code> may still carry a <code>Content-Encoding</code> header.
+ */
+final class DecodingInputStream extends InputStream {
+    private final CountingInputStream wire;
+    private final List<ContentDecoder> chain;
+    private final Completion completion;
+    private InputStream decoded;
+    private long decodedBytes;
+    private boolean closed;
+
+    DecodingInputStream(final InputStream wire, final List<ContentDecoder> chain, final Completion completion) {
+        this.wire = new CountingInputStream(wire);
+        this.chain = chain;
+        this.completion = completion;
+    }
+
+    private InputStream decoded() throws IOException {
+        if (decoded != null) return decoded;
+        if (chain.isEmpty()) return decoded = wire;
+
+        final PushbackInputStream pushbackIs = new PushbackInputStream(wire, 1);
+        final int first = pushbackIs.read();
+        if (first < 0) return decoded = pushbackIs;
+
+        pushbackIs.unread(first);
+        InputStream decoding = pushbackIs;
+        for (ContentDecoder decoder : chain) {
+            decoding = decoder.decode(decoding);
+        }
+        return decoded = decoding;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = decoded().read();
+        if (b >= 0) decodedBytes++;
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int read = decoded().read(buffer, offset, length);
+        if (read > 0) decodedBytes += read;
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return decoded == null ? 0 : decoded.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (decoded != null) decoded.close(); else wire.close();
+        } finally {
+            completion.closed(wire.count, decodedBytes);
+        }
+    }
+
+    /**
+     * Notified once the stream is closed, with the bytes read from the wire and the bytes decoded.
+     */
+    interface Completion {
+        void closed(long wireBytes, long decodedBytes);
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.orthodoxengineering.restclient.encoding;
+
+import org.orthodoxengineering.restclient.RestRequest;
+
+/**
+ * A listener notified of the size of each response body read, as it crossed the wire and once decoded, from which the effect of
+ * content coding may be measured.
+ */
+@FunctionalInterface
+public interface TransferListener {
+    /**
+     * Called once the body of the response to a request has been read and closed.
+     *
+     * @param request the request whose response body was read.
+     * @param contentEncoding the content coding of the body, or null if it was not content coded.
+     * @param wireBytes the number of bytes of the body read from the connection.
+     * @param decodedBytes the number of bytes of the body once decoded.
+     */
+    void onBodyTransferred(RestRequest request, String contentEncoding, long wireBytes, long decodedBytes);
+}
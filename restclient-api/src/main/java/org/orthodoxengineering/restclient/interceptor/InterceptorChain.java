@@ -0,0 +1,77 @@
+package org.orthodoxengineering.restclient.interceptor;
+
+import org.beanplanet.core.net.http.HttpResponse;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.util.Collection;
+
+/**
+ * The ordered interceptors of a REST client, fixed when the client is built. Requests are passed through the interceptors in order
+ * and responses in reverse order, by index, so that no iterator or other object is created on each exchange, and an empty chain
+ * returns requests and responses as they are.
+ */
+public final class InterceptorChain {
+    private static final InterceptorChain EMPTY = new InterceptorChain(new RestInterceptor[0]);
+
+    private final RestInterceptor[] interceptors;
+
+    private InterceptorChain(final RestInterceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Returns the chain of no interceptors.
+     *
+     * @return the empty chain.
+     */
+    public static InterceptorChain empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the chain of the given interceptors.
+     *
+     * @param interceptors the interceptors, in the order in which they intercept requests.
+     * @return the chain of the interceptors.
+     */
+    public static InterceptorChain of(final Collection<? extends RestInterceptor> interceptors) {
+        return interceptors == null || interceptors.isEmpty() ? EMPTY : new InterceptorChain(interceptors.toArray(new RestInterceptor[0]));
+    }
+
+    public boolean isEmpty() {
+        return interceptors.length == 0;
+    }
+
+    public int size() {
+        return interceptors.length;
+    }
+
+    /**
+     * Passes the given request through the interceptors, in order.
+     *
+     * @param request the request to be sent.
+     * @return the request as returned by the last interceptor.
+     */
+    public RestRequest onRequest(final RestRequest request) {
+        RestRequest intercepted = request;
+        for (int n = 0; n < interceptors.length; n++) {
+            intercepted = interceptors[n].onRequest(intercepted);
+        }
+        return intercepted;
+    }
+
+    /**
+     * Passes the given response through the interceptors, in reverse order.
+     *
+     * @param request the request sent, as returned by {@link #onRequest(RestRequest)}.
+     * @param response the response received.
+     * @return the response as returned by the first interceptor.
+     */
+    public HttpResponse onResponse(final RestRequest request, final HttpResponse response) {
+        HttpResponse intercepted = response;
+        for (int n = interceptors.length - 1; n >= 0; n--) {
+            intercepted = interceptors[n].onResponse(request, intercepted);
+        }
+        return intercepted;
+    }
+}
@@ -0,0 +1,36 @@
+package org.orthodoxengineering.restclient.interceptor;
+
+import org.beanplanet.core.net.http.HttpResponse;
+import org.orthodoxengineering.restclient.RestRequest;
+
+/**
+ * An interceptor of the requests made, and the responses received, by a REST client, for concerns common to all requests, such as
+ * authentication, tracing and logging.
+ *
+ * <p>Interceptors are called for each exchange with the server, so for each attempt of a retried request, and not for responses
+ * answered from a cache. The request passed may be the one given to the client, so must not be modified; an interceptor adding
+ * headers returns a copy of it, made with {@link RestRequest#RestRequest(RestRequest)}.</p>
+ */
+public interface RestInterceptor {
+    /**
+     * Called before a request is sent, in the order in which the interceptors of a client were added.
+     *
+     * @param request the request to be sent.
+     * @return the request to be sent in its place, which may be the given request.
+     */
+    default RestRequest onRequest(final RestRequest request) {
+        return request;
+    }
+
+    /**
+     * Called once the status line and headers of a response have been received, before its body is read, in the reverse of the order
+     * in which the interceptors of a client were added.
+     *
+     * @param request the request sent, as returned by the interceptors.
+     * @param response the response, without its entity.
+     * @return the response to be handled in its place, which may be the given response.
+     */
+    default HttpResponse onResponse(final RestRequest request, final HttpResponse response) {
+        return response;
+    }
+}
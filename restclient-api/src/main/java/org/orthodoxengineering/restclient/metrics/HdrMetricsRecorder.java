@@ -0,0 +1,202 @@
+package org.orthodoxengineering.restclient.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metrics recorder keeping a high dynamic range histogram of the durations of each phase of the requests to each host and URI
+ * template, for each class of status code, together with counts of the bytes received, the requests in flight and the exceptions
+ * raised.
+ *
+ * <p>Histograms are created on the first duration recorded for them, after which recording is wait-free and does not allocate.
+ * Durations longer than the highest trackable duration are recorded as that duration. Each histogram is read as an
+ * {@link #getIntervalHistogram(String, String, RequestPhase, StatusClass) interval histogram} of the durations recorded since it was
+ * last read, so is intended to be read periodically by a single reporter.</p>
+ *
+ * <p>The memory used by a histogram grows with its highest trackable duration and, several times over with each digit, with its
+ * number of significant digits. At the defaults, of ten minutes to two significant digits (a precision of 1%), a histogram takes about 35 KB;
+ * at three significant digits it takes about 250 KB. Each phase and status class of an endpoint holds up to two histograms once
+ * read, so precision should be raised with care where there are many endpoints.</p>
+ *
+ * <p>The error rate of an endpoint over an interval may be derived from the counts of the {@link RequestPhase#REQUEST} histograms of
+ * each status class and the number of exceptions raised.</p>
+ */
+public class HdrMetricsRecorder implements MetricsRecorder {
+    public static final long DEFAULT_HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private static final StatusClass[] STATUS_CLASSES = StatusClass.values();
+
+    private final long highestTrackableNanos;
+    private final int significantDigits;
+    private final ConcurrentMap<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a metrics recorder tracking durations of up to {@link #DEFAULT_HIGHEST_TRACKABLE_NANOS} to
+     * {@link #DEFAULT_SIGNIFICANT_DIGITS} significant digits.
+     */
+    public HdrMetricsRecorder() {
+        this(DEFAULT_HIGHEST_TRACKABLE_NANOS, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Creates a metrics recorder.
+     *
+     * @param highestTrackableNanos the highest duration tracked by the histograms, in nanoseconds.
+     * @param significantDigits the number of significant decimal digits to which durations are tracked, from 0 to 5.
+     */
+    public HdrMetricsRecorder(final long highestTrackableNanos, final int significantDigits) {
+        if (highestTrackableNanos < 2) throw new IllegalArgumentException("The highest trackable duration must be at least two nanoseconds: " + highestTrackableNanos);
+        if (significantDigits < 0 || significantDigits > 5) throw new IllegalArgumentException("The number of significant digits must be from 0 to 5: " + significantDigits);
+        this.highestTrackableNanos = highestTrackableNanos;
+        this.significantDigits = significantDigits;
+    }
+
+    public long getHighestTrackableNanos() {
+        return highestTrackableNanos;
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    @Override
+    public void recordPhase(final RequestPhase phase, final String host, final String uriTemplate, final StatusClass statusClass, final long durationNanos) {
+        hostMetrics(host).endpointMetrics(uriTemplate).recorder(phase, statusClass).recordValue(Math.max(0, Math.min(durationNanos, highestTrackableNanos)));
+    }
+
+    @Override
+    public void recordBytesIn(final String host, final long bytes) {
+        hostMetrics(host).bytesIn.add(bytes);
+    }
+
+    @Override
+    public void requestStarted(final String host) {
+        hostMetrics(host).activeRequests.increment();
+    }
+
+    @Override
+    public void requestFinished(final String host) {
+        hostMetrics(host).activeRequests.decrement();
+    }
+
+    @Override
+    public void recordException(final String host, final String uriTemplate, final Throwable exception) {
+        hostMetrics(host).endpointMetrics(uriTemplate).exceptions.increment();
+    }
+
+    /**
+     * The hosts to which requests have been recorded.
+     *
+     * @return the hosts, which may grow as further requests are recorded.
+     */
+    public Set<String> getHosts() {
+        return Collections.unmodifiableSet(hosts.keySet());
+    }
+
+    /**
+     * The URI templates of the requests to the given host which have been recorded.
+     *
+     * @param host the host.
+     * @return the URI templates, including {@link #NO_URI_TEMPLATE} if requests were made without a template.
+     */
+    public Set<String> getUriTemplates(final String host) {
+        final HostMetrics hostMetrics = hosts.get(host);
+        return hostMetrics == null ? Collections.emptySet() : Collections.unmodifiableSet(hostMetrics.endpoints.keySet());
+    }
+
+    /**
+     * Returns the histogram of the durations of a phase of requests, recorded since this histogram was last returned.
+     *
+     * @param host the host of the requests.
+     * @param uriTemplate the URI template of the requests, or {@link #NO_URI_TEMPLATE}.
+     * @param phase the phase of the requests.
+     * @param statusClass the class of the status code of the responses.
+     * @return the interval histogram of the durations, in nanoseconds, or null if no such duration has ever been recorded.
+     */
+    public Histogram getIntervalHistogram(final String host, final String uriTemplate, final RequestPhase phase, final StatusClass statusClass) {
+        final HostMetrics hostMetrics = hosts.get(host);
+        final EndpointMetrics endpointMetrics = hostMetrics == null ? null : hostMetrics.endpoints.get(uriTemplate);
+        final Recorder recorder = endpointMetrics == null ? null : endpointMetrics.recorders.get(index(phase, statusClass));
+        return recorder == null ? null : recorder.getIntervalHistogram();
+    }
+
+    /**
+     * The total number of response body bytes received from the given host, as they crossed the wire.
+     *
+     * @param host the host.
+     * @return the number of bytes received.
+     */
+    public long getBytesIn(final String host) {
+        final HostMetrics hostMetrics = hosts.get(host);
+        return hostMetrics == null ? 0 : hostMetrics.bytesIn.sum();
+    }
+
+    /**
+     * The number of requests to the given host currently in flight.
+     *
+     * @param host the host.
+     * @return the number of requests started and not yet finished.
+     */
+    public long getActiveRequests(final String host) {
+        final HostMetrics hostMetrics = hosts.get(host);
+        return hostMetrics == null ? 0 : hostMetrics.activeRequests.sum();
+    }
+
+    /**
+     * The total number of exceptions raised by requests to the given host and URI template.
+     *
+     * @param host the host of the requests.
+     * @param uriTemplate the URI template of the requests, or {@link #NO_URI_TEMPLATE}.
+     * @return the number of exceptions raised.
+     */
+    public long getExceptionCount(final String host, final String uriTemplate) {
+        final HostMetrics hostMetrics = hosts.get(host);
+        final EndpointMetrics endpointMetrics = hostMetrics == null ? null : hostMetrics.endpoints.get(uriTemplate);
+        return endpointMetrics == null ? 0 : endpointMetrics.exceptions.sum();
+    }
+
+    private HostMetrics hostMetrics(final String host) {
+        // Looked up before computing, as computeIfAbsent may lock even where the host is present
+        final HostMetrics hostMetrics = hosts.get(host);
+        return hostMetrics != null ? hostMetrics : hosts.computeIfAbsent(host, h -> new HostMetrics());
+    }
+
+    private static int index(final RequestPhase phase, final StatusClass statusClass) {
+        return phase.ordinal() * STATUS_CLASSES.length + statusClass.ordinal();
+    }
+
+    private final class HostMetrics {
+        private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder activeRequests = new LongAdder();
+
+        EndpointMetrics endpointMetrics(final String uriTemplate) {
+            final EndpointMetrics endpointMetrics = endpoints.get(uriTemplate);
+            return endpointMetrics != null ? endpointMetrics : endpoints.computeIfAbsent(uriTemplate, t -> new EndpointMetrics());
+        }
+    }
+
+    private final class EndpointMetrics {
+        private final AtomicReferenceArray<Recorder> recorders = new AtomicReferenceArray<>(PHASES.length * STATUS_CLASSES.length);
+        private final LongAdder exceptions = new LongAdder();
+
+        Recorder recorder(final RequestPhase phase, final StatusClass statusClass) {
+            final int index = index(phase, statusClass);
+            final Recorder recorder = recorders.get(index);
+            if (recorder != null) return recorder;
+
+            recorders.compareAndSet(index, null, new Recorder(highestTrackableNanos, significantDigits));
+            return recorders.get(index);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.orthodoxengineering.restclient.metrics;
+
+/**
+ * A recorder of the metrics of the requests made by a REST client: the duration of each {@link RequestPhase phase} of a request, the
+ * number of response body bytes received, the number of requests in flight and the exceptions raised.
+ *
+ * <p>Metrics are tagged by the host of a request, by its URI template, where one was given, and by the class of the status code of
+ * its response. The tag values passed are the same instances from one request to the next, so that implementations may look their
+ * meters up without allocating. Recorders are called on the request path, often concurrently, so must be thread-safe and should
+ * neither block nor allocate once the meters of a host and URI template exist.</p>
+ */
+public interface MetricsRecorder {
+    /** The URI template tag value of requests made without a URI template. */
+    String NO_URI_TEMPLATE = "none";
+
+    /**
+     * Records the duration of a phase of a request.
+     *
+     * @param phase the phase of the request.
+     * @param host the host of the request.
+     * @param uriTemplate the URI template of the request, or {@link #NO_URI_TEMPLATE}.
+     * @param statusClass the class of the status code of the response, or {@link StatusClass#NONE} if none was received.
+     * @param durationNanos the duration of the phase, in nanoseconds.
+     */
+    void recordPhase(RequestPhase phase, String host, String uriTemplate, StatusClass statusClass, long durationNanos);
+
+    /**
+     * Records response body bytes received from a host, as they crossed the wire.
+     *
+     * @param host the host of the request.
+     * @param bytes the number of bytes received.
+     */
+    void recordBytesIn(String host, long bytes);
+
+    /**
+     * Records that a request to a host has started, so is in flight until {@link #requestFinished(String)} is called.
+     *
+     * @param host the host of the request.
+     */
+    void requestStarted(String host);
+
+    /**
+     * Records that a request to a host is no longer in flight, whether or not it succeeded.
+     *
+     * @param host the host of the request.
+     */
+    void requestFinished(String host);
+
+    /**
+     * Records an exception raised by a request.
+     *
+     * @param host the host of the request.
+     * @param uriTemplate the URI template of the request, or {@link #NO_URI_TEMPLATE}.
+     * @param exception the exception raised.
+     */
+    void recordException(String host, String uriTemplate, Throwable exception);
+}
@@ -0,0 +1,139 @@
+package org.orthodoxengineering.restclient.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A metrics recorder publishing to a Micrometer meter registry, for clients of applications whose metrics are already reported
+ * through one. Requires <code>io.micrometer:micrometer-core</code> on the classpath.
+ *
+ * <p>The following meters are registered, tagged by <code>host</code> and, where noted, by <code>uri</code> template,
+ * <code>status</code> class and <code>phase</code>:</p>
+ * <ul>
+ *     <li><code>restclient.requests</code> - a timer of each phase of requests, with a percentile histogram, tagged by all four.</li>
+ *     <li><code>restclient.bytes.in</code> - a counter of the response body bytes received.</li>
+ *     <li><code>restclient.requests.active</code> - a gauge of the requests in flight.</li>
+ *     <li><code>restclient.exceptions</code> - a counter of the exceptions raised, tagged by <code>uri</code> template and
+ *     <code>exception</code> type.</li>
+ * </ul>
+ *
+ * <p>Meters are registered on the first value recorded for them and held, so that recording does not look them up in the registry.</p>
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+    public static final String REQUESTS_METER = "restclient.requests";
+    public static final String BYTES_IN_METER = "restclient.bytes.in";
+    public static final String ACTIVE_REQUESTS_METER = "restclient.requests.active";
+    public static final String EXCEPTIONS_METER = "restclient.exceptions";
+
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private static final StatusClass[] STATUS_CLASSES = StatusClass.values();
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, HostMeters> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a metrics recorder publishing to the given meter registry.
+     *
+     * @param registry the meter registry.
+     */
+    public MicrometerMetricsRecorder(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void recordPhase(final RequestPhase phase, final String host, final String uriTemplate, final StatusClass statusClass, final long durationNanos) {
+        hostMeters(host).endpointMeters(uriTemplate).timer(phase, statusClass).record(Math.max(0, durationNanos), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBytesIn(final String host, final long bytes) {
+        hostMeters(host).bytesIn.increment(bytes);
+    }
+
+    @Override
+    public void requestStarted(final String host) {
+        hostMeters(host).activeRequests.incrementAndGet();
+    }
+
+    @Override
+    public void requestFinished(final String host) {
+        hostMeters(host).activeRequests.decrementAndGet();
+    }
+
+    @Override
+    public void recordException(final String host, final String uriTemplate, final Throwable exception) {
+        hostMeters(host).endpointMeters(uriTemplate).exceptionCounter(exception.getClass()).increment();
+    }
+
+    private HostMeters hostMeters(final String host) {
+        final HostMeters hostMeters = hosts.get(host);
+        return hostMeters != null ? hostMeters : hosts.computeIfAbsent(host, HostMeters::new);
+    }
+
+    private final class HostMeters {
+        private final String host;
+        private final ConcurrentMap<String, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+        private final Counter bytesIn;
+        private final AtomicLong activeRequests = new AtomicLong();
+
+        HostMeters(final String host) {
+            this.host = host;
+            this.bytesIn = Counter.builder(BYTES_IN_METER).baseUnit("bytes").tag("host", host).register(registry);
+            Gauge.builder(ACTIVE_REQUESTS_METER, activeRequests, AtomicLong::get).tag("host", host).register(registry);
+        }
+
+        EndpointMeters endpointMeters(final String uriTemplate) {
+            final EndpointMeters endpointMeters = endpoints.get(uriTemplate);
+            return endpointMeters != null ? endpointMeters : endpoints.computeIfAbsent(uriTemplate, t -> new EndpointMeters(host, t));
+        }
+    }
+
+    private final class EndpointMeters {
+        private final String host;
+        private final String uriTemplate;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(PHASES.length * STATUS_CLASSES.length);
+        private final ConcurrentMap<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+        EndpointMeters(final String host, final String uriTemplate) {
+            this.host = host;
+            this.uriTemplate = uriTemplate;
+        }
+
+        Timer timer(final RequestPhase phase, final StatusClass statusClass) {
+            final int index = phase.ordinal() * STATUS_CLASSES.length + statusClass.ordinal();
+            final Timer timer = timers.get(index);
+            if (timer != null) return timer;
+
+            // The registry returns the same timer for the same tags, so a lost race registers nothing new
+            timers.compareAndSet(index, null, Timer.builder(REQUESTS_METER)
+                                                   .tag("host", host)
+                                                   .tag("uri", uriTemplate)
+                                                   .tag("status", statusClass.getTag())
+                                                   .tag("phase", phase.getTag())
+                                                   .publishPercentileHistogram()
+                                                   .register(registry));
+            return timers.get(index);
+        }
+
+        Counter exceptionCounter(final Class<?> exceptionType) {
+            final Counter counter = exceptionCounters.get(exceptionType);
+            return counter != null ? counter : exceptionCounters.computeIfAbsent(exceptionType, type -> Counter.builder(EXCEPTIONS_METER)
+                                                                                                             .tag("host", host)
+                                                                                                             .tag("uri", uriTemplate)
+                                                                                                             .tag("exception", type.getSimpleName())
+                                                                                                             .register(registry));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.orthodoxengineering.restclient.metrics;
+
+/**
+ * The phases of a request whose durations are recorded by a {@link MetricsRecorder}.
+ */
+public enum RequestPhase {
+    /** Establishing a connection, which is near zero where a pooled connection is reused. Not observed by every transport. */
+    CONNECT("connect"),
+    /** From the request being sent until the status line and headers of the response have been received. */
+    TIME_TO_FIRST_BYTE("ttfb"),
+    /** Reading the response body into memory, where it is buffered. */
+    BODY_TRANSFER("body"),
+    /** Creating the entity of the response from its body. */
+    ENTITY_CREATION("entity"),
+    /** Handling the response, which for a typed request is checking its status and converting its entity to the requested type. */
+    TYPE_CONVERSION("conversion"),
+    /** The whole request, including all of its attempts. */
+    REQUEST("request");
+
+    private final String tag;
+
+    RequestPhase(final String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * The value by which metrics of this phase are tagged.
+     *
+     * @return the tag value of this phase.
+     */
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,42 @@
+package org.orthodoxengineering.restclient.metrics;
+
+/**
+ * The class of the status code of a response, by which metrics are tagged, so that error rates may be derived from request counts.
+ */
+public enum StatusClass {
+    /** No response was received. */
+    NONE("none"),
+    INFORMATIONAL("1xx"),
+    SUCCESSFUL("2xx"),
+    REDIRECTION("3xx"),
+    CLIENT_ERROR("4xx"),
+    SERVER_ERROR("5xx");
+
+    private static final StatusClass[] BY_HUNDREDS = { NONE, INFORMATIONAL, SUCCESSFUL, REDIRECTION, CLIENT_ERROR, SERVER_ERROR };
+
+    private final String tag;
+
+    StatusClass(final String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Returns the class of the given status code.
+     *
+     * @param statusCode the status code of a response, or a negative value if no response was received.
+     * @return the class of the status code, or {@link #NONE} if the status code is not valid.
+     */
+    public static StatusClass of(final int statusCode) {
+        final int hundreds = statusCode / 100;
+        return statusCode >= 100 && hundreds < BY_HUNDREDS.length ? BY_HUNDREDS[hundreds] : NONE;
+    }
+
+    /**
+     * The value by which metrics of responses of this class are tagged.
+     *
+     * @return the tag value of this status class.
+     */
+    public String getTag() {
+        return tag;
+    }
+}
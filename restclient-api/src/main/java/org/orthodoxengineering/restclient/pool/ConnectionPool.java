@@ -0,0 +1,306 @@
+package org.orthodoxengineering.restclient.pool;
+
+import org.orthodoxengineering.restclient.RestException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A pool of leases on keep-alive connections, bounded per route and in total.
+ *
+ * <p>The sockets behind an {@link java.net.HttpURLConnection} are owned and recycled by the JDK keep-alive cache, and this pool never
+ * holds a socket itself. Rather, it accounts for the leases under which exchanges use them: it caps the number of concurrent exchanges
+ * per route and overall, and makes callers wait (for a bounded time, if configured) for a lease to be released rather than opening
+ * yet another socket. A released lease whose exchange left its socket fit for reuse is held as idle, and is evicted once idle for too
+ * long or once it has outlived its time-to-live. When a lease is retired by its time-to-live, the next exchange on its route is asked
+ * to send <code>Connection: close</code>, so that the server closes the socket that exchange is given by the keep-alive cache, which
+ * need not be the socket of the retired lease. The statistics of the pool therefore count leases, not sockets.</p>
+ *
+ * <p>The JDK keeps at most <code>http.maxConnections</code> (default 5) idle sockets per destination, and closes any further socket
+ * once its exchange completes. By default, the pool allows that many leases per route, as returned by {@link #keepAliveCacheSize()},
+ * so that every idle lease has a socket to reuse; the system property should be raised before raising the maximum per route.</p>
+ */
+public class ConnectionPool {
+    /** The default maximum number of connections per route of transports which own their connections. */
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(30);
+    private static final int DEFAULT_KEEP_ALIVE_CACHE_SIZE = 5;
+
+    private final int maxPerRoute;
+    private final int maxTotal;
+    private final long idleTimeoutNanos;
+    private final long timeToLiveNanos;
+    private final long waitTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<Route, RoutePool> routePools = new HashMap<>();
+    private int leased;
+    private int idle;
+    private int pending;
+    private long created;
+    private long closed;
+    private long nextId;
+
+    /**
+     * Creates a connection pool with the default limits, allowing as many leases per route as the JDK keeps idle sockets per
+     * destination.
+     */
+    public ConnectionPool() {
+        this(keepAliveCacheSize(), DEFAULT_MAX_TOTAL, DEFAULT_IDLE_TIMEOUT, null, null);
+    }
+
+    /**
+     * Returns the maximum number of idle sockets the JDK keeps per destination for reuse, as set by the <code>http.maxConnections</code>
+     * system property.
+     *
+     * @return the size of the JDK keep-alive cache per destination.
+     */
+    public static int keepAliveCacheSize() {
+        final int maxConnections = Integer.getInteger("http.maxConnections", DEFAULT_KEEP_ALIVE_CACHE_SIZE);
+        return maxConnections > 0 ? maxConnections : DEFAULT_KEEP_ALIVE_CACHE_SIZE;
+    }
+
+    /**
+     * Creates a connection pool.
+     *
+     * @param maxPerRoute the maximum number of leases, leased or idle, to any one route.
+     * @param maxTotal the maximum number of leases, leased or idle, across all routes.
+     * @param idleTimeout the maximum time a connection may remain idle in the pool before being evicted, which may be null for no limit.
+     * @param timeToLive the maximum time a connection may live before being retired, which may be null for no limit.
+     * @param waitTimeout the maximum time a caller will wait to lease a connection, which may be null to wait indefinitely.
+     */
+    public ConnectionPool(final int maxPerRoute, final int maxTotal, final Duration idleTimeout, final Duration timeToLive, final Duration waitTimeout) {
+        if (maxPerRoute <= 0) throw new IllegalArgumentException("The maximum number of connections per route must be positive: " + maxPerRoute);
+        if (maxTotal <= 0) throw new IllegalArgumentException("The maximum total number of connections must be positive: " + maxTotal);
+        this.maxPerRoute = maxPerRoute;
+        this.maxTotal = maxTotal;
+        this.idleTimeoutNanos = idleTimeout == null ? 0 : idleTimeout.toNanos();
+        this.timeToLiveNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+        this.waitTimeoutNanos = waitTimeout == null ? 0 : waitTimeout.toNanos();
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Leases a connection to the given route, reusing the most recently used idle connection if there is one, creating a new
+     * connection if the route and pool limits allow, or otherwise waiting for a connection to be released.
+     *
+     * @param route the route to which a connection is required.
+     * @return a connection leased to the caller, which must subsequently be released back to this pool.
+     * @throws PoolTimeoutException if no connection became available within the pool wait timeout.
+     * @throws RestException if the calling thread was interrupted while waiting for a connection.
+     */
+    public PooledConnection lease(final Route route) throws RestException {
+        final long waitDeadline = System.nanoTime() + waitTimeoutNanos;
+        lock.lock();
+        try {
+            final RoutePool routePool = routePools.computeIfAbsent(route, r -> new RoutePool());
+            boolean waiting = false;
+            try {
+                for (;;) {
+                    final long now = System.nanoTime();
+                    evictIdle(routePool, now);
+
+                    PooledConnection connection = routePool.idle.pollFirst();
+                    if (connection != null) {
+                        idle--;
+                        return leased(routePool, connection);
+                    }
+
+                    if (routePool.size() < maxPerRoute) {
+                        if (leased + idle >= maxTotal) {
+                            closeLeastRecentlyUsedIdle(now);
+                        }
+                        if (leased + idle < maxTotal) {
+                            created++;
+                            routePool.created++;
+                            return leased(routePool, new PooledConnection(route, nextId++, now));
+                        }
+                    }
+
+                    if (!waiting) {
+                        waiting = true;
+                        pending++;
+                        routePool.pending++;
+                    }
+                    if (waitTimeoutNanos <= 0) {
+                        released.await();
+                    } else {
+                        final long remaining = waitDeadline - now;
+                        if (remaining <= 0) {
+                            throw new PoolTimeoutException("Timed out after " + Duration.ofNanos(waitTimeoutNanos).toMillis()
+                                                           + "ms waiting for a connection to " + route + ": " + stats(routePool));
+                        }
+                        released.awaitNanos(remaining);
+                    }
+                }
+            } finally {
+                if (waiting) {
+                    pending--;
+                    routePool.pending--;
+                }
+            }
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            throw new RestException("Interrupted while waiting for a connection to " + route, interruptedEx);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a previously leased connection back to this pool.
+     *
+     * @param connection the connection to be released.
+     * @param reusable whether the underlying socket was left open and fit for reuse by the exchange made over the connection. A connection
+     *                 which is not reusable is closed rather than being returned to the pool as idle.
+     */
+    public void release(final PooledConnection connection, final boolean reusable) {
+        lock.lock();
+        try {
+            final RoutePool routePool = routePools.get(connection.getRoute());
+            routePool.leased.remove(connection);
+            leased--;
+
+            final long now = System.nanoTime();
+            if (!reusable || connection.isCloseRequested()) {
+                closed++;
+                routePool.closed++;
+            } else if (connection.isExpired(now, timeToLiveNanos)) {
+                closed++;
+                routePool.closed++;
+                routePool.pendingCloses++;
+            } else {
+                connection.setLastUsedNanos(now);
+                routePool.idle.addFirst(connection);
+                idle++;
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts all connections which have been idle for longer than the idle timeout, or which have outlived the time-to-live, of this pool.
+     */
+    public void closeExpired() {
+        lock.lock();
+        try {
+            final long now = System.nanoTime();
+            for (RoutePool routePool : routePools.values()) {
+                evictIdle(routePool, now);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the statistics of this pool, across all routes.
+     *
+     * @return a snapshot of the current pool statistics.
+     */
+    public PoolStats getTotalStats() {
+        lock.lock();
+        try {
+            return new PoolStats(leased, idle, pending, maxTotal, created, closed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the statistics of this pool for the given route.
+     *
+     * @param route the route whose statistics are to be returned.
+     * @return a snapshot of the current statistics of the given route.
+     */
+    public PoolStats getStats(final Route route) {
+        lock.lock();
+        try {
+            final RoutePool routePool = routePools.get(route);
+            return routePool == null ? new PoolStats(0, 0, 0, maxPerRoute, 0, 0) : stats(routePool);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PoolStats stats(final RoutePool routePool) {
+        return new PoolStats(routePool.leased.size(), routePool.idle.size(), routePool.pending, maxPerRoute, routePool.created, routePool.closed);
+    }
+
+    private PooledConnection leased(final RoutePool routePool, final PooledConnection connection) {
+        connection.setCloseRequested(routePool.pendingCloses > 0);
+        if (routePool.pendingCloses > 0) {
+            routePool.pendingCloses--;
+        }
+        routePool.leased.add(connection);
+        leased++;
+        return connection;
+    }
+
+    private void evictIdle(final RoutePool routePool, final long now) {
+        for (Iterator<PooledConnection> iter = routePool.idle.iterator(); iter.hasNext(); ) {
+            final PooledConnection connection = iter.next();
+            final boolean expired = connection.isExpired(now, timeToLiveNanos);
+            if (expired || connection.isIdleFor(now, idleTimeoutNanos)) {
+                iter.remove();
+                idle--;
+                closed++;
+                routePool.closed++;
+                // Idle sockets are closed by the JDK keep-alive timer, but one which has outlived its time-to-live must be closed explicitly
+                if (expired) routePool.pendingCloses++;
+            }
+        }
+    }
+
+    private void closeLeastRecentlyUsedIdle(final long now) {
+        RoutePool oldestRoutePool = null;
+        PooledConnection oldest = null;
+        for (RoutePool routePool : routePools.values()) {
+            final PooledConnection candidate = routePool.idle.peekLast();
+            if (candidate != null && (oldest == null || candidate.getLastUsedNanos() < oldest.getLastUsedNanos())) {
+                oldest = candidate;
+                oldestRoutePool = routePool;
+            }
+        }
+        if (oldest != null) {
+            oldestRoutePool.idle.pollLast();
+            idle--;
+            closed++;
+            oldestRoutePool.closed++;
+            oldestRoutePool.pendingCloses++;
+        }
+    }
+
+    private static final class RoutePool {
+        private final Deque<PooledConnection> idle = new ArrayDeque<>();
+        private final Set<PooledConnection> leased = new HashSet<>();
+        private int pending;
+        private int pendingCloses;
+        private long created;
+        private long closed;
+
+        private int size() {
+            return leased.size() + idle.size();
+        }
+    }
+}
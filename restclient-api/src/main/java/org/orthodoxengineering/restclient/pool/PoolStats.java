@@ -0,0 +1,86 @@
+package org.orthodoxengineering.restclient.pool;
+
+/**
+ * A point-in-time snapshot of the statistics of a connection pool, or of one of its routes. The pool accounts for the leases under
+ * which exchanges use connections of the JDK keep-alive cache, so these statistics count leases rather than sockets.
+ */
+public final class PoolStats {
+    private final int leased;
+    private final int idle;
+    private final int pending;
+    private final int max;
+    private final long created;
+    private final long closed;
+
+    public PoolStats(final int leased, final int idle, final int pending, final int max, final long created, final long closed) {
+        this.leased = leased;
+        this.idle = idle;
+        this.pending = pending;
+        this.max = max;
+        this.created = created;
+        this.closed = closed;
+    }
+
+    /**
+     * Gets the number of leases currently held by in-flight exchanges.
+     *
+     * @return the number of leases held.
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * Gets the number of released leases currently idle in the pool, whose exchange left its socket to the JDK keep-alive cache
+     * for reuse. The JDK may nonetheless have closed the socket since.
+     *
+     * @return the number of idle leases.
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * Gets the number of callers currently waiting for a lease to become available.
+     *
+     * @return the number of callers waiting for a lease.
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Gets the maximum number of leases which may be held or idle at any one time.
+     *
+     * @return the maximum number of leases.
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the total number of new leases granted over the lifetime of the pool, as no idle lease of the route was available. An
+     * exchange under a new lease may still reuse a socket of the JDK keep-alive cache.
+     *
+     * @return the number of leases created.
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * Gets the total number of leases retired over the lifetime of the pool, when released unfit for reuse or evicted. The socket of
+     * a retired lease is not necessarily closed.
+     *
+     * @return the number of leases retired.
+     */
+    public long getClosed() {
+        return closed;
+    }
+
+    @Override
+    public String toString() {
+        return "[leased: " + leased + "; idle: " + idle + "; pending: " + pending + "; max: " + max
+               + "; created: " + created + "; closed: " + closed + "]";
+    }
+}
@@ -0,0 +1,17 @@
+package org.orthodoxengineering.restclient.pool;
+
+import org.orthodoxengineering.restclient.RestException;
+
+/**
+ * Thrown when a connection could not be leased from a connection pool within the configured pool wait timeout.
+ */
+public class PoolTimeoutException extends RestException {
+    /**
+     * Constructs a new pool timeout exception with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public PoolTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package org.orthodoxengineering.restclient.pool;
+
+/**
+ * A connection leased from a {@link ConnectionPool}. A lease must always be returned to the pool from which it was obtained
+ * by a call to {@link ConnectionPool#release(PooledConnection, boolean)}, whether or not the exchange made over it succeeded.
+ */
+public final class PooledConnection {
+    private final Route route;
+    private final long id;
+    private final long createdNanos;
+    private long lastUsedNanos;
+    private boolean closeRequested;
+
+    PooledConnection(final Route route, final long id, final long createdNanos) {
+        this.route = route;
+        this.id = id;
+        this.createdNanos = createdNanos;
+        this.lastUsedNanos = createdNanos;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Whether the exchange made over this connection should ask the server to close the underlying socket once complete, so that
+     * a socket which has outlived the pool's time-to-live is not reused by the transport.
+     *
+     * @return true if the exchange should be sent with a <code>Connection: close</code> header, false otherwise.
+     */
+    public boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    void setCloseRequested(final boolean closeRequested) {
+        this.closeRequested = closeRequested;
+    }
+
+    long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    long getLastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    void setLastUsedNanos(final long lastUsedNanos) {
+        this.lastUsedNanos = lastUsedNanos;
+    }
+
+    boolean isExpired(final long nowNanos, final long timeToLiveNanos) {
+        return timeToLiveNanos > 0 && nowNanos - createdNanos >= timeToLiveNanos;
+    }
+
+    boolean isIdleFor(final long nowNanos, final long idleTimeoutNanos) {
+        return idleTimeoutNanos > 0 && nowNanos - lastUsedNanos >= idleTimeoutNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "PooledConnection[" + route + ", id=" + id + "]";
+    }
+}
@@ -0,0 +1,59 @@
+package org.orthodoxengineering.restclient.pool;
+
+import java.net.URL;
+import java.util.Objects;
+
+/**
+ * The route to a remote endpoint, identified by its scheme, host and port. Connections are pooled per route.
+ */
+public final class Route {
+    private final String scheme;
+    private final String host;
+    private final int port;
+
+    public Route(final String scheme, final String host, final int port) {
+        this.scheme = scheme.toLowerCase();
+        this.host = host.toLowerCase();
+        this.port = port;
+    }
+
+    /**
+     * Creates the route to the endpoint of the given URL, resolving the default port of the scheme where the URL does not specify one.
+     *
+     * @param url the URL of the endpoint.
+     * @return the route to the given endpoint.
+     */
+    public static Route of(final URL url) {
+        return new Route(url.getProtocol(), url.getHost(), url.getPort() >= 0 ? url.getPort() : url.getDefaultPort());
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Route that = (Route) o;
+        return port == that.port && Objects.equals(scheme, that.scheme) && Objects.equals(host, that.host);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scheme, host, port);
+    }
+
+    @Override
+    public String toString() {
+        return scheme + "://" + host + ":" + port;
+    }
+}
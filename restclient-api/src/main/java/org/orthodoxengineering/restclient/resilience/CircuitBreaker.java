@@ -0,0 +1,150 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.time.Duration;
+
+/**
+ * A circuit breaker guarding the requests to a single route, which stops requests being made to a route that is failing or slow, so
+ * that callers fail fast rather than tie up their threads waiting on it.
+ *
+ * <p>While <i>closed</i>, the outcomes of the most recent calls are recorded in a sliding window. Once the window holds at least the
+ * minimum number of calls, and either the proportion of failed calls reaches the failure rate threshold or the proportion of calls
+ * taking at least the slow call duration reaches the slow call rate threshold, the breaker <i>opens</i>. While open, calls are
+ * rejected with a {@link CircuitBreakerOpenException}. Once the open wait duration has elapsed, the breaker becomes <i>half-open</i>
+ * and permits a limited number of probe calls: if they fall within the thresholds, the breaker closes, otherwise it opens again.</p>
+ *
+ * <p>Circuit breakers are created, one per route, by {@link CircuitBreakers}.</p>
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Route route;
+    private final CircuitBreakers config;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+    private int probesPermitted;
+    private int probesCompleted;
+    private int probeFailures;
+    private int probeSlowCalls;
+    private long rejectedCount;
+
+    CircuitBreaker(final Route route, final CircuitBreakers config) {
+        this.route = route;
+        this.config = config;
+        this.failedCalls = new boolean[config.getSlidingWindowSize()];
+        this.slowCalls = new boolean[config.getSlidingWindowSize()];
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns the current state of this circuit breaker, which becomes half-open once the open wait duration has elapsed only when
+     * a call is next attempted.
+     *
+     * @return the current state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Obtains permission to make a call through this circuit breaker, whose outcome must subsequently be recorded with
+     * {@link #onResult(boolean, long)}.
+     *
+     * @throws CircuitBreakerOpenException if this circuit breaker is open, or is half-open and all of its probe calls are in flight.
+     */
+    public synchronized void acquirePermission() throws CircuitBreakerOpenException {
+        if (state == State.CLOSED) return;
+
+        if (state == State.OPEN) {
+            final long openForMillis = config.getClock().millis() - openedAtMillis;
+            final long waitMillis = config.getWaitDurationInOpenState().toMillis();
+            if (openForMillis < waitMillis) throw rejected(Duration.ofMillis(waitMillis - openForMillis));
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (probesPermitted >= config.getPermittedCallsInHalfOpenState()) throw rejected(Duration.ZERO);
+        probesPermitted++;
+    }
+
+    /**
+     * Records the outcome of a call made with permission from this circuit breaker.
+     *
+     * @param failed whether the call failed.
+     * @param durationNanos the duration of the call, in nanoseconds.
+     */
+    public synchronized void onResult(final boolean failed, final long durationNanos) {
+        final boolean slow = durationNanos >= config.getSlowCallDurationThreshold().toNanos();
+        if (state == State.CLOSED) {
+            record(failed, slow);
+            if (windowCount >= config.getMinimumNumberOfCalls() && exceedsThresholds(windowFailures, windowSlowCalls, windowCount)) {
+                transitionTo(State.OPEN);
+            }
+        } else if (state == State.HALF_OPEN) {
+            probesCompleted++;
+            if (failed) probeFailures++;
+            if (slow) probeSlowCalls++;
+            if (probesCompleted >= config.getPermittedCallsInHalfOpenState()) {
+                transitionTo(exceedsThresholds(probeFailures, probeSlowCalls, probesCompleted) ? State.OPEN : State.CLOSED);
+            }
+        }
+        // Calls completing after the breaker opened are disregarded
+    }
+
+    /**
+     * Returns the number of calls rejected by this circuit breaker.
+     *
+     * @return the number of rejected calls.
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private void record(final boolean failed, final boolean slow) {
+        if (windowCount == failedCalls.length) {
+            if (failedCalls[windowIndex]) windowFailures--;
+            if (slowCalls[windowIndex]) windowSlowCalls--;
+        } else {
+            windowCount++;
+        }
+        failedCalls[windowIndex] = failed;
+        slowCalls[windowIndex] = slow;
+        if (failed) windowFailures++;
+        if (slow) windowSlowCalls++;
+        windowIndex = (windowIndex + 1) % failedCalls.length;
+    }
+
+    private boolean exceedsThresholds(final int failures, final int slowCalls, final int calls) {
+        return failures >= config.getFailureRateThreshold() * calls || slowCalls >= config.getSlowCallRateThreshold() * calls;
+    }
+
+    private void transitionTo(final State newState) {
+        state = newState;
+        if (newState == State.OPEN) openedAtMillis = config.getClock().millis();
+        probesPermitted = probesCompleted = probeFailures = probeSlowCalls = 0;
+        if (newState == State.CLOSED) {
+            windowIndex = windowCount = windowFailures = windowSlowCalls = 0;
+        }
+    }
+
+    private CircuitBreakerOpenException rejected(final Duration retryAfter) {
+        rejectedCount++;
+        return new CircuitBreakerOpenException(route, state, retryAfter);
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker[" + route + ", " + getState() + "]";
+    }
+}
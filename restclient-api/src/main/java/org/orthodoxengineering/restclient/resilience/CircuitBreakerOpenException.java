@@ -0,0 +1,41 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.time.Duration;
+
+/**
+ * Thrown, without a request being made, when a request is rejected by the open circuit breaker of its route.
+ */
+public class CircuitBreakerOpenException extends RestException {
+    private final Route route;
+    private final CircuitBreaker.State state;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new circuit breaker open exception.
+     *
+     * @param route the route whose circuit breaker rejected the request.
+     * @param state the state of the circuit breaker, which is open or half-open.
+     * @param retryAfter the time after which the circuit breaker will next permit a request.
+     */
+    public CircuitBreakerOpenException(final Route route, final CircuitBreaker.State state, final Duration retryAfter) {
+        super("Circuit breaker " + state + " for route " + route + ": request rejected, retry after " + retryAfter);
+        this.route = route;
+        this.state = state;
+        this.retryAfter = retryAfter;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    public CircuitBreaker.State getState() {
+        return state;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,209 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The circuit breakers of a REST client, one per route, created on first use with the settings of this registry.
+ *
+ * @see CircuitBreaker
+ */
+public class CircuitBreakers {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 1.0;
+    public static final Duration DEFAULT_SLOW_CALL_DURATION_THRESHOLD = Duration.ofSeconds(60);
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 20;
+    public static final Duration DEFAULT_WAIT_DURATION_IN_OPEN_STATE = Duration.ofSeconds(30);
+    public static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 5;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration slowCallDurationThreshold;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final Duration waitDurationInOpenState;
+    private final int permittedCallsInHalfOpenState;
+    private final Clock clock;
+
+    private final Map<Route, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    protected CircuitBreakers(final Builder builder) {
+        if (builder.failureRateThreshold <= 0 || builder.failureRateThreshold > 1) throw new IllegalArgumentException("The failure rate threshold must lie between 0 exclusive and 1 inclusive: " + builder.failureRateThreshold);
+        if (builder.slowCallRateThreshold <= 0 || builder.slowCallRateThreshold > 1) throw new IllegalArgumentException("The slow call rate threshold must lie between 0 exclusive and 1 inclusive: " + builder.slowCallRateThreshold);
+        if (builder.slidingWindowSize <= 0) throw new IllegalArgumentException("The sliding window size must be positive: " + builder.slidingWindowSize);
+        if (builder.permittedCallsInHalfOpenState <= 0) throw new IllegalArgumentException("The number of calls permitted when half-open must be positive: " + builder.permittedCallsInHalfOpenState);
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationThreshold = builder.slowCallDurationThreshold;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumNumberOfCalls = Math.max(1, Math.min(builder.minimumNumberOfCalls, builder.slidingWindowSize));
+        this.waitDurationInOpenState = builder.waitDurationInOpenState;
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+        this.clock = builder.clock != null ? builder.clock : Clock.systemUTC();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the circuit breaker of the given route, creating it if necessary.
+     *
+     * @param route the route.
+     * @return the circuit breaker of the route.
+     */
+    public CircuitBreaker forRoute(final Route route) {
+        return circuitBreakers.computeIfAbsent(route, r -> new CircuitBreaker(r, this));
+    }
+
+    /**
+     * Returns the circuit breaker of the route to the endpoint of the given URI, creating it if necessary.
+     *
+     * @param uri the URI of the endpoint.
+     * @return the circuit breaker of the route, or null if the URI is not a valid URL.
+     */
+    public CircuitBreaker forUri(final String uri) {
+        try {
+            return forRoute(Route.of(new URL(uri)));
+        } catch (MalformedURLException malformedUrlEx) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the circuit breakers created so far, by route.
+     *
+     * @return an unmodifiable view of the circuit breakers of this registry.
+     */
+    public Map<Route, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getSlowCallDurationThreshold() {
+        return slowCallDurationThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public Duration getWaitDurationInOpenState() {
+        return waitDurationInOpenState;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public static class Builder {
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        private Duration slowCallDurationThreshold = DEFAULT_SLOW_CALL_DURATION_THRESHOLD;
+        private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumNumberOfCalls = DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+        private Duration waitDurationInOpenState = DEFAULT_WAIT_DURATION_IN_OPEN_STATE;
+        private int permittedCallsInHalfOpenState = DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE;
+        private Clock clock;
+
+        /**
+         * Sets the proportion of failed calls at which a circuit breaker opens.
+         *
+         * @param failureRateThreshold the failure rate threshold, between 0 exclusive and 1 inclusive.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder failureRateThreshold(final double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the duration at which calls are considered slow, and the proportion of slow calls at which a circuit breaker opens.
+         *
+         * @param slowCallDurationThreshold the duration of a slow call.
+         * @param slowCallRateThreshold the slow call rate threshold, between 0 exclusive and 1 inclusive.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder slowCallThreshold(final Duration slowCallDurationThreshold, final double slowCallRateThreshold) {
+            this.slowCallDurationThreshold = slowCallDurationThreshold;
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of most recent calls whose outcomes are recorded while a circuit breaker is closed.
+         *
+         * @param slidingWindowSize the size of the sliding window.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder slidingWindowSize(final int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of calls which must be recorded before the failure and slow call rates of a circuit breaker are evaluated.
+         *
+         * @param minimumNumberOfCalls the minimum number of calls.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder minimumNumberOfCalls(final int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        /**
+         * Sets the time for which an open circuit breaker rejects calls before permitting probe calls.
+         *
+         * @param waitDurationInOpenState the open wait duration.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder waitDurationInOpenState(final Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+            return this;
+        }
+
+        /**
+         * Sets the number of probe calls permitted by a half-open circuit breaker, whose outcomes determine whether it closes.
+         *
+         * @param permittedCallsInHalfOpenState the number of probe calls.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder permittedCallsInHalfOpenState(final int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+            return this;
+        }
+
+        public Builder clock(final Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public CircuitBreakers build() {
+            return new CircuitBreakers(this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.RestException;
+
+/**
+ * Thrown, without a request being made, when a request is shed by a concurrency limiter because the limit of requests in flight
+ * has been reached.
+ */
+public class ConcurrencyLimitExceededException extends RestException {
+    private final int limit;
+
+    /**
+     * Constructs a new concurrency limit exceeded exception.
+     *
+     * @param limit the concurrency limit in force when the request was shed.
+     */
+    public ConcurrencyLimitExceededException(final int limit) {
+        super("Concurrency limit of " + limit + " requests in flight reached: request rejected");
+        this.limit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
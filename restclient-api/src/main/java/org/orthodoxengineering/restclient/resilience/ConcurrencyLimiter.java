@@ -0,0 +1,163 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An adaptive limit on the number of requests in flight, which sheds requests beyond the limit with a
+ * {@link ConcurrencyLimitExceededException} rather than letting them queue behind a degraded upstream.
+ *
+ * <p>The limit adapts by additive increase, multiplicative decrease (AIMD): each request completing within the latency threshold
+ * while at least half of the limit was in use raises the limit by one, and each request that fails or exceeds the latency threshold
+ * lowers it by the backoff ratio, within the minimum and maximum limits. The limit so tracks the concurrency the upstream can serve
+ * at acceptable latency.</p>
+ *
+ * <p>A limiter is safe for concurrent use, and may be shared between clients calling the same upstream.</p>
+ */
+public class ConcurrencyLimiter {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofSeconds(5);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    protected ConcurrencyLimiter(final Builder builder) {
+        if (builder.minLimit < 1 || builder.maxLimit < builder.minLimit) throw new IllegalArgumentException("The limits must satisfy 1 <= minimum <= maximum: minimum = " + builder.minLimit + ", maximum = " + builder.maxLimit);
+        if (builder.backoffRatio <= 0 || builder.backoffRatio >= 1) throw new IllegalArgumentException("The backoff ratio must lie between 0 and 1 exclusive: " + builder.backoffRatio);
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.latencyThresholdNanos = builder.latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, builder.initialLimit));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Admits a request, provided the limit of requests in flight has not been reached. The completion of an admitted request must
+     * subsequently be recorded with {@link #onComplete(boolean, long)} or {@link #onIgnored()}.
+     *
+     * @throws ConcurrencyLimitExceededException if the limit of requests in flight has been reached.
+     */
+    public void acquire() throws ConcurrencyLimitExceededException {
+        for (;;) {
+            final int current = inFlight.get();
+            final int currentLimit = limit;
+            if (current >= currentLimit) {
+                rejected.increment();
+                throw new ConcurrencyLimitExceededException(currentLimit);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) return;
+        }
+    }
+
+    /**
+     * Records the completion of an admitted request, adapting the limit to its outcome.
+     *
+     * @param failed whether the request failed, in a way indicating the upstream is overloaded.
+     * @param latencyNanos the latency of the request, in nanoseconds.
+     */
+    public void onComplete(final boolean failed, final long latencyNanos) {
+        final int inFlightAtCompletion = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, Math.min(limit - 1, (int) (limit * backoffRatio)));
+            } else if (inFlightAtCompletion * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Records the completion of an admitted request without adapting the limit, such as when the request was not made after all.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the current limit of requests in flight.
+     *
+     * @return the current concurrency limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests shed because the limit of requests in flight had been reached.
+     *
+     * @return the number of rejected requests.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public static class Builder {
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+        private Duration latencyThreshold = DEFAULT_LATENCY_THRESHOLD;
+
+        public Builder initialLimit(final int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Sets the bounds within which the limit adapts.
+         *
+         * @param minLimit the minimum limit of requests in flight.
+         * @param maxLimit the maximum limit of requests in flight.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder limits(final int minLimit, final int maxLimit) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Sets the factor by which the limit is multiplied when a request fails or is slow.
+         *
+         * @param backoffRatio the backoff ratio, between 0 and 1 exclusive.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder backoffRatio(final double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Sets the latency beyond which a request is taken as a sign of overload, lowering the limit.
+         *
+         * @param latencyThreshold the latency threshold.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder latencyThreshold(final Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        public ConcurrencyLimiter build() {
+            return new ConcurrencyLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A policy for hedging GET requests: when a request has not completed within a delay, a duplicate request is sent and whichever
+ * completes first is used, trading a little extra load for a shorter latency tail.
+ *
+ * <p>The delay is a high percentile of the latencies of recent requests, so that only the slowest requests are hedged, and is
+ * bounded by a minimum and a maximum delay. Until enough latencies have been observed, the maximum delay is used. Latencies are
+ * observed over a sliding window of the most recent requests, so a policy should be shared only by requests with similar latencies,
+ * such as those to a single upstream.</p>
+ *
+ * <p>Attempts of hedged requests run on the executor of the policy while the calling thread waits for the first to complete. An
+ * attempt that loses the race is interrupted, but its response handler may already have been invoked, so handlers of hedged requests
+ * should be free of side effects.</p>
+ */
+public class HedgePolicy {
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(5);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(1);
+    public static final int DEFAULT_MAX_HEDGES = 1;
+    public static final int DEFAULT_WINDOW_SIZE = 1024;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int maxHedges;
+    private final ExecutorService executor;
+
+    private final AtomicLongArray latencies;
+    private final AtomicLong observations = new AtomicLong();
+    private final int minObservations;
+    private final int recomputeInterval;
+    private volatile long delayNanos;
+
+    protected HedgePolicy(final Builder builder) {
+        if (builder.percentile <= 0 || builder.percentile >= 1) throw new IllegalArgumentException("The percentile must lie between 0 and 1 exclusive: " + builder.percentile);
+        if (builder.maxHedges < 1) throw new IllegalArgumentException("The maximum number of hedged requests must be positive: " + builder.maxHedges);
+        if (builder.windowSize < 16) throw new IllegalArgumentException("The latency window must hold at least 16 latencies: " + builder.windowSize);
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = Math.max(minDelayNanos, builder.maxDelay.toNanos());
+        this.maxHedges = builder.maxHedges;
+        this.executor = builder.executor != null ? builder.executor : DefaultHedgeExecutor.INSTANCE;
+        this.latencies = new AtomicLongArray(builder.windowSize);
+        // Enough latencies for the percentile to be meaningful, with one latency in the tail
+        this.minObservations = Math.min(builder.windowSize, (int) Math.ceil(1 / (1 - percentile)));
+        this.recomputeInterval = Math.max(1, builder.windowSize / 16);
+        this.delayNanos = maxDelayNanos;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Determines whether the given request may be hedged. Only GET requests are hedged.
+     *
+     * @param request the request.
+     * @return true if the request may be hedged.
+     */
+    public boolean isHedgeable(final RestRequest request) {
+        return RestRequest.GET.equalsIgnoreCase(request.getMethod());
+    }
+
+    public int getMaxHedges() {
+        return maxHedges;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the time after which a request that has not completed is hedged, as currently determined by recent latencies.
+     *
+     * @return the current hedging delay.
+     */
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Records the latency of a completed request, from which the hedging delay is determined.
+     *
+     * @param latencyNanos the latency of the request, in nanoseconds.
+     */
+    public void recordLatency(final long latencyNanos) {
+        final long observation = observations.getAndIncrement();
+        latencies.set((int) (observation % latencies.length()), latencyNanos);
+        final long observed = observation + 1;
+        if (observed >= minObservations && (observed == minObservations || observed % recomputeInterval == 0)) {
+            delayNanos = computeDelayNanos((int) Math.min(observed, latencies.length()));
+        }
+    }
+
+    private long computeDelayNanos(final int observed) {
+        final long[] window = new long[observed];
+        for (int n = 0; n < observed; n++) {
+            window[n] = latencies.get(n);
+        }
+        Arrays.sort(window);
+        final long percentileNanos = window[Math.min(observed - 1, (int) Math.ceil(percentile * observed) - 1)];
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, percentileNanos));
+    }
+
+    public static class Builder {
+        private double percentile = DEFAULT_PERCENTILE;
+        private Duration minDelay = DEFAULT_MIN_DELAY;
+        private Duration maxDelay = DEFAULT_MAX_DELAY;
+        private int maxHedges = DEFAULT_MAX_HEDGES;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private ExecutorService executor;
+
+        /**
+         * Sets the percentile of recent latencies after which a request is hedged, such as <code>0.95</code> to hedge the slowest
+         * 5% of requests.
+         *
+         * @param percentile the latency percentile, between 0 and 1 exclusive.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder percentile(final double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the bounds of the hedging delay. The maximum delay is also used until enough latencies have been observed.
+         *
+         * @param minDelay the minimum time after which a request is hedged.
+         * @param maxDelay the maximum time after which a request is hedged.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder delay(final Duration minDelay, final Duration maxDelay) {
+            this.minDelay = minDelay;
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of duplicate requests sent for each request, each after a further hedging delay.
+         *
+         * @param maxHedges the maximum number of hedged requests.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder maxHedges(final int maxHedges) {
+            this.maxHedges = maxHedges;
+            return this;
+        }
+
+        /**
+         * Sets the number of recent latencies from which the hedging delay is determined.
+         *
+         * @param windowSize the size of the latency window.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder windowSize(final int windowSize) {
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which the attempts of hedged requests run. By default, a shared pool of daemon threads is used.
+         *
+         * @param executor the executor of hedged request attempts.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder executor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+
+    private static final class DefaultHedgeExecutor {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "rest-client-hedge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,311 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.Deadline;
+import org.orthodoxengineering.restclient.DeadlineExceededException;
+import org.orthodoxengineering.restclient.ResponseHandler;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes requests resilient to a flaky upstream, retrying failed requests according to a retry policy, within a retry budget, and
+ * hedging slow requests according to a hedge policy. Each of these is optional.
+ *
+ * <p>A request whose response has a retryable status code is retried before its response is passed to the response handler, which
+ * only sees the response of the final attempt. A request failing with a retryable exception is retried, and the exception of the
+ * final attempt is thrown. Each attempt may itself be hedged.</p>
+ *
+ * <p>Where the request has a {@link Deadline}, it bounds all attempts together: backoff is cut short by the deadline, and no
+ * further attempt is made once it has passed.</p>
+ *
+ * <p>An instance is typically configured on a REST client builder and shared by all of its requests, and is safe for concurrent
+ * use. It applies to the blocking requests of the client. Requests whose response is streamed to the caller, such as those of
+ * <code>getForStream</code>, are retried but never hedged, as the response of a losing hedge would hold its connection open.
+ * Asynchronous requests, made through an {@link org.orthodoxengineering.restclient.AsyncRestClient}, are made once only, since
+ * retrying them would need backoff scheduled without blocking.</p>
+ */
+public class Resilience {
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
+    private final HedgePolicy hedgePolicy;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    protected Resilience(final Builder builder) {
+        this.retryPolicy = builder.retryPolicy;
+        this.retryBudget = builder.retryBudget;
+        this.hedgePolicy = builder.hedgePolicy;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Makes the given request through the given exchange, retrying and hedging it as configured.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response of the final attempt.
+     * @param exchange the exchange making each attempt of the request.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if the final attempt of the request failed.
+     */
+    public <T> T execute(final RestRequest request, final ResponseHandler<T> handler, final Exchange exchange) throws RestException {
+        return execute(request, handler, exchange, true);
+    }
+
+    /**
+     * Makes the given request through the given exchange, retrying it as configured but never hedging it, for requests whose result
+     * holds the connection, such as a streamed response.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response of the final attempt.
+     * @param exchange the exchange making each attempt of the request.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if the final attempt of the request failed.
+     */
+    public <T> T retry(final RestRequest request, final ResponseHandler<T> handler, final Exchange exchange) throws RestException {
+        return execute(request, handler, exchange, false);
+    }
+
+    private <T> T execute(final RestRequest request, final ResponseHandler<T> handler, final Exchange exchange, final boolean hedge) throws RestException {
+        final int maxAttempts = retryPolicy != null && retryPolicy.isRetryable(request) ? retryPolicy.getMaxAttempts() : 1;
+        final Deadline deadline = request.getDeadline();
+        for (int attempt = 1; ; attempt++) {
+            final boolean lastAttempt = attempt >= maxAttempts;
+            RuntimeException retriedFailure = null;
+            try {
+                final ResponseHandler<T> attemptHandler = lastAttempt ? handler : retryingHandler(request, handler);
+                final T result = hedge ? hedged(request, attemptHandler, exchange) : exchange.exchange(request, attemptHandler);
+                if (retryBudget != null) retryBudget.recordSuccess();
+                return result;
+            } catch (RetryableResponse retryableResponse) {
+                // The attempt has been recorded as failed, and permitted to be retried, by the handler
+            } catch (RuntimeException failure) {
+                if (retryPolicy == null || !retryPolicy.isRetryable(request, failure)) throw failure;
+                if (retryBudget != null) retryBudget.recordFailure();
+                if (lastAttempt || (deadline != null && deadline.isExpired())) throw failure;
+                if (!withinBudget()) throw failure;
+                retriedFailure = failure;
+            }
+
+            retries.increment();
+            final long backoffMillis = retryPolicy.backoffMillis(attempt);
+            backOff(deadline == null ? backoffMillis : Math.min(backoffMillis, TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos())));
+            if (deadline != null && deadline.isExpired()) throw new DeadlineExceededException(deadline, retriedFailure);
+        }
+    }
+
+    /**
+     * Wraps the given response handler in one which, instead of handling a response with a retryable status code, signals that the
+     * request is to be retried, provided the retry budget permits.
+     */
+    private <T> ResponseHandler<T> retryingHandler(final RestRequest request, final ResponseHandler<T> handler) {
+        return response -> {
+            if (retryPolicy.isRetryable(request, response.getStatusCode())) {
+                if (retryBudget != null) retryBudget.recordFailure();
+                final boolean withinDeadline = request.getDeadline() == null || !request.getDeadline().isExpired();
+                if (withinDeadline && withinBudget()) throw new RetryableResponse();
+            }
+            return handler.handleResponse(response);
+        };
+    }
+
+    private boolean withinBudget() {
+        if (retryBudget == null || retryBudget.canRetry()) return true;
+
+        throttled.increment();
+        return false;
+    }
+
+    /**
+     * Takes a token from the retry budget for a hedged request, where there is a budget.
+     */
+    private boolean hedgeWithinBudget() {
+        if (retryBudget == null || retryBudget.tryAcquire()) return true;
+
+        throttled.increment();
+        return false;
+    }
+
+    /**
+     * Makes an attempt of the given request, sending duplicates of it, each after the hedging delay, until one completes
+     * successfully or all have failed.
+     */
+    private <T> T hedged(final RestRequest request, final ResponseHandler<T> handler, final Exchange exchange) {
+        if (hedgePolicy == null || !hedgePolicy.isHedgeable(request)) return exchange.exchange(request, handler);
+
+        final CompletionService<T> attempts = new ExecutorCompletionService<>(hedgePolicy.getExecutor());
+        final List<Future<T>> sent = new ArrayList<>(1 + hedgePolicy.getMaxHedges());
+        final List<Long> sentAtNanos = new ArrayList<>(1 + hedgePolicy.getMaxHedges());
+        RuntimeException failure = null;
+        try {
+            sent.add(attempts.submit(() -> exchange.exchange(request, handler)));
+            sentAtNanos.add(System.nanoTime());
+            int outstanding = 1;
+            while (outstanding > 0) {
+                final boolean mayHedge = sent.size() <= hedgePolicy.getMaxHedges();
+                final Future<T> completed = mayHedge ? attempts.poll(hedgePolicy.getDelayNanos(), TimeUnit.NANOSECONDS) : attempts.take();
+                if (completed == null) {
+                    if (hedgeWithinBudget()) {
+                        hedges.increment();
+                        sent.add(attempts.submit(() -> exchange.exchange(request, handler)));
+                        sentAtNanos.add(System.nanoTime());
+                        outstanding++;
+                    } else {
+                        sent.add(null);
+                        sentAtNanos.add(0L);
+                    }
+                    continue;
+                }
+
+                outstanding--;
+                try {
+                    final T result = completed.get();
+                    final int winner = sent.indexOf(completed);
+                    if (winner > 0) hedgeWins.increment();
+                    hedgePolicy.recordLatency(System.nanoTime() - sentAtNanos.get(winner));
+                    return result;
+                } catch (ExecutionException attemptEx) {
+                    failure = unchecked(attemptEx.getCause(), failure);
+                }
+            }
+            throw failure;
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            throw new RestException("Interrupted while awaiting a hedged request", interruptedEx);
+        } finally {
+            for (Future<T> attempt : sent) {
+                if (attempt != null) attempt.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the failure of a hedged attempt, preferring a failure which is not a retry signal, so that a genuine failure is thrown
+     * when every attempt has failed.
+     */
+    private static RuntimeException unchecked(final Throwable cause, final RuntimeException previousFailure) {
+        if (cause instanceof Error) throw (Error) cause;
+        final RuntimeException failure = cause instanceof RuntimeException ? (RuntimeException) cause : new RestException(cause);
+        return previousFailure == null || previousFailure instanceof RetryableResponse ? failure : previousFailure;
+    }
+
+    private static void backOff(final long millis) {
+        if (millis <= 0) return;
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+            throw new RestException("Interrupted while backing off before retrying a request", interruptedEx);
+        }
+    }
+
+    /**
+     * Returns the number of retries made.
+     *
+     * @return the number of retries.
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Returns the number of duplicate requests sent by hedging.
+     *
+     * @return the number of hedged requests.
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Returns the number of hedged requests which completed before the request they duplicated.
+     *
+     * @return the number of hedged requests used.
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Returns the number of retries and hedged requests not made because the retry budget was exhausted.
+     *
+     * @return the number of retries and hedged requests refused by the retry budget.
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Makes a single attempt of a request.
+     */
+    @FunctionalInterface
+    public interface Exchange {
+        <T> T exchange(RestRequest request, ResponseHandler<T> handler) throws RestException;
+    }
+
+    /**
+     * Signals, from a response handler, that the response has a retryable status code and the request is to be retried.
+     */
+    private static final class RetryableResponse extends RuntimeException {
+        private RetryableResponse() {
+            super(null, null, false, false);
+        }
+    }
+
+    public static class Builder {
+        private RetryPolicy retryPolicy;
+        private RetryBudget retryBudget;
+        private HedgePolicy hedgePolicy;
+
+        public Builder retryPolicy(final RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the budget limiting retries and hedged requests. By default, retries and hedged requests are unlimited.
+         *
+         * @param retryBudget the retry budget.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder retryBudget(final RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        public Builder hedgePolicy(final HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        public Resilience build() {
+            return new Resilience(this);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A budget limiting retries, and hedged requests, to a proportion of successful requests, so that a struggling upstream is not
+ * overwhelmed by a storm of retries from its clients.
+ *
+ * <p>The budget is a token bucket, which starts full. Every failed attempt of a request takes one token from the bucket, and every
+ * successful request returns a fraction of a token, up to the capacity of the bucket. Retries are permitted only while the bucket is
+ * more than half full, so that once failures outweigh successes by the token ratio, requests are made once only until successes have
+ * refilled it. Each hedged request likewise takes a token, while the budget permits, so that hedging is throttled along with
+ * retries.</p>
+ *
+ * <p>A budget is typically shared by all requests to an upstream, and is safe for concurrent use.</p>
+ */
+public class RetryBudget {
+    public static final int DEFAULT_MAX_TOKENS = 10;
+    public static final double DEFAULT_TOKEN_RATIO = 0.1;
+
+    /** Tokens are held in thousandths, so that fractional token returns may be made with a single atomic update. */
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    /**
+     * Creates a retry budget of the default capacity, to which each successful request returns a tenth of a token.
+     */
+    public RetryBudget() {
+        this(DEFAULT_MAX_TOKENS, DEFAULT_TOKEN_RATIO);
+    }
+
+    /**
+     * Creates a retry budget.
+     *
+     * @param maxTokens the capacity of the budget, half of which is the number of consecutive failures tolerated before retries
+     *                  are suspended.
+     * @param tokenRatio the fraction of a token returned to the budget by each successful request.
+     */
+    public RetryBudget(final int maxTokens, final double tokenRatio) {
+        if (maxTokens <= 0) throw new IllegalArgumentException("The maximum number of tokens must be positive: " + maxTokens);
+        if (tokenRatio <= 0) throw new IllegalArgumentException("The token ratio must be positive: " + tokenRatio);
+        this.maxTokens = maxTokens * SCALE;
+        this.tokenRatio = Math.max(1, Math.round(tokenRatio * SCALE));
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Records the success of a request, returning a fraction of a token to the budget.
+     */
+    public void recordSuccess() {
+        tokens.getAndUpdate(current -> Math.min(maxTokens, current + tokenRatio));
+    }
+
+    /**
+     * Records a failed attempt of a request, taking a token from the budget.
+     */
+    public void recordFailure() {
+        tokens.getAndUpdate(current -> Math.max(0, current - SCALE));
+    }
+
+    /**
+     * Determines whether the budget currently permits a request to be retried or hedged.
+     *
+     * @return true if the budget is more than half full.
+     */
+    public boolean canRetry() {
+        return tokens.get() > maxTokens / 2;
+    }
+
+    /**
+     * Takes a token from the budget for an additional request, such as a hedged request, provided the budget currently permits it.
+     *
+     * @return true if the budget was more than half full and a token was taken, or false if the budget was left unchanged.
+     */
+    public boolean tryAcquire() {
+        final long threshold = maxTokens / 2;
+        long current;
+        do {
+            current = tokens.get();
+            if (current <= threshold) return false;
+        } while (!tokens.compareAndSet(current, Math.max(0, current - SCALE)));
+        return true;
+    }
+
+    /**
+     * Returns the number of tokens currently in the budget.
+     *
+     * @return the number of tokens, which may be fractional.
+     */
+    public double getTokens() {
+        return tokens.get() / (double) SCALE;
+    }
+}
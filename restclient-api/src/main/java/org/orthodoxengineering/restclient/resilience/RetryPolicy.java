@@ -0,0 +1,243 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.orthodoxengineering.restclient.DeadlineExceededException;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A policy determining which failed requests are retried, how many times, and how long to back off between attempts.
+ *
+ * <p>A request is retried if its method is idempotent, and either its response has one of the retryable status codes or it failed
+ * with an exception, anywhere in whose cause chain is an instance of one of the retryable exception types and none of the
+ * non-retryable ones. By default, responses with status <code>502</code>, <code>503</code> or <code>504</code> are retried, as are
+ * requests failing with an {@link IOException} other than a {@link MalformedURLException} or a passed {@link DeadlineExceededException deadline};
+ * a {@link org.orthodoxengineering.restclient.RestException} raised for an unexpected status code has no such cause, so is not retried.</p>
+ *
+ * <p>Backoff is exponential with full jitter: before the <i>n</i>th retry, the client sleeps for a random time of up to the initial
+ * backoff multiplied by the multiplier <i>n-1</i> times, capped at the maximum backoff, so that clients failing together do not retry
+ * together.</p>
+ */
+public class RetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE"));
+
+    private final int maxAttempts;
+    private final Set<Integer> retryableStatusCodes;
+    private final List<Class<? extends Throwable>> retryableExceptions;
+    private final List<Class<? extends Throwable>> nonRetryableExceptions;
+    private final Set<String> retryableMethods;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+
+    protected RetryPolicy(final Builder builder) {
+        if (builder.maxAttempts < 1) throw new IllegalArgumentException("The maximum number of attempts must be positive: " + builder.maxAttempts);
+        if (builder.multiplier < 1.0) throw new IllegalArgumentException("The backoff multiplier must be at least one: " + builder.multiplier);
+        this.maxAttempts = builder.maxAttempts;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatusCodes));
+        this.retryableExceptions = Collections.unmodifiableList(new ArrayList<>(builder.retryableExceptions));
+        this.nonRetryableExceptions = Collections.unmodifiableList(new ArrayList<>(builder.nonRetryableExceptions));
+        this.retryableMethods = Collections.unmodifiableSet(new HashSet<>(builder.retryableMethods));
+        this.initialBackoffMillis = builder.initialBackoff.toMillis();
+        this.maxBackoffMillis = builder.maxBackoff.toMillis();
+        this.multiplier = builder.multiplier;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the retry policy with all of the defaults.
+     *
+     * @return the default retry policy.
+     */
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+
+    /**
+     * The maximum number of attempts made of a request, including the first.
+     *
+     * @return the maximum number of attempts, which is at least one.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    /**
+     * Determines whether the given request may be retried at all, regardless of its outcome.
+     *
+     * @param request the request.
+     * @return true if the method of the request is one of the retryable methods and any body of the request may be written again.
+     */
+    public boolean isRetryable(final RestRequest request) {
+        if (request.getBody() instanceof RequestBody && !((RequestBody) request.getBody()).isRepeatable()) return false;
+
+        return retryableMethods.contains(request.getMethod().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Determines whether the given request, having received a response with the given status code, should be retried.
+     *
+     * @param request the request.
+     * @param statusCode the status code of the response received.
+     * @return true if the request should be retried.
+     */
+    public boolean isRetryable(final RestRequest request, final int statusCode) {
+        return retryableStatusCodes.contains(statusCode) && isRetryable(request);
+    }
+
+    /**
+     * Determines whether the given request, having failed with the given exception, should be retried.
+     *
+     * @param request the request.
+     * @param failure the exception with which the request failed.
+     * @return true if the request should be retried.
+     */
+    public boolean isRetryable(final RestRequest request, final Throwable failure) {
+        if (!isRetryable(request)) return false;
+
+        boolean retryable = false;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (isInstanceOfAny(cause, nonRetryableExceptions)) return false;
+            retryable |= isInstanceOfAny(cause, retryableExceptions);
+        }
+        return retryable;
+    }
+
+    /**
+     * Returns the time to back off for before the given retry, as a random time of up to the exponential backoff for the retry.
+     *
+     * @param retry the number of the retry, where the first retry is the second attempt of a request.
+     * @return the backoff time, in milliseconds.
+     */
+    public long backoffMillis(final int retry) {
+        final double exponentialBackoff = initialBackoffMillis * Math.pow(multiplier, Math.max(0, retry - 1));
+        final long cappedBackoff = (long) Math.min(maxBackoffMillis, exponentialBackoff);
+        return cappedBackoff <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cappedBackoff + 1);
+    }
+
+    private static boolean isInstanceOfAny(final Throwable throwable, final List<Class<? extends Throwable>> types) {
+        for (Class<? extends Throwable> type : types) {
+            if (type.isInstance(throwable)) return true;
+        }
+        return false;
+    }
+
+    public static class Builder {
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(502, 503, 504));
+        private List<Class<? extends Throwable>> retryableExceptions = new ArrayList<>(Collections.singletonList(IOException.class));
+        private List<Class<? extends Throwable>> nonRetryableExceptions = new ArrayList<>(Arrays.asList(MalformedURLException.class, DeadlineExceededException.class));
+        private Set<String> retryableMethods = new HashSet<>(IDEMPOTENT_METHODS);
+        private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+        private double multiplier = DEFAULT_MULTIPLIER;
+
+        /**
+         * Sets the maximum number of attempts made of a request, including the first. A maximum of one disables retries.
+         *
+         * @param maxAttempts the maximum number of attempts.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the status codes of responses which are retried, replacing the defaults.
+         *
+         * @param statusCodes the retryable status codes.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder retryOnStatus(final int... statusCodes) {
+            retryableStatusCodes = new HashSet<>();
+            for (int statusCode : statusCodes) {
+                retryableStatusCodes.add(statusCode);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the types of exception, found anywhere in the cause chain of a failure, on which requests are retried, replacing the
+         * defaults.
+         *
+         * @param exceptionTypes the retryable exception types.
+         * @return this builder, for invocation chaining.
+         */
+        @SafeVarargs
+        public final Builder retryOn(final Class<? extends Throwable>... exceptionTypes) {
+            retryableExceptions = new ArrayList<>(Arrays.asList(exceptionTypes));
+            return this;
+        }
+
+        /**
+         * Sets the types of exception, found anywhere in the cause chain of a failure, on which requests are never retried, even if
+         * the failure is also of a retryable type, replacing the defaults.
+         *
+         * @param exceptionTypes the non-retryable exception types.
+         * @return this builder, for invocation chaining.
+         */
+        @SafeVarargs
+        public final Builder abortOn(final Class<? extends Throwable>... exceptionTypes) {
+            nonRetryableExceptions = new ArrayList<>(Arrays.asList(exceptionTypes));
+            return this;
+        }
+
+        /**
+         * Sets the request methods which are retried, replacing the idempotent methods retried by default. Non-idempotent methods,
+         * such as <code>POST</code>, should only be included where the server de-duplicates requests.
+         *
+         * @param methods the retryable request methods.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder retryMethods(final String... methods) {
+            retryableMethods = new HashSet<>();
+            for (String method : methods) {
+                retryableMethods.add(method.toUpperCase(Locale.ROOT));
+            }
+            return this;
+        }
+
+        /**
+         * Sets the exponential backoff between attempts.
+         *
+         * @param initialBackoff the maximum backoff before the first retry.
+         * @param maxBackoff the maximum backoff before any retry.
+         * @param multiplier the factor by which the maximum backoff grows with each retry.
+         * @return this builder, for invocation chaining.
+         */
+        public Builder backoff(final Duration initialBackoff, final Duration maxBackoff, final double multiplier) {
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.orthodoxengineering.restclient.typeconverters;
+
+import org.beanplanet.core.lang.conversion.TypeConversionException;
+import org.beanplanet.core.lang.conversion.TypeConverter;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Converts HTTP entities to the types requested of a REST client, dispatching directly to the {@link EntityTypeConverters} method
+ * for each (entity class, target type) pair.
+ *
+ * <p>The converter for a pair is resolved once, on first use, and cached; thereafter a conversion is a cache lookup and a direct
+ * call. Each {@link EntityTypeConverters} method is invoked through a lambda spun by {@link LambdaMetafactory}, rather than
+ * reflectively. An entity already of the target type is returned as it is. Otherwise, resolution prefers a converter which produces
+ * exactly the target type over a generic converter, and of those the converter whose parameter type is most specific to the entity
+ * class, so that, for example, a JSON entity converts to a <code>String</code> by its text rather than by being parsed as a JSON
+ * string. Pairs with no applicable method are delegated to the fallback type converter, as are null entities.</p>
+ */
+public class CachingEntityConverter {
+    private static final List<Candidate> CANDIDATES = candidates(EntityTypeConverters.class);
+
+    private final TypeConverter fallback;
+    private final ClassValue<ConcurrentMap<Class<?>, Converter>> converters = new ClassValue<ConcurrentMap<Class<?>, Converter>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, Converter> computeValue(final Class<?> sourceType) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Creates an entity converter.
+     *
+     * @param fallback the type converter to which conversions are delegated where no entity type converter applies.
+     */
+    public CachingEntityConverter(final TypeConverter fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Converts the given entity to the given target type.
+     *
+     * @param entity the entity to be converted, which may be null.
+     * @param targetType the type to convert the entity to.
+     * @return the converted entity.
+     * @throws TypeConversionException if the entity could not be converted.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(final Object entity, final Class<T> targetType) throws TypeConversionException {
+        if (entity == null) return fallback.convert(null, targetType);
+
+        final ConcurrentMap<Class<?>, Converter> byTarget = converters.get(entity.getClass());
+        Converter converter = byTarget.get(targetType);
+        if (converter == null) {
+            converter = byTarget.computeIfAbsent(targetType, target -> resolve(entity.getClass(), target));
+        }
+        return (T) converter.convert(entity, targetType);
+    }
+
+    private Converter resolve(final Class<?> sourceType, final Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType)) return (entity, target) -> entity;
+
+        Candidate best = null;
+        for (Candidate candidate : CANDIDATES) {
+            if (candidate.appliesTo(sourceType, targetType) && (best == null || candidate.isPreferredTo(best, targetType))) {
+                best = candidate;
+            }
+        }
+        return best != null ? best.converter : fallback::convert;
+    }
+
+    /**
+     * Discovers the static converter methods of the given class and spins a direct invoker for each.
+     */
+    private static List<Candidate> candidates(final Class<?> convertersClass) {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final List<Candidate> candidates = new ArrayList<>();
+        for (Method method : convertersClass.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())
+                || !method.isAnnotationPresent(org.beanplanet.core.lang.conversion.annotations.TypeConverter.class)) continue;
+
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            try {
+                final MethodHandle methodHandle = lookup.unreflect(method);
+                if (parameterTypes.length == 1) {
+                    final Function<Object, Object> function = spin(lookup, methodHandle, Function.class, MethodType.methodType(Object.class, Object.class));
+                    candidates.add(new Candidate(parameterTypes[0], method.getReturnType(), false, (entity, targetType) -> function.apply(entity)));
+                } else if (parameterTypes.length == 2 && parameterTypes[1] == Class.class) {
+                    final BiFunction<Object, Object, Object> function = spin(lookup, methodHandle, BiFunction.class, MethodType.methodType(Object.class, Object.class, Object.class));
+                    candidates.add(new Candidate(parameterTypes[0], method.getReturnType(), true, function::apply));
+                }
+            } catch (Throwable th) {
+                throw new IllegalStateException("Unable to create a direct invoker for entity type converter method " + method, th);
+            }
+        }
+        return Collections.unmodifiableList(candidates);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F spin(final MethodHandles.Lookup lookup, final MethodHandle methodHandle, final Class<F> functionalInterface, final MethodType erasedType) throws Throwable {
+        final CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(functionalInterface), erasedType,
+                                                                methodHandle, methodHandle.type());
+        return (F) callSite.getTarget().invoke();
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(Object entity, Class<?> targetType);
+    }
+
+    private static final class Candidate {
+        private final Class<?> sourceType;
+        private final Class<?> resultType;
+        private final boolean generic;
+        private final Converter converter;
+
+        private Candidate(final Class<?> sourceType, final Class<?> resultType, final boolean generic, final Converter converter) {
+            this.sourceType = sourceType;
+            this.resultType = resultType;
+            this.generic = generic;
+            this.converter = converter;
+        }
+
+        private boolean appliesTo(final Class<?> sourceType, final Class<?> targetType) {
+            return this.sourceType.isAssignableFrom(sourceType) && (generic || targetType == resultType);
+        }
+
+        private boolean isPreferredTo(final Candidate other, final Class<?> targetType) {
+            final boolean exact = !generic && resultType == targetType;
+            final boolean otherExact = !other.generic && other.resultType == targetType;
+            if (exact != otherExact) return exact;
+            return other.sourceType.isAssignableFrom(sourceType) && other.sourceType != sourceType;
+        }
+    }
+}
@@ -3,7 +3,9 @@ package org.orthodoxengineering.restclient.typeconverters;
 import org.beanplanet.core.lang.conversion.annotations.TypeConverter;
 import org.beanplanet.core.net.http.HttpEntity;
 import org.beanplanet.core.net.http.StringEntity;
+import org.orthodoxengineering.restclient.BinaryJsonEntity;
 import org.orthodoxengineering.restclient.JsonEntity;
+import org.orthodoxengineering.restclient.NdjsonEntity;
 import org.orthodoxengineering.restclient.XmlEntity;
 
 import java.lang.reflect.Array;
@@ -46,6 +48,49 @@ public class EntityTypeConverters {
         return (entity == null ? null : entity.readContentAs(targetType));
     }
 
+    /**
+     * Converts the specified binary JSON entity to a string, as JSON text rather than its binary content.
+     *
+     * @param entity the entity to be converted.
+     */
+    @TypeConverter
+    public static String binaryJsonEntityToString(BinaryJsonEntity entity) {
+        return (entity == null ? null : entity.readContentAsJson());
+    }
+
+    /**
+     * Converts the specified binary JSON entity to the given target type.
+     *
+     * @param entity     the entity to be converted.
+     * @param targetType the target type to be created, which is assumed compatible with and capable of being converted from a JSON representation.
+     */
+    @TypeConverter
+    public static <T> T binaryJsonEntityToArbitraryType(final BinaryJsonEntity entity, final Class<T> targetType) {
+        return (entity == null ? null : entity.readContentAs(targetType));
+    }
+
+    /**
+     * Converts the specified NDJSON entity to a string, as the full text of all its records.
+     *
+     * @param entity the entity to be converted.
+     */
+    @TypeConverter
+    public static String ndjsonEntityToString(NdjsonEntity entity) {
+        return (entity == null ? null : entity.readFullyAsString());
+    }
+
+    /**
+     * Converts the specified NDJSON entity to the given target type. An array type is converted from all records of the entity,
+     * whereas any other type is converted from its first record.
+     *
+     * @param entity     the entity to be converted.
+     * @param targetType the target type to be created, which is assumed compatible with and capable of being converted from a JSON representation.
+     */
+    @TypeConverter
+    public static <T> T ndjsonEntityToArbitraryType(final NdjsonEntity entity, final Class<T> targetType) {
+        return (entity == null ? null : entity.readContentAs(targetType));
+    }
+
     // TODO: Remove this as only needed because the system default 'String' type converter (based on Object::toString) kicks in first!
     //       Can remove after priority-based type converters are implemented
     @TypeConverter
@@ -0,0 +1,80 @@
+package org.orthodoxengineering.restclient;
+
+import org.beanplanet.core.net.http.EntityProvider;
+import org.beanplanet.core.net.http.HttpEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CachingEntityProviderRegistryTest {
+    private final HttpEntity jsonEntity = new JsonEntity("{}");
+    private final HttpEntity problemEntity = new JsonEntity("{\"title\": \"problem\"}");
+    private final HttpEntity textEntity = new JsonEntity("\"text\"");
+    private final AtomicInteger jsonConsultations = new AtomicInteger();
+
+    private final CachingEntityProviderRegistry registry = new CachingEntityProviderRegistry()
+            .addProvider(mediaTypeProvider("application/json", jsonEntity, jsonConsultations))
+            .addProvider(mediaTypeProvider("application/problem+json", problemEntity, new AtomicInteger()))
+            .addProvider(mediaTypeProvider("text/plain", textEntity, new AtomicInteger()));
+
+    @Test
+    void createEntity_sameContentType_providerChosenOnce() {
+        // When
+        final HttpEntity first = registry.createEntity(response("application/json; charset=UTF-8"), null);
+        final HttpEntity second = registry.createEntity(response("Application/JSON;charset=utf-8"), null);
+
+        // Then
+        assertThat(first, sameInstance(jsonEntity));
+        assertThat(second, sameInstance(jsonEntity));
+        assertThat(registry.getMissCount(), equalTo(1L));
+        assertThat(registry.getHitCount(), equalTo(1L));
+        assertThat(registry.getHitRate(), equalTo(0.5d));
+    }
+
+    @Test
+    void createEntity_contentTypeOfLaterProvider_registryDecisionRemembered() {
+        // When
+        final HttpEntity first = registry.createEntity(response("application/problem+json"), null);
+        final int consultationsAfterFirst = jsonConsultations.get();
+        final HttpEntity second = registry.createEntity(response("application/problem+json"), null);
+
+        // Then
+        assertThat(first, sameInstance(problemEntity));
+        assertThat(second, sameInstance(problemEntity));
+        assertThat(jsonConsultations.get(), equalTo(consultationsAfterFirst));
+    }
+
+    @Test
+    void createEntity_unsupportedOrMissingContentType_passedToRegistry() {
+        // When
+        final HttpEntity unsupported = registry.createEntity(response("image/png"), null);
+        final HttpEntity missing = registry.createEntity(response(null), null);
+
+        // Then
+        assertThat(unsupported, nullValue());
+        assertThat(missing, nullValue());
+    }
+
+    private static EntityProvider mediaTypeProvider(final String mediaType, final HttpEntity entity, final AtomicInteger consultations) {
+        return (message, content) -> {
+            consultations.incrementAndGet();
+            final String contentType = ((RestResponse) message).getHeaderValue("Content-Type");
+            return contentType != null && contentType.toLowerCase().startsWith(mediaType) ? entity : null;
+        };
+    }
+
+    private static RestResponse response(final String contentType) {
+        final Map<String, List<String>> headers = new HashMap<>();
+        if (contentType != null) headers.put("Content-Type", Collections.singletonList(contentType));
+        return new RestResponse(200, "OK", headers);
+    }
+}
@@ -0,0 +1,60 @@
+package org.orthodoxengineering.restclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeadlineTest {
+    @Test
+    void timeoutMillis_earlierOfTimeoutAndRemaining() {
+        // Given
+        final Deadline deadline = Deadline.after(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(deadline.timeoutMillis(Duration.ofMillis(250)), equalTo(250));
+        assertThat(deadline.timeoutMillis(Duration.ofMinutes(1)), lessThanOrEqualTo(10_000));
+        assertThat(deadline.timeoutMillis(null), lessThanOrEqualTo(10_000));
+    }
+
+    @Test
+    void timeoutMillis_expired_throwsDeadlineExceeded() {
+        // Given
+        final Deadline deadline = Deadline.after(Duration.ZERO);
+
+        // Then
+        assertThat(deadline.isExpired(), is(true));
+        assertThrows(DeadlineExceededException.class, () -> deadline.timeoutMillis(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void watch_abortsWhenDeadlinePasses() throws InterruptedException {
+        // Given
+        final CountDownLatch aborted = new CountDownLatch(1);
+
+        // When
+        Deadline.after(Duration.ofMillis(20)).watch(aborted::countDown);
+
+        // Then
+        assertThat(aborted.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void watch_closedBeforeDeadline_doesNotAbort() throws InterruptedException {
+        // Given
+        final CountDownLatch aborted = new CountDownLatch(1);
+
+        // When
+        Deadline.after(Duration.ofMillis(50)).watch(aborted::countDown).close();
+
+        // Then
+        assertThat(aborted.await(200, TimeUnit.MILLISECONDS), is(false));
+    }
+}
@@ -0,0 +1,63 @@
+package org.orthodoxengineering.restclient;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ObjectReaderCacheTest {
+    @Test
+    void readerFor_type_cachedAfterFirstLookup() {
+        // Given
+        final ObjectReaderCache cache = new ObjectReaderCache(new ObjectMapper());
+
+        // When
+        final ObjectReader first = cache.readerFor(SimpleBean.class);
+        final ObjectReader second = cache.readerFor(SimpleBean.class);
+        cache.readerFor(SimpleBean[].class);
+
+        // Then
+        assertThat(second, sameInstance(first));
+        assertThat(cache.getMissCount(), equalTo(2L));
+        assertThat(cache.getHitCount(), equalTo(1L));
+        assertThat(cache.size(), equalTo(2));
+    }
+
+    @Test
+    void readerFor_typeReference_cachedByGenericType() throws Exception {
+        // Given
+        final ObjectReaderCache cache = new ObjectReaderCache(new ObjectMapper());
+
+        // When
+        final ObjectReader first = cache.readerFor(new TypeReference<List<SimpleBean>>() {});
+        final ObjectReader second = cache.readerFor(new TypeReference<List<SimpleBean>>() {});
+        final List<SimpleBean> beans = second.readValue("[{\"stringProperty\":\"item1\"},{\"stringProperty\":\"item2\"}]");
+
+        // Then
+        assertThat(second, sameInstance(first));
+        assertThat(beans, equalTo(asList(new SimpleBean("item1"), new SimpleBean("item2"))));
+        assertThat(cache.getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void readerFor_beyondMaxSize_notCached() {
+        // Given
+        final ObjectReaderCache cache = new ObjectReaderCache(new ObjectMapper(), 1);
+
+        // When
+        cache.readerFor(SimpleBean.class);
+        cache.readerFor(String.class);
+        cache.readerFor(String.class);
+
+        // Then
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.getMissCount(), equalTo(3L));
+    }
+}
@@ -0,0 +1,107 @@
+package org.orthodoxengineering.restclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestCoalescerTest {
+    private static final int CALLERS = 8;
+
+    @Test
+    void execute_concurrentIdenticalCalls_shareOneExecution() throws Exception {
+        // Given
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // When
+        final List<Future<Object>> results = new ArrayList<>();
+        try {
+            for (int n = 0; n < CALLERS; n++) {
+                results.add(executor.submit(() -> coalescer.execute(RestRequest.get("/config"), String.class, () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return new Object();
+                })));
+            }
+            while (coalescer.getCollapsedCount() < CALLERS - 1) Thread.yield();
+            release.countDown();
+
+            // Then
+            final Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), sameInstance(first));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(calls.get(), equalTo(1));
+        assertThat(coalescer.getExecutionCount(), equalTo(1L));
+        assertThat(coalescer.getCollapsedCount(), equalTo((long) CALLERS - 1));
+        assertThat(coalescer.getInFlightCount(), equalTo(0));
+    }
+
+    @Test
+    void execute_failedCall_errorSharedWithWaiters() throws Exception {
+        // Given
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> coalescer.execute(RestRequest.get("/config"), String.class, () -> {
+                await(release);
+                throw new RestException("Upstream unavailable");
+            }));
+            while (coalescer.getInFlightCount() == 0) Thread.yield();
+
+            // When
+            final Thread releaser = new Thread(() -> {
+                while (coalescer.getCollapsedCount() == 0) Thread.yield();
+                release.countDown();
+            });
+            releaser.start();
+
+            // Then
+            final RestException error = assertThrows(RestException.class, () -> coalescer.execute(RestRequest.get("/config"), String.class, Object::new));
+            assertThat(error.getMessage(), equalTo("Upstream unavailable"));
+            assertThat(coalescer.getExecutionCount(), equalTo(1L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_differentResultKinds_notCoalesced() {
+        // Given
+        final RequestCoalescer coalescer = new RequestCoalescer();
+
+        // When
+        coalescer.execute(RestRequest.get("/config"), String.class, () -> coalescer.execute(RestRequest.get("/config"), Integer.class, () -> 1));
+
+        // Then
+        assertThat(coalescer.getExecutionCount(), equalTo(2L));
+        assertThat(coalescer.getCollapsedCount(), equalTo(0L));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.orthodoxengineering.restclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StreamingResourceTest {
+    @Test
+    void getReader_charsetGiven_contentDecodedInCharset() throws IOException {
+        // Given
+        final StreamingResource resource = new StreamingResource(new ByteArrayInputStream("Caf\u00e9".getBytes(ISO_8859_1)), ISO_8859_1);
+
+        // When
+        final String content;
+        try (BufferedReader reader = new BufferedReader(resource.getReader())) {
+            content = reader.readLine();
+        }
+
+        // Then
+        assertThat(content, equalTo("Caf\u00e9"));
+    }
+
+    @Test
+    void getReader_noCharset_contentDecodedAsUtf8() throws IOException {
+        // Given
+        final StreamingResource resource = new StreamingResource(new ByteArrayInputStream(new byte[] { 'C', 'a', 'f', (byte) 0xC3, (byte) 0xA9 }));
+
+        // When
+        final String content;
+        try (BufferedReader reader = new BufferedReader(resource.getReader())) {
+            content = reader.readLine();
+        }
+
+        // Then
+        assertThat(content, equalTo("Caf\u00e9"));
+    }
+}
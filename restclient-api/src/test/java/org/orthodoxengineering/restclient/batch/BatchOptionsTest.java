@@ -0,0 +1,36 @@
+package org.orthodoxengineering.restclient.batch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BatchOptionsTest {
+    @Test
+    void withDefaultMaxPerHost_maxPerHostNotSet_defaultTaken() {
+        // Given
+        final BatchOptions options = BatchOptions.builder().parallelism(8).ordered(false).build();
+
+        // When
+        final BatchOptions defaulted = options.withDefaultMaxPerHost(5);
+
+        // Then
+        assertThat(defaulted.getMaxPerHost(), equalTo(5));
+        assertThat(defaulted.getParallelism(), equalTo(8));
+        assertThat(defaulted.isOrdered(), is(false));
+    }
+
+    @Test
+    void withDefaultMaxPerHost_maxPerHostSet_optionsUnchanged() {
+        // Given
+        final BatchOptions options = BatchOptions.builder().maxPerHost(2).build();
+
+        // When
+        final BatchOptions defaulted = options.withDefaultMaxPerHost(5);
+
+        // Then
+        assertThat(defaulted, sameInstance(options));
+    }
+}
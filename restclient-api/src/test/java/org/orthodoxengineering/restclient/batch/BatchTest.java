@@ -0,0 +1,116 @@
+package org.orthodoxengineering.restclient.batch;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class BatchTest {
+    @Test
+    void execute_ordered_resultsInRequestOrderWithFailuresKept() {
+        // Given
+        final List<RestRequest> requests = asList(RestRequest.get("http://a/1"), RestRequest.get("http://b/fail"), RestRequest.get("http://a/333"));
+
+        // When
+        final List<BatchResult<Integer>> results = Batch.<Integer>execute(requests, request -> {
+            if (request.getUri().endsWith("fail")) throw new RestException("Failed");
+            return request.getUri().length();
+        }, BatchOptions.defaults()).collect(Collectors.toList());
+
+        // Then
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.get(0).getValue(), equalTo(10));
+        assertThat(results.get(1).isSuccessful(), is(false));
+        assertThat(results.get(1).getFailure(), instanceOf(RestException.class));
+        assertThat(results.get(1).getRequest(), equalTo(requests.get(1)));
+        assertThat(results.get(2).getValueOrThrow(), equalTo(12));
+    }
+
+    @Test
+    void execute_completionOrdered_resultsStreamedAsTheyComplete() {
+        // Given
+        final CountDownLatch firstResultRead = new CountDownLatch(1);
+        final List<RestRequest> requests = asList(RestRequest.get("http://a/slow"), RestRequest.get("http://a/fast"));
+
+        // When
+        final Iterator<BatchResult<String>> results = Batch.<String>execute(requests, request -> {
+            if (request.getUri().endsWith("slow")) awaitQuietly(firstResultRead);
+            return request.getUri();
+        }, BatchOptions.builder().ordered(false).build()).iterator();
+        final BatchResult<String> first = results.next();
+        firstResultRead.countDown();
+        final BatchResult<String> second = results.next();
+
+        // Then
+        assertThat(first.getIndex(), equalTo(1));
+        assertThat(second.getIndex(), equalTo(0));
+        assertThat(results.hasNext(), is(false));
+    }
+
+    @Test
+    void execute_limits_requestsInFlightBoundedOverallAndPerHost() {
+        // Given
+        final List<RestRequest> requests = new ArrayList<>();
+        for (int n = 0; n < 10; n++) {
+            for (String host : asList("a", "b", "c")) {
+                requests.add(RestRequest.get("http://" + host + "/" + n));
+            }
+        }
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final Map<String, AtomicInteger> inFlightByHost = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> maxInFlightByHost = new ConcurrentHashMap<>();
+
+        // When
+        final long successful;
+        try (Stream<BatchResult<String>> results = Batch.execute(requests, request -> {
+            final AtomicInteger hostInFlight = inFlightByHost.computeIfAbsent(request.getHost(), h -> new AtomicInteger());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            maxInFlightByHost.computeIfAbsent(request.getHost(), h -> new AtomicInteger()).accumulateAndGet(hostInFlight.incrementAndGet(), Math::max);
+            sleepQuietly(5);
+            hostInFlight.decrementAndGet();
+            inFlight.decrementAndGet();
+            return request.getUri();
+        }, BatchOptions.builder().parallelism(4).maxPerHost(2).build())) {
+            successful = results.filter(BatchResult::isSuccessful).count();
+        }
+
+        // Then
+        assertThat(successful, equalTo(30L));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(4));
+        maxInFlightByHost.values().forEach(max -> assertThat(max.get(), lessThanOrEqualTo(2)));
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interruptedEx) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.orthodoxengineering.restclient.cache;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.RestException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ObjectCacheTest {
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void get_fresh_servedWithoutLoading() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder().timeToLive(Duration.ofSeconds(10)).clock(clock).build();
+        final AtomicInteger loads = new AtomicInteger();
+
+        // When
+        final String first = cache.get("/config", String.class, () -> "v" + loads.incrementAndGet());
+        clock.advance(Duration.ofSeconds(9));
+        final String second = cache.get("/config", String.class, () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertThat(first, equalTo("v1"));
+        assertThat(second, equalTo("v1"));
+        assertThat(loads.get(), equalTo(1));
+        assertThat(cache.getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_keyedByType() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder().timeToLive(Duration.ofSeconds(10)).clock(clock).build();
+
+        // When
+        cache.get("/config", String.class, () -> "text");
+        final Integer number = cache.get("/config", Integer.class, () -> 42);
+
+        // Then
+        assertThat(number, equalTo(42));
+        assertThat(cache.size(), equalTo(2));
+    }
+
+    @Test
+    void get_expired_reloadedByCaller() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder().timeToLive(Duration.ofSeconds(10)).clock(clock).build();
+        cache.get("/config", String.class, () -> "v1");
+
+        // When
+        clock.advance(Duration.ofSeconds(11));
+        final String value = cache.get("/config", String.class, () -> "v2");
+
+        // Then
+        assertThat(value, equalTo("v2"));
+        assertThat(cache.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    void get_stale_servedWhileSingleRefreshRuns() {
+        // Given
+        final List<Runnable> refreshes = new ArrayList<>();
+        final ObjectCache cache = ObjectCache.builder()
+                                             .timeToLive(Duration.ofSeconds(10))
+                                             .staleWhileRevalidate(Duration.ofSeconds(60))
+                                             .refreshExecutor(refreshes::add)
+                                             .clock(clock)
+                                             .build();
+        cache.get("/config", String.class, () -> "v1");
+        clock.advance(Duration.ofSeconds(15));
+
+        // When
+        final String staleFirst = cache.get("/config", String.class, () -> "v2");
+        final String staleSecond = cache.get("/config", String.class, () -> "v3");
+        refreshes.forEach(Runnable::run);
+        final String refreshed = cache.get("/config", String.class, () -> "v4");
+
+        // Then
+        assertThat(staleFirst, equalTo("v1"));
+        assertThat(staleSecond, equalTo("v1"));
+        assertThat(refreshes.size(), equalTo(1));
+        assertThat(refreshed, equalTo("v2"));
+        assertThat(cache.getStaleHitCount(), equalTo(2L));
+        assertThat(cache.getRefreshCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_failedRefresh_staleValueRetained() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder()
+                                             .timeToLive(Duration.ofSeconds(10))
+                                             .staleWhileRevalidate(Duration.ofSeconds(60))
+                                             .refreshExecutor(Runnable::run)
+                                             .clock(clock)
+                                             .build();
+        cache.get("/config", String.class, () -> "v1");
+        clock.advance(Duration.ofSeconds(15));
+
+        // When
+        final String stale = cache.get("/config", String.class, () -> { throw new RestException("Upstream unavailable"); });
+        final String retried = cache.get("/config", String.class, () -> "v2");
+
+        // Then
+        assertThat(stale, equalTo("v1"));
+        assertThat(retried, equalTo("v1"));
+        assertThat(cache.getRefreshFailureCount(), equalTo(1L));
+        assertThat(cache.get("/config", String.class, () -> "v3"), equalTo("v2"));
+    }
+
+    @Test
+    void get_failedLoad_notCached() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder().timeToLive(Duration.ofSeconds(10)).clock(clock).build();
+
+        // When
+        assertThrows(RestException.class, () -> cache.get("/config", String.class, () -> { throw new RestException("Upstream unavailable"); }));
+
+        // Then
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void get_beyondMaxEntries_eldestEvicted() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder().timeToLive(Duration.ofSeconds(10)).maxEntries(2).clock(clock).build();
+
+        // When
+        cache.get("/a", String.class, () -> "a");
+        cache.get("/b", String.class, () -> "b");
+        cache.get("/c", String.class, () -> "c");
+
+        // Then
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("/a", String.class, () -> "reloaded"), equalTo("reloaded"));
+    }
+
+    @Test
+    void get_beyondMaxWeight_eldestEvicted() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder()
+                                             .timeToLive(Duration.ofSeconds(10))
+                                             .maxWeight(10)
+                                             .weigher(value -> ((String) value).length())
+                                             .clock(clock)
+                                             .build();
+
+        // When
+        cache.get("/a", String.class, () -> "123456");
+        cache.get("/b", String.class, () -> "123456");
+
+        // Then
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.getWeight(), equalTo(6L));
+    }
+
+    @Test
+    void invalidate_removesAllTypesForUri() {
+        // Given
+        final ObjectCache cache = ObjectCache.builder().timeToLive(Duration.ofSeconds(10)).clock(clock).build();
+        cache.get("/config", String.class, () -> "text");
+        cache.get("/config", Integer.class, () -> 42);
+        cache.get("/other", String.class, () -> "other");
+
+        // When
+        cache.invalidate("/config");
+
+        // Then
+        assertThat(cache.size(), equalTo(1));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
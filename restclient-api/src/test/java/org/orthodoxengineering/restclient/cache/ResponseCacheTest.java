@@ -0,0 +1,78 @@
+package org.orthodoxengineering.restclient.cache;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.beanplanet.core.mediatypes.MediaTypes;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+import org.orthodoxengineering.restclient.RestClient;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@WireMockTest
+public class ResponseCacheTest {
+    @Test
+    void get_freshResponse_servedFromCacheWithoutRequest(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final ResponseCache cache = ResponseCache.inMemory(100, 1024 * 1024);
+        final RestClient client = HttpUrlRestClient.builder().responseCache(cache).build();
+        stubFor(get("/cached").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName())
+                                              .withHeader("Cache-Control", "max-age=60")
+                                              .withBody("Hello World!")));
+
+        // When
+        final String first = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/cached", String.class);
+        final String second = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/cached", String.class);
+
+        // Then
+        assertThat(first, equalTo("Hello World!"));
+        assertThat(second, equalTo("Hello World!"));
+        verify(1, getRequestedFor(urlEqualTo("/cached")));
+        assertThat(cache.getMissCount(), equalTo(1L));
+        assertThat(cache.getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_staleResponseWithETag_revalidatedWithConditionalRequest(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final ResponseCache cache = ResponseCache.inMemory(100, 1024 * 1024);
+        final RestClient client = HttpUrlRestClient.builder().responseCache(cache).build();
+        stubFor(get("/revalidated").withHeader("If-None-Match", absent())
+                                   .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName())
+                                                   .withHeader("Cache-Control", "no-cache")
+                                                   .withHeader("ETag", "\"v1\"")
+                                                   .withBody("Hello World!")));
+        stubFor(get("/revalidated").withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                                   .willReturn(aResponse().withStatus(304).withHeader("ETag", "\"v1\"")));
+
+        // When
+        final String first = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/revalidated", String.class);
+        final String second = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/revalidated", String.class);
+
+        // Then
+        assertThat(first, equalTo("Hello World!"));
+        assertThat(second, equalTo("Hello World!"));
+        verify(1, getRequestedFor(urlEqualTo("/revalidated")).withHeader("If-None-Match", WireMock.equalTo("\"v1\"")));
+        assertThat(cache.getRevalidationCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_noStoreResponse_notCached(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final RestClient client = HttpUrlRestClient.builder().responseCache(ResponseCache.inMemory(100, 1024 * 1024)).build();
+        stubFor(get("/uncached").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName())
+                                                .withHeader("Cache-Control", "no-store, max-age=60")
+                                                .withBody("Hello World!")));
+
+        // When
+        client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/uncached", String.class);
+        client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/uncached", String.class);
+
+        // Then
+        verify(2, getRequestedFor(urlEqualTo("/uncached")));
+    }
+}
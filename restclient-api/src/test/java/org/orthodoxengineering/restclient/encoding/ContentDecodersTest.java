@@ -0,0 +1,199 @@
+package org.orthodoxengineering.restclient.encoding;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ContentDecodersTest {
+    private static final String CONTENT = "{\"stringProperty\":\"Hello World!\"}";
+
+    @Test
+    void decode_gzip() throws IOException {
+        // Given
+        final byte[] encoded = gzip(CONTENT.getBytes(UTF_8));
+
+        // When
+        final String decoded = readFully(ContentDecoders.standard().decode(RestRequest.get("/"), "gzip", new ByteArrayInputStream(encoded), null));
+
+        // Then
+        assertThat(decoded, equalTo(CONTENT));
+    }
+
+    @Test
+    void decode_deflate_zlibWrappedAndRaw() throws IOException {
+        // Given
+        final byte[] zlib = deflate(CONTENT.getBytes(UTF_8), false);
+        final byte[] raw = deflate(CONTENT.getBytes(UTF_8), true);
+
+        // When
+        final String decodedZlib = readFully(ContentDecoders.standard().decode(RestRequest.get("/"), "deflate", new ByteArrayInputStream(zlib), null));
+        final String decodedRaw = readFully(ContentDecoders.standard().decode(RestRequest.get("/"), "deflate", new ByteArrayInputStream(raw), null));
+
+        // Then
+        assertThat(decodedZlib, equalTo(CONTENT));
+        assertThat(decodedRaw, equalTo(CONTENT));
+    }
+
+    @Test
+    void decode_multipleCodings_removedInReverseOrder() throws IOException {
+        // Given
+        final byte[] encoded = gzip(deflate(CONTENT.getBytes(UTF_8), false));
+
+        // When
+        final String decoded = readFully(ContentDecoders.standard().decode(RestRequest.get("/"), "deflate, gzip", new ByteArrayInputStream(encoded), null));
+
+        // Then
+        assertThat(decoded, equalTo(CONTENT));
+    }
+
+    @Test
+    void decode_emptyBody_notDecoded() throws IOException {
+        // When
+        final String decoded = readFully(ContentDecoders.standard().decode(RestRequest.get("/"), "gzip", new ByteArrayInputStream(new byte[0]), null));
+
+        // Then
+        assertThat(decoded, equalTo(""));
+    }
+
+    @Test
+    void decode_unsupportedCoding_fails() {
+        assertThrows(IOException.class, () -> ContentDecoders.standard().decode(RestRequest.get("/"), "br", new ByteArrayInputStream(new byte[1]), null));
+    }
+
+    @Test
+    void decode_identityWithoutListener_streamUnwrapped() throws IOException {
+        // Given
+        final InputStream wire = new ByteArrayInputStream(CONTENT.getBytes(UTF_8));
+
+        // Then
+        assertThat(ContentDecoders.standard().decode(RestRequest.get("/"), null, wire, null), sameInstance(wire));
+        assertThat(ContentDecoders.none().decode(RestRequest.get("/"), "gzip", wire, null), sameInstance(wire));
+    }
+
+    @Test
+    void decode_listenerNotifiedOfWireAndDecodedBytes() throws IOException {
+        // Given
+        final byte[] decoded = repeat(CONTENT, 100).getBytes(UTF_8);
+        final byte[] encoded = gzip(decoded);
+        final AtomicLong wireBytes = new AtomicLong(-1);
+        final AtomicLong decodedBytes = new AtomicLong(-1);
+
+        // When
+        readFully(ContentDecoders.standard().decode(RestRequest.get("/"), "gzip", new ByteArrayInputStream(encoded), (request, contentEncoding, wire, content) -> {
+            wireBytes.set(wire);
+            decodedBytes.set(content);
+        }));
+
+        // Then
+        assertThat(wireBytes.get(), equalTo((long) encoded.length));
+        assertThat(decodedBytes.get(), equalTo((long) decoded.length));
+    }
+
+    @Test
+    void with_customDecoderAdvertisedAndUsed() throws IOException {
+        // Given
+        final ContentDecoders decoders = ContentDecoders.standard().with(new ContentDecoder() {
+            @Override
+            public String getEncoding() {
+                return "x-reverse";
+            }
+
+            @Override
+            public InputStream decode(final InputStream encoded) throws IOException {
+                return new ByteArrayInputStream(new StringBuilder(readFully(encoded)).reverse().toString().getBytes(UTF_8));
+            }
+        });
+
+        // When
+        final String decoded = readFully(decoders.decode(RestRequest.get("/"), "x-reverse", new ByteArrayInputStream("cba".getBytes(UTF_8)), null));
+
+        // Then
+        assertThat(decoded, equalTo("abc"));
+        assertThat(decoders.getAcceptEncoding(), equalTo("gzip, deflate, x-reverse"));
+    }
+
+    @Test
+    void negotiate_addsAcceptEncodingUnlessPresent() {
+        // When
+        final RestRequest negotiated = ContentDecoders.standard().negotiate(RestRequest.get("/"));
+        final RestRequest explicit = RestRequest.get("/").withHeader("accept-encoding", "identity");
+
+        // Then
+        assertThat(negotiated.getHeaderValue("Accept-Encoding"), equalTo("gzip, deflate"));
+        assertThat(ContentDecoders.standard().negotiate(explicit), sameInstance(explicit));
+        assertThat(ContentDecoders.none().negotiate(RestRequest.get("/")).getHeaderValue("Accept-Encoding"), nullValue());
+    }
+
+    @Test
+    void decodedHeaders_withoutContentEncodingAndLength() {
+        // Given
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        headers.put(null, Collections.singletonList("HTTP/1.1 200 OK"));
+        headers.put("Content-Encoding", Collections.singletonList("gzip"));
+        headers.put("content-length", Collections.singletonList("42"));
+        headers.put("Content-Type", Collections.singletonList("application/json"));
+
+        // When
+        final Map<String, List<String>> decodedHeaders = ContentDecoders.standard().decodedHeaders(headers);
+
+        // Then
+        assertThat(decodedHeaders.keySet(), equalTo(new LinkedHashSet<>(Arrays.asList(null, "Content-Type"))));
+        assertThat(ContentDecoders.none().decodedHeaders(headers), sameInstance(headers));
+    }
+
+    private static byte[] gzip(final byte[] content) throws IOException {
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOs = new GZIPOutputStream(encoded)) {
+            gzipOs.write(content);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static byte[] deflate(final byte[] content, final boolean raw) throws IOException {
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflaterOs = new DeflaterOutputStream(encoded, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            deflaterOs.write(content);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static String readFully(final InputStream inputStream) throws IOException {
+        try (InputStream is = inputStream) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            for (int read; (read = is.read(buffer)) >= 0; ) {
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), UTF_8);
+        }
+    }
+
+    private static String repeat(final String value, final int times) {
+        final StringBuilder repeated = new StringBuilder(value.length() * times);
+        for (int n = 0; n < times; n++) {
+            repeated.append(value);
+        }
+        return repeated.toString();
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import org.beanplanet.core.mediatypes.MediaTypes;
@@ -14,10 +15,24 @@ import org.beanplanet.testing.beans.TestBean;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.orthodoxengineering.restclient.*;
-
+import org.orthodoxengineering.restclient.batch.BatchOptions;
+import org.orthodoxengineering.restclient.batch.BatchResult;
+import org.orthodoxengineering.restclient.interceptor.RestInterceptor;
+import org.orthodoxengineering.restclient.metrics.HdrMetricsRecorder;
+import org.orthodoxengineering.restclient.metrics.RequestPhase;
+import org.orthodoxengineering.restclient.metrics.StatusClass;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static java.nio.charset.StandardCharsets.UTF_16BE;
 import static java.util.Arrays.asList;
 import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
 import static org.beanplanet.core.mediatypes.MediaTypes.Application.XML;
@@ -27,6 +42,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @WireMockTest
 public class GetMethodTest {
@@ -86,6 +102,85 @@ public class GetMethodTest {
         assertThrows(RestException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", OK, String.class));
     }
 
+    @Test
+    void get_uri_type_errorResponse_errorEntityCarriedByException(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(badRequest().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{ \"title\": \"Invalid name\" }")));
+
+        // When
+        final HttpStatusException statusEx = assertThrows(HttpStatusException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class));
+
+        // Then
+        assertThat(statusEx.getStatusCode(), equalTo(400));
+        assertThat(statusEx.getEntity(JsonNode.class).get("title").asText(), equalTo("Invalid name"));
+    }
+
+    @Test
+    void get_uri_type_errorResponses_connectionReused(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HttpUrlRestClient client = HttpUrlRestClient.builder().build();
+        stubFor(get("/getmethod").willReturn(serverError().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Failed")));
+
+        // When
+        assertThrows(HttpStatusException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class));
+        assertThrows(HttpStatusException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class));
+
+        // Then
+        assertThat(client.getPoolStats().getIdle(), equalTo(1));
+        assertThat(client.getPoolStats().getClosed(), equalTo(0L));
+    }
+
+    @Test
+    void execute_withMetricsRecorder_phasesBytesAndExceptionsRecordedByHostAndUriTemplate(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HdrMetricsRecorder metricsRecorder = new HdrMetricsRecorder();
+        final HttpUrlRestClient client = HttpUrlRestClient.builder().metricsRecorder(metricsRecorder).build();
+        stubFor(get("/getmethod/1").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+        stubFor(get("/getmethod/2").willReturn(serverError()));
+
+        // When
+        client.execute(RestRequest.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod/1").withUriTemplate("/getmethod/{id}"), HttpMessage::getEntity);
+        assertThrows(RestException.class, () -> client.execute(RestRequest.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod/2").withUriTemplate("/getmethod/{id}"), response -> {
+            throw new RestException("Unexpected HTTP response code: " + response.getStatusCode());
+        }));
+
+        // Then
+        for (RequestPhase phase : asList(RequestPhase.TIME_TO_FIRST_BYTE, RequestPhase.BODY_TRANSFER, RequestPhase.ENTITY_CREATION, RequestPhase.TYPE_CONVERSION, RequestPhase.REQUEST)) {
+            assertThat(phase.name(), metricsRecorder.getIntervalHistogram("localhost", "/getmethod/{id}", phase, StatusClass.SUCCESSFUL).getTotalCount(), equalTo(1L));
+        }
+        assertThat(metricsRecorder.getIntervalHistogram("localhost", "/getmethod/{id}", RequestPhase.REQUEST, StatusClass.SERVER_ERROR).getTotalCount(), equalTo(1L));
+        assertThat(metricsRecorder.getExceptionCount("localhost", "/getmethod/{id}"), equalTo(1L));
+        assertThat(metricsRecorder.getBytesIn("localhost"), equalTo((long) "Hello World!".length()));
+        assertThat(metricsRecorder.getActiveRequests("localhost"), equalTo(0L));
+    }
+
+    @Test
+    void get_uri_type_withInterceptor_requestHeaderSentAndResponseIntercepted(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final List<Integer> interceptedStatusCodes = new ArrayList<>();
+        final HttpUrlRestClient client = HttpUrlRestClient.builder().interceptor(new RestInterceptor() {
+            @Override
+            public RestRequest onRequest(final RestRequest request) {
+                return new RestRequest(request).setHeader("Authorization", "Bearer token");
+            }
+
+            @Override
+            public HttpResponse onResponse(final RestRequest request, final HttpResponse response) {
+                interceptedStatusCodes.add(response.getStatusCode());
+                return response;
+            }
+        }).build();
+        stubFor(get("/getmethod").withHeader("Authorization", WireMock.equalTo("Bearer token"))
+                                 .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class);
+
+        // Then
+        assertThat(body, equalTo("Hello World!"));
+        assertThat(interceptedStatusCodes, equalTo(asList(OK)));
+    }
+
     @Test
     void get_uri_type__withStringEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
         // Given
@@ -147,6 +242,20 @@ public class GetMethodTest {
         assertThat(actual, equalTo(expected));
     }
 
+    @Test
+    void get_uri_type_withUtf16JsonEntity_decodedFromBytes(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final SimpleBean expected = new SimpleBean("d\u00e9j\u00e0 vu");
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName())
+                                                 .withBody(client.getObjectMapper().writeValueAsString(expected).getBytes(UTF_16BE))));
+
+        // When
+        final SimpleBean actual = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class);
+
+        // Then
+        assertThat(actual, equalTo(expected));
+    }
+
     @Test
     void get_uri_statusCode_jacksonType_withJsonEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
         // Given
@@ -227,4 +336,86 @@ public class GetMethodTest {
         // Then
         assertThat(actual, equalTo(expected));
     }
+
+    @Test
+    void getForList_uri_type_coalesced_eachCallerHasOwnList(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final List<SimpleBean> expected = asList(new SimpleBean("item1"), new SimpleBean("item2"));
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(client.getObjectMapper().writeValueAsString(expected)).withFixedDelay(500)));
+        final RequestCoalescer coalescer = new RequestCoalescer();
+        final HttpUrlRestClient coalescingClient = HttpUrlRestClient.builder().objectMapper(client.getObjectMapper()).requestCoalescer(coalescer).build();
+        final String uri = wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod";
+
+        // When
+        final CompletableFuture<List<SimpleBean>> first = CompletableFuture.supplyAsync(() -> coalescingClient.getForList(uri, SimpleBean.class));
+        while (coalescer.getInFlightCount() == 0) Thread.yield();
+        final List<SimpleBean> second = coalescingClient.getForList(uri, SimpleBean.class);
+        second.clear();
+
+        // Then
+        assertThat(coalescer.getCollapsedCount(), equalTo(1L));
+        assertThat(first.get(5, TimeUnit.SECONDS), equalTo(expected));
+    }
+
+    @Test
+    void get_uri_type_withGzipEncodedJsonEntity_decoded(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final SimpleBean expected = new SimpleBean("Hello World!");
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOs = new GZIPOutputStream(encoded)) {
+            gzipOs.write(client.getObjectMapper().writeValueAsBytes(expected));
+        }
+        stubFor(get("/getmethod").withHeader("Accept-Encoding", containing("gzip"))
+                                 .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName())
+                                                 .withHeader("Content-Encoding", "gzip")
+                                                 .withBody(encoded.toByteArray())));
+
+        // When
+        final SimpleBean actual = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class);
+
+        // Then
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void get_uri_type_withSmileEntity_binaryFormatPreferred(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        assumeTrue(BinaryJsonFormat.SMILE.isAvailable());
+
+        // Given
+        final SimpleBean expected = new SimpleBean("Hello World!");
+        stubFor(get("/getmethod").withHeader("Accept", matching("^application/x-jackson-smile,.*application/json;q=0\\.9.*"))
+                                 .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, BinaryJsonFormat.SMILE.getMediaType())
+                                                 .withBody(BinaryJsonFormat.SMILE.createMapper(null).writeValueAsBytes(expected))));
+
+        // When
+        final SimpleBean actual = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class);
+        final String json = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class);
+
+        // Then
+        assertThat(actual, equalTo(expected));
+        assertThat(json, equalTo("{\"stringProperty\":\"Hello World!\"}"));
+    }
+
+    @Test
+    void getAll_uris_type_resultsInOrderWithFailuresKept(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/items/1").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{\"stringProperty\": \"item1\"}")));
+        stubFor(get("/items/2").willReturn(notFound()));
+        stubFor(get("/items/3").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{\"stringProperty\": \"item3\"}")));
+        final List<String> uris = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            uris.add(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/" + id);
+        }
+
+        // When
+        final List<BatchResult<SimpleBean>> results;
+        try (Stream<BatchResult<SimpleBean>> batch = client.getAll(uris, SimpleBean.class, BatchOptions.builder().maxPerHost(2).build())) {
+            results = batch.collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(results.get(0).getValue(), equalTo(new SimpleBean("item1")));
+        assertThat(results.get(1).getFailure(), instanceOf(HttpStatusException.class));
+        assertThat(results.get(2).getValue(), equalTo(new SimpleBean("item3")));
+    }
 }
@@ -0,0 +1,158 @@
+package org.orthodoxengineering.restclient.httpurlrestclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.beanplanet.core.net.http.HttpResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.SimpleBean;
+import org.orthodoxengineering.restclient.cache.ObjectCache;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
+import static org.beanplanet.core.net.http.HttpStatusCode.OK;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@WireMockTest
+public class RequestBodyMethodsTest {
+    private static HttpUrlRestClient client;
+
+    @BeforeAll
+    static void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectMapper xmlMapper = new XmlMapper();
+        xmlMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        client = HttpUrlRestClient.builder().objectMapper(objectMapper).xmlMapper(xmlMapper).build();
+    }
+
+    @Test
+    void post_uri_entity_type_bodyStreamedAsJson(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(post("/items").withRequestBody(equalToJson("{\"stringProperty\": \"new\"}"))
+                              .willReturn(created().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{\"stringProperty\": \"created\"}")));
+
+        // When
+        final SimpleBean created = client.post(wireMockRuntimeInfo.getHttpBaseUrl() + "/items", new SimpleBean("new"), SimpleBean.class);
+
+        // Then
+        assertThat(created, equalTo(new SimpleBean("created")));
+        verify(postRequestedFor(urlEqualTo("/items")).withHeader(HttpHeaders.CONTENT_TYPE, WireMock.equalTo("application/json"))
+                                                     .withHeader("Transfer-Encoding", WireMock.equalTo("chunked")));
+    }
+
+    @Test
+    void put_request_xmlContentType_bodySerializedAsXml(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(put("/items/1").willReturn(noContent()));
+        final RestRequest request = RestRequest.put(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/1")
+                                               .setHeader(HttpHeaders.CONTENT_TYPE, "application/xml")
+                                               .withBody(new SimpleBean("updated"));
+
+        // When
+        final int statusCode = client.execute(request, HttpResponse::getStatusCode);
+
+        // Then
+        assertThat(statusCode, equalTo(204));
+        verify(putRequestedFor(urlEqualTo("/items/1")).withRequestBody(equalToXml("<SimpleBean><stringProperty>updated</stringProperty></SimpleBean>")));
+    }
+
+    @Test
+    void put_uri_requestBodyOfKnownLength_sentWithContentLength(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(put("/documents/1").willReturn(ok()));
+
+        // When
+        final int statusCode = client.put(wireMockRuntimeInfo.getHttpBaseUrl() + "/documents/1",
+                                          RequestBody.of("Hello World!".getBytes(UTF_8), "text/plain"),
+                                          HttpResponse::getStatusCode);
+
+        // Then
+        assertThat(statusCode, equalTo(OK));
+        verify(putRequestedFor(urlEqualTo("/documents/1")).withHeader(HttpHeaders.CONTENT_TYPE, WireMock.equalTo("text/plain"))
+                                                          .withHeader("Content-Length", WireMock.equalTo("12"))
+                                                          .withRequestBody(WireMock.equalTo("Hello World!")));
+    }
+
+    @Test
+    void patch_uri_entity_methodOverrideNotEnabled_fails(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Then
+        assertThrows(RestException.class, () -> client.patch(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/1", new SimpleBean("patched"), HttpResponse::getStatusCode));
+        verify(0, anyRequestedFor(anyUrl()));
+    }
+
+    @Test
+    void patch_uri_entity_methodOverrideEnabled_sentAsPostWithMethodOverride(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HttpUrlRestClient overridingClient = HttpUrlRestClient.builder().patchMethodOverride(true).build();
+        stubFor(post("/items/1").withHeader("X-HTTP-Method-Override", WireMock.equalTo("PATCH"))
+                                .withRequestBody(equalToJson("{\"stringProperty\": \"patched\"}"))
+                                .willReturn(ok()));
+
+        // When
+        final int statusCode = overridingClient.patch(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/1", new SimpleBean("patched"), HttpResponse::getStatusCode);
+
+        // Then
+        assertThat(statusCode, equalTo(OK));
+    }
+
+    @Test
+    void put_uri_entity_successful_invalidatesCachedObjects(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HttpUrlRestClient cachingClient = HttpUrlRestClient.builder().objectCache(ObjectCache.builder().timeToLive(Duration.ofMinutes(1)).build()).build();
+        final String uri = wireMockRuntimeInfo.getHttpBaseUrl() + "/items/2";
+        stubFor(get("/items/2").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{\"stringProperty\": \"original\"}")));
+        cachingClient.get(uri, SimpleBean.class);
+        stubFor(put("/items/2").willReturn(noContent()));
+        stubFor(get("/items/2").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{\"stringProperty\": \"updated\"}")));
+
+        // When
+        cachingClient.put(uri, new SimpleBean("updated"), HttpResponse::getStatusCode);
+        final SimpleBean afterPut = cachingClient.get(uri, SimpleBean.class);
+
+        // Then
+        assertThat(afterPut, equalTo(new SimpleBean("updated")));
+        verify(2, getRequestedFor(urlEqualTo("/items/2")));
+    }
+
+    @Test
+    void delete_uri_responseHandler_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(delete("/items/1").willReturn(noContent()));
+
+        // When
+        final int statusCode = client.delete(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/1", HttpResponse::getStatusCode);
+
+        // Then
+        assertThat(statusCode, equalTo(204));
+        verify(deleteRequestedFor(urlEqualTo("/items/1")));
+    }
+
+    @Test
+    void head_uri_statusWithoutEntity(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(head(urlEqualTo("/items/1")).willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName())));
+
+        // When
+        final HttpResponse response = client.head(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/1");
+
+        // Then
+        assertThat(response.getStatusCode(), equalTo(OK));
+        assertThat(response.getEntity(), nullValue());
+    }
+}
@@ -0,0 +1,164 @@
+package org.orthodoxengineering.restclient.httpurlrestclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.beanplanet.core.mediatypes.MediaTypes;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.beanplanet.testing.beans.TestBean;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+import org.orthodoxengineering.restclient.SimpleBean;
+import org.orthodoxengineering.restclient.metrics.HdrMetricsRecorder;
+import org.orthodoxengineering.restclient.metrics.RequestPhase;
+import org.orthodoxengineering.restclient.metrics.StatusClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static java.util.Arrays.asList;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
+import static org.beanplanet.core.net.http.HttpStatusCode.OK;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@WireMockTest
+public class StreamingGetMethodTest {
+    private static HttpUrlRestClient client;
+
+    @BeforeAll
+    static void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        client = HttpUrlRestClient.builder().objectMapper(objectMapper).streamingResponses(true).build();
+    }
+
+    @Test
+    void get_uri_responseHandler_withStringEntity_readWithinHandler(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", r -> r.getEntity().readFullyAsString());
+
+        // Then
+        assertThat(body, equalTo("Hello World!"));
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+    }
+
+    @Test
+    void get_uri_statusCode_type_withJsonEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final TestBean expected = new TestBean("theStringProperty");
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(new ObjectMapper().writeValueAsString(expected))));
+
+        // When
+        final TestBean actual = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", OK, TestBean.class);
+
+        // Then
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void getForList_uri_type_withJsonEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final List<SimpleBean> expected = asList(new SimpleBean("item1"), new SimpleBean("item2"), new SimpleBean("item3"));
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(client.getObjectMapper().writeValueAsString(expected))));
+
+        // When
+        final List<SimpleBean> actual = client.getForList(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class);
+
+        // Then
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void get_uri_responseHandler_unreadEntity_releasesConnection(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final int statusCode = client.getForStatusCode(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod");
+
+        // Then
+        assertThat(statusCode, equalTo(OK));
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+        assertThat(client.getPoolStats().getIdle(), equalTo(1));
+    }
+
+    @Test
+    void getForStream_uri_type_withJsonEntity_streamsElements(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final List<SimpleBean> expected = asList(new SimpleBean("item1"), new SimpleBean("item2"), new SimpleBean("item3"));
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(client.getObjectMapper().writeValueAsString(expected))));
+
+        // When
+        final List<SimpleBean> actual;
+        try (Stream<SimpleBean> elements = client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class)) {
+            actual = elements.collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(actual, equalTo(expected));
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+    }
+
+    @Test
+    void getForEach_uri_type_withJsonEntity_partiallyReadStreamReleasesConnection(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final List<SimpleBean> items = asList(new SimpleBean("item1"), new SimpleBean("item2"), new SimpleBean("item3"));
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(client.getObjectMapper().writeValueAsString(items))));
+
+        // When
+        final List<SimpleBean> actual = new ArrayList<>();
+        client.getForEach(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class, actual::add);
+        try (Stream<SimpleBean> elements = client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class)) {
+            assertThat(elements.findFirst().orElse(null), equalTo(items.get(0)));
+        }
+
+        // Then
+        assertThat(actual, equalTo(items));
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+    }
+
+    @Test
+    void getForStream_uri_type_withNdjsonEntity_streamsRecords(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, "application/x-ndjson")
+                                                 .withBody("{\"stringProperty\":\"item1\"}\n\n{\"stringProperty\":\"item2\"}\r\n{\"stringProperty\":\"item3\"}")));
+
+        // When
+        final List<SimpleBean> actual;
+        try (Stream<SimpleBean> records = client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class)) {
+            actual = records.collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(actual, equalTo(asList(new SimpleBean("item1"), new SimpleBean("item2"), new SimpleBean("item3"))));
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+    }
+
+    @Test
+    void getForStream_uri_type_metered_requestPhaseRecordedOnClose(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HdrMetricsRecorder metricsRecorder = new HdrMetricsRecorder();
+        final HttpUrlRestClient meteredClient = HttpUrlRestClient.builder().objectMapper(client.getObjectMapper()).metricsRecorder(metricsRecorder).build();
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, "application/x-ndjson")
+                                                 .withBody("{\"stringProperty\":\"item1\"}\n{\"stringProperty\":\"item2\"}")));
+
+        // When
+        try (Stream<SimpleBean> records = meteredClient.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", SimpleBean.class)) {
+            assertThat(metricsRecorder.getActiveRequests("localhost"), equalTo(1L));
+            records.forEach(record -> {});
+        }
+
+        // Then
+        assertThat(metricsRecorder.getIntervalHistogram("localhost", "/getmethod", RequestPhase.REQUEST, StatusClass.SUCCESSFUL).getTotalCount(), equalTo(1L));
+        assertThat(metricsRecorder.getActiveRequests("localhost"), equalTo(0L));
+    }
+}
@@ -0,0 +1,98 @@
+package org.orthodoxengineering.restclient.interceptor;
+
+import org.beanplanet.core.net.http.HttpResponse;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.RestResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class InterceptorChainTest {
+    @Test
+    void empty_returnsRequestsAndResponsesAsTheyAre() {
+        // Given
+        final InterceptorChain chain = InterceptorChain.of(Collections.emptyList());
+        final RestRequest request = RestRequest.get("http://example.com/items");
+        final HttpResponse response = new RestResponse(200, "OK", null);
+
+        // Then
+        assertThat(chain, sameInstance(InterceptorChain.empty()));
+        assertThat(chain.isEmpty(), is(true));
+        assertThat(chain.onRequest(request), sameInstance(request));
+        assertThat(chain.onResponse(request, response), sameInstance(response));
+    }
+
+    @Test
+    void onRequest_inOrder_onResponse_inReverseOrder() {
+        // Given
+        final List<String> calls = new ArrayList<>();
+        final InterceptorChain chain = InterceptorChain.of(Arrays.asList(new NamedInterceptor("first", calls), new NamedInterceptor("second", calls)));
+        final RestRequest request = RestRequest.get("http://example.com/items");
+
+        // When
+        final RestRequest intercepted = chain.onRequest(request);
+        chain.onResponse(intercepted, new RestResponse(200, "OK", null));
+
+        // Then
+        assertThat(calls, equalTo(Arrays.asList("first:request", "second:request", "second:response", "first:response")));
+        assertThat(intercepted.getHeaderValue("X-Intercepted-By"), equalTo("second"));
+        assertThat(request.getHeaderValue("X-Intercepted-By"), nullValue());
+    }
+
+    @Test
+    void onResponse_responseReplacedByInterceptor_replacementPassedToEarlierInterceptors() {
+        // Given
+        final HttpResponse replacement = new RestResponse(503, "Service Unavailable", null);
+        final List<HttpResponse> seen = new ArrayList<>();
+        final InterceptorChain chain = InterceptorChain.of(Arrays.asList(new RestInterceptor() {
+            @Override
+            public HttpResponse onResponse(final RestRequest request, final HttpResponse response) {
+                seen.add(response);
+                return response;
+            }
+        }, new RestInterceptor() {
+            @Override
+            public HttpResponse onResponse(final RestRequest request, final HttpResponse response) {
+                return replacement;
+            }
+        }));
+
+        // When
+        final HttpResponse response = chain.onResponse(RestRequest.get("http://example.com/items"), new RestResponse(200, "OK", null));
+
+        // Then
+        assertThat(response, sameInstance(replacement));
+        assertThat(seen, equalTo(Collections.singletonList(replacement)));
+    }
+
+    private static final class NamedInterceptor implements RestInterceptor {
+        private final String name;
+        private final List<String> calls;
+
+        private NamedInterceptor(final String name, final List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public RestRequest onRequest(final RestRequest request) {
+            calls.add(name + ":request");
+            return new RestRequest(request).setHeader("X-Intercepted-By", name);
+        }
+
+        @Override
+        public HttpResponse onResponse(final RestRequest request, final HttpResponse response) {
+            calls.add(name + ":response");
+            return response;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.orthodoxengineering.restclient.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class HdrMetricsRecorderTest {
+    @Test
+    void recordPhase_recordsByHostUriTemplatePhaseAndStatusClass() {
+        // Given
+        final HdrMetricsRecorder recorder = new HdrMetricsRecorder();
+
+        // When
+        recorder.recordPhase(RequestPhase.REQUEST, "example.com", "/items/{id}", StatusClass.SUCCESSFUL, 1_000_000);
+        recorder.recordPhase(RequestPhase.REQUEST, "example.com", "/items/{id}", StatusClass.SUCCESSFUL, 3_000_000);
+        recorder.recordPhase(RequestPhase.REQUEST, "example.com", "/items/{id}", StatusClass.SERVER_ERROR, 5_000_000);
+
+        // Then
+        final Histogram successful = recorder.getIntervalHistogram("example.com", "/items/{id}", RequestPhase.REQUEST, StatusClass.SUCCESSFUL);
+        assertThat(successful.getTotalCount(), equalTo(2L));
+        assertThat(successful.valuesAreEquivalent(successful.getMaxValue(), 3_000_000), equalTo(true));
+        assertThat(recorder.getIntervalHistogram("example.com", "/items/{id}", RequestPhase.REQUEST, StatusClass.SERVER_ERROR).getTotalCount(), equalTo(1L));
+        assertThat(recorder.getIntervalHistogram("example.com", "/items/{id}", RequestPhase.TIME_TO_FIRST_BYTE, StatusClass.SUCCESSFUL), nullValue());
+        assertThat(recorder.getIntervalHistogram("example.org", "/items/{id}", RequestPhase.REQUEST, StatusClass.SUCCESSFUL), nullValue());
+        assertThat(recorder.getHosts(), hasItem("example.com"));
+        assertThat(recorder.getUriTemplates("example.com"), hasItem("/items/{id}"));
+    }
+
+    @Test
+    void getIntervalHistogram_returnsOnlyDurationsRecordedSinceLastRead() {
+        // Given
+        final HdrMetricsRecorder recorder = new HdrMetricsRecorder();
+        recorder.recordPhase(RequestPhase.BODY_TRANSFER, "example.com", MetricsRecorder.NO_URI_TEMPLATE, StatusClass.SUCCESSFUL, 1_000);
+        recorder.getIntervalHistogram("example.com", MetricsRecorder.NO_URI_TEMPLATE, RequestPhase.BODY_TRANSFER, StatusClass.SUCCESSFUL);
+
+        // When
+        recorder.recordPhase(RequestPhase.BODY_TRANSFER, "example.com", MetricsRecorder.NO_URI_TEMPLATE, StatusClass.SUCCESSFUL, 2_000);
+
+        // Then
+        assertThat(recorder.getIntervalHistogram("example.com", MetricsRecorder.NO_URI_TEMPLATE, RequestPhase.BODY_TRANSFER, StatusClass.SUCCESSFUL).getTotalCount(), equalTo(1L));
+    }
+
+    @Test
+    void recordPhase_durationBeyondHighestTrackable_recordedAsHighestTrackable() {
+        // Given
+        final HdrMetricsRecorder recorder = new HdrMetricsRecorder(TimeUnit.SECONDS.toNanos(1), 2);
+
+        // When
+        recorder.recordPhase(RequestPhase.REQUEST, "example.com", "/slow", StatusClass.NONE, TimeUnit.MINUTES.toNanos(1));
+
+        // Then
+        final Histogram histogram = recorder.getIntervalHistogram("example.com", "/slow", RequestPhase.REQUEST, StatusClass.NONE);
+        assertThat(histogram.getTotalCount(), equalTo(1L));
+        assertThat(histogram.valuesAreEquivalent(histogram.getMaxValue(), TimeUnit.SECONDS.toNanos(1)), equalTo(true));
+    }
+
+    @Test
+    void counters_accumulatedPerHostAndUriTemplate() {
+        // Given
+        final HdrMetricsRecorder recorder = new HdrMetricsRecorder();
+
+        // When
+        recorder.requestStarted("example.com");
+        recorder.requestStarted("example.com");
+        recorder.requestFinished("example.com");
+        recorder.recordBytesIn("example.com", 100);
+        recorder.recordBytesIn("example.com", 28);
+        recorder.recordException("example.com", "/items", new IOException());
+
+        // Then
+        assertThat(recorder.getActiveRequests("example.com"), equalTo(1L));
+        assertThat(recorder.getBytesIn("example.com"), equalTo(128L));
+        assertThat(recorder.getExceptionCount("example.com", "/items"), equalTo(1L));
+        assertThat(recorder.getExceptionCount("example.com", "/other"), equalTo(0L));
+        assertThat(recorder.getBytesIn("example.org"), equalTo(0L));
+    }
+
+    @Test
+    void statusClassOf_classifiesStatusCodes() {
+        assertThat(StatusClass.of(-1), equalTo(StatusClass.NONE));
+        assertThat(StatusClass.of(99), equalTo(StatusClass.NONE));
+        assertThat(StatusClass.of(101), equalTo(StatusClass.INFORMATIONAL));
+        assertThat(StatusClass.of(204), equalTo(StatusClass.SUCCESSFUL));
+        assertThat(StatusClass.of(304), equalTo(StatusClass.REDIRECTION));
+        assertThat(StatusClass.of(404), equalTo(StatusClass.CLIENT_ERROR));
+        assertThat(StatusClass.of(503), equalTo(StatusClass.SERVER_ERROR));
+        assertThat(StatusClass.of(600), equalTo(StatusClass.NONE));
+    }
+}
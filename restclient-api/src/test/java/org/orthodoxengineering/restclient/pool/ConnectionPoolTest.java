@@ -0,0 +1,111 @@
+package org.orthodoxengineering.restclient.pool;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConnectionPoolTest {
+    private static final Route ROUTE = new Route("http", "localhost", 8080);
+    private static final Route OTHER_ROUTE = new Route("http", "otherhost", 8080);
+
+    @Test
+    void constructor_defaultLimits_maxPerRouteIsKeepAliveCacheSize() {
+        // When
+        final ConnectionPool pool = new ConnectionPool();
+
+        // Then
+        assertThat(pool.getMaxPerRoute(), equalTo(ConnectionPool.keepAliveCacheSize()));
+        assertThat(pool.getStats(ROUTE).getMax(), equalTo(ConnectionPool.keepAliveCacheSize()));
+    }
+
+    @Test
+    void httpUrlRestClientBuilder_defaultLimits_maxPerRouteIsKeepAliveCacheSize() {
+        // When
+        final HttpUrlRestClient.HttpUrlRestClientBuilder builder = HttpUrlRestClient.builder();
+
+        // Then
+        assertThat(builder.getMaxConnectionsPerRoute(), equalTo(ConnectionPool.keepAliveCacheSize()));
+    }
+
+    @Test
+    void lease_reusesReleasedConnection() {
+        // Given
+        final ConnectionPool pool = new ConnectionPool();
+        final PooledConnection first = pool.lease(ROUTE);
+        pool.release(first, true);
+
+        // When
+        final PooledConnection second = pool.lease(ROUTE);
+
+        // Then
+        assertThat(second, sameInstance(first));
+        assertThat(pool.getTotalStats().getCreated(), equalTo(1L));
+        assertThat(pool.getTotalStats().getLeased(), equalTo(1));
+        assertThat(pool.getTotalStats().getIdle(), equalTo(0));
+    }
+
+    @Test
+    void release_notReusable_closesConnection() {
+        // Given
+        final ConnectionPool pool = new ConnectionPool();
+
+        // When
+        pool.release(pool.lease(ROUTE), false);
+
+        // Then
+        final PoolStats stats = pool.getStats(ROUTE);
+        assertThat(stats.getLeased(), equalTo(0));
+        assertThat(stats.getIdle(), equalTo(0));
+        assertThat(stats.getCreated(), equalTo(1L));
+        assertThat(stats.getClosed(), equalTo(1L));
+    }
+
+    @Test
+    void lease_routeLimitReached_timesOut() {
+        // Given
+        final ConnectionPool pool = new ConnectionPool(1, 10, null, null, Duration.ofMillis(50));
+        pool.lease(ROUTE);
+
+        // Then
+        assertThrows(PoolTimeoutException.class, () -> pool.lease(ROUTE));
+        assertThat(pool.getStats(ROUTE).getPending(), equalTo(0));
+    }
+
+    @Test
+    void lease_totalLimitReached_evictsIdleConnectionOfAnotherRoute() {
+        // Given
+        final ConnectionPool pool = new ConnectionPool(2, 1, null, null, Duration.ofMillis(50));
+        pool.release(pool.lease(OTHER_ROUTE), true);
+
+        // When
+        final PooledConnection connection = pool.lease(ROUTE);
+
+        // Then
+        assertThat(connection.getRoute(), equalTo(ROUTE));
+        assertThat(pool.getStats(OTHER_ROUTE).getIdle(), equalTo(0));
+        assertThat(pool.getStats(OTHER_ROUTE).getClosed(), equalTo(1L));
+    }
+
+    @Test
+    void lease_afterTimeToLiveExpires_requestsClose() throws Exception {
+        // Given
+        final ConnectionPool pool = new ConnectionPool(2, 2, null, Duration.ofMillis(1), null);
+        pool.release(pool.lease(ROUTE), true);
+        Thread.sleep(5);
+
+        // When
+        final PooledConnection connection = pool.lease(ROUTE);
+
+        // Then
+        assertThat(connection.isCloseRequested(), is(true));
+        assertThat(pool.getTotalStats().getCreated(), equalTo(2L));
+        assertThat(pool.getTotalStats().getClosed(), equalTo(1L));
+    }
+}
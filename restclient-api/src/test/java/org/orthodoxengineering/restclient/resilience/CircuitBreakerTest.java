@@ -0,0 +1,150 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CircuitBreakerTest {
+    private static final Route ROUTE = new Route("http", "localhost", 8080);
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final MutableClock clock = new MutableClock();
+    private final CircuitBreakers circuitBreakers = CircuitBreakers.builder()
+                                                                   .slidingWindowSize(10)
+                                                                   .minimumNumberOfCalls(4)
+                                                                   .failureRateThreshold(0.5)
+                                                                   .slowCallThreshold(Duration.ofSeconds(1), 0.75)
+                                                                   .waitDurationInOpenState(Duration.ofSeconds(30))
+                                                                   .permittedCallsInHalfOpenState(2)
+                                                                   .clock(clock)
+                                                                   .build();
+
+    @Test
+    void failureRateReached_opensAndRejects() {
+        // Given
+        final CircuitBreaker circuitBreaker = circuitBreakers.forRoute(ROUTE);
+
+        // When
+        call(circuitBreaker, false, FAST);
+        call(circuitBreaker, true, FAST);
+        call(circuitBreaker, false, FAST);
+        call(circuitBreaker, true, FAST);
+
+        // Then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        final CircuitBreakerOpenException rejectedEx = assertThrows(CircuitBreakerOpenException.class, circuitBreaker::acquirePermission);
+        assertThat(rejectedEx.getRoute(), equalTo(ROUTE));
+        assertThat(rejectedEx.getRetryAfter(), equalTo(Duration.ofSeconds(30)));
+        assertThat(circuitBreaker.getRejectedCount(), equalTo(1L));
+    }
+
+    @Test
+    void slowCallRateReached_opens() {
+        // Given
+        final CircuitBreaker circuitBreaker = circuitBreakers.forRoute(ROUTE);
+
+        // When
+        for (int n = 0; n < 3; n++) {
+            call(circuitBreaker, false, SLOW);
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+
+        // When
+        call(circuitBreaker, false, SLOW);
+
+        // Then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    void halfOpen_probesSuccessful_closes() {
+        // Given
+        final CircuitBreaker circuitBreaker = opened();
+        clock.advance(Duration.ofSeconds(30));
+
+        // When
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+
+        // Then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.HALF_OPEN));
+        assertThrows(CircuitBreakerOpenException.class, circuitBreaker::acquirePermission);
+
+        // When
+        circuitBreaker.onResult(false, FAST);
+        circuitBreaker.onResult(false, FAST);
+
+        // Then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    void halfOpen_probeFailed_opensAgain() {
+        // Given
+        final CircuitBreaker circuitBreaker = opened();
+        clock.advance(Duration.ofSeconds(30));
+
+        // When
+        call(circuitBreaker, true, FAST);
+        call(circuitBreaker, false, FAST);
+
+        // Then
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    void forUri_sameRoute_sameCircuitBreaker() {
+        assertThat(circuitBreakers.forUri("http://localhost:8080/a"), sameInstance(circuitBreakers.forUri("http://LOCALHOST:8080/b?c")));
+        assertThat(circuitBreakers.forUri("not a url"), equalTo(null));
+    }
+
+    private CircuitBreaker opened() {
+        final CircuitBreaker circuitBreaker = circuitBreakers.forRoute(ROUTE);
+        for (int n = 0; n < 4; n++) {
+            call(circuitBreaker, true, FAST);
+        }
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        return circuitBreaker;
+    }
+
+    private static void call(final CircuitBreaker circuitBreaker, final boolean failed, final long durationNanos) {
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onResult(failed, durationNanos);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrencyLimiterTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    @Test
+    void acquire_limitReached_shed() {
+        // Given
+        final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder().initialLimit(2).build();
+        limiter.acquire();
+        limiter.acquire();
+
+        // Then
+        final ConcurrencyLimitExceededException shedEx = assertThrows(ConcurrencyLimitExceededException.class, limiter::acquire);
+        assertThat(shedEx.getLimit(), equalTo(2));
+        assertThat(limiter.getRejectedCount(), equalTo(1L));
+
+        // When
+        limiter.onIgnored();
+
+        // Then
+        limiter.acquire();
+        assertThat(limiter.getInFlight(), equalTo(2));
+    }
+
+    @Test
+    void onComplete_fastUnderLoad_additiveIncrease() {
+        // Given
+        final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder().initialLimit(4).latencyThreshold(Duration.ofSeconds(1)).build();
+        limiter.acquire();
+        limiter.acquire();
+
+        // When
+        limiter.onComplete(false, FAST);
+
+        // Then
+        assertThat(limiter.getLimit(), equalTo(5));
+
+        // When the limit is not in use
+        limiter.onComplete(false, FAST);
+
+        // Then
+        assertThat(limiter.getLimit(), equalTo(5));
+    }
+
+    @Test
+    void onComplete_slowOrFailed_multiplicativeDecreaseToMinimum() {
+        // Given
+        final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder().initialLimit(100).limits(2, 200).backoffRatio(0.5).latencyThreshold(Duration.ofSeconds(1)).build();
+
+        // When
+        limiter.acquire();
+        limiter.onComplete(false, SLOW);
+        limiter.acquire();
+        limiter.onComplete(true, FAST);
+
+        // Then
+        assertThat(limiter.getLimit(), equalTo(25));
+
+        // When
+        for (int n = 0; n < 10; n++) {
+            limiter.acquire();
+            limiter.onComplete(true, FAST);
+        }
+
+        // Then
+        assertThat(limiter.getLimit(), equalTo(2));
+    }
+}
@@ -0,0 +1,193 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.beanplanet.core.mediatypes.MediaTypes;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.DeadlineExceededException;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+import org.orthodoxengineering.restclient.RestClient;
+import org.orthodoxengineering.restclient.RestException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@WireMockTest
+public class ResilienceTest {
+    private static final RetryPolicy NO_BACKOFF = RetryPolicy.builder().backoff(Duration.ZERO, Duration.ZERO, 1.0).build();
+
+    @Test
+    void get_retryableStatus_retriedUntilSuccessful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Resilience resilience = Resilience.builder().retryPolicy(NO_BACKOFF).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).build();
+        stubFor(get("/flaky").inScenario("flaky").whenScenarioStateIs(Scenario.STARTED)
+                             .willReturn(serviceUnavailable())
+                             .willSetStateTo("recovered"));
+        stubFor(get("/flaky").inScenario("flaky").whenScenarioStateIs("recovered")
+                             .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/flaky", String.class);
+
+        // Then
+        assertThat(body, equalTo("Hello World!"));
+        verify(2, getRequestedFor(urlEqualTo("/flaky")));
+        assertThat(resilience.getRetryCount(), equalTo(1L));
+    }
+
+    @Test
+    void getForStream_retryableStatus_retriedUntilSuccessful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Resilience resilience = Resilience.builder().retryPolicy(NO_BACKOFF).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).build();
+        stubFor(get("/flaky").inScenario("flaky").whenScenarioStateIs(Scenario.STARTED)
+                             .willReturn(serviceUnavailable())
+                             .willSetStateTo("recovered"));
+        stubFor(get("/flaky").inScenario("flaky").whenScenarioStateIs("recovered")
+                             .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, "application/x-ndjson").withBody("\"item1\"\n\"item2\"")));
+
+        // When
+        final List<String> items;
+        try (Stream<String> elements = client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/flaky", String.class)) {
+            items = elements.collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(items, equalTo(Arrays.asList("item1", "item2")));
+        verify(2, getRequestedFor(urlEqualTo("/flaky")));
+        assertThat(resilience.getRetryCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_nonRetryableStatus_notRetried(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Resilience resilience = Resilience.builder().retryPolicy(NO_BACKOFF).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).build();
+        stubFor(get("/missing").willReturn(notFound()));
+
+        // Then
+        assertThrows(RestException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/missing", String.class));
+        verify(1, getRequestedFor(urlEqualTo("/missing")));
+        assertThat(resilience.getRetryCount(), equalTo(0L));
+    }
+
+    @Test
+    void get_retryBudgetExhausted_finalResponseHandled(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Resilience resilience = Resilience.builder().retryPolicy(NO_BACKOFF).retryBudget(new RetryBudget(2, 0.1)).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).build();
+        stubFor(get("/down").willReturn(serviceUnavailable()));
+
+        // Then
+        assertThrows(RestException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+        verify(1, getRequestedFor(urlEqualTo("/down")));
+        assertThat(resilience.getThrottledCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_slowResponse_hedgedRequestUsed(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HedgePolicy hedgePolicy = HedgePolicy.builder().delay(Duration.ofMillis(10), Duration.ofMillis(50)).build();
+        final Resilience resilience = Resilience.builder().hedgePolicy(hedgePolicy).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).build();
+        stubFor(get("/slow").inScenario("slow").whenScenarioStateIs(Scenario.STARTED)
+                            .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName())
+                                            .withBody("Slow").withFixedDelay(5_000))
+                            .willSetStateTo("fast"));
+        stubFor(get("/slow").inScenario("slow").whenScenarioStateIs("fast")
+                            .willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Fast")));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/slow", String.class);
+
+        // Then
+        assertThat(body, equalTo("Fast"));
+        assertThat(resilience.getHedgeCount(), equalTo(1L));
+        assertThat(resilience.getHedgeWinCount(), equalTo(1L));
+    }
+
+    @Test
+    void get_slowResponse_hedgesThrottledByRetryBudget(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final HedgePolicy hedgePolicy = HedgePolicy.builder().delay(Duration.ofMillis(10), Duration.ofMillis(10)).maxHedges(3).build();
+        final Resilience resilience = Resilience.builder().hedgePolicy(hedgePolicy).retryBudget(new RetryBudget(2, 0.1)).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).build();
+        stubFor(get("/slow").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName())
+                                            .withBody("Slow").withFixedDelay(500)));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/slow", String.class);
+
+        // Then
+        assertThat(body, equalTo("Slow"));
+        assertThat(resilience.getHedgeCount(), equalTo(1L));
+        assertThat(resilience.getThrottledCount(), equalTo(2L));
+        verify(2, getRequestedFor(urlEqualTo("/slow")));
+    }
+
+    @Test
+    void get_circuitBreakerOpened_failsFastWithoutRequest(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final CircuitBreakers circuitBreakers = CircuitBreakers.builder().slidingWindowSize(2).minimumNumberOfCalls(2).build();
+        final RestClient client = HttpUrlRestClient.builder().circuitBreakers(circuitBreakers).build();
+        stubFor(get("/down").willReturn(serviceUnavailable()));
+        assertThrows(RestException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+        assertThrows(RestException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+
+        // Then
+        assertThrows(CircuitBreakerOpenException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+        verify(2, getRequestedFor(urlEqualTo("/down")));
+    }
+
+    @Test
+    void getForStream_circuitBreakerOpened_failsFastWithoutRequest(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final CircuitBreakers circuitBreakers = CircuitBreakers.builder().slidingWindowSize(2).minimumNumberOfCalls(2).build();
+        final RestClient client = HttpUrlRestClient.builder().circuitBreakers(circuitBreakers).build();
+        stubFor(get("/down").willReturn(serviceUnavailable()));
+        assertThrows(RestException.class, () -> client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+        assertThrows(RestException.class, () -> client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+
+        // Then
+        assertThrows(CircuitBreakerOpenException.class, () -> client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/down", String.class));
+        verify(2, getRequestedFor(urlEqualTo("/down")));
+    }
+
+    @Test
+    void getForStream_concurrencyLimiter_slotHeldUntilStreamClosed(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.builder().build();
+        final RestClient client = HttpUrlRestClient.builder().concurrencyLimiter(concurrencyLimiter).build();
+        stubFor(get("/items").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, "application/x-ndjson").withBody("\"item1\"\n\"item2\"")));
+
+        // When
+        try (Stream<String> elements = client.getForStream(wireMockRuntimeInfo.getHttpBaseUrl() + "/items", String.class)) {
+            // Then
+            assertThat(concurrencyLimiter.getInFlight(), equalTo(1));
+        }
+        assertThat(concurrencyLimiter.getInFlight(), equalTo(0));
+    }
+
+    @Test
+    void get_requestTimeoutPassesDuringRetries_failsWithDeadlineExceeded(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Resilience resilience = Resilience.builder().retryPolicy(NO_BACKOFF).build();
+        final RestClient client = HttpUrlRestClient.builder().resilience(resilience).requestTimeout(Duration.ofMillis(300)).build();
+        stubFor(get("/slow").willReturn(serviceUnavailable().withFixedDelay(200)));
+
+        // Then
+        assertThrows(DeadlineExceededException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/slow", String.class));
+        verify(2, getRequestedFor(urlEqualTo("/slow")));
+    }
+}
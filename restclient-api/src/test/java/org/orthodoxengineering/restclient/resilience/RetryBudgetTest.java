@@ -0,0 +1,67 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class RetryBudgetTest {
+    @Test
+    void canRetry_untilHalfOfTokensTakenByFailures() {
+        // Given
+        final RetryBudget budget = new RetryBudget(4, 0.5);
+
+        // When
+        budget.recordFailure();
+
+        // Then
+        assertThat(budget.canRetry(), is(true));
+
+        // When
+        budget.recordFailure();
+
+        // Then
+        assertThat(budget.canRetry(), is(false));
+    }
+
+    @Test
+    void recordSuccess_refillsTokensUpToCapacity() {
+        // Given
+        final RetryBudget budget = new RetryBudget(4, 0.5);
+        budget.recordFailure();
+        budget.recordFailure();
+
+        // When
+        budget.recordSuccess();
+
+        // Then
+        assertThat(budget.getTokens(), equalTo(2.5));
+        assertThat(budget.canRetry(), is(true));
+
+        // When
+        for (int n = 0; n < 10; n++) {
+            budget.recordSuccess();
+        }
+
+        // Then
+        assertThat(budget.getTokens(), equalTo(4.0));
+    }
+
+    @Test
+    void tryAcquire_takesTokenOnlyWhileMoreThanHalfFull() {
+        // Given
+        final RetryBudget budget = new RetryBudget(4, 0.5);
+
+        // When
+        final boolean first = budget.tryAcquire();
+        final boolean second = budget.tryAcquire();
+        final boolean third = budget.tryAcquire();
+
+        // Then
+        assertThat(first, is(true));
+        assertThat(second, is(true));
+        assertThat(third, is(false));
+        assertThat(budget.getTokens(), equalTo(2.0));
+    }
+}
@@ -0,0 +1,74 @@
+package org.orthodoxengineering.restclient.resilience;
+
+import org.beanplanet.core.io.IoException;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class RetryPolicyTest {
+    private static final RestRequest GET = RestRequest.get("http://localhost/");
+    private static final RestRequest POST = new RestRequest("POST", "http://localhost/");
+
+    @Test
+    void isRetryable_defaults_ioFailuresAndGatewayStatusesOfIdempotentRequests() {
+        // Given
+        final RetryPolicy policy = RetryPolicy.defaults();
+
+        // Then
+        assertThat(policy.isRetryable(GET, new IoException(new SocketTimeoutException())), is(true));
+        assertThat(policy.isRetryable(GET, new IoException(new MalformedURLException())), is(false));
+        assertThat(policy.isRetryable(GET, new RestException("Unexpected HTTP response code")), is(false));
+        assertThat(policy.isRetryable(GET, 503), is(true));
+        assertThat(policy.isRetryable(GET, 500), is(false));
+        assertThat(policy.isRetryable(POST, 503), is(false));
+        assertThat(policy.isRetryable(POST, new IoException(new IOException())), is(false));
+    }
+
+    @Test
+    void isRetryable_configured_statusCodesExceptionTypesAndMethods() {
+        // Given
+        final RetryPolicy policy = RetryPolicy.builder().retryOnStatus(429).retryOn(IllegalStateException.class).retryMethods("post").build();
+
+        // Then
+        assertThat(policy.isRetryable(POST, 429), is(true));
+        assertThat(policy.isRetryable(POST, 503), is(false));
+        assertThat(policy.isRetryable(POST, new RestException(new IllegalStateException())), is(true));
+        assertThat(policy.isRetryable(GET, 429), is(false));
+    }
+
+    @Test
+    void isRetryable_requestBodyWhichCannotBeWrittenAgain_notRetried() {
+        // Given
+        final RetryPolicy policy = RetryPolicy.builder().retryMethods("PUT").build();
+        final RestRequest repeatable = RestRequest.put("http://localhost/").withBody(RequestBody.of(new byte[] {1}, null));
+        final RestRequest writableOnce = RestRequest.put("http://localhost/").withBody(RequestBody.of(new ByteArrayInputStream(new byte[] {1}), 1, null));
+
+        // Then
+        assertThat(policy.isRetryable(repeatable, 503), is(true));
+        assertThat(policy.isRetryable(writableOnce, 503), is(false));
+    }
+
+    @Test
+    void backoffMillis_exponentialJitteredAndCapped() {
+        // Given
+        final RetryPolicy policy = RetryPolicy.builder().backoff(Duration.ofMillis(100), Duration.ofMillis(300), 2.0).build();
+
+        // Then
+        for (int n = 0; n < 100; n++) {
+            assertThat(policy.backoffMillis(1), lessThanOrEqualTo(100L));
+            assertThat(policy.backoffMillis(2), lessThanOrEqualTo(200L));
+            assertThat(policy.backoffMillis(10), lessThanOrEqualTo(300L));
+        }
+    }
+}
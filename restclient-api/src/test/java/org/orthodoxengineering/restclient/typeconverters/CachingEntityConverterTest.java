@@ -0,0 +1,63 @@
+package org.orthodoxengineering.restclient.typeconverters;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.JsonEntity;
+import org.orthodoxengineering.restclient.SimpleBean;
+
+import static org.beanplanet.core.lang.conversion.SystemTypeConverter.systemTypeConverter;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CachingEntityConverterTest {
+    private final CachingEntityConverter converter = new CachingEntityConverter(systemTypeConverter());
+
+    @Test
+    void convert_jsonEntity_toArbitraryType() {
+        // Given
+        final JsonEntity entity = new JsonEntity("{\"stringProperty\":\"theValue\"}");
+
+        // When
+        final SimpleBean actual = converter.convert(entity, SimpleBean.class);
+
+        // Then
+        assertThat(actual, equalTo(new SimpleBean("theValue")));
+    }
+
+    @Test
+    void convert_jsonEntity_toStringUsesEntityText() {
+        // Given
+        final JsonEntity entity = new JsonEntity("\"theValue\"");
+
+        // When
+        final String actual = converter.convert(entity, String.class);
+
+        // Then
+        assertThat(actual, equalTo("\"theValue\""));
+    }
+
+    @Test
+    void convert_jsonEntity_toEntityTypeReturnsEntity() {
+        // Given
+        final JsonEntity entity = new JsonEntity("{}");
+
+        // When
+        final JsonEntity actual = converter.convert(entity, JsonEntity.class);
+
+        // Then
+        assertThat(actual, sameInstance(entity));
+    }
+
+    @Test
+    void convert_arrayType_repeatedlyFromCache() {
+        // Given
+        final String json = "[{\"stringProperty\":\"item1\"},{\"stringProperty\":\"item2\"}]";
+
+        // When
+        converter.convert(new JsonEntity(json), SimpleBean[].class);
+        final SimpleBean[] actual = converter.convert(new JsonEntity(json), SimpleBean[].class);
+
+        // Then
+        assertThat(actual, equalTo(new SimpleBean[] { new SimpleBean("item1"), new SimpleBean("item2") }));
+    }
+}
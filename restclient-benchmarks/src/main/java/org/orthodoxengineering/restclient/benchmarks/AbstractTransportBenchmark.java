@@ -0,0 +1,68 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.RestClient;
+
+import java.io.Closeable;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * The round-trip cost of a typed GET through a REST client transport, against a local WireMock stub. WireMock serves cleartext
+ * HTTP/2 (h2c) as well as HTTP/1.1, so that transports of either protocol are measured against the same stub.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractTransportBenchmark {
+    private WireMockServer server;
+    private RestClient client;
+    private String uri;
+
+    /**
+     * Creates the client of the transport being measured.
+     *
+     * @return the client of the transport.
+     */
+    protected abstract RestClient createClient();
+
+    @Setup
+    public void setup() throws Exception {
+        server = new WireMockServer(options().dynamicPort().disableRequestJournal());
+        server.start();
+        server.stubFor(get("/item").willReturn(okJson(new ObjectMapper().writeValueAsString(new Item(1)))));
+        uri = server.baseUrl() + "/item";
+        client = createClient();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (client instanceof Closeable) {
+            ((Closeable) client).close();
+        }
+        server.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Item getItem() {
+        return client.get(uri, Item.class);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Item getItemConcurrently() {
+        return client.get(uri, Item.class);
+    }
+
+    /**
+     * Makes more requests in flight at once than the HTTP/1.1 transports have connections per route, so that they queue for a
+     * connection, whereas the HTTP/2 transport opens a stream per request.
+     */
+    @Benchmark
+    @Threads(32)
+    public Item getItemHighlyConcurrently() {
+        return client.get(uri, Item.class);
+    }
+}
@@ -0,0 +1,30 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the <code>gc</code> profiler, so that the allocation rate of each is reported alongside its throughput
+ * and average time, and writes the results as JSON, in the form checked in under <code>baselines</code>.
+ *
+ * <p>Usage: <code>java -cp target/benchmarks.jar org.orthodoxengineering.restclient.benchmarks.BaselineRunner [include-regex]
+ * [result-file]</code>, which by default runs every benchmark and writes <code>benchmark-results.json</code>.</p>
+ */
+public final class BaselineRunner {
+    private BaselineRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BaselineRunner.class.getPackage().getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 1 ? args[1] : "benchmark-results.json")
+                .build();
+        new Runner(options).run();
+    }
+}
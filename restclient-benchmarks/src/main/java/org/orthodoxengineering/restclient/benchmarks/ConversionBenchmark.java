@@ -0,0 +1,58 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.beanplanet.core.lang.conversion.TypeConverter;
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.JsonEntity;
+import org.orthodoxengineering.restclient.typeconverters.CachingEntityConverter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.beanplanet.core.lang.conversion.SystemTypeConverter.systemTypeConverter;
+
+/**
+ * Measures the per-call overhead of converting a response entity to the requested type, by comparing conversion through the system
+ * type converter, which searches the registered type converters on every call, and through the cached, direct dispatch of the REST
+ * client, with decoding the entity directly. The payload is a single small record, so that dispatch dominates decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+    private final TypeConverter systemConverter = systemTypeConverter();
+    private final CachingEntityConverter cachingConverter = new CachingEntityConverter(systemConverter);
+    private JsonEntity entity;
+
+    @Setup
+    public void setup() throws Exception {
+        entity = new JsonEntity(new ObjectMapper(), new ObjectMapper().writeValueAsString(new Item(1)));
+    }
+
+    @Benchmark
+    public Item direct() {
+        return entity.readContentAs(Item.class);
+    }
+
+    @Benchmark
+    public Item viaSystemTypeConverter() {
+        return systemConverter.convert(entity, Item.class);
+    }
+
+    @Benchmark
+    public Item viaCachedDispatch() {
+        return cachingConverter.convert(entity, Item.class);
+    }
+
+    @Benchmark
+    public String viaSystemTypeConverterToString() {
+        return systemConverter.convert(entity, String.class);
+    }
+
+    @Benchmark
+    public String viaCachedDispatchToString() {
+        return cachingConverter.convert(entity, String.class);
+    }
+}
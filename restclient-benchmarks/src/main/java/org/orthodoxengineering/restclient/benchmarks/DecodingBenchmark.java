@@ -0,0 +1,97 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.beanplanet.core.io.resource.ByteArrayOutputStreamResource;
+import org.beanplanet.core.net.http.ContentType;
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.JsonEntity;
+import org.orthodoxengineering.restclient.XmlEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.XML;
+
+/**
+ * Compares decoding entity content from its raw bytes with decoding it through a character {@link java.io.Reader}, for JSON and XML
+ * payloads of a single record and of many records. The <code>reader</code> benchmarks are the path taken by every entity before
+ * byte-level decoding was introduced, and still taken for content in a non-UTF character set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodingBenchmark {
+    @Param({"1", "100", "10000"})
+    public int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectMapper xmlMapper = new XmlMapper();
+    private byte[] json;
+    private byte[] xml;
+    private ByteArrayOutputStreamResource jsonContent;
+    private ByteArrayOutputStreamResource xmlContent;
+
+    @Setup
+    public void setup() throws Exception {
+        final Item[] items = new Item[itemCount];
+        for (int n = 0; n < itemCount; n++) {
+            items[n] = new Item(n);
+        }
+        json = objectMapper.writeValueAsBytes(items);
+        xml = xmlMapper.writeValueAsBytes(items);
+        jsonContent = contentOf(json);
+        xmlContent = contentOf(xml);
+    }
+
+    private static ByteArrayOutputStreamResource contentOf(final byte[] bytes) throws Exception {
+        final ByteArrayOutputStreamResource content = new ByteArrayOutputStreamResource();
+        try (OutputStream os = content.getOutputStream()) {
+            os.write(bytes);
+        }
+        return content;
+    }
+
+    @Benchmark
+    public Item[] jsonBytes() throws Exception {
+        return objectMapper.readValue(new ByteArrayInputStream(json), Item[].class);
+    }
+
+    @Benchmark
+    public Item[] jsonReader() throws Exception {
+        return objectMapper.readValue(new InputStreamReader(new ByteArrayInputStream(json), UTF_8), Item[].class);
+    }
+
+    @Benchmark
+    public Item[] jsonEntityUtf8() {
+        return new JsonEntity(objectMapper, jsonContent, ContentType.from(JSON), UTF_8).readContentAs(Item[].class);
+    }
+
+    @Benchmark
+    public Item[] jsonEntityLatin1() {
+        return new JsonEntity(objectMapper, jsonContent, ContentType.from(JSON), ISO_8859_1).readContentAs(Item[].class);
+    }
+
+    @Benchmark
+    public Item[] xmlBytes() throws Exception {
+        return xmlMapper.readValue(new ByteArrayInputStream(xml), Item[].class);
+    }
+
+    @Benchmark
+    public Item[] xmlReader() throws Exception {
+        return xmlMapper.readValue(new InputStreamReader(new ByteArrayInputStream(xml), UTF_8), Item[].class);
+    }
+
+    @Benchmark
+    public Item[] xmlEntityUtf8() {
+        return new XmlEntity(xmlMapper, xmlContent, ContentType.from(XML), UTF_8).readContentAs(Item[].class);
+    }
+}
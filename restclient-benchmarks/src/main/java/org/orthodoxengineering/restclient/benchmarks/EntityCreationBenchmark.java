@@ -0,0 +1,73 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.beanplanet.core.io.resource.ByteArrayOutputStreamResource;
+import org.beanplanet.core.net.http.ArbitraryDataEntityProvider;
+import org.beanplanet.core.net.http.EntityProviderRegistry;
+import org.beanplanet.core.net.http.HttpEntity;
+import org.beanplanet.core.net.http.StringEntityProvider;
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.CachingEntityProviderRegistry;
+import org.orthodoxengineering.restclient.JsonEntityProvider;
+import org.orthodoxengineering.restclient.RestResponse;
+import org.orthodoxengineering.restclient.XmlEntityProvider;
+
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating the entity of a response, by comparing the selection of an entity provider through an
+ * {@link EntityProviderRegistry}, which asks each provider in turn whether it supports the response, with its selection through the
+ * {@link CachingEntityProviderRegistry} of the REST client, which remembers the provider chosen for each content type. The content
+ * is a single small record and is not read, so that provider selection dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityCreationBenchmark {
+    @Param({"application/json; charset=UTF-8", "application/xml", "text/plain; charset=ISO-8859-1"})
+    public String contentType;
+
+    private EntityProviderRegistry registry;
+    private CachingEntityProviderRegistry cachingRegistry;
+    private RestResponse response;
+    private ByteArrayOutputStreamResource content;
+
+    @Setup
+    public void setup() throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final JsonEntityProvider jsonEntityProvider = new JsonEntityProvider(objectMapper);
+        final XmlEntityProvider xmlEntityProvider = new XmlEntityProvider(new XmlMapper());
+        final StringEntityProvider stringEntityProvider = new StringEntityProvider();
+        final ArbitraryDataEntityProvider arbitraryDataEntityProvider = new ArbitraryDataEntityProvider(".*/.*");
+        registry = new EntityProviderRegistry().addProvider(jsonEntityProvider)
+                                               .addProvider(xmlEntityProvider)
+                                               .addProvider(stringEntityProvider)
+                                               .addProvider(arbitraryDataEntityProvider);
+        cachingRegistry = new CachingEntityProviderRegistry().addProvider(jsonEntityProvider)
+                                                             .addProvider(xmlEntityProvider)
+                                                             .addProvider(stringEntityProvider)
+                                                             .addProvider(arbitraryDataEntityProvider);
+
+        response = new RestResponse(200, "OK", Collections.singletonMap("Content-Type", Collections.singletonList(contentType)));
+        content = new ByteArrayOutputStreamResource();
+        try (OutputStream os = content.getOutputStream()) {
+            os.write(objectMapper.writeValueAsBytes(new Item(1)));
+        }
+    }
+
+    @Benchmark
+    public HttpEntity viaRegistry() {
+        return registry.createEntity(response, content);
+    }
+
+    @Benchmark
+    public HttpEntity viaCachingRegistry() {
+        return cachingRegistry.createEntity(response, content);
+    }
+}
@@ -0,0 +1,90 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import org.beanplanet.core.net.http.HttpResponse;
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.AbstractRestClient;
+import org.orthodoxengineering.restclient.AbstractRestClientBuilder;
+import org.orthodoxengineering.restclient.ResponseHandler;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.RestResponse;
+import org.orthodoxengineering.restclient.encoding.ContentDecoders;
+import org.orthodoxengineering.restclient.interceptor.RestInterceptor;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the interceptor chain on the request path, through a client whose transport answers every request from
+ * memory, so that the client's own request handling dominates. The <code>none</code> case is a transport which does not consult
+ * the interceptor chain at all, against which a client with no interceptors should show no difference in time or, with the
+ * <code>gc</code> profiler, in allocation; the other cases add interceptors which pass requests and responses through unchanged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterceptorBenchmark {
+    private static final ResponseHandler<Integer> STATUS_CODE = HttpResponse::getStatusCode;
+
+    @Param({"none", "0", "1", "4"})
+    public String interceptors;
+
+    private InMemoryRestClient client;
+    private RestRequest request;
+
+    @Setup
+    public void setup() {
+        final InMemoryRestClientBuilder builder = new InMemoryRestClientBuilder()
+                .contentDecoders(ContentDecoders.none())
+                .binaryJsonFormats()
+                .intercepted(!"none".equals(interceptors));
+        for (int n = 0; builder.intercepted && n < Integer.parseInt(interceptors); n++) {
+            builder.interceptor(new RestInterceptor() {});
+        }
+        client = builder.build();
+        request = RestRequest.get("http://localhost/items/1");
+    }
+
+    @Benchmark
+    public Integer execute() {
+        return client.execute(request, STATUS_CODE);
+    }
+
+    /**
+     * A client whose transport answers every request with an empty <code>200</code> response, passing the request and response
+     * through the interceptor chain as the network transports do, unless it is not intercepted.
+     */
+    private static final class InMemoryRestClient extends AbstractRestClient {
+        private final boolean intercepted;
+
+        private InMemoryRestClient(final InMemoryRestClientBuilder builder) {
+            super(builder);
+            this.intercepted = builder.intercepted;
+        }
+
+        @Override
+        protected <T> T exchange(final RestRequest request, final ResponseHandler<T> handler) {
+            final RestResponse response = new RestResponse(200, "OK", Collections.emptyMap());
+            if (!intercepted) return handler.handleResponse(response);
+
+            final RestRequest negotiatedRequest = negotiate(request);
+            return handler.handleResponse(interceptResponse(negotiatedRequest, response));
+        }
+    }
+
+    private static final class InMemoryRestClientBuilder extends AbstractRestClientBuilder<InMemoryRestClientBuilder> {
+        private boolean intercepted = true;
+
+        InMemoryRestClientBuilder intercepted(final boolean intercepted) {
+            this.intercepted = intercepted;
+            return this;
+        }
+
+        @Override
+        public InMemoryRestClient build() {
+            return new InMemoryRestClient(this);
+        }
+    }
+}
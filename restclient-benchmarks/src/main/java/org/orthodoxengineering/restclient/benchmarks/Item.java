@@ -0,0 +1,43 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+/**
+ * A representative record used as the payload of the benchmarks.
+ */
+public class Item {
+    private long id;
+    private String name;
+    private String description;
+    private double price;
+    private boolean available;
+
+    public Item() {
+    }
+
+    public Item(final long id) {
+        this.id = id;
+        this.name = "Item " + id;
+        this.description = "The description of item " + id + ", which is a little longer than its name.";
+        this.price = id * 1.25;
+        this.available = id % 2 == 0;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,63 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+import org.orthodoxengineering.restclient.RestClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Measures the full request and decode pipeline for large JSON arrays, from a local WireMock stub to a list of records, comparing
+ * a buffered {@link RestClient#getForList(String, Class)} with consuming the same array element by element through
+ * {@link RestClient#getForStream(String, Class)}. The allocation rate reported by the <code>gc</code> profiler shows the memory
+ * held by buffering the whole response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int itemCount;
+
+    private WireMockServer server;
+    private RestClient client;
+    private String uri;
+
+    @Setup
+    public void setup() throws Exception {
+        final Item[] items = new Item[itemCount];
+        for (int n = 0; n < itemCount; n++) {
+            items[n] = new Item(n);
+        }
+        server = new WireMockServer(options().dynamicPort().disableRequestJournal());
+        server.start();
+        server.stubFor(get("/items").willReturn(okJson(new ObjectMapper().writeValueAsString(items))));
+        uri = server.baseUrl() + "/items";
+        client = HttpUrlRestClient.builder().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public List<Item> getForList() {
+        return client.getForList(uri, Item.class);
+    }
+
+    @Benchmark
+    public void getForStream(final Blackhole blackhole) {
+        client.getForStream(uri, Item.class).forEach(blackhole::consume);
+    }
+}
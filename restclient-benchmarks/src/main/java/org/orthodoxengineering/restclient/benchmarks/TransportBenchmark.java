@@ -0,0 +1,31 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.HttpUrlRestClient;
+import org.orthodoxengineering.restclient.RestClient;
+import org.orthodoxengineering.restclient.httpclient.HttpClientRestClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the round-trip cost of a typed GET through each HTTP/1.1 REST client transport, which hold a connection per request in
+ * flight. The HTTP/2 transport, which requires Java 11, is compared by {@code Http2TransportBenchmark}, built on Java 11 or later.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark extends AbstractTransportBenchmark {
+    @Param({"HttpUrlRestClient", "HttpClientRestClient"})
+    public String transport;
+
+    @Override
+    protected RestClient createClient() {
+        switch (transport) {
+            case "HttpUrlRestClient": return HttpUrlRestClient.builder().maxConnectionsPerRoute(8).build();
+            case "HttpClientRestClient": return HttpClientRestClient.builder().maxConnectionsPerRoute(8).build();
+            default: throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+    }
+}
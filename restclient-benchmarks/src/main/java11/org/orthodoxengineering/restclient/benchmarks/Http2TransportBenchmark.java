@@ -0,0 +1,32 @@
+package org.orthodoxengineering.restclient.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.orthodoxengineering.restclient.RestClient;
+import org.orthodoxengineering.restclient.http2.Http2RestClient;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round-trip cost of a typed GET through the HTTP/2 transport, which multiplexes its requests over a single connection,
+ * for comparison with the HTTP/1.1 transports of {@link TransportBenchmark}. The HTTP/2 transport restricted to HTTP/1.1 separates
+ * the effect of multiplexing from that of the JDK client itself.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Http2TransportBenchmark extends AbstractTransportBenchmark {
+    @Param({"Http2RestClient", "Http2RestClient-HTTP_1_1"})
+    public String transport;
+
+    @Override
+    protected RestClient createClient() {
+        switch (transport) {
+            case "Http2RestClient": return Http2RestClient.builder().build();
+            case "Http2RestClient-HTTP_1_1": return Http2RestClient.builder().version(HttpClient.Version.HTTP_1_1).build();
+            default: throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package org.orthodoxengineering.restclient.http2;
+
+import org.beanplanet.core.io.IoException;
+import org.beanplanet.core.io.IoUtil;
+import org.beanplanet.core.io.resource.ByteArrayOutputStreamResource;
+import org.beanplanet.core.io.resource.Resource;
+import org.orthodoxengineering.restclient.AbstractAsyncRestClient;
+import org.orthodoxengineering.restclient.AbstractRestClientBuilder;
+import org.orthodoxengineering.restclient.BytesResource;
+import org.orthodoxengineering.restclient.Deadline;
+import org.orthodoxengineering.restclient.DeadlineExceededException;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.ResponseHandler;
+import org.orthodoxengineering.restclient.RestClient;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.RestResponse;
+import org.orthodoxengineering.restclient.StreamingResource;
+import org.orthodoxengineering.restclient.StreamingResponse;
+import org.orthodoxengineering.restclient.pool.Route;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A REST client implementation based on the JDK {@link HttpClient}, which multiplexes concurrent requests to each origin as HTTP/2
+ * streams over a single connection, rather than holding a connection per request in flight.
+ *
+ * <p>HTTP/2 is negotiated by ALPN over TLS (<i>h2</i>) and by an HTTP/1.1 <code>Upgrade</code> of the first request over cleartext
+ * (<i>h2c</i>). Requests to a server supporting neither are made over HTTP/1.1, on connections pooled by the JDK client. The number of
+ * streams in flight to each route is limited by a {@link StreamLimiter}.</p>
+ *
+ * <p>The JDK client has a single connect timeout, so the connect timeout of a request is that of the client. The read timeout bounds
+ * the wait for the response headers, as the JDK client has no timeout between reads of a body; the deadline of a request bounds the
+ * whole exchange.</p>
+ */
+public class Http2RestClient extends AbstractAsyncRestClient implements RestClient {
+    /** Headers set by the JDK client itself, which it refuses to accept from a request. */
+    private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    private final HttpClient httpClient;
+    private final StreamLimiter streamLimiter;
+
+    Http2RestClient(final Http2RestClientBuilder builder) {
+        super(builder);
+        final HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+                                                               .version(builder.version)
+                                                               .followRedirects(HttpClient.Redirect.NORMAL);
+        if (builder.getConnectTimeout() != null) httpClientBuilder.connectTimeout(builder.getConnectTimeout());
+        if (builder.sslContext != null) httpClientBuilder.sslContext(builder.sslContext);
+        if (builder.executor != null) httpClientBuilder.executor(builder.executor);
+        this.httpClient = httpClientBuilder.build();
+        this.streamLimiter = new StreamLimiter(builder.maxConcurrentStreamsPerRoute);
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public StreamLimiter getStreamLimiter() {
+        return streamLimiter;
+    }
+
+    /**
+     * Makes the given request asynchronously over the JDK client and invokes the given response handler to handle the response,
+     * with its entity decoded into memory as it is received.
+     *
+     * @param restRequest the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    @Override
+    protected <T> CompletableFuture<T> exchangeAsync(final RestRequest restRequest, final ResponseHandler<T> handler) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final RestRequest negotiatedRequest = negotiate(withRequestDeadline(restRequest));
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(negotiatedRequest);
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            return future;
+        }
+
+        final Route route = routeOf(httpRequest.uri());
+        streamLimiter.acquire(route).thenRun(() -> {
+            if (future.isDone()) {
+                streamLimiter.release(route);
+                return;
+            }
+
+            final CompletableFuture<HttpResponse<InputStream>> exchange = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+            exchange.whenComplete((httpResponse, failure) -> {
+                try {
+                    if (failure != null) {
+                        future.completeExceptionally(toRestException(failure));
+                    } else {
+                        handleResponse(negotiatedRequest, httpResponse, handler, future);
+                    }
+                } finally {
+                    streamLimiter.release(route);
+                }
+            });
+            // Cancelling the exchange aborts it from Java 16; before then, the exchange runs to completion unobserved
+            future.whenComplete((result, throwable) -> exchange.cancel(true));
+        });
+        final Deadline.Watch watch = watchDeadline(negotiatedRequest, () -> future.completeExceptionally(new DeadlineExceededException(negotiatedRequest.getDeadline())));
+        future.whenComplete((result, throwable) -> watch.close());
+        return future;
+    }
+
+    /**
+     * Reads the body of a response as it is received, decoding it straight into memory, and invokes the given response handler to
+     * handle the response. The body of an error response longer than the drain limit is discarded.
+     */
+    private <T> void handleResponse(final RestRequest request, final HttpResponse<InputStream> httpResponse, final ResponseHandler<T> handler, final CompletableFuture<T> future) {
+        final InputStream body = httpResponse.body();
+        // Closing the body, as when the deadline of the request passes, aborts the read of the remainder of the body
+        future.whenComplete((result, throwable) -> closeQuietly(body));
+        try {
+            final org.beanplanet.core.net.http.HttpResponse response = interceptResponse(request, toResponse(httpResponse));
+            final Resource content;
+            try (InputStream entityIs = decodeContent(request, contentEncodingOf(httpResponse), body)) {
+                if (isErrorStatus(response.getStatusCode())) {
+                    content = readErrorContent(entityIs, RestResponse.contentCharsetOf(response));
+                } else {
+                    final ByteArrayOutputStreamResource bufferedContent = new ByteArrayOutputStreamResource();
+                    IoUtil.transfer(entityIs, bufferedContent.getOutputStream());
+                    content = bufferedContent;
+                }
+            }
+            future.complete(content != null ? handler.handleResponse(withEntity(request, response, content)) : handler.handleResponse(response));
+        } catch (IOException ioEx) {
+            future.completeExceptionally(new IoException(ioEx));
+        } catch (Throwable th) {
+            future.completeExceptionally(th);
+        }
+    }
+
+    /**
+     * Makes the given request and returns the response with its entity streaming directly from the connection. Closing the response
+     * before its content has been read in full resets the stream; over an HTTP/1.1 connection, unread content is first drained (up to
+     * a limit) so that the connection may be reused.
+     *
+     * @param request the request to be made.
+     * @return the response, which must be closed by the caller.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    protected StreamingResponse openStream(final RestRequest request) throws RestException {
+        final RestRequest negotiatedRequest = negotiate(request);
+        final HttpRequest httpRequest = toHttpRequest(negotiatedRequest);
+        final Route route = routeOf(httpRequest.uri());
+        final CompletableFuture<Void> stream = streamLimiter.acquire(route);
+        try {
+            await(stream, negotiatedRequest);
+        } catch (RuntimeException ex) {
+            streamLimiter.abandon(route, stream);
+            throw ex;
+        }
+
+        final HttpResponse<InputStream> httpResponse;
+        try {
+            httpResponse = await(httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream()), negotiatedRequest);
+        } catch (RuntimeException ex) {
+            streamLimiter.release(route);
+            throw ex;
+        }
+
+        final InputStream body = httpResponse.body();
+        final Deadline.Watch watch = watchDeadline(negotiatedRequest, () -> closeQuietly(body));
+        try {
+            final org.beanplanet.core.net.http.HttpResponse response = interceptResponse(negotiatedRequest, toResponse(httpResponse));
+            final InputStream entityIs = decodeContent(negotiatedRequest, contentEncodingOf(httpResponse), body);
+            if (isErrorStatus(response.getStatusCode())) {
+                // Error bodies are read in full, rather than streamed, so that they outlive the response as the entity of an error
+                final BytesResource errorContent;
+                try {
+                    errorContent = readErrorContent(entityIs, RestResponse.contentCharsetOf(response));
+                } finally {
+                    watch.close();
+                    closeQuietly(entityIs);
+                    streamLimiter.release(route);
+                }
+                return new StreamingResponse(errorContent != null ? withEntity(negotiatedRequest, response, errorContent)
+                                                                  : response, () -> {});
+            }
+
+            final boolean multiplexed = httpResponse.version() == HttpClient.Version.HTTP_2;
+            final StreamingResource content = new StreamingResource(entityIs, RestResponse.contentCharsetOf(response));
+            return new StreamingResponse(withEntity(negotiatedRequest, response, content), () -> {
+                try {
+                    if (!multiplexed) content.drain(getDrainLimit());
+                    content.close();
+                } finally {
+                    watch.close();
+                    streamLimiter.release(route);
+                }
+            });
+        } catch (IOException ioEx) {
+            watch.close();
+            closeQuietly(body);
+            streamLimiter.release(route);
+            throw new IoException(ioEx);
+        } catch (RuntimeException runtimeEx) {
+            watch.close();
+            closeQuietly(body);
+            streamLimiter.release(route);
+            throw runtimeEx;
+        }
+    }
+
+    /**
+     * Converts the given request to a JDK client request, with the read timeout, bounded by the deadline of the request, as the time
+     * allowed for the response headers to be received. A request body is buffered in memory, as the JDK client pulls request content
+     * through a publisher, whereas a request body is written to a blocking stream.
+     */
+    private HttpRequest toHttpRequest(final RestRequest request) {
+        final HttpRequest.Builder httpRequestBuilder;
+        try {
+            httpRequestBuilder = HttpRequest.newBuilder(URI.create(request.getUri())).method(request.getMethod(), bodyPublisher(request));
+        } catch (IllegalArgumentException illegalUriEx) {
+            throw new RestException("Invalid URI: " + request.getUri(), illegalUriEx);
+        }
+        request.getHeaders().forEach((name, values) -> {
+            if (RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) return;
+            values.forEach(value -> httpRequestBuilder.header(name, value));
+        });
+        final int readTimeoutMillis = readTimeoutMillis(request);
+        if (readTimeoutMillis > 0) httpRequestBuilder.timeout(Duration.ofMillis(readTimeoutMillis));
+        return httpRequestBuilder.build();
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(final RestRequest request) {
+        final RequestBody body = requestBody(request);
+        if (body == null) return HttpRequest.BodyPublishers.noBody();
+
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(bufferRequestBody(body));
+        } catch (IOException ioEx) {
+            throw new IoException(ioEx);
+        }
+    }
+
+    private RestResponse toResponse(final HttpResponse<?> httpResponse) {
+        // HTTP/2 responses have no reason phrase
+        return new RestResponse(httpResponse.statusCode(), null, getContentDecoders().decodedHeaders(httpResponse.headers().map()));
+    }
+
+    private static String contentEncodingOf(final HttpResponse<?> httpResponse) {
+        return httpResponse.headers().firstValue(CONTENT_ENCODING).orElse(null);
+    }
+
+    private static Route routeOf(final URI uri) {
+        final String scheme = uri.getScheme();
+        return new Route(scheme, uri.getHost(), uri.getPort() >= 0 ? uri.getPort() : "https".equalsIgnoreCase(scheme) ? 443 : 80);
+    }
+
+    /**
+     * Awaits the given future, for no longer than the time remaining until the deadline of the given request.
+     */
+    private static <V> V await(final CompletableFuture<V> future, final RestRequest request) throws RestException {
+        final Deadline deadline = request.getDeadline();
+        try {
+            return deadline == null ? future.get() : future.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException timeoutEx) {
+            future.cancel(true);
+            throw new DeadlineExceededException(deadline, timeoutEx);
+        } catch (InterruptedException interruptedEx) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RestException("Interrupted while awaiting a response to " + request, interruptedEx);
+        } catch (ExecutionException executionEx) {
+            throw toRestException(executionEx.getCause());
+        }
+    }
+
+    private static RuntimeException toRestException(final Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof IOException) return new IoException(cause);
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        return new RestException(cause);
+    }
+
+    private static void closeQuietly(final InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignoredEx) {
+        }
+    }
+
+    public static Http2RestClientBuilder builder() {
+        return new Http2RestClientBuilder();
+    }
+
+    public static class Http2RestClientBuilder extends AbstractRestClientBuilder<Http2RestClientBuilder> {
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private int maxConcurrentStreamsPerRoute = StreamLimiter.DEFAULT_MAX_STREAMS_PER_ROUTE;
+        private SSLContext sslContext = null;
+        private Executor executor = null;
+
+        /**
+         * Sets the preferred HTTP version of the client. By default, HTTP/2 is preferred, falling back to HTTP/1.1 for servers which do
+         * not support it; preferring HTTP/1.1 disables HTTP/2 altogether.
+         *
+         * @param version the preferred HTTP version.
+         * @return this builder, for invocation chaining.
+         */
+        public Http2RestClientBuilder version(final HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests in flight to each route at once, each of which is a stream of the HTTP/2 connection to the
+         * route. This should not exceed the maximum concurrent streams advertised by the server.
+         *
+         * @param maxConcurrentStreamsPerRoute the maximum number of concurrent streams per route.
+         * @return this builder, for invocation chaining.
+         */
+        public Http2RestClientBuilder maxConcurrentStreamsPerRoute(final int maxConcurrentStreamsPerRoute) {
+            this.maxConcurrentStreamsPerRoute = maxConcurrentStreamsPerRoute;
+            return this;
+        }
+
+        /**
+         * Sets the SSL context of <code>https</code> connections. By default, the default SSL context of the JVM is used.
+         *
+         * @param sslContext the SSL context.
+         * @return this builder, for invocation chaining.
+         */
+        public Http2RestClientBuilder sslContext(final SSLContext sslContext) {
+            this.sslContext = sslContext;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which the JDK client runs its asynchronous tasks, including response handlers. By default, the JDK
+         * client creates its own thread pool. The body of each response is read on a thread of the executor as it is received, so
+         * the executor should have a thread for each request in flight as well as for the tasks of the JDK client itself.
+         *
+         * @param executor the executor of the JDK client.
+         * @return this builder, for invocation chaining.
+         */
+        public Http2RestClientBuilder executor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public Http2RestClient build() {
+            return new Http2RestClient(this);
+        }
+    }
+}
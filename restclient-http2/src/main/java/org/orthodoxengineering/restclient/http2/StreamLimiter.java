@@ -0,0 +1,134 @@
+package org.orthodoxengineering.restclient.http2;
+
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A limit on the number of requests, or HTTP/2 streams, in flight to each route at once. Requests beyond the limit wait, without
+ * blocking a thread, in the order in which they were made, for a stream to be released.
+ *
+ * <p>A server advertises the maximum number of concurrent streams it accepts on a connection, commonly 100, and resets streams opened
+ * beyond it. Limiting streams on the client keeps bursts of requests within that maximum, and bounds the share of a connection taken by
+ * any one client.</p>
+ */
+public class StreamLimiter {
+    public static final int DEFAULT_MAX_STREAMS_PER_ROUTE = 100;
+
+    private final int maxStreamsPerRoute;
+    private final ConcurrentMap<Route, RouteStreams> routeStreams = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a stream limiter.
+     *
+     * @param maxStreamsPerRoute the maximum number of streams in flight to each route at once.
+     */
+    public StreamLimiter(final int maxStreamsPerRoute) {
+        if (maxStreamsPerRoute < 1) throw new IllegalArgumentException("The maximum number of streams per route must be positive: " + maxStreamsPerRoute);
+        this.maxStreamsPerRoute = maxStreamsPerRoute;
+    }
+
+    public int getMaxStreamsPerRoute() {
+        return maxStreamsPerRoute;
+    }
+
+    /**
+     * Acquires a stream to the given route, once one is available.
+     *
+     * @param route the route of the request.
+     * @return a future completed once the stream has been acquired, after which it must be {@link #release(Route) released}. A stream
+     * no longer needed while it is awaited is given up by {@link #abandon(Route, CompletableFuture) abandoning} the future.
+     */
+    public CompletableFuture<Void> acquire(final Route route) {
+        return routeStreams.computeIfAbsent(route, r -> new RouteStreams()).acquire(maxStreamsPerRoute);
+    }
+
+    /**
+     * Releases a stream to the given route, handing it to the longest waiting request, if any.
+     *
+     * @param route the route of the request which acquired the stream.
+     */
+    public void release(final Route route) {
+        final CompletableFuture<Void> next = routeStreams.get(route).release();
+        // A waiter abandoned since it was handed the stream passes it on in turn
+        if (next != null && !next.complete(null)) release(route);
+    }
+
+    /**
+     * Gives up a stream awaited, or already acquired, by the given future.
+     *
+     * @param route the route of the request.
+     * @param stream the future returned on acquiring the stream.
+     */
+    public void abandon(final Route route, final CompletableFuture<Void> stream) {
+        // A stream cannot be cancelled once acquired, so is released instead
+        if (!stream.cancel(false)) release(route);
+    }
+
+    /**
+     * The number of streams currently in flight to the given route.
+     *
+     * @param route the route.
+     * @return the number of streams acquired and not yet released.
+     */
+    public int getActiveStreams(final Route route) {
+        final RouteStreams streams = routeStreams.get(route);
+        return streams == null ? 0 : streams.getActive();
+    }
+
+    /**
+     * The number of requests to the given route currently waiting for a stream.
+     *
+     * @param route the route.
+     * @return the number of waiting requests.
+     */
+    public int getPendingStreams(final Route route) {
+        final RouteStreams streams = routeStreams.get(route);
+        return streams == null ? 0 : streams.getPending();
+    }
+
+    private static final class RouteStreams {
+        private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int active;
+
+        synchronized CompletableFuture<Void> acquire(final int maxStreams) {
+            if (active < maxStreams) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            final CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+
+        /**
+         * Releases a stream, returning the waiter to which it has been handed, which is to be completed outside of the lock, or null
+         * if there is none.
+         */
+        synchronized CompletableFuture<Void> release() {
+            for (CompletableFuture<Void> waiter; (waiter = waiters.poll()) != null; ) {
+                // Waiters which have been abandoned are discarded
+                if (!waiter.isDone()) return waiter;
+            }
+            active--;
+            return null;
+        }
+
+        synchronized int getActive() {
+            return active;
+        }
+
+        synchronized int getPending() {
+            int pending = 0;
+            for (CompletableFuture<Void> waiter : waiters) {
+                if (!waiter.isDone()) pending++;
+            }
+            return pending;
+        }
+    }
+}
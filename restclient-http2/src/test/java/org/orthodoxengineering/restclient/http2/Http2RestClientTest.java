@@ -0,0 +1,93 @@
+package org.orthodoxengineering.restclient.http2;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.beanplanet.core.mediatypes.MediaTypes;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.HttpStatusException;
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@WireMockTest
+public class Http2RestClientTest {
+    private static Http2RestClient client;
+
+    @BeforeAll
+    static void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        client = Http2RestClient.builder()
+                .objectMapper(objectMapper)
+                .maxConcurrentStreamsPerRoute(4)
+                .build();
+    }
+
+    @Test
+    void get_uri_type_withStringEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class);
+
+        // Then
+        assertThat(body, equalTo("Hello World!"));
+    }
+
+    @Test
+    void getAsync_manyConcurrentRequests_allCompleteWithinStreamLimit(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{ \"theName\": 12345}").withFixedDelay(20)));
+
+        // When
+        final List<CompletableFuture<JsonNode>> futures = IntStream.range(0, 32)
+                                                                   .mapToObj(i -> client.getAsync(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", JsonNode.class))
+                                                                   .collect(Collectors.toList());
+
+        // Then
+        futures.forEach(future -> assertThat(future.join().get("theName").asInt(), equalTo(12345)));
+        assertThat(client.getStreamLimiter().getActiveStreams(new Route("http", "localhost", wireMockRuntimeInfo.getHttpPort())), equalTo(0));
+    }
+
+    @Test
+    void get_http11Only_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Http2RestClient http11Client = Http2RestClient.builder().version(HttpClient.Version.HTTP_1_1).build();
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final String body = http11Client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class);
+
+        // Then
+        assertThat(body, equalTo("Hello World!"));
+    }
+
+    @Test
+    void get_errorResponse_errorEntityCarriedByException(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(badRequest().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{ \"title\": \"Invalid name\" }")));
+
+        // When
+        final HttpStatusException statusEx = assertThrows(HttpStatusException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", JsonNode.class));
+
+        // Then
+        assertThat(statusEx.getStatusCode(), equalTo(400));
+        assertThat(statusEx.getEntity(JsonNode.class).get("title").asText(), equalTo("Invalid name"));
+    }
+}
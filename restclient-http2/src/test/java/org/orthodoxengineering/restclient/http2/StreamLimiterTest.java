@@ -0,0 +1,67 @@
+package org.orthodoxengineering.restclient.http2;
+
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.pool.Route;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StreamLimiterTest {
+    private static final Route ROUTE = new Route("http", "localhost", 8080);
+
+    @Test
+    void acquire_beyondLimit_waitsForRelease() {
+        // Given
+        final StreamLimiter limiter = new StreamLimiter(1);
+        final CompletableFuture<Void> first = limiter.acquire(ROUTE);
+
+        // When
+        final CompletableFuture<Void> second = limiter.acquire(ROUTE);
+
+        // Then
+        assertThat(first.isDone(), is(true));
+        assertThat(second.isDone(), is(false));
+        assertThat(limiter.getPendingStreams(ROUTE), equalTo(1));
+
+        // When
+        limiter.release(ROUTE);
+
+        // Then
+        assertThat(second.isDone(), is(true));
+        assertThat(limiter.getActiveStreams(ROUTE), equalTo(1));
+        assertThat(limiter.getPendingStreams(ROUTE), equalTo(0));
+    }
+
+    @Test
+    void release_abandonedWaiter_skipped() {
+        // Given
+        final StreamLimiter limiter = new StreamLimiter(1);
+        limiter.acquire(ROUTE);
+        final CompletableFuture<Void> abandoned = limiter.acquire(ROUTE);
+        final CompletableFuture<Void> waiting = limiter.acquire(ROUTE);
+        limiter.abandon(ROUTE, abandoned);
+
+        // When
+        limiter.release(ROUTE);
+
+        // Then
+        assertThat(waiting.isDone(), is(true));
+        assertThat(limiter.getActiveStreams(ROUTE), equalTo(1));
+    }
+
+    @Test
+    void abandon_acquiredStream_released() {
+        // Given
+        final StreamLimiter limiter = new StreamLimiter(2);
+        final CompletableFuture<Void> stream = limiter.acquire(ROUTE);
+
+        // When
+        limiter.abandon(ROUTE, stream);
+
+        // Then
+        assertThat(limiter.getActiveStreams(ROUTE), equalTo(0));
+    }
+}
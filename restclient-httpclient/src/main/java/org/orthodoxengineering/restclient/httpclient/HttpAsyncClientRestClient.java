@@ -0,0 +1,283 @@
+package org.orthodoxengineering.restclient.httpclient;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.beanplanet.core.io.IoException;
+import org.beanplanet.core.io.IoUtil;
+import org.beanplanet.core.io.resource.ByteArrayOutputStreamResource;
+import org.beanplanet.core.net.http.HttpResponse;
+import org.orthodoxengineering.restclient.AbstractAsyncRestClient;
+import org.orthodoxengineering.restclient.AbstractRestClientBuilder;
+import org.orthodoxengineering.restclient.Deadline;
+import org.orthodoxengineering.restclient.DeadlineExceededException;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.ResponseHandler;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous, non-blocking REST client implementation based on the Apache Http Components / Async Client library. Requests
+ * are multiplexed by a small number of I/O dispatch (selector) threads over a pool of persistent connections, so that many thousands
+ * of requests may be in flight without a thread per request.
+ *
+ * <p>Response handlers, including the conversion of entities to the requested types, are invoked on the I/O dispatch threads unless
+ * a handler executor is configured. Handlers which do significant work should be given an executor, so as not to stall I/O.</p>
+ */
+public class HttpAsyncClientRestClient extends AbstractAsyncRestClient implements Closeable {
+    private final PoolingNHttpClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpClient;
+    private final Executor handlerExecutor;
+    private final ScheduledExecutorService connectionEvictor;
+    private final RequestConfig defaultRequestConfig;
+
+    HttpAsyncClientRestClient(final HttpAsyncClientRestClientBuilder builder) {
+        super(builder);
+        this.handlerExecutor = builder.handlerExecutor;
+        try {
+            this.connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                                                                                                                 .setIoThreadCount(builder.ioThreadCount)
+                                                                                                                 .build()));
+        } catch (IOReactorException ioReactorEx) {
+            throw new RestException("Unable to create the I/O reactor of the asynchronous REST client", ioReactorEx);
+        }
+        this.connectionManager.setMaxTotal(builder.getMaxConnectionsTotal());
+        this.connectionManager.setDefaultMaxPerRoute(builder.getMaxConnectionsPerRoute());
+
+        this.defaultRequestConfig = RequestConfig.custom()
+                                                 .setConnectTimeout((int) toMillis(builder.getConnectTimeout(), -1))
+                                                 .setSocketTimeout((int) toMillis(builder.getReadTimeout(), -1))
+                                                 .setConnectionRequestTimeout((int) toMillis(builder.getConnectionPoolWaitTimeout(), -1))
+                                                 .build();
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .build();
+        this.httpClient.start();
+
+        final Duration idleTimeout = builder.getConnectionIdleTimeout();
+        if (idleTimeout != null) {
+            this.connectionEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "restclient-async-connection-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long periodMillis = Math.max(idleTimeout.toMillis() / 2, 1);
+            this.connectionEvictor.scheduleWithFixedDelay(() -> {
+                connectionManager.closeExpiredConnections();
+                connectionManager.closeIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.connectionEvictor = null;
+        }
+    }
+
+    public PoolingNHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Gets the statistics of the connection pool of this client, across all routes.
+     *
+     * @return a snapshot of the current connection pool statistics.
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Makes the given request asynchronously over the Http Components async client and invokes the given response handler to
+     * handle the response.
+     *
+     * @param restRequest the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return a future completed with the response returned from invocation the response handler.
+     */
+    @Override
+    protected <T> CompletableFuture<T> exchangeAsync(RestRequest restRequest, ResponseHandler<T> handler) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final RestRequest negotiatedRequest = negotiate(withRequestDeadline(restRequest));
+        final HttpUriRequest request;
+        try {
+            request = HttpComponentsResponses.toRequest(negotiatedRequest, requestConfig(negotiatedRequest), requestEntity(negotiatedRequest));
+        } catch (IOException ioEx) {
+            future.completeExceptionally(new IoException(ioEx));
+            return future;
+        } catch (IllegalArgumentException illegalUriEx) {
+            future.completeExceptionally(new RestException("Invalid URI: " + restRequest.getUri(), illegalUriEx));
+            return future;
+        } catch (DeadlineExceededException deadlineEx) {
+            future.completeExceptionally(deadlineEx);
+            return future;
+        }
+
+        httpClient.execute(request, new FutureCallback<org.apache.http.HttpResponse>() {
+            @Override
+            public void completed(final org.apache.http.HttpResponse httpResponse) {
+                if (handlerExecutor == null) {
+                    handleResponse(negotiatedRequest, httpResponse, handler, future);
+                } else {
+                    try {
+                        handlerExecutor.execute(() -> handleResponse(negotiatedRequest, httpResponse, handler, future));
+                    } catch (RuntimeException rejectedEx) {
+                        future.completeExceptionally(rejectedEx);
+                    }
+                }
+            }
+
+            @Override
+            public void failed(final Exception ex) {
+                future.completeExceptionally(ex instanceof IOException ? new IoException(ex) : new RestException(ex));
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        final Deadline.Watch watch = watchDeadline(negotiatedRequest, () -> {
+            if (future.completeExceptionally(new DeadlineExceededException(negotiatedRequest.getDeadline()))) request.abort();
+        });
+        future.whenComplete((result, throwable) -> {
+            watch.close();
+            if (future.isCancelled()) request.abort();
+        });
+        return future;
+    }
+
+    private <T> void handleResponse(final RestRequest request, final org.apache.http.HttpResponse httpResponse, final ResponseHandler<T> handler, final CompletableFuture<T> future) {
+        try {
+            final HttpResponse response = interceptResponse(request, HttpComponentsResponses.toResponse(httpResponse, getContentDecoders()));
+            final HttpEntity httpEntity = httpResponse.getEntity();
+            if (httpEntity == null) {
+                future.complete(handler.handleResponse(response));
+                return;
+            }
+
+            // The response content has already been received into memory by the time the exchange completes
+            final ByteArrayOutputStreamResource content = new ByteArrayOutputStreamResource();
+            try (InputStream entityIs = decodeContent(request, HttpComponentsResponses.contentEncodingOf(httpResponse), httpEntity.getContent())) {
+                IoUtil.transfer(entityIs, content.getOutputStream());
+            }
+            future.complete(handler.handleResponse(withEntity(request, response, content)));
+        } catch (IOException ioEx) {
+            future.completeExceptionally(new IoException(ioEx));
+        } catch (Throwable th) {
+            future.completeExceptionally(th);
+        }
+    }
+
+    /**
+     * Closes this client, shutting down its I/O reactor and connection pool.
+     */
+    @Override
+    public void close() {
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdownNow();
+        }
+        try {
+            httpClient.close();
+        } catch (IOException ioEx) {
+            throw new IoException(ioEx);
+        }
+    }
+
+    /**
+     * Returns the configuration of the given request, where its timeouts or deadline differ from the client defaults.
+     *
+     * @param request the request to be made.
+     * @return the request configuration, or null if the client defaults apply.
+     */
+    private RequestConfig requestConfig(final RestRequest request) {
+        if (request.getConnectTimeout() == null && request.getReadTimeout() == null && request.getDeadline() == null) return null;
+
+        return RequestConfig.copy(defaultRequestConfig)
+                            .setConnectTimeout(connectTimeoutMillis(request))
+                            .setSocketTimeout(readTimeoutMillis(request))
+                            .build();
+    }
+
+    /**
+     * Returns the body of the given request as an entity. The body is buffered in memory, as the I/O reactor produces request content
+     * without blocking, whereas a request body is written to a blocking stream.
+     *
+     * @param request the request to be made.
+     * @return the request entity, or null if the request has no body.
+     * @throws IOException if an error occurs writing the body.
+     */
+    private HttpEntity requestEntity(final RestRequest request) throws IOException {
+        final RequestBody body = requestBody(request);
+        return body == null ? null : new ByteArrayEntity(bufferRequestBody(body));
+    }
+
+    private static long toMillis(final Duration duration, final long defaultMillis) {
+        return duration == null ? defaultMillis : duration.toMillis();
+    }
+
+    public static HttpAsyncClientRestClientBuilder builder() {
+        return new HttpAsyncClientRestClientBuilder();
+    }
+
+    public static class HttpAsyncClientRestClientBuilder extends AbstractRestClientBuilder<HttpAsyncClientRestClientBuilder> {
+        private int ioThreadCount = Runtime.getRuntime().availableProcessors();
+        private Executor handlerExecutor = null;
+
+        /**
+         * Sets the number of I/O dispatch (selector) threads, which defaults to the number of available processors.
+         *
+         * @param ioThreadCount the number of I/O dispatch threads.
+         * @return this builder, for invocation chaining.
+         */
+        public HttpAsyncClientRestClientBuilder ioThreadCount(final int ioThreadCount) {
+            this.ioThreadCount = ioThreadCount;
+            return this;
+        }
+
+        /**
+         * Sets the maximum period of inactivity between two consecutive data packets received, after which the request fails. This
+         * is the read timeout of the client, by its Http Client name.
+         *
+         * @param socketTimeout the socket timeout.
+         * @return this builder, for invocation chaining.
+         * @see #readTimeout(Duration)
+         */
+        public HttpAsyncClientRestClientBuilder socketTimeout(final Duration socketTimeout) {
+            return readTimeout(socketTimeout);
+        }
+
+        /**
+         * Sets the executor on which response handlers are invoked. By default, handlers are invoked on the I/O dispatch threads.
+         *
+         * @param handlerExecutor the executor on which response handlers are to be invoked.
+         * @return this builder, for invocation chaining.
+         */
+        public HttpAsyncClientRestClientBuilder handlerExecutor(final Executor handlerExecutor) {
+            this.handlerExecutor = handlerExecutor;
+            return this;
+        }
+
+        @Override
+        public HttpAsyncClientRestClient build() {
+            return new HttpAsyncClientRestClient(this);
+        }
+    }
+}
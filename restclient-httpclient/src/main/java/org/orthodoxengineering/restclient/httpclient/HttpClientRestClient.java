@@ -0,0 +1,295 @@
+package org.orthodoxengineering.restclient.httpclient;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.beanplanet.core.io.IoException;
+import org.beanplanet.core.io.IoUtil;
+import org.beanplanet.core.io.resource.ByteArrayOutputStreamResource;
+import org.beanplanet.core.io.resource.Resource;
+import org.beanplanet.core.net.http.HttpResponse;
+import org.orthodoxengineering.restclient.AbstractRestClient;
+import org.orthodoxengineering.restclient.AbstractRestClientBuilder;
+import org.orthodoxengineering.restclient.BytesResource;
+import org.orthodoxengineering.restclient.Deadline;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.ResponseHandler;
+import org.orthodoxengineering.restclient.RestClient;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.RestResponse;
+import org.orthodoxengineering.restclient.StreamingResource;
+import org.orthodoxengineering.restclient.StreamingResponse;
+import org.orthodoxengineering.restclient.metrics.RequestPhase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A REST client implementation based on the Apache Http Components / Client library, making requests over a pool of
+ * persistent connections managed by a {@link PoolingHttpClientConnectionManager}.
+ */
+public class HttpClientRestClient extends AbstractRestClient implements RestClient, Closeable {
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RequestConfig defaultRequestConfig;
+
+    HttpClientRestClient(final HttpClientRestClientBuilder builder) {
+        super(builder);
+        this.connectionManager = new PoolingHttpClientConnectionManager(toMillis(builder.getConnectionTimeToLive(), -1), TimeUnit.MILLISECONDS);
+        this.connectionManager.setMaxTotal(builder.getMaxConnectionsTotal());
+        this.connectionManager.setDefaultMaxPerRoute(builder.getMaxConnectionsPerRoute());
+        if (builder.validateAfterInactivity != null) {
+            this.connectionManager.setValidateAfterInactivity((int) builder.validateAfterInactivity.toMillis());
+        }
+
+        this.defaultRequestConfig = RequestConfig.custom()
+                                                 .setConnectTimeout((int) toMillis(builder.getConnectTimeout(), -1))
+                                                 .setSocketTimeout((int) toMillis(builder.getReadTimeout(), -1))
+                                                 .setConnectionRequestTimeout((int) toMillis(builder.getConnectionPoolWaitTimeout(), -1))
+                                                 .build();
+        final HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .evictExpiredConnections()
+                // Responses are decoded by the content decoders of this client, rather than by Http Client
+                .disableContentCompression();
+        if (builder.getConnectionIdleTimeout() != null) {
+            httpClientBuilder.evictIdleConnections(builder.getConnectionIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        this.httpClient = httpClientBuilder.build();
+    }
+
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Gets the statistics of the connection pool of this client, across all routes.
+     *
+     * @return a snapshot of the current connection pool statistics.
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Makes the given request and invokes the given response handler to handle the response, with its entity buffered in memory.
+     *
+     * @param request the request to be made.
+     * @param handler the response handler that will be called to handle the response.
+     * @return the response returned from invocation the response handler.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    protected <T> T exchange(RestRequest request, ResponseHandler<T> handler) {
+        final HttpResponse response;
+        final Resource content;
+        final RestRequest negotiatedRequest = negotiate(request);
+        final HttpUriRequest httpRequest = HttpComponentsResponses.toRequest(negotiatedRequest, requestConfig(negotiatedRequest), requestEntity(negotiatedRequest));
+        final long startNanos = System.nanoTime();
+        try (Deadline.Watch ignored = watchDeadline(negotiatedRequest, httpRequest::abort);
+             CloseableHttpResponse httpResponse = httpClient.execute(httpRequest)) {
+            final HttpResponse received = HttpComponentsResponses.toResponse(httpResponse, getContentDecoders());
+            recordPhase(negotiatedRequest, RequestPhase.TIME_TO_FIRST_BYTE, received.getStatusCode(), startNanos);
+            response = interceptResponse(negotiatedRequest, received);
+            final HttpEntity httpEntity = httpResponse.getEntity();
+            if (httpEntity == null) {
+                content = null;
+            } else {
+                final long transferStartNanos = System.nanoTime();
+                final InputStream entityIs = decodeContent(negotiatedRequest, HttpComponentsResponses.contentEncodingOf(httpResponse), httpEntity.getContent());
+                if (isErrorStatus(response.getStatusCode())) {
+                    content = readErrorContent(entityIs, RestResponse.contentCharsetOf(response));
+                } else {
+                    final ByteArrayOutputStreamResource bufferedContent = new ByteArrayOutputStreamResource();
+                    IoUtil.transfer(entityIs, bufferedContent.getOutputStream());
+                    content = bufferedContent;
+                }
+                // Reading the entity to the end releases the connection back to the pool before the response is handled. An error
+                // body longer than the drain limit is left unread, as closing its stream would read it in full, so that closing the
+                // response closes the connection instead
+                if (content != null) entityIs.close();
+                recordPhase(negotiatedRequest, RequestPhase.BODY_TRANSFER, response.getStatusCode(), transferStartNanos);
+            }
+        } catch (IOException ioEx) {
+            throw new IoException(ioEx);
+        }
+
+        return content != null ? handler.handleResponse(withEntity(negotiatedRequest, response, content))
+                               : handler.handleResponse(response);
+    }
+
+    /**
+     * Makes the given request and returns the response with its entity streaming directly from the connection. When the response is
+     * closed, unread content is drained (up to a limit) so that the connection may be returned to the pool, or the connection is
+     * otherwise closed.
+     *
+     * @param request the request to be made.
+     * @return the response, which must be closed by the caller.
+     * @throws RestException if an error occurs making the request.
+     */
+    @Override
+    protected StreamingResponse openStream(final RestRequest request) throws RestException {
+        final RestRequest negotiatedRequest = negotiate(request);
+        final HttpUriRequest httpRequest = HttpComponentsResponses.toRequest(negotiatedRequest, requestConfig(negotiatedRequest), requestEntity(negotiatedRequest));
+        final Deadline.Watch watch = watchDeadline(negotiatedRequest, httpRequest::abort);
+        final CloseableHttpResponse httpResponse;
+        final long startNanos = System.nanoTime();
+        try {
+            httpResponse = httpClient.execute(httpRequest);
+        } catch (IOException ioEx) {
+            watch.close();
+            throw new IoException(ioEx);
+        } catch (RuntimeException runtimeEx) {
+            watch.close();
+            throw runtimeEx;
+        }
+
+        try {
+            final HttpResponse received = HttpComponentsResponses.toResponse(httpResponse, getContentDecoders());
+            recordPhase(negotiatedRequest, RequestPhase.TIME_TO_FIRST_BYTE, received.getStatusCode(), startNanos);
+            final HttpResponse response = interceptResponse(negotiatedRequest, received);
+            final HttpEntity httpEntity = httpResponse.getEntity();
+            if (httpEntity == null) {
+                watch.close();
+                closeQuietly(httpResponse);
+                return new StreamingResponse(response, () -> {});
+            }
+
+            if (isErrorStatus(response.getStatusCode())) {
+                // Error bodies are read in full, rather than streamed, so that they outlive the response as the entity of an error
+                final BytesResource errorContent;
+                final long transferStartNanos = System.nanoTime();
+                try {
+                    final InputStream entityIs = decodeContent(negotiatedRequest, HttpComponentsResponses.contentEncodingOf(httpResponse), httpEntity.getContent());
+                    errorContent = readErrorContent(entityIs, RestResponse.contentCharsetOf(response));
+                    if (errorContent != null) entityIs.close();
+                } finally {
+                    watch.close();
+                    closeQuietly(httpResponse);
+                }
+                recordPhase(negotiatedRequest, RequestPhase.BODY_TRANSFER, response.getStatusCode(), transferStartNanos);
+                return new StreamingResponse(errorContent != null ? withEntity(negotiatedRequest, response, errorContent)
+                                                                  : response, () -> {});
+            }
+
+            final StreamingResource content = new StreamingResource(decodeContent(negotiatedRequest, HttpComponentsResponses.contentEncodingOf(httpResponse), httpEntity.getContent()),
+                                                                    RestResponse.contentCharsetOf(response));
+            return new StreamingResponse(withEntity(negotiatedRequest, response, content), () -> {
+                // Closing the content at its end releases the connection to the pool, whereas closing the response before then closes
+                // the connection, rather than reading the remaining content in full
+                try {
+                    if (content.drain(getDrainLimit())) {
+                        content.close();
+                    }
+                } finally {
+                    watch.close();
+                    closeQuietly(httpResponse);
+                }
+            });
+        } catch (IOException ioEx) {
+            watch.close();
+            closeQuietly(httpResponse);
+            throw new IoException(ioEx);
+        } catch (RuntimeException runtimeEx) {
+            watch.close();
+            closeQuietly(httpResponse);
+            throw runtimeEx;
+        }
+    }
+
+    /**
+     * Returns the configuration of the given request, where its timeouts or deadline differ from the client defaults.
+     *
+     * @param request the request to be made.
+     * @return the request configuration, or null if the client defaults apply.
+     */
+    private RequestConfig requestConfig(final RestRequest request) {
+        if (request.getConnectTimeout() == null && request.getReadTimeout() == null && request.getDeadline() == null) return null;
+
+        return RequestConfig.copy(defaultRequestConfig)
+                            .setConnectTimeout(connectTimeoutMillis(request))
+                            .setSocketTimeout(readTimeoutMillis(request))
+                            .build();
+    }
+
+    /**
+     * Returns the body of the given request as an entity written directly to the connection, so that it is never buffered in memory.
+     *
+     * @param request the request to be made.
+     * @return the request entity, or null if the request has no body.
+     */
+    private HttpEntity requestEntity(final RestRequest request) {
+        final RequestBody body = requestBody(request);
+        return body == null ? null : new RequestBodyEntity(body);
+    }
+
+    private static void closeQuietly(final CloseableHttpResponse httpResponse) {
+        try {
+            httpResponse.close();
+        } catch (IOException ignoredEx) {
+        }
+    }
+
+    /**
+     * Closes this client, shutting down its connection pool.
+     */
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException ioEx) {
+            throw new IoException(ioEx);
+        }
+    }
+
+    private static long toMillis(final Duration duration, final long defaultMillis) {
+        return duration == null ? defaultMillis : duration.toMillis();
+    }
+
+    public static HttpClientRestClientBuilder builder() {
+        return new HttpClientRestClientBuilder();
+    }
+
+    public static class HttpClientRestClientBuilder extends AbstractRestClientBuilder<HttpClientRestClientBuilder> {
+        private Duration validateAfterInactivity = null;
+
+        /**
+         * Sets the maximum period of inactivity between two consecutive data packets received, after which the request fails. This
+         * is the read timeout of the client, by its Http Client name.
+         *
+         * @param socketTimeout the socket timeout.
+         * @return this builder, for invocation chaining.
+         * @see #readTimeout(Duration)
+         */
+        public HttpClientRestClientBuilder socketTimeout(final Duration socketTimeout) {
+            return readTimeout(socketTimeout);
+        }
+
+        /**
+         * Sets the period of inactivity after which a pooled connection is re-validated before being leased.
+         *
+         * @param validateAfterInactivity the period of inactivity after which connections are re-validated.
+         * @return this builder, for invocation chaining.
+         */
+        public HttpClientRestClientBuilder validateAfterInactivity(final Duration validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
+        }
+
+        @Override
+        public HttpClientRestClient build() {
+            return new HttpClientRestClient(this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.orthodoxengineering.restclient.httpclient;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.orthodoxengineering.restclient.RestRequest;
+import org.orthodoxengineering.restclient.RestResponse;
+import org.orthodoxengineering.restclient.encoding.ContentDecoders;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversions between Apache Http Components messages and the HTTP messages of the REST client.
+ */
+final class HttpComponentsResponses {
+    private HttpComponentsResponses() {
+    }
+
+    /**
+     * Creates an Apache Http Components request, without a body, from the given REST client request.
+     *
+     * @param request the REST client request.
+     * @return the Apache Http Components request.
+     * @throws IllegalArgumentException if the URI of the request is invalid.
+     */
+    static HttpUriRequest toRequest(final RestRequest request) {
+        return toRequest(request, null, null);
+    }
+
+    /**
+     * Creates an Apache Http Components request from the given REST client request, with the given request configuration and body.
+     *
+     * @param request the REST client request.
+     * @param config the configuration of the request, such as its timeouts, or null if the client defaults apply.
+     * @param entity the body of the request, or null if it has none.
+     * @return the Apache Http Components request.
+     * @throws IllegalArgumentException if the URI of the request is invalid.
+     */
+    static HttpUriRequest toRequest(final RestRequest request, final RequestConfig config, final HttpEntity entity) {
+        final RequestBuilder requestBuilder = RequestBuilder.create(request.getMethod()).setUri(request.getUri()).setConfig(config).setEntity(entity);
+        request.getHeaders().forEach((name, values) -> values.forEach(value -> requestBuilder.addHeader(name, value)));
+        return requestBuilder.build();
+    }
+
+    /**
+     * Creates a REST client HTTP response, without an entity, from the status line and headers of the given Apache Http Components response.
+     *
+     * @param httpResponse the Apache Http Components response.
+     * @param contentDecoders the content decoders by which the response entity will be decoded.
+     * @return the REST client HTTP response.
+     */
+    static RestResponse toResponse(final org.apache.http.HttpResponse httpResponse, final ContentDecoders contentDecoders) {
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : httpResponse.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>(1)).add(header.getValue());
+        }
+        return new RestResponse(httpResponse.getStatusLine().getStatusCode(), httpResponse.getStatusLine().getReasonPhrase(), contentDecoders.decodedHeaders(headers));
+    }
+
+    /**
+     * Returns the value of the <code>Content-Encoding</code> header of the given Apache Http Components response.
+     *
+     * @param httpResponse the Apache Http Components response.
+     * @return the content coding of the response, or null if it has none.
+     */
+    static String contentEncodingOf(final org.apache.http.HttpResponse httpResponse) {
+        final Header contentEncoding = httpResponse.getFirstHeader(ContentDecoders.CONTENT_ENCODING);
+        return contentEncoding == null ? null : contentEncoding.getValue();
+    }
+}
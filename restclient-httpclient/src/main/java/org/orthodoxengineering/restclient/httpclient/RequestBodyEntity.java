@@ -0,0 +1,46 @@
+package org.orthodoxengineering.restclient.httpclient;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.orthodoxengineering.restclient.RequestBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An Apache Http Components entity writing a request body directly to the connection, sent chunked where its length is not known.
+ * The body is only ever written, so it has no content stream of its own.
+ */
+final class RequestBodyEntity extends AbstractHttpEntity {
+    private final RequestBody body;
+
+    RequestBodyEntity(final RequestBody body) {
+        this.body = body;
+        setChunked(body.getContentLength() < 0);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return body.isRepeatable();
+    }
+
+    @Override
+    public long getContentLength() {
+        return body.getContentLength();
+    }
+
+    @Override
+    public InputStream getContent() {
+        throw new UnsupportedOperationException("A request body is written to the connection, not read");
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        body.writeTo(out);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
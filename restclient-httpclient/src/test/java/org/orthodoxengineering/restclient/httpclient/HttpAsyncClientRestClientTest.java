@@ -0,0 +1,135 @@
+package org.orthodoxengineering.restclient.httpclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.beanplanet.core.mediatypes.MediaTypes;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.beanplanet.testing.beans.TestBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.resilience.CircuitBreaker;
+import org.orthodoxengineering.restclient.resilience.CircuitBreakerOpenException;
+import org.orthodoxengineering.restclient.resilience.CircuitBreakers;
+import org.orthodoxengineering.restclient.resilience.Resilience;
+import org.orthodoxengineering.restclient.resilience.RetryPolicy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@WireMockTest
+public class HttpAsyncClientRestClientTest {
+    private static HttpAsyncClientRestClient client;
+
+    @BeforeAll
+    static void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        client = HttpAsyncClientRestClient.builder().objectMapper(objectMapper).ioThreadCount(2).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void getAsync_uri_type_withJsonEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final TestBean expected = new TestBean("theStringProperty");
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(new ObjectMapper().writeValueAsString(expected))));
+
+        // When
+        final TestBean actual = client.getAsync(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", TestBean.class).get();
+
+        // Then
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void getAsync_manyConcurrentRequests_allComplete(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{ \"theName\": 12345}").withFixedDelay(50)));
+
+        // When
+        final List<CompletableFuture<JsonNode>> futures = new ArrayList<>();
+        for (int n=0; n < 100; n++) {
+            futures.add(client.getAsync(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", JsonNode.class));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // Then
+        for (CompletableFuture<JsonNode> future : futures) {
+            assertThat(future.join().get("theName").asInt(), equalTo(12345));
+        }
+    }
+
+    @Test
+    void getAsync_uri_type_failsWhenStatusCodeIsNotSuccess(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(serverError().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final ExecutionException executionEx = assertThrows(ExecutionException.class, () -> client.getAsync(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class).get());
+
+        // Then
+        assertThat(executionEx.getCause(), instanceOf(RestException.class));
+    }
+
+    @Test
+    void getAsync_retryableStatus_madeOnceWithoutRetry(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final Resilience resilience = Resilience.builder().retryPolicy(RetryPolicy.builder().backoff(Duration.ZERO, Duration.ZERO, 1.0).build()).build();
+        final HttpAsyncClientRestClient resilientClient = HttpAsyncClientRestClient.builder().resilience(resilience).ioThreadCount(1).build();
+        stubFor(get("/getmethod").willReturn(serviceUnavailable()));
+
+        // When
+        try {
+            assertThrows(ExecutionException.class, () -> resilientClient.getAsync(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class).get());
+        } finally {
+            resilientClient.close();
+        }
+
+        // Then
+        verify(1, getRequestedFor(urlEqualTo("/getmethod")));
+        assertThat(resilience.getRetryCount(), equalTo(0L));
+    }
+
+    @Test
+    void getAsync_circuitBreakerOpened_failsFastWithoutRequest(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        final CircuitBreakers circuitBreakers = CircuitBreakers.builder().slidingWindowSize(2).minimumNumberOfCalls(2).build();
+        final HttpAsyncClientRestClient guardedClient = HttpAsyncClientRestClient.builder().circuitBreakers(circuitBreakers).ioThreadCount(1).build();
+        final String uri = wireMockRuntimeInfo.getHttpBaseUrl() + "/down";
+        stubFor(get("/down").willReturn(serviceUnavailable()));
+
+        try {
+            assertThrows(ExecutionException.class, () -> guardedClient.getAsync(uri, String.class).get());
+            assertThrows(ExecutionException.class, () -> guardedClient.getAsync(uri, String.class).get());
+            while (circuitBreakers.forUri(uri).getState() != CircuitBreaker.State.OPEN) Thread.yield();
+
+            // When
+            final ExecutionException executionEx = assertThrows(ExecutionException.class, () -> guardedClient.getAsync(uri, String.class).get());
+
+            // Then
+            assertThat(executionEx.getCause(), instanceOf(CircuitBreakerOpenException.class));
+            verify(2, getRequestedFor(urlEqualTo("/down")));
+        } finally {
+            guardedClient.close();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.orthodoxengineering.restclient.httpclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.beanplanet.core.mediatypes.MediaTypes;
+import org.beanplanet.core.net.http.HttpHeaders;
+import org.beanplanet.core.net.http.HttpResponse;
+import org.beanplanet.testing.beans.TestBean;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orthodoxengineering.restclient.Deadline;
+import org.orthodoxengineering.restclient.DeadlineExceededException;
+import org.orthodoxengineering.restclient.HttpStatusException;
+import org.orthodoxengineering.restclient.RequestBody;
+import org.orthodoxengineering.restclient.RestException;
+import org.orthodoxengineering.restclient.RestRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.beanplanet.core.mediatypes.MediaTypes.Application.JSON;
+import static org.beanplanet.core.net.http.HttpStatusCode.OK;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@WireMockTest
+public class HttpClientRestClientTest {
+    private static HttpClientRestClient client;
+
+    @BeforeAll
+    static void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        client = HttpClientRestClient.builder()
+                .objectMapper(objectMapper)
+                .maxConnectionsPerRoute(4)
+                .connectTimeout(Duration.ofSeconds(5))
+                .socketTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void get_uri_noEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok()));
+
+        // When
+        final int statusCode = client.getForStatusCode(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod");
+
+        // Then
+        assertThat(statusCode, equalTo(OK));
+    }
+
+    @Test
+    void get_uri_type__withStringEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // When
+        final String body = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class);
+
+        // Then
+        assertThat(body, equalTo("Hello World!"));
+    }
+
+    @Test
+    void get_uri_type__withStringEntity_failsWhenStatusCodeIsNotSuccess(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(serverError().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Hello World!")));
+
+        // Then
+        assertThrows(RestException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", String.class));
+    }
+
+    @Test
+    void get_uri_statusCode_type_withJsonEntity_successful(final WireMockRuntimeInfo wireMockRuntimeInfo) throws Exception {
+        // Given
+        final TestBean expected = new TestBean("theStringProperty");
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody(new ObjectMapper().writeValueAsString(expected))));
+
+        // When
+        final TestBean actual = client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", OK, TestBean.class);
+
+        // Then
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void get_connectionIsReleasedToPool(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{ \"theName\": 12345}")));
+
+        // When
+        client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", JsonNode.class);
+        client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", JsonNode.class);
+
+        // Then
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+        assertThat(client.getPoolStats().getAvailable(), greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void execute_deadlinePassesAwaitingResponse_failsWithDeadlineExceeded(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/slow").willReturn(ok().withHeader(HttpHeaders.CONTENT_TYPE, MediaTypes.Text.PLAIN.getName()).withBody("Slow").withFixedDelay(2_000)));
+        final RestRequest request = RestRequest.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/slow").withDeadline(Deadline.after(Duration.ofMillis(200)));
+
+        // Then
+        assertThrows(DeadlineExceededException.class, () -> client.execute(request, response -> response));
+    }
+
+    @Test
+    void get_errorResponse_errorEntityCarriedByExceptionAndConnectionReleasedToPool(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(get("/getmethod").willReturn(badRequest().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{ \"title\": \"Invalid name\" }")));
+
+        // When
+        final HttpStatusException statusEx = assertThrows(HttpStatusException.class, () -> client.get(wireMockRuntimeInfo.getHttpBaseUrl() + "/getmethod", JsonNode.class));
+
+        // Then
+        assertThat(statusEx.getStatusCode(), equalTo(400));
+        assertThat(statusEx.getEntity(JsonNode.class).get("title").asText(), equalTo("Invalid name"));
+        assertThat(client.getPoolStats().getLeased(), equalTo(0));
+        assertThat(client.getPoolStats().getAvailable(), greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void post_uri_entity_type_bodyStreamedChunked(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(post("/items").withRequestBody(equalToJson("{\"stringProperty\": \"new\"}"))
+                              .willReturn(created().withHeader(HttpHeaders.CONTENT_TYPE, JSON.getName()).withBody("{\"stringProperty\": \"created\"}")));
+
+        // When
+        final TestBean created = client.post(wireMockRuntimeInfo.getHttpBaseUrl() + "/items", new TestBean("new"), TestBean.class);
+
+        // Then
+        assertThat(created, equalTo(new TestBean("created")));
+        verify(postRequestedFor(urlEqualTo("/items")).withHeader(HttpHeaders.CONTENT_TYPE, containing("application/json"))
+                                                     .withHeader("Transfer-Encoding", WireMock.equalTo("chunked")));
+    }
+
+    @Test
+    void patch_uri_requestBodyOfKnownLength_sentWithContentLength(final WireMockRuntimeInfo wireMockRuntimeInfo) {
+        // Given
+        stubFor(patch(urlEqualTo("/items/1")).willReturn(ok()));
+
+        // When
+        final int statusCode = client.patch(wireMockRuntimeInfo.getHttpBaseUrl() + "/items/1",
+                                            RequestBody.of("{\"stringProperty\": \"patched\"}".getBytes(StandardCharsets.UTF_8), JSON.getName()),
+                                            HttpResponse::getStatusCode);
+
+        // Then
+        assertThat(statusCode, equalTo(OK));
+        verify(patchRequestedFor(urlEqualTo("/items/1")).withHeader("Content-Length", WireMock.equalTo("29"))
+                                                        .withRequestBody(equalToJson("{\"stringProperty\": \"patched\"}")));
+    }
+}